@@ -34,5 +34,12 @@ abstract class AbstractFloatValueParser extends AbstractNumberParser {
      * The hexadecimal exponent of a double has a range of -1022 to +1023.
      */
     final static int MAX_EXPONENT_NUMBER = 1024;
+    /**
+     * The value that the {@code tryParse} methods return, if the input is
+     * illegal. No legal input produces this bit pattern: it is a
+     * {@code double} NaN, and a {@code float} NaN in the lower 32 bits, that
+     * differ from {@link Double#NaN} and {@link Float#NaN}.
+     */
+    final static long PARSE_ERROR = -1L;
 
 }
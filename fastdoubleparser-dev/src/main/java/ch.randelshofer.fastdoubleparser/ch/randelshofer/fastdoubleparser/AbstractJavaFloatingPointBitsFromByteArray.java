@@ -142,7 +142,7 @@ abstract class AbstractJavaFloatingPointBitsFromByteArray extends AbstractFloatV
         index = skipWhitespace(str, index, endIndex);
         if (illegal || index < endIndex
                 || !hasLeadingZero && digitCount == 0) {
-            throw new NumberFormatException(SYNTAX_ERROR);
+            return PARSE_ERROR;
         }
 
         // Re-parse significand in case of a potential overflow
@@ -151,6 +151,9 @@ abstract class AbstractJavaFloatingPointBitsFromByteArray extends AbstractFloatV
         int skipCountInTruncatedDigits = 0;//counts +1 if we skipped over the decimal point
         int exponentOfTruncatedSignificand;
         if (digitCount > 19) {
+            if (ParserStatistics.ENABLED) {
+                ParserStatistics.count(ParserStatistics.Counter.SIGNIFICAND_REPARSE);
+            }
             significand = 0;
             for (index = significandStartIndex; index < significandEndIndex; index++) {
                 ch = str[index];
@@ -198,12 +201,35 @@ abstract class AbstractJavaFloatingPointBitsFromByteArray extends AbstractFloatV
         if (offset < 0 || endIndex < offset || endIndex > str.length || length > MAX_INPUT_LENGTH) {
             throw new IllegalArgumentException(ILLEGAL_OFFSET_OR_ILLEGAL_LENGTH);
         }
+        return parseFloatingPointLiteralUnchecked(str, offset, length);
+    }
+
+    /**
+     * Parses like {@link #parseFloatingPointLiteral(byte[], int, int)}, but does not check
+     * the offset and the length. The batch parse methods check the bounds of
+     * all literals before they call this method.
+     */
+    long parseFloatingPointLiteralUnchecked(byte[] str, int offset, int length) {
+        long bits = tryParseFloatingPointLiteralUnchecked(str, offset, length);
+        if (bits == PARSE_ERROR) {
+            throw new NumberFormatException(SYNTAX_ERROR);
+        }
+        return bits;
+    }
+
+    /**
+     * Parses like {@link #parseFloatingPointLiteralUnchecked(byte[], int, int)},
+     * but returns {@link #PARSE_ERROR} instead of throwing an exception, if
+     * the literal is illegal.
+     */
+    long tryParseFloatingPointLiteralUnchecked(byte[] str, int offset, int length) {
+        final int endIndex = offset + length;
 
         // Skip leading whitespace
         // -------------------
         int index = skipWhitespace(str, offset, endIndex);
         if (index == endIndex) {
-            throw new NumberFormatException(SYNTAX_ERROR);
+            return PARSE_ERROR;
         }
         byte ch = str[index];
 
@@ -213,13 +239,16 @@ abstract class AbstractJavaFloatingPointBitsFromByteArray extends AbstractFloatV
         if (isNegative || ch == '+') {
             ch = charAt(str, ++index, endIndex);
             if (ch == 0) {
-                throw new NumberFormatException(SYNTAX_ERROR);
+                return PARSE_ERROR;
             }
         }
 
         // Parse NaN or Infinity
         // ---------------------
         if (ch >= 'I') {
+            if (ParserStatistics.ENABLED) {
+                ParserStatistics.count(ParserStatistics.Counter.NAN_OR_INFINITY);
+            }
             return parseNaNOrInfinity(str, index, endIndex, isNegative);
         }
 
@@ -229,6 +258,9 @@ abstract class AbstractJavaFloatingPointBitsFromByteArray extends AbstractFloatV
         if (hasLeadingZero) {
             ch = charAt(str, ++index, endIndex);
             if (ch == 'x' || ch == 'X') {
+                if (ParserStatistics.ENABLED) {
+                    ParserStatistics.count(ParserStatistics.Counter.HEX_FLOAT);
+                }
                 return parseHexFloatingPointLiteral(str, index + 1, offset, endIndex, isNegative);
             }
         }
@@ -341,7 +373,7 @@ abstract class AbstractJavaFloatingPointBitsFromByteArray extends AbstractFloatV
         if (illegal || index < endIndex
                 || digitCount == 0
                 || !hasExponent) {
-            throw new NumberFormatException(SYNTAX_ERROR);
+            return PARSE_ERROR;
         }
 
         // Re-parse significand in case of a potential overflow
@@ -349,6 +381,9 @@ abstract class AbstractJavaFloatingPointBitsFromByteArray extends AbstractFloatV
         final boolean isSignificandTruncated;
         int skipCountInTruncatedDigits = 0;//counts +1 if we skipped over the decimal point
         if (digitCount > 16) {
+            if (ParserStatistics.ENABLED) {
+                ParserStatistics.count(ParserStatistics.Counter.SIGNIFICAND_REPARSE);
+            }
             significand = 0;
             for (index = significandStartIndex; index < significandEndIndex; index++) {
                 ch = str[index];
@@ -396,7 +431,7 @@ abstract class AbstractJavaFloatingPointBitsFromByteArray extends AbstractFloatV
                 }
             }
         }
-        throw new NumberFormatException(SYNTAX_ERROR);
+        return PARSE_ERROR;
     }
 
     /**
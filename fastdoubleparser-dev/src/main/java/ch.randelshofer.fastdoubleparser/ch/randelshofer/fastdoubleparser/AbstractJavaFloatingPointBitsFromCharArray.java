@@ -155,6 +155,9 @@ abstract class AbstractJavaFloatingPointBitsFromCharArray extends AbstractFloatV
         int skipCountInTruncatedDigits = 0;//counts +1 if we skipped over the decimal point
         int exponentOfTruncatedSignificand;
         if (digitCount > 19) {
+            if (ParserStatistics.ENABLED) {
+                ParserStatistics.count(ParserStatistics.Counter.SIGNIFICAND_REPARSE);
+            }
             significand = 0;
             for (index = significandStartIndex; index < significandEndIndex; index++) {
                 ch = str[index];
@@ -223,6 +226,9 @@ abstract class AbstractJavaFloatingPointBitsFromCharArray extends AbstractFloatV
         // Parse NaN or Infinity
         // ---------------------
         if (ch >= 'I') {
+            if (ParserStatistics.ENABLED) {
+                ParserStatistics.count(ParserStatistics.Counter.NAN_OR_INFINITY);
+            }
             return parseNaNOrInfinity(str, index, endIndex, isNegative);
         }
 
@@ -232,6 +238,9 @@ abstract class AbstractJavaFloatingPointBitsFromCharArray extends AbstractFloatV
         if (hasLeadingZero) {
             ch = charAt(str, ++index, endIndex);
             if (ch == 'x' || ch == 'X') {
+                if (ParserStatistics.ENABLED) {
+                    ParserStatistics.count(ParserStatistics.Counter.HEX_FLOAT);
+                }
                 return parseHexFloatLiteral(str, index + 1, offset, endIndex, isNegative);
             }
         }
@@ -352,6 +361,9 @@ abstract class AbstractJavaFloatingPointBitsFromCharArray extends AbstractFloatV
         final boolean isSignificandTruncated;
         int skipCountInTruncatedDigits = 0;//counts +1 if we skipped over the decimal point
         if (digitCount > 16) {
+            if (ParserStatistics.ENABLED) {
+                ParserStatistics.count(ParserStatistics.Counter.SIGNIFICAND_REPARSE);
+            }
             significand = 0;
             for (index = significandStartIndex; index < significandEndIndex; index++) {
                 ch = str[index];
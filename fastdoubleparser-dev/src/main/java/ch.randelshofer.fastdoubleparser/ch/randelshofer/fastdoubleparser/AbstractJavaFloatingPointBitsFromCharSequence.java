@@ -152,6 +152,9 @@ abstract class AbstractJavaFloatingPointBitsFromCharSequence extends AbstractFlo
         int skipCountInTruncatedDigits = 0;//counts +1 if we skipped over the decimal point
         int exponentOfTruncatedSignificand;
         if (digitCount > 19) {
+            if (ParserStatistics.ENABLED) {
+                ParserStatistics.count(ParserStatistics.Counter.SIGNIFICAND_REPARSE);
+            }
             significand = 0;
             for (index = significandStartIndex; index < significandEndIndex; index++) {
                 ch = str.charAt(index);
@@ -220,6 +223,9 @@ abstract class AbstractJavaFloatingPointBitsFromCharSequence extends AbstractFlo
         // Parse NaN or Infinity (this occurs rarely)
         // ---------------------
         if (ch >= 'I') {
+            if (ParserStatistics.ENABLED) {
+                ParserStatistics.count(ParserStatistics.Counter.NAN_OR_INFINITY);
+            }
             return parseNaNOrInfinity(str, index, endIndex, isNegative);
         }
 
@@ -229,6 +235,9 @@ abstract class AbstractJavaFloatingPointBitsFromCharSequence extends AbstractFlo
         if (hasLeadingZero) {
             ch = charAt(str, ++index, endIndex);
             if (ch == 'x' || ch == 'X') {
+                if (ParserStatistics.ENABLED) {
+                    ParserStatistics.count(ParserStatistics.Counter.HEX_FLOAT);
+                }
                 return parseHexFloatLiteral(str, index + 1, offset, endIndex, isNegative);
             }
         }
@@ -347,6 +356,9 @@ abstract class AbstractJavaFloatingPointBitsFromCharSequence extends AbstractFlo
         final boolean isSignificandTruncated;
         int skipCountInTruncatedDigits = 0;//counts +1 if we skipped over the decimal point
         if (digitCount > 16) {
+            if (ParserStatistics.ENABLED) {
+                ParserStatistics.count(ParserStatistics.Counter.SIGNIFICAND_REPARSE);
+            }
             significand = 0;
             for (index = significandStartIndex; index < significandEndIndex; index++) {
                 ch = str.charAt(index);
@@ -32,6 +32,29 @@ abstract class AbstractJsonFloatingPointBitsFromByteArray extends AbstractFloatV
         if (offset < 0 || endIndex < offset || endIndex > str.length || length > MAX_INPUT_LENGTH) {
             throw new IllegalArgumentException(ILLEGAL_OFFSET_OR_ILLEGAL_LENGTH);
         }
+        return parseNumberUnchecked(str, offset, length);
+    }
+
+    /**
+     * Parses like {@link #parseNumber(byte[], int, int)}, but does not check
+     * the offset and the length. The batch parse methods check the bounds of
+     * all literals before they call this method.
+     */
+    final long parseNumberUnchecked(byte[] str, int offset, int length) {
+        long bits = tryParseNumberUnchecked(str, offset, length);
+        if (bits == PARSE_ERROR) {
+            throw new NumberFormatException(SYNTAX_ERROR);
+        }
+        return bits;
+    }
+
+    /**
+     * Parses like {@link #parseNumberUnchecked(byte[], int, int)}, but
+     * returns {@link #PARSE_ERROR} instead of throwing an exception, if the
+     * number is illegal.
+     */
+    final long tryParseNumberUnchecked(byte[] str, int offset, int length) {
+        final int endIndex = offset + length;
         int index = offset;
         byte ch = charAt(str, index, endIndex);
 
@@ -41,7 +64,7 @@ abstract class AbstractJsonFloatingPointBitsFromByteArray extends AbstractFloatV
         if (isNegative) {
             ch = charAt(str, ++index, endIndex);
             if (ch == 0) {
-                throw new NumberFormatException(SYNTAX_ERROR);
+                return PARSE_ERROR;
             }
         }
 
@@ -51,7 +74,7 @@ abstract class AbstractJsonFloatingPointBitsFromByteArray extends AbstractFloatV
         if (hasLeadingZero) {
             ch = charAt(str, ++index, endIndex);
             if (ch == '0') {
-                throw new NumberFormatException(SYNTAX_ERROR);
+                return PARSE_ERROR;
             }
         }
 
@@ -131,7 +154,7 @@ abstract class AbstractJsonFloatingPointBitsFromByteArray extends AbstractFloatV
         // ------------------------
         if (illegal || index < endIndex
                 || !hasLeadingZero && digitCount == 0) {
-            throw new NumberFormatException(SYNTAX_ERROR);
+            return PARSE_ERROR;
         }
 
         // Re-parse significand in case of a potential overflow
@@ -140,6 +163,9 @@ abstract class AbstractJsonFloatingPointBitsFromByteArray extends AbstractFloatV
         int skipCountInTruncatedDigits = 0;//counts +1 if we skipped over the decimal point
         int exponentOfTruncatedSignificand;
         if (digitCount > 19) {
+            if (ParserStatistics.ENABLED) {
+                ParserStatistics.count(ParserStatistics.Counter.SIGNIFICAND_REPARSE);
+            }
             significand = 0;
             for (index = significandStartIndex; index < significandEndIndex; index++) {
                 ch = str[index];
@@ -131,6 +131,9 @@ abstract class AbstractJsonFloatingPointBitsFromCharArray extends AbstractFloatV
         int skipCountInTruncatedDigits = 0;//counts +1 if we skipped over the decimal point
         int exponentOfTruncatedSignificand;
         if (digitCount > 19) {
+            if (ParserStatistics.ENABLED) {
+                ParserStatistics.count(ParserStatistics.Counter.SIGNIFICAND_REPARSE);
+            }
             significand = 0;
             for (index = significandStartIndex; index < significandEndIndex; index++) {
                 ch = str[index];
@@ -55,6 +55,35 @@ abstract class AbstractNumberParser {
         }
     }
 
+    /**
+     * Checks the arguments of a method that parses many literals from a
+     * {@code byte} array.
+     *
+     * @param str            the byte array that contains the literals
+     * @param offsets        the start offsets of the literals
+     * @param lengths        the lengths of the literals
+     * @param outLength      the length of the output array
+     * @param maxInputLength the maximal length of a literal
+     * @throws IllegalArgumentException if {@code lengths} or the output array
+     *                                  have fewer elements than {@code offsets},
+     *                                  or if an offset or a length is illegal
+     */
+    static void checkBounds(byte[] str, int[] offsets, int[] lengths, int outLength, int maxInputLength) {
+        final int count = offsets.length;
+        if (lengths.length < count || outLength < count) {
+            throw new IllegalArgumentException(ILLEGAL_OFFSET_OR_ILLEGAL_LENGTH);
+        }
+        final int strLength = str.length;
+        for (int i = 0; i < count; i++) {
+            final int offset = offsets[i];
+            final int length = lengths[i];
+            final int endIndex = offset + length;
+            if (offset < 0 || endIndex < offset || endIndex > strLength || length > maxInputLength) {
+                throw new IllegalArgumentException(ILLEGAL_OFFSET_OR_ILLEGAL_LENGTH);
+            }
+        }
+    }
+
     /**
      * Returns the character at the specified index if index is &lt; endIndex;
      * otherwise returns 0.
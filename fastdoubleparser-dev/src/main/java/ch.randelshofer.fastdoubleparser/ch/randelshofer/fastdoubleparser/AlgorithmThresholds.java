@@ -0,0 +1,162 @@
+/*
+ * @(#)AlgorithmThresholds.java
+ * Copyright © 2023 Werner Randelshofer, Switzerland. MIT License.
+ */
+package ch.randelshofer.fastdoubleparser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+import static ch.randelshofer.fastdoubleparser.ThresholdCalibrator.FFT_THRESHOLD_PROPERTY;
+import static ch.randelshofer.fastdoubleparser.ThresholdCalibrator.LOW_MEMORY_THRESHOLD_PROPERTY;
+import static ch.randelshofer.fastdoubleparser.ThresholdCalibrator.OFF_HEAP_THRESHOLD_PROPERTY;
+import static ch.randelshofer.fastdoubleparser.ThresholdCalibrator.RECURSION_THRESHOLD_PROPERTY;
+import static ch.randelshofer.fastdoubleparser.ThresholdCalibrator.THRESHOLDS_FILE_PROPERTY;
+import static ch.randelshofer.fastdoubleparser.ThresholdCalibrator.TOOM_COOK_THRESHOLD_PROPERTY;
+
+/**
+ * Holds the thresholds at which the {@code BigInteger} and {@code BigDecimal}
+ * parsers switch between algorithms.
+ * <p>
+ * The default values have been tuned on a Mac mini 2018 with an Intel
+ * i7-8700B CPU. They can be replaced with values that have been measured
+ * by {@link ThresholdCalibrator} on the current machine.
+ * <p>
+ * The thresholds are read only once, when this class is initialized.
+ * A threshold is taken from the system property with its name, or else
+ * from the properties file that is named by the system property
+ * {@value ThresholdCalibrator#THRESHOLDS_FILE_PROPERTY}, or else the
+ * default value is used. Values that are not a number, or that are out of
+ * range, are ignored.
+ * <p>
+ * The thresholds are compile-time constants for the JIT compiler.
+ */
+final class AlgorithmThresholds {
+    /**
+     * The default value of {@link #FFT_THRESHOLD}.
+     */
+    static final int DEFAULT_FFT_THRESHOLD = 33220;
+    /**
+     * The default value of {@link #TOOM_COOK_THRESHOLD}.
+     */
+    static final int DEFAULT_TOOM_COOK_THRESHOLD = 240 * 8;
+    /**
+     * The default value of {@link #RECURSION_THRESHOLD}.
+     */
+    static final int DEFAULT_RECURSION_THRESHOLD = 400;
+    /**
+     * The default value of {@link #OFF_HEAP_THRESHOLD}: FFT vectors are
+     * never allocated outside the Java heap.
+     */
+    static final int DEFAULT_OFF_HEAP_THRESHOLD = Integer.MAX_VALUE;
+    /**
+     * The default value of {@link #LOW_MEMORY_THRESHOLD}: FFT
+     * multiplications are never split into pieces.
+     */
+    static final int DEFAULT_LOW_MEMORY_THRESHOLD = Integer.MAX_VALUE;
+    /**
+     * The smallest supported value of {@link #LOW_MEMORY_THRESHOLD}.
+     * <p>
+     * The number of FFT multiplications grows quadratically with the number
+     * of pieces. Smaller pieces would make the multiplications of large
+     * numbers unbearably slow.
+     */
+    static final int MIN_LOW_MEMORY_THRESHOLD = 1 << 16;
+    /**
+     * The smallest supported value of {@link #RECURSION_THRESHOLD}.
+     * <p>
+     * The maps with powers of ten only contain powers for sequences
+     * with more than 18 digits.
+     */
+    static final int MIN_RECURSION_THRESHOLD = 18;
+
+    /**
+     * The threshold value for using floating point FFT multiplication.
+     * If the number of bits in each mag array is greater than the
+     * Toom-Cook threshold, and the number of bits in at least one of
+     * the mag arrays is greater than this threshold, then FFT
+     * multiplication will be used.
+     */
+    static final int FFT_THRESHOLD;
+    /**
+     * The threshold value for using 3-way Toom-Cook multiplication.
+     */
+    static final int TOOM_COOK_THRESHOLD;
+    /**
+     * Threshold on the number of digits for selecting the
+     * recursive algorithm instead of the iterative algorithm.
+     * <p>
+     * Rationale for choosing the default value:
+     * The iterative algorithm has a smaller constant overhead than the
+     * recursive algorithm. We speculate that we break even somewhere at twice
+     * the threshold value.
+     */
+    static final int RECURSION_THRESHOLD;
+    /**
+     * Threshold on the number of bytes of an FFT vector for allocating
+     * the working vectors of a multiplication outside the Java heap.
+     * See {@link OffHeapArena}.
+     */
+    static final int OFF_HEAP_THRESHOLD;
+    /**
+     * Threshold on the number of bits of a factor, above which an FFT
+     * multiplication is split into pieces with at most this many bits.
+     * This bounds the size of the FFT vectors.
+     */
+    static final int LOW_MEMORY_THRESHOLD;
+
+    static {
+        Properties file = loadThresholdsFile();
+        FFT_THRESHOLD = getThreshold(file, FFT_THRESHOLD_PROPERTY, DEFAULT_FFT_THRESHOLD, 0);
+        TOOM_COOK_THRESHOLD = getThreshold(file, TOOM_COOK_THRESHOLD_PROPERTY, DEFAULT_TOOM_COOK_THRESHOLD, 0);
+        RECURSION_THRESHOLD = getThreshold(file, RECURSION_THRESHOLD_PROPERTY, DEFAULT_RECURSION_THRESHOLD, MIN_RECURSION_THRESHOLD);
+        OFF_HEAP_THRESHOLD = getThreshold(file, OFF_HEAP_THRESHOLD_PROPERTY, DEFAULT_OFF_HEAP_THRESHOLD, 0);
+        LOW_MEMORY_THRESHOLD = getThreshold(file, LOW_MEMORY_THRESHOLD_PROPERTY, DEFAULT_LOW_MEMORY_THRESHOLD, MIN_LOW_MEMORY_THRESHOLD);
+    }
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private AlgorithmThresholds() {
+
+    }
+
+    private static Properties loadThresholdsFile() {
+        Properties properties = new Properties();
+        try {
+            String path = System.getProperty(THRESHOLDS_FILE_PROPERTY);
+            if (path != null) {
+                try (InputStream in = Files.newInputStream(Paths.get(path))) {
+                    properties.load(in);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // The thresholds only affect performance: fall back to the default values.
+            properties.clear();
+        }
+        return properties;
+    }
+
+    static int getThreshold(Properties file, String name, int defaultValue, int minValue) {
+        String value;
+        try {
+            value = System.getProperty(name, file.getProperty(name));
+        } catch (SecurityException e) {
+            value = file.getProperty(name);
+        }
+        if (value != null) {
+            try {
+                int threshold = Integer.parseInt(value.trim());
+                if (threshold >= minValue) {
+                    return threshold;
+                }
+            } catch (NumberFormatException e) {
+                // fall through to the default value
+            }
+        }
+        return defaultValue;
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * @(#)BigNumberParseRecorder.java
+ * Copyright © 2023 Werner Randelshofer, Switzerland. MIT License.
+ */
+package ch.randelshofer.fastdoubleparser;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Records a JDK Flight Recorder event for each {@code BigDecimal} and
+ * {@code BigInteger} input that has at least
+ * {@value #DEFAULT_THRESHOLD} digits.
+ * <p>
+ * The threshold can be changed with the system property
+ * {@value #THRESHOLD_PROPERTY}. The property is read only once, when this
+ * class is initialized.
+ * <p>
+ * The event is named {@code ch.randelshofer.fastdoubleparser.BigNumberParse}.
+ * It is disabled by default, and can be enabled in a recording like any other
+ * JFR event, for example:
+ * <pre>
+ * jcmd &lt;pid&gt; JFR.start settings=profile
+ * </pre>
+ * If the {@code jdk.jfr} module is not present, no events are recorded.
+ * <p>
+ * The recorder of the current parse is kept in a thread-local variable,
+ * so that {@link FftMultiplier} can add the time spent in multiplications.
+ * The time spent in multiplications includes the multiplications that are
+ * performed while building the powers of ten.
+ */
+final class BigNumberParseRecorder {
+    /**
+     * The name of the system property that sets the threshold.
+     */
+    static final String THRESHOLD_PROPERTY = "ch.randelshofer.fastdoubleparser.jfr.threshold";
+    /**
+     * The default threshold on the number of digits.
+     */
+    static final int DEFAULT_THRESHOLD = 10_000;
+    /**
+     * Whether JFR is available.
+     * <p>
+     * Callers in hot code should check this flag, so that the JIT compiler
+     * can remove the recording code when JFR is not available.
+     */
+    static final boolean ENABLED = isJfrAvailable();
+    private static final int THRESHOLD = Integer.getInteger(THRESHOLD_PROPERTY, DEFAULT_THRESHOLD);
+    private static final ThreadLocal<BigNumberParseRecorder> CURRENT = new ThreadLocal<>();
+
+    private final BigNumberParseEvent event;
+    private final BigNumberParseRecorder previous;
+    private final int digitCount;
+    private final int radix;
+    private final boolean recursive;
+    private long powersOfTenTime;
+    private long multiplyTime;
+    private int fftMultiplyCount;
+
+    private BigNumberParseRecorder(BigNumberParseEvent event, BigNumberParseRecorder previous, int digitCount, int radix, boolean recursive) {
+        this.event = event;
+        this.previous = previous;
+        this.digitCount = digitCount;
+        this.radix = radix;
+        this.recursive = recursive;
+    }
+
+    private static boolean isJfrAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, BigNumberParseRecorder.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Begins recording the parsing of a number.
+     *
+     * @param digitCount the number of digits
+     * @param radix      the radix
+     * @param recursive  whether the digits are parsed with the recursive algorithm
+     * @return a recorder, or null if the number is not recorded
+     */
+    static BigNumberParseRecorder begin(int digitCount, int radix, boolean recursive) {
+        if (!ENABLED || digitCount < THRESHOLD) {
+            return null;
+        }
+        BigNumberParseEvent event = BigNumberParseEvent.beginIfEnabled();
+        if (event == null) {
+            return null;
+        }
+        BigNumberParseRecorder recorder = new BigNumberParseRecorder(event, CURRENT.get(), digitCount, radix, recursive);
+        CURRENT.set(recorder);
+        return recorder;
+    }
+
+    /**
+     * Ends recording and commits the event.
+     *
+     * @param recorder a recorder or null
+     */
+    static void end(BigNumberParseRecorder recorder) {
+        if (recorder == null) {
+            return;
+        }
+        if (recorder.previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(recorder.previous);
+        }
+        String algorithm = recorder.fftMultiplyCount > 0 ? "fft" : recorder.recursive ? "recursive" : "iterative";
+        recorder.event.endAndCommit(recorder.digitCount, recorder.radix, algorithm,
+                recorder.powersOfTenTime, recorder.multiplyTime, recorder.fftMultiplyCount);
+    }
+
+    /**
+     * Returns the recorder of the current thread.
+     *
+     * @return a recorder or null
+     */
+    static BigNumberParseRecorder current() {
+        return ENABLED ? CURRENT.get() : null;
+    }
+
+    /**
+     * Returns the current time if a recorder is present.
+     *
+     * @param recorder a recorder or null
+     * @return the value of {@link System#nanoTime()}, or 0 if recorder is null
+     */
+    static long startTime(BigNumberParseRecorder recorder) {
+        return recorder == null ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Adds the time since the start time to the time spent building powers
+     * of ten.
+     *
+     * @param recorder  a recorder or null
+     * @param startTime the start time obtained from {@link #startTime}
+     */
+    static void addPowersOfTenTime(BigNumberParseRecorder recorder, long startTime) {
+        if (recorder != null) {
+            recorder.powersOfTenTime += System.nanoTime() - startTime;
+        }
+    }
+
+    /**
+     * Adds the specified duration to the time spent in multiplications.
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    void addMultiplyTime(long nanos) {
+        multiplyTime += nanos;
+    }
+
+    /**
+     * Counts a multiplication with the FFT algorithm, if a recorder is
+     * present in the current thread.
+     */
+    static void countFftMultiply() {
+        BigNumberParseRecorder recorder = current();
+        if (recorder != null) {
+            recorder.fftMultiplyCount++;
+        }
+    }
+
+    /**
+     * The JFR event.
+     * <p>
+     * All accesses to the JFR API are made in this class, so that it is only
+     * loaded if JFR is available.
+     */
+    @Name("ch.randelshofer.fastdoubleparser.BigNumberParse")
+    @Label("Big Number Parse")
+    @Category("FastDoubleParser")
+    @Description("Parsing of a BigDecimal or BigInteger with many digits")
+    static final class BigNumberParseEvent extends Event {
+        @Label("Digit Count")
+        int digitCount;
+        @Label("Radix")
+        int radix;
+        @Label("Algorithm")
+        @Description("iterative, recursive or fft")
+        String algorithm;
+        @Label("Powers of Ten Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long powersOfTenTime;
+        @Label("Multiply Time")
+        @Description("Time spent in FftMultiplier.multiply, including the time spent building powers of ten")
+        @Timespan(Timespan.NANOSECONDS)
+        long multiplyTime;
+        @Label("FFT Multiply Count")
+        int fftMultiplyCount;
+
+        static BigNumberParseEvent beginIfEnabled() {
+            BigNumberParseEvent event = new BigNumberParseEvent();
+            if (!event.isEnabled()) {
+                return null;
+            }
+            event.begin();
+            return event;
+        }
+
+        void endAndCommit(int digitCount, int radix, String algorithm, long powersOfTenTime, long multiplyTime, int fftMultiplyCount) {
+            end();
+            if (shouldCommit()) {
+                this.digitCount = digitCount;
+                this.radix = radix;
+                this.algorithm = algorithm;
+                this.powersOfTenTime = powersOfTenTime;
+                this.multiplyTime = multiplyTime;
+                this.fftMultiplyCount = fftMultiplyCount;
+                commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * @(#)ColumnPolicy.java
+ * Copyright © 2023 Werner Randelshofer, Switzerland. MIT License.
+ */
+package ch.randelshofer.fastdoubleparser;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Specifies how the column parse methods handle fields that do not contain
+ * a number.
+ * <p>
+ * The column parse methods, for example
+ * {@link JavaDoubleParser#parseDoubleColumn}, distinguish three kinds of
+ * such fields:
+ * <dl>
+ *     <dt>empty fields</dt><dd>fields with length 0.</dd>
+ *     <dt>null tokens</dt><dd>fields that are equal to one of the
+ *     {@linkplain #withNullTokens null tokens}, by default {@code null}.</dd>
+ *     <dt>malformed fields</dt><dd>all other fields that can not be parsed.</dd>
+ * </dl>
+ * For each kind, the policy specifies an {@link Action}.
+ * <p>
+ * The column parse methods write the result of each field into a validity
+ * bitmap. The bit for the field with index {@code i} is
+ * {@code (validity[i >>> 6] >>> i) & 1}, it is 1 if the field holds a value.
+ * This is the bit order of the validity bitmaps of Apache Arrow.
+ * <p>
+ * Instances of this class are immutable.
+ */
+public final class ColumnPolicy {
+    /**
+     * Specifies what happens with a field that does not contain a number.
+     */
+    public enum Action {
+        /**
+         * Stores the default value, and clears the bit in the validity bitmap.
+         */
+        MARK_INVALID,
+        /**
+         * Stores the default value, and sets the bit in the validity bitmap.
+         */
+        USE_DEFAULT,
+        /**
+         * Throws a {@link NumberFormatException}. The values and the bits of
+         * all fields before the failed field have already been stored.
+         */
+        FAIL
+    }
+
+    private static final byte[][] DEFAULT_NULL_TOKENS = {"null".getBytes(StandardCharsets.ISO_8859_1)};
+
+    /**
+     * Marks empty fields, null tokens and malformed fields as invalid,
+     * and stores {@code NaN} or 0 for them.
+     */
+    public static final ColumnPolicy MARK_INVALID = new ColumnPolicy(Action.MARK_INVALID, Action.MARK_INVALID, Action.MARK_INVALID,
+            DEFAULT_NULL_TOKENS, Double.NaN, 0L);
+    /**
+     * Marks empty fields and null tokens as invalid, and fails on malformed
+     * fields.
+     */
+    public static final ColumnPolicy FAIL_ON_MALFORMED = MARK_INVALID.withMalformed(Action.FAIL);
+
+    private final Action onEmpty;
+    private final Action onNullToken;
+    private final Action onMalformed;
+    private final byte[][] nullTokens;
+    private final double defaultDouble;
+    private final long defaultLong;
+
+    private ColumnPolicy(Action onEmpty, Action onNullToken, Action onMalformed, byte[][] nullTokens, double defaultDouble, long defaultLong) {
+        this.onEmpty = onEmpty;
+        this.onNullToken = onNullToken;
+        this.onMalformed = onMalformed;
+        this.nullTokens = nullTokens;
+        this.defaultDouble = defaultDouble;
+        this.defaultLong = defaultLong;
+    }
+
+    /**
+     * Returns a policy with the specified action for empty fields.
+     *
+     * @param action the action
+     * @return a new policy
+     * @throws NullPointerException if action is null
+     */
+    public ColumnPolicy withEmpty(Action action) {
+        return new ColumnPolicy(checkNotNull(action), onNullToken, onMalformed, nullTokens, defaultDouble, defaultLong);
+    }
+
+    /**
+     * Returns a policy with the specified action for null tokens.
+     *
+     * @param action the action
+     * @return a new policy
+     * @throws NullPointerException if action is null
+     */
+    public ColumnPolicy withNullToken(Action action) {
+        return new ColumnPolicy(onEmpty, checkNotNull(action), onMalformed, nullTokens, defaultDouble, defaultLong);
+    }
+
+    /**
+     * Returns a policy with the specified action for malformed fields.
+     *
+     * @param action the action
+     * @return a new policy
+     * @throws NullPointerException if action is null
+     */
+    public ColumnPolicy withMalformed(Action action) {
+        return new ColumnPolicy(onEmpty, onNullToken, checkNotNull(action), nullTokens, defaultDouble, defaultLong);
+    }
+
+    /**
+     * Returns a policy with the specified null tokens.
+     * <p>
+     * A field is a null token if it is equal to one of the tokens.
+     * The comparison is case-sensitive. For example, {@code "NaN"} can
+     * be added to the null tokens, so that {@code NaN} values are treated
+     * as missing values.
+     *
+     * @param tokens the null tokens, must only contain ISO-8859-1 characters
+     * @return a new policy
+     * @throws NullPointerException if tokens or one of its elements is null
+     */
+    public ColumnPolicy withNullTokens(String... tokens) {
+        byte[][] bytes = new byte[tokens.length][];
+        for (int i = 0; i < tokens.length; i++) {
+            bytes[i] = tokens[i].getBytes(StandardCharsets.ISO_8859_1);
+        }
+        return new ColumnPolicy(onEmpty, onNullToken, onMalformed, bytes, defaultDouble, defaultLong);
+    }
+
+    /**
+     * Returns a policy with the specified default value for {@code double}
+     * and {@code float} columns. The initial default value is {@code NaN}.
+     *
+     * @param value the default value
+     * @return a new policy
+     */
+    public ColumnPolicy withDefaultDouble(double value) {
+        return new ColumnPolicy(onEmpty, onNullToken, onMalformed, nullTokens, value, defaultLong);
+    }
+
+    /**
+     * Returns a policy with the specified default value for {@code long}
+     * columns. The initial default value is 0.
+     *
+     * @param value the default value
+     * @return a new policy
+     */
+    public ColumnPolicy withDefaultLong(long value) {
+        return new ColumnPolicy(onEmpty, onNullToken, onMalformed, nullTokens, defaultDouble, value);
+    }
+
+    double getDefaultDouble() {
+        return defaultDouble;
+    }
+
+    long getDefaultLong() {
+        return defaultLong;
+    }
+
+    private static Action checkNotNull(Action action) {
+        if (action == null) {
+            throw new NullPointerException("action");
+        }
+        return action;
+    }
+
+    /**
+     * Checks whether a field must be parsed.
+     *
+     * @param str    the byte array
+     * @param offset the start offset of the field
+     * @param length the length of the field
+     * @return null if the field must be parsed, or the action for an empty
+     * field or for a null token
+     */
+    Action check(byte[] str, int offset, int length) {
+        if (length == 0) {
+            return onEmpty;
+        }
+        for (byte[] token : nullTokens) {
+            if (token.length == length && regionMatches(str, offset, token)) {
+                return onNullToken;
+            }
+        }
+        return null;
+    }
+
+    private static boolean regionMatches(byte[] str, int offset, byte[] token) {
+        for (int i = 0; i < token.length; i++) {
+            if (str[offset + i] != token[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the action for a malformed field.
+     *
+     * @return the action
+     */
+    Action malformed() {
+        return onMalformed;
+    }
+
+    /**
+     * Applies an action to the validity bitmap.
+     *
+     * @param action   the action
+     * @param validity the validity bitmap
+     * @param index    the index of the field
+     * @return true if the field is invalid
+     * @throws NumberFormatException if the action is {@link Action#FAIL}
+     */
+    static boolean apply(Action action, long[] validity, int index) {
+        if (action == Action.FAIL) {
+            throw new NumberFormatException(AbstractNumberParser.SYNTAX_ERROR);
+        }
+        boolean invalid = action == Action.MARK_INVALID;
+        setValid(validity, index, !invalid);
+        return invalid;
+    }
+
+    static void setValid(long[] validity, int index, boolean valid) {
+        if (valid) {
+            validity[index >>> 6] |= 1L << index;
+        } else {
+            validity[index >>> 6] &= ~(1L << index);
+        }
+    }
+
+    /**
+     * Checks that the validity bitmap has room for the specified number of
+     * fields.
+     *
+     * @param validity the validity bitmap
+     * @param count    the number of fields
+     * @throws IllegalArgumentException if the bitmap is too short
+     */
+    static void checkValidity(long[] validity, int count) {
+        if (validity.length < (count + 63) >>> 6) {
+            throw new IllegalArgumentException(AbstractNumberParser.ILLEGAL_OFFSET_OR_ILLEGAL_LENGTH);
+        }
+    }
+}
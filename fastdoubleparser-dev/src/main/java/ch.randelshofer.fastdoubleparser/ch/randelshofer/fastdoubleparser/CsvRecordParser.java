@@ -0,0 +1,300 @@
+/*
+ * @(#)CsvRecordParser.java
+ * Copyright © 2023 Werner Randelshofer, Switzerland. MIT License.
+ */
+package ch.randelshofer.fastdoubleparser;
+
+import java.math.BigDecimal;
+
+/**
+ * Parses the records of a CSV file from a {@code byte} array, and stores the
+ * numbers of each record in reusable slots.
+ * <p>
+ * The parser is configured with a schema, which specifies the
+ * {@link ColumnType} of each column, a delimiter character and a quote
+ * character. {@link #parseRecord(byte[], int, int)} splits a record into its
+ * fields, and parses each field directly from the byte array with
+ * the parsers of {@link JavaDoubleParser}, {@link JavaFloatParser},
+ * {@link JavaBigIntegerParser} or {@link JavaBigDecimalParser}. No strings
+ * are created. Columns of type {@link ColumnType#SKIP} are split, but not
+ * converted.
+ * <p>
+ * A field may be enclosed in quote characters. Inside a quoted field, the
+ * delimiter and the line terminators are part of the field, and two quote
+ * characters stand for one quote character. The fields of numeric columns
+ * must not contain quote characters.
+ * <p>
+ * A record is terminated by {@code \n}, {@code \r\n}, {@code \r}, or by the
+ * end of the input.
+ * <p>
+ * Usage:
+ * <pre>
+ * CsvRecordParser parser = new CsvRecordParser(new CsvRecordParser.ColumnType[]{
+ *         CsvRecordParser.ColumnType.SKIP,
+ *         CsvRecordParser.ColumnType.DOUBLE,
+ *         CsvRecordParser.ColumnType.LONG}, (byte) ',', (byte) '"');
+ * for (int i = 0; i &lt; end; ) {
+ *     i = parser.parseRecord(buf, i, end);
+ *     double x = parser.getDouble(1);
+ *     long n = parser.getLong(2);
+ * }
+ * </pre>
+ * <p>
+ * Instances of this class are not thread-safe.
+ */
+public final class CsvRecordParser {
+    /**
+     * The type of a column.
+     */
+    public enum ColumnType {
+        /**
+         * A {@code FloatingPointLiteral}, which is converted into a
+         * {@code double}.
+         */
+        DOUBLE,
+        /**
+         * A {@code FloatingPointLiteral}, which is converted into a
+         * {@code float}.
+         */
+        FLOAT,
+        /**
+         * A decimal {@code BigIntegerLiteral}, which is converted into a
+         * {@code long}.
+         */
+        LONG,
+        /**
+         * A {@code BigDecimalLiteral}, which is converted into a
+         * {@link BigDecimal}.
+         */
+        BIG_DECIMAL,
+        /**
+         * A column that is not converted.
+         */
+        SKIP
+    }
+
+    private static final JavaBigIntegerFromByteArray LONG_PARSER = new JavaBigIntegerFromByteArray();
+
+    private final ColumnType[] schema;
+    private final byte delimiter;
+    private final byte quote;
+    private final double[] doubles;
+    private final float[] floats;
+    private final long[] longs;
+    private final BigDecimal[] bigDecimals;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param schema    the types of the columns, must contain at least
+     *                  one column
+     * @param delimiter the delimiter character, must be an ASCII character
+     * @param quote     the quote character, must be an ASCII character
+     *                  that is different from the delimiter
+     * @throws NullPointerException     if the schema or one of its elements is null
+     * @throws IllegalArgumentException if the schema is empty, if the delimiter
+     *                                  or the quote character is not an ASCII
+     *                                  character, if they are equal, or if one
+     *                                  of them is a line terminator
+     */
+    public CsvRecordParser(ColumnType[] schema, byte delimiter, byte quote) {
+        this.schema = schema.clone();
+        for (ColumnType type : this.schema) {
+            if (type == null) {
+                throw new NullPointerException("schema");
+            }
+        }
+        if (this.schema.length == 0) {
+            throw new IllegalArgumentException("empty schema");
+        }
+        if (delimiter < 0 || quote < 0 || delimiter == quote
+                || isLineTerminator(delimiter) || isLineTerminator(quote)) {
+            throw new IllegalArgumentException("illegal delimiter or quote character");
+        }
+        this.delimiter = delimiter;
+        this.quote = quote;
+        int n = schema.length;
+        doubles = new double[n];
+        floats = new float[n];
+        longs = new long[n];
+        bigDecimals = new BigDecimal[n];
+    }
+
+    private static boolean isLineTerminator(byte ch) {
+        return ch == '\n' || ch == '\r';
+    }
+
+    /**
+     * Parses the record that starts at the specified offset, and stores
+     * the values of its fields in the slots of this parser.
+     *
+     * @param str    the byte array, with characters in ISO-8859-1, ASCII or
+     *               UTF-8 encoding
+     * @param offset the start of the record
+     * @param end    the end of the input
+     * @return the start of the next record, or {@code end} if this was the
+     * last record
+     * @throws NullPointerException     if the byte array is null
+     * @throws IllegalArgumentException if offset or end are illegal
+     * @throws NumberFormatException    if a field can not be parsed, if a
+     *                                  quoted field is not terminated, or if
+     *                                  the record does not have as many fields
+     *                                  as the schema
+     */
+    public int parseRecord(byte[] str, int offset, int end) throws NumberFormatException {
+        if (offset < 0 || end < offset || end > str.length) {
+            throw new IllegalArgumentException(AbstractNumberParser.ILLEGAL_OFFSET_OR_ILLEGAL_LENGTH);
+        }
+        final ColumnType[] schema = this.schema;
+        final int lastColumn = schema.length - 1;
+        int index = offset;
+        for (int column = 0; column <= lastColumn; column++) {
+            // Find the field
+            int fieldStart = index;
+            int fieldEnd;
+            if (index < end && str[index] == quote) {
+                fieldStart = ++index;
+                index = skipQuotedField(str, index, end);
+                fieldEnd = index - 1;
+            } else {
+                byte ch;
+                while (index < end && (ch = str[index]) != delimiter && !isLineTerminator(ch)) {
+                    index++;
+                }
+                fieldEnd = index;
+            }
+
+            // Check the field separator
+            boolean atEndOfRecord = index == end || isLineTerminator(str[index]);
+            if (atEndOfRecord != (column == lastColumn) || !atEndOfRecord && str[index] != delimiter) {
+                throw new NumberFormatException(AbstractNumberParser.SYNTAX_ERROR);
+            }
+            if (!atEndOfRecord) {
+                index++;
+            }
+
+            // Convert the field
+            int length = fieldEnd - fieldStart;
+            switch (schema[column]) {
+                case DOUBLE:
+                    doubles[column] = JavaDoubleParser.parseDouble(str, fieldStart, length);
+                    break;
+                case FLOAT:
+                    floats[column] = JavaFloatParser.parseFloat(str, fieldStart, length);
+                    break;
+                case LONG:
+                    longs[column] = LONG_PARSER.parseLongLiteral(str, fieldStart, length);
+                    break;
+                case BIG_DECIMAL:
+                    bigDecimals[column] = JavaBigDecimalParser.parseBigDecimal(str, fieldStart, length);
+                    break;
+                default:
+                    break;
+            }
+        }
+        return skipLineTerminator(str, index, end);
+    }
+
+    /**
+     * Skips a quoted field.
+     *
+     * @param str   the byte array
+     * @param index the index after the opening quote character
+     * @param end   the end of the input
+     * @return the index after the closing quote character
+     * @throws NumberFormatException if the field is not terminated
+     */
+    private int skipQuotedField(byte[] str, int index, int end) {
+        while (index < end) {
+            if (str[index++] == quote) {
+                if (index < end && str[index] == quote) {
+                    index++;
+                } else {
+                    return index;
+                }
+            }
+        }
+        throw new NumberFormatException(AbstractNumberParser.SYNTAX_ERROR);
+    }
+
+    private static int skipLineTerminator(byte[] str, int index, int end) {
+        if (index < end && str[index] == '\r') {
+            index++;
+        }
+        if (index < end && str[index] == '\n') {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Returns the number of columns.
+     *
+     * @return the number of columns
+     */
+    public int getColumnCount() {
+        return schema.length;
+    }
+
+    /**
+     * Returns the type of the specified column.
+     *
+     * @param column the index of the column
+     * @return the type
+     */
+    public ColumnType getColumnType(int column) {
+        return schema[column];
+    }
+
+    /**
+     * Returns the value of a {@link ColumnType#DOUBLE} column of the last
+     * parsed record.
+     * <p>
+     * The result is unspecified if the column has another type.
+     *
+     * @param column the index of the column
+     * @return the value
+     */
+    public double getDouble(int column) {
+        return doubles[column];
+    }
+
+    /**
+     * Returns the value of a {@link ColumnType#FLOAT} column of the last
+     * parsed record.
+     * <p>
+     * The result is unspecified if the column has another type.
+     *
+     * @param column the index of the column
+     * @return the value
+     */
+    public float getFloat(int column) {
+        return floats[column];
+    }
+
+    /**
+     * Returns the value of a {@link ColumnType#LONG} column of the last
+     * parsed record.
+     * <p>
+     * The result is unspecified if the column has another type.
+     *
+     * @param column the index of the column
+     * @return the value
+     */
+    public long getLong(int column) {
+        return longs[column];
+    }
+
+    /**
+     * Returns the value of a {@link ColumnType#BIG_DECIMAL} column of the
+     * last parsed record.
+     * <p>
+     * The result is unspecified if the column has another type.
+     *
+     * @param column the index of the column
+     * @return the value
+     */
+    public BigDecimal getBigDecimal(int column) {
+        return bigDecimals[column];
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * @(#)DoubleSpliteratorFromCharArray.java
+ * Copyright © 2023 Werner Randelshofer, Switzerland. MIT License.
+ */
+package ch.randelshofer.fastdoubleparser;
+
+import java.util.Spliterator;
+import java.util.function.DoubleConsumer;
+
+/**
+ * A spliterator over delimited {@code FloatingPointLiteral}s in a
+ * {@code char}-Array.
+ * <p>
+ * The fields are separated by a delimiter. A delimiter at the end of the
+ * region does not start another field. The fields are parsed lazily, when
+ * they are traversed. The spliterator only splits at delimiters, so that
+ * each field is parsed by exactly one spliterator.
+ */
+final class DoubleSpliteratorFromCharArray implements Spliterator.OfDouble {
+    /**
+     * Regions that are shorter than this are not split.
+     */
+    static final int MIN_SPLIT_LENGTH = 4096;
+
+    private final JavaDoubleBitsFromCharArray parser;
+    private final char[] str;
+    private final char delimiter;
+    private final int endIndex;
+    private int index;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param parser    the parser for the fields
+     * @param str       the char array that contains the fields
+     * @param offset    the start of the region
+     * @param endIndex  the end of the region (exclusive)
+     * @param delimiter the delimiter
+     */
+    DoubleSpliteratorFromCharArray(JavaDoubleBitsFromCharArray parser, char[] str, int offset, int endIndex, char delimiter) {
+        this.parser = parser;
+        this.str = str;
+        this.index = offset;
+        this.endIndex = endIndex;
+        this.delimiter = delimiter;
+    }
+
+    private int indexOfDelimiter(int from) {
+        while (from < endIndex && str[from] != delimiter) {
+            from++;
+        }
+        return from;
+    }
+
+    @Override
+    public boolean tryAdvance(DoubleConsumer action) {
+        if (index >= endIndex) {
+            return false;
+        }
+        int fieldEnd = indexOfDelimiter(index);
+        double value = Double.longBitsToDouble(parser.parseFloatingPointLiteral(str, index, fieldEnd - index));
+        index = fieldEnd + 1;
+        action.accept(value);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(DoubleConsumer action) {
+        int i = index;
+        index = endIndex;
+        while (i < endIndex) {
+            int fieldEnd = indexOfDelimiter(i);
+            action.accept(Double.longBitsToDouble(parser.parseFloatingPointLiteral(str, i, fieldEnd - i)));
+            i = fieldEnd + 1;
+        }
+    }
+
+    @Override
+    public Spliterator.OfDouble trySplit() {
+        int remaining = endIndex - index;
+        if (remaining < MIN_SPLIT_LENGTH) {
+            return null;
+        }
+        // The prefix ends with the first delimiter after the middle of the region.
+        int splitIndex = indexOfDelimiter(index + (remaining >>> 1)) + 1;
+        if (splitIndex >= endIndex) {
+            return null;
+        }
+        DoubleSpliteratorFromCharArray prefix = new DoubleSpliteratorFromCharArray(parser, str, index, splitIndex, delimiter);
+        index = splitIndex;
+        return prefix;
+    }
+
+    /**
+     * Returns an upper bound for the number of the remaining fields.
+     *
+     * @return the estimated size
+     */
+    @Override
+    public long estimateSize() {
+        return (endIndex - index + 1) >>> 1;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | IMMUTABLE;
+    }
+}
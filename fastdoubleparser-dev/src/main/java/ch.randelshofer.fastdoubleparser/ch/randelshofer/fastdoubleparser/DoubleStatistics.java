@@ -0,0 +1,329 @@
+/*
+ * @(#)DoubleStatistics.java
+ * Copyright © 2023 Werner Randelshofer, Switzerland. MIT License.
+ */
+package ch.randelshofer.fastdoubleparser;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Computes the count, sum, minimum, maximum, average and variance of
+ * {@code double} values in a single pass.
+ * <p>
+ * The {@code acceptAll} methods parse delimited {@code FloatingPointLiteral}s
+ * from a buffer and aggregate them directly, without storing the parsed
+ * values in an intermediate array. The literals are parsed with
+ * {@link JavaDoubleParser}.
+ * <p>
+ * The sum is computed with the Neumaier compensation algorithm. The variance
+ * is computed with Welford's algorithm, which does not suffer from the
+ * cancellation of the textbook formula {@code sum(x^2)/n - avg^2}.
+ * <p>
+ * Usage with a buffer that contains one value per line:
+ * <pre>
+ * DoubleStatistics stats = new DoubleStatistics();
+ * stats.acceptAll(bytes, 0, bytes.length, (byte) '\n');
+ * double avg = stats.getAverage();
+ * </pre>
+ * Usage with a double stream:
+ * <pre>
+ * DoubleStatistics stats = doubleStream.collect(DoubleStatistics::new,
+ *                                               DoubleStatistics::accept,
+ *                                               DoubleStatistics::combine);
+ * </pre>
+ * <p>
+ * References:
+ * <dl>
+ *     <dt>Kahan summation algorithm, Further enhancements.<br>
+ *     Wikipedia.</dt>
+ *     <dd><a href="https://en.wikipedia.org/wiki/Kahan_summation_algorithm#Further_enhancements">wikipedia.org</a></dd>
+ *
+ *     <dt>Algorithms for calculating variance, Welford's online algorithm
+ *     and Parallel algorithm.<br>
+ *     Wikipedia.</dt>
+ *     <dd><a href="https://en.wikipedia.org/wiki/Algorithms_for_calculating_variance">wikipedia.org</a></dd>
+ * </dl>
+ * <p>
+ * Instances of this class are not thread-safe.
+ */
+public final class DoubleStatistics implements DoubleConsumer {
+    /**
+     * Size of the chunks that are copied from a {@link ByteBuffer} that
+     * does not have a backing array.
+     */
+    private static final int CHUNK_SIZE = 8192;
+
+    private long count;
+    private double sum;
+    private double compensation;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private double mean;
+    private double m2;
+
+    /**
+     * Creates a new instance with no values.
+     */
+    public DoubleStatistics() {
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param value a value
+     */
+    @Override
+    public void accept(double value) {
+        long n = ++count;
+        addToSum(value);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        double delta = value - mean;
+        mean += delta / n;
+        m2 += delta * (value - mean);
+    }
+
+    /**
+     * Parses the delimited literals in the specified region of a
+     * {@code byte}-Array, and adds their values.
+     * <p>
+     * Empty fields are skipped, so that a trailing delimiter does not
+     * cause an error. Since {@link JavaDoubleParser} skips white space,
+     * lines terminated by {@code \r\n} can be parsed with the delimiter
+     * {@code '\n'}.
+     *
+     * @param str       the byte array, with characters in ISO-8859-1, ASCII
+     *                  or UTF-8 encoding
+     * @param offset    the start of the region
+     * @param length    the length of the region
+     * @param delimiter the delimiter between the literals
+     * @throws NullPointerException     if the byte array is null
+     * @throws IllegalArgumentException if offset or length are illegal
+     * @throws NumberFormatException    if a field can not be parsed. The
+     *                                  values before the field have already
+     *                                  been added.
+     */
+    public void acceptAll(byte[] str, int offset, int length, byte delimiter) throws NumberFormatException {
+        final int endIndex = offset + length;
+        if (offset < 0 || endIndex < offset || endIndex > str.length) {
+            throw new IllegalArgumentException(AbstractNumberParser.ILLEGAL_OFFSET_OR_ILLEGAL_LENGTH);
+        }
+        int start = offset;
+        for (int index = offset; index < endIndex; index++) {
+            if (str[index] == delimiter) {
+                if (index > start) {
+                    accept(JavaDoubleParser.parseDouble(str, start, index - start));
+                }
+                start = index + 1;
+            }
+        }
+        if (endIndex > start) {
+            accept(JavaDoubleParser.parseDouble(str, start, endIndex - start));
+        }
+    }
+
+    /**
+     * Parses the delimited literals in the specified region of a
+     * {@code char}-Array, and adds their values.
+     * <p>
+     * See {@link #acceptAll(byte[], int, int, byte)}.
+     *
+     * @param str       the char array
+     * @param offset    the start of the region
+     * @param length    the length of the region
+     * @param delimiter the delimiter between the literals
+     * @throws NullPointerException     if the char array is null
+     * @throws IllegalArgumentException if offset or length are illegal
+     * @throws NumberFormatException    if a field can not be parsed. The
+     *                                  values before the field have already
+     *                                  been added.
+     */
+    public void acceptAll(char[] str, int offset, int length, char delimiter) throws NumberFormatException {
+        final int endIndex = offset + length;
+        if (offset < 0 || endIndex < offset || endIndex > str.length) {
+            throw new IllegalArgumentException(AbstractNumberParser.ILLEGAL_OFFSET_OR_ILLEGAL_LENGTH);
+        }
+        int start = offset;
+        for (int index = offset; index < endIndex; index++) {
+            if (str[index] == delimiter) {
+                if (index > start) {
+                    accept(JavaDoubleParser.parseDouble(str, start, index - start));
+                }
+                start = index + 1;
+            }
+        }
+        if (endIndex > start) {
+            accept(JavaDoubleParser.parseDouble(str, start, endIndex - start));
+        }
+    }
+
+    /**
+     * Parses the delimited literals between the position and the limit of
+     * a byte buffer, and adds their values.
+     * <p>
+     * The position of the buffer is not changed. A buffer without a backing
+     * array, for example a {@link java.nio.MappedByteBuffer}, is copied
+     * in small chunks.
+     * <p>
+     * See {@link #acceptAll(byte[], int, int, byte)}.
+     *
+     * @param buf       the byte buffer, with characters in ISO-8859-1, ASCII
+     *                  or UTF-8 encoding
+     * @param delimiter the delimiter between the literals
+     * @throws NullPointerException  if the buffer is null
+     * @throws NumberFormatException if a field can not be parsed. The
+     *                               values before the field have already
+     *                               been added.
+     */
+    public void acceptAll(ByteBuffer buf, byte delimiter) throws NumberFormatException {
+        if (buf.hasArray()) {
+            acceptAll(buf.array(), buf.arrayOffset() + buf.position(), buf.remaining(), delimiter);
+            return;
+        }
+        ByteBuffer src = buf.duplicate();
+        byte[] chunk = new byte[CHUNK_SIZE];
+        int filled = 0;
+        while (src.hasRemaining()) {
+            if (filled == chunk.length) {
+                // A single field is longer than the chunk
+                chunk = Arrays.copyOf(chunk, chunk.length * 2);
+            }
+            int n = Math.min(chunk.length - filled, src.remaining());
+            src.get(chunk, filled, n);
+            filled += n;
+
+            // Aggregate all complete fields, and keep the incomplete field
+            int lastDelimiter = filled - 1;
+            while (lastDelimiter >= 0 && chunk[lastDelimiter] != delimiter) {
+                lastDelimiter--;
+            }
+            if (lastDelimiter >= 0) {
+                acceptAll(chunk, 0, lastDelimiter, delimiter);
+                filled -= lastDelimiter + 1;
+                System.arraycopy(chunk, lastDelimiter + 1, chunk, 0, filled);
+            }
+        }
+        acceptAll(chunk, 0, filled, delimiter);
+    }
+
+    /**
+     * Combines the state of another {@code DoubleStatistics} into this one.
+     *
+     * @param other another {@code DoubleStatistics}
+     * @return this
+     */
+    public DoubleStatistics combine(DoubleStatistics other) {
+        if (other.count == 0) {
+            return this;
+        }
+        long n = count + other.count;
+        double delta = other.mean - mean;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / n);
+        mean += delta * other.count / n;
+        count = n;
+        addToSum(other.sum);
+        addToSum(other.compensation);
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    /**
+     * Performs the Neumaier sum algorithm.
+     *
+     * @param value the value
+     */
+    private void addToSum(double value) {
+        double t = sum + value;
+        if (Math.abs(sum) >= Math.abs(value)) {
+            compensation += (sum - t) + value;// If sum is bigger, low-order digits of value are lost.
+        } else {
+            compensation += (value - t) + sum;// Else low-order digits of sum are lost.
+        }
+        sum = t;
+    }
+
+    /**
+     * Returns the number of values.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the sum of the values, or 0 if there are no values.
+     *
+     * @return the sum
+     */
+    public double getSum() {
+        return sum + compensation;
+    }
+
+    /**
+     * Returns the smallest value, or {@link Double#POSITIVE_INFINITY} if
+     * there are no values.
+     *
+     * @return the minimum
+     */
+    public double getMin() {
+        return min;
+    }
+
+    /**
+     * Returns the largest value, or {@link Double#NEGATIVE_INFINITY} if
+     * there are no values.
+     *
+     * @return the maximum
+     */
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the arithmetic mean of the values, or 0 if there are no values.
+     *
+     * @return the average
+     */
+    public double getAverage() {
+        return count > 0 ? getSum() / count : 0.0;
+    }
+
+    /**
+     * Returns the (unbiased) variance {@code s^2} of the sample, or 0 if
+     * there are less than two values.
+     *
+     * @return the variance of the sample
+     */
+    public double getSampleVariance() {
+        return count > 1 ? m2 / (count - 1) : 0.0;
+    }
+
+    /**
+     * Returns the variance of the population, or 0 if there are no values.
+     * <p>
+     * Use this method only if the entire population has been sampled.
+     *
+     * @return the variance of the population
+     */
+    public double getPopulationVariance() {
+        return count > 0 ? m2 / count : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "%s{count=%d, sum=%f, min=%f, avg=%f, max=%f, vars=%f}",
+                getClass().getSimpleName(),
+                getCount(),
+                getSum(),
+                getMin(),
+                getAverage(),
+                getMax(),
+                getSampleVariance()
+        );
+    }
+}
@@ -407,338 +407,6 @@ class FastDoubleMath {
             0xbaa718e68396cffdL, 0xe950df20247c83fdL,
             0x91d28b7416cdd27eL, 0xb6472e511c81471dL,
             0xe3d8f9e563a198e5L, 0x8e679c2f5e44ff8fL};
-    /**
-     * A complement to mantissa_64 complete to a
-     * 128-bit mantissa.
-     * <p>
-     * Uses about 5KB but is rarely accessed.
-     * <pre>
-     * UInt128 getMantissa128(int q) {
-     *     return new UInt128(
-     *        MANTISSA_64[q - SMALLEST_POWER_OF_TEN],
-     *        MANTISSA_128[q - SMALLEST_POWER_OF_TEN];
-     *     );
-     * }
-     * </pre>
-     */
-    final static long[] MANTISSA_128 = {
-            0x419ea3bd35385e2dL, 0x52064cac828675b9L,
-            0x7343efebd1940993L, 0x1014ebe6c5f90bf8L,
-            0xd41a26e077774ef6L, 0x8920b098955522b4L,
-            0x55b46e5f5d5535b0L, 0xeb2189f734aa831dL,
-            0xa5e9ec7501d523e4L, 0x47b233c92125366eL,
-            0x999ec0bb696e840aL, 0xc00670ea43ca250dL,
-            0x380406926a5e5728L, 0xc605083704f5ecf2L,
-            0xf7864a44c633682eL, 0x7ab3ee6afbe0211dL,
-            0x5960ea05bad82964L, 0x6fb92487298e33bdL,
-            0xa5d3b6d479f8e056L, 0x8f48a4899877186cL,
-            0x331acdabfe94de87L, 0x9ff0c08b7f1d0b14L,
-            0x7ecf0ae5ee44dd9L, 0xc9e82cd9f69d6150L,
-            0xbe311c083a225cd2L, 0x6dbd630a48aaf406L,
-            0x92cbbccdad5b108L, 0x25bbf56008c58ea5L,
-            0xaf2af2b80af6f24eL, 0x1af5af660db4aee1L,
-            0x50d98d9fc890ed4dL, 0xe50ff107bab528a0L,
-            0x1e53ed49a96272c8L, 0x25e8e89c13bb0f7aL,
-            0x77b191618c54e9acL, 0xd59df5b9ef6a2417L,
-            0x4b0573286b44ad1dL, 0x4ee367f9430aec32L,
-            0x229c41f793cda73fL, 0x6b43527578c1110fL,
-            0x830a13896b78aaa9L, 0x23cc986bc656d553L,
-            0x2cbfbe86b7ec8aa8L, 0x7bf7d71432f3d6a9L,
-            0xdaf5ccd93fb0cc53L, 0xd1b3400f8f9cff68L,
-            0x23100809b9c21fa1L, 0xabd40a0c2832a78aL,
-            0x16c90c8f323f516cL, 0xae3da7d97f6792e3L,
-            0x99cd11cfdf41779cL, 0x40405643d711d583L,
-            0x482835ea666b2572L, 0xda3243650005eecfL,
-            0x90bed43e40076a82L, 0x5a7744a6e804a291L,
-            0x711515d0a205cb36L, 0xd5a5b44ca873e03L,
-            0xe858790afe9486c2L, 0x626e974dbe39a872L,
-            0xfb0a3d212dc8128fL, 0x7ce66634bc9d0b99L,
-            0x1c1fffc1ebc44e80L, 0xa327ffb266b56220L,
-            0x4bf1ff9f0062baa8L, 0x6f773fc3603db4a9L,
-            0xcb550fb4384d21d3L, 0x7e2a53a146606a48L,
-            0x2eda7444cbfc426dL, 0xfa911155fefb5308L,
-            0x793555ab7eba27caL, 0x4bc1558b2f3458deL,
-            0x9eb1aaedfb016f16L, 0x465e15a979c1cadcL,
-            0xbfacd89ec191ec9L, 0xcef980ec671f667bL,
-            0x82b7e12780e7401aL, 0xd1b2ecb8b0908810L,
-            0x861fa7e6dcb4aa15L, 0x67a791e093e1d49aL,
-            0xe0c8bb2c5c6d24e0L, 0x58fae9f773886e18L,
-            0xaf39a475506a899eL, 0x6d8406c952429603L,
-            0xc8e5087ba6d33b83L, 0xfb1e4a9a90880a64L,
-            0x5cf2eea09a55067fL, 0xf42faa48c0ea481eL,
-            0xf13b94daf124da26L, 0x76c53d08d6b70858L,
-            0x54768c4b0c64ca6eL, 0xa9942f5dcf7dfd09L,
-            0xd3f93b35435d7c4cL, 0xc47bc5014a1a6dafL,
-            0x359ab6419ca1091bL, 0xc30163d203c94b62L,
-            0x79e0de63425dcf1dL, 0x985915fc12f542e4L,
-            0x3e6f5b7b17b2939dL, 0xa705992ceecf9c42L,
-            0x50c6ff782a838353L, 0xa4f8bf5635246428L,
-            0x871b7795e136be99L, 0x28e2557b59846e3fL,
-            0x331aeada2fe589cfL, 0x3ff0d2c85def7621L,
-            0xfed077a756b53a9L, 0xd3e8495912c62894L,
-            0x64712dd7abbbd95cL, 0xbd8d794d96aacfb3L,
-            0xecf0d7a0fc5583a0L, 0xf41686c49db57244L,
-            0x311c2875c522ced5L, 0x7d633293366b828bL,
-            0xae5dff9c02033197L, 0xd9f57f830283fdfcL,
-            0xd072df63c324fd7bL, 0x4247cb9e59f71e6dL,
-            0x52d9be85f074e608L, 0x67902e276c921f8bL,
-            0xba1cd8a3db53b6L, 0x80e8a40eccd228a4L,
-            0x6122cd128006b2cdL, 0x796b805720085f81L,
-            0xcbe3303674053bb0L, 0xbedbfc4411068a9cL,
-            0xee92fb5515482d44L, 0x751bdd152d4d1c4aL,
-            0xd262d45a78a0635dL, 0x86fb897116c87c34L,
-            0xd45d35e6ae3d4da0L, 0x8974836059cca109L,
-            0x2bd1a438703fc94bL, 0x7b6306a34627ddcfL,
-            0x1a3bc84c17b1d542L, 0x20caba5f1d9e4a93L,
-            0x547eb47b7282ee9cL, 0xe99e619a4f23aa43L,
-            0x6405fa00e2ec94d4L, 0xde83bc408dd3dd04L,
-            0x9624ab50b148d445L, 0x3badd624dd9b0957L,
-            0xe54ca5d70a80e5d6L, 0x5e9fcf4ccd211f4cL,
-            0x7647c3200069671fL, 0x29ecd9f40041e073L,
-            0xf468107100525890L, 0x7182148d4066eeb4L,
-            0xc6f14cd848405530L, 0xb8ada00e5a506a7cL,
-            0xa6d90811f0e4851cL, 0x908f4a166d1da663L,
-            0x9a598e4e043287feL, 0x40eff1e1853f29fdL,
-            0xd12bee59e68ef47cL, 0x82bb74f8301958ceL,
-            0xe36a52363c1faf01L, 0xdc44e6c3cb279ac1L,
-            0x29ab103a5ef8c0b9L, 0x7415d448f6b6f0e7L,
-            0x111b495b3464ad21L, 0xcab10dd900beec34L,
-            0x3d5d514f40eea742L, 0xcb4a5a3112a5112L,
-            0x47f0e785eaba72abL, 0x59ed216765690f56L,
-            0x306869c13ec3532cL, 0x1e414218c73a13fbL,
-            0xe5d1929ef90898faL, 0xdf45f746b74abf39L,
-            0x6b8bba8c328eb783L, 0x66ea92f3f326564L,
-            0xc80a537b0efefebdL, 0xbd06742ce95f5f36L,
-            0x2c48113823b73704L, 0xf75a15862ca504c5L,
-            0x9a984d73dbe722fbL, 0xc13e60d0d2e0ebbaL,
-            0x318df905079926a8L, 0xfdf17746497f7052L,
-            0xfeb6ea8bedefa633L, 0xfe64a52ee96b8fc0L,
-            0x3dfdce7aa3c673b0L, 0x6bea10ca65c084eL,
-            0x486e494fcff30a62L, 0x5a89dba3c3efccfaL,
-            0xf89629465a75e01cL, 0xf6bbb397f1135823L,
-            0x746aa07ded582e2cL, 0xa8c2a44eb4571cdcL,
-            0x92f34d62616ce413L, 0x77b020baf9c81d17L,
-            0xace1474dc1d122eL, 0xd819992132456baL,
-            0x10e1fff697ed6c69L, 0xca8d3ffa1ef463c1L,
-            0xbd308ff8a6b17cb2L, 0xac7cb3f6d05ddbdeL,
-            0x6bcdf07a423aa96bL, 0x86c16c98d2c953c6L,
-            0xe871c7bf077ba8b7L, 0x11471cd764ad4972L,
-            0xd598e40d3dd89bcfL, 0x4aff1d108d4ec2c3L,
-            0xcedf722a585139baL, 0xc2974eb4ee658828L,
-            0x733d226229feea32L, 0x806357d5a3f525fL,
-            0xca07c2dcb0cf26f7L, 0xfc89b393dd02f0b5L,
-            0xbbac2078d443ace2L, 0xd54b944b84aa4c0dL,
-            0xa9e795e65d4df11L, 0x4d4617b5ff4a16d5L,
-            0x504bced1bf8e4e45L, 0xe45ec2862f71e1d6L,
-            0x5d767327bb4e5a4cL, 0x3a6a07f8d510f86fL,
-            0x890489f70a55368bL, 0x2b45ac74ccea842eL,
-            0x3b0b8bc90012929dL, 0x9ce6ebb40173744L,
-            0xcc420a6a101d0515L, 0x9fa946824a12232dL,
-            0x47939822dc96abf9L, 0x59787e2b93bc56f7L,
-            0x57eb4edb3c55b65aL, 0xede622920b6b23f1L,
-            0xe95fab368e45ecedL, 0x11dbcb0218ebb414L,
-            0xd652bdc29f26a119L, 0x4be76d3346f0495fL,
-            0x6f70a4400c562ddbL, 0xcb4ccd500f6bb952L,
-            0x7e2000a41346a7a7L, 0x8ed400668c0c28c8L,
-            0x728900802f0f32faL, 0x4f2b40a03ad2ffb9L,
-            0xe2f610c84987bfa8L, 0xdd9ca7d2df4d7c9L,
-            0x91503d1c79720dbbL, 0x75a44c6397ce912aL,
-            0xc986afbe3ee11abaL, 0xfbe85badce996168L,
-            0xfae27299423fb9c3L, 0xdccd879fc967d41aL,
-            0x5400e987bbc1c920L, 0x290123e9aab23b68L,
-            0xf9a0b6720aaf6521L, 0xf808e40e8d5b3e69L,
-            0xb60b1d1230b20e04L, 0xb1c6f22b5e6f48c2L,
-            0x1e38aeb6360b1af3L, 0x25c6da63c38de1b0L,
-            0x579c487e5a38ad0eL, 0x2d835a9df0c6d851L,
-            0xf8e431456cf88e65L, 0x1b8e9ecb641b58ffL,
-            0xe272467e3d222f3fL, 0x5b0ed81dcc6abb0fL,
-            0x98e947129fc2b4e9L, 0x3f2398d747b36224L,
-            0x8eec7f0d19a03aadL, 0x1953cf68300424acL,
-            0x5fa8c3423c052dd7L, 0x3792f412cb06794dL,
-            0xe2bbd88bbee40bd0L, 0x5b6aceaeae9d0ec4L,
-            0xf245825a5a445275L, 0xeed6e2f0f0d56712L,
-            0x55464dd69685606bL, 0xaa97e14c3c26b886L,
-            0xd53dd99f4b3066a8L, 0xe546a8038efe4029L,
-            0xde98520472bdd033L, 0x963e66858f6d4440L,
-            0xdde7001379a44aa8L, 0x5560c018580d5d52L,
-            0xaab8f01e6e10b4a6L, 0xcab3961304ca70e8L,
-            0x3d607b97c5fd0d22L, 0x8cb89a7db77c506aL,
-            0x77f3608e92adb242L, 0x55f038b237591ed3L,
-            0x6b6c46dec52f6688L, 0x2323ac4b3b3da015L,
-            0xabec975e0a0d081aL, 0x96e7bd358c904a21L,
-            0x7e50d64177da2e54L, 0xdde50bd1d5d0b9e9L,
-            0x955e4ec64b44e864L, 0xbd5af13bef0b113eL,
-            0xecb1ad8aeacdd58eL, 0x67de18eda5814af2L,
-            0x80eacf948770ced7L, 0xa1258379a94d028dL,
-            0x96ee45813a04330L, 0x8bca9d6e188853fcL,
-            0x775ea264cf55347dL, 0x95364afe032a819dL,
-            0x3a83ddbd83f52204L, 0xc4926a9672793542L,
-            0x75b7053c0f178293L, 0x5324c68b12dd6338L,
-            0xd3f6fc16ebca5e03L, 0x88f4bb1ca6bcf584L,
-            0x2b31e9e3d06c32e5L, 0x3aff322e62439fcfL,
-            0x9befeb9fad487c2L, 0x4c2ebe687989a9b3L,
-            0xf9d37014bf60a10L, 0x538484c19ef38c94L,
-            0x2865a5f206b06fb9L, 0xf93f87b7442e45d3L,
-            0xf78f69a51539d748L, 0xb573440e5a884d1bL,
-            0x31680a88f8953030L, 0xfdc20d2b36ba7c3dL,
-            0x3d32907604691b4cL, 0xa63f9a49c2c1b10fL,
-            0xfcf80dc33721d53L, 0xd3c36113404ea4a8L,
-            0x645a1cac083126e9L, 0x3d70a3d70a3d70a3L,
-            0xccccccccccccccccL, 0x0L,
-            0x0L, 0x0L,
-            0x0L, 0x0L,
-            0x0L, 0x0L,
-            0x0L, 0x0L,
-            0x0L, 0x0L,
-            0x0L, 0x0L,
-            0x0L, 0x0L,
-            0x0L, 0x0L,
-            0x0L, 0x0L,
-            0x0L, 0x0L,
-            0x0L, 0x0L,
-            0x0L, 0x0L,
-            0x0L, 0x0L,
-            0x0L, 0x4000000000000000L,
-            0x5000000000000000L, 0xa400000000000000L,
-            0x4d00000000000000L, 0xf020000000000000L,
-            0x6c28000000000000L, 0xc732000000000000L,
-            0x3c7f400000000000L, 0x4b9f100000000000L,
-            0x1e86d40000000000L, 0x1314448000000000L,
-            0x17d955a000000000L, 0x5dcfab0800000000L,
-            0x5aa1cae500000000L, 0xf14a3d9e40000000L,
-            0x6d9ccd05d0000000L, 0xe4820023a2000000L,
-            0xdda2802c8a800000L, 0xd50b2037ad200000L,
-            0x4526f422cc340000L, 0x9670b12b7f410000L,
-            0x3c0cdd765f114000L, 0xa5880a69fb6ac800L,
-            0x8eea0d047a457a00L, 0x72a4904598d6d880L,
-            0x47a6da2b7f864750L, 0x999090b65f67d924L,
-            0xfff4b4e3f741cf6dL, 0xbff8f10e7a8921a4L,
-            0xaff72d52192b6a0dL, 0x9bf4f8a69f764490L,
-            0x2f236d04753d5b4L, 0x1d762422c946590L,
-            0x424d3ad2b7b97ef5L, 0xd2e0898765a7deb2L,
-            0x63cc55f49f88eb2fL, 0x3cbf6b71c76b25fbL,
-            0x8bef464e3945ef7aL, 0x97758bf0e3cbb5acL,
-            0x3d52eeed1cbea317L, 0x4ca7aaa863ee4bddL,
-            0x8fe8caa93e74ef6aL, 0xb3e2fd538e122b44L,
-            0x60dbbca87196b616L, 0xbc8955e946fe31cdL,
-            0x6babab6398bdbe41L, 0xc696963c7eed2dd1L,
-            0xfc1e1de5cf543ca2L, 0x3b25a55f43294bcbL,
-            0x49ef0eb713f39ebeL, 0x6e3569326c784337L,
-            0x49c2c37f07965404L, 0xdc33745ec97be906L,
-            0x69a028bb3ded71a3L, 0xc40832ea0d68ce0cL,
-            0xf50a3fa490c30190L, 0x792667c6da79e0faL,
-            0x577001b891185938L, 0xed4c0226b55e6f86L,
-            0x544f8158315b05b4L, 0x696361ae3db1c721L,
-            0x3bc3a19cd1e38e9L, 0x4ab48a04065c723L,
-            0x62eb0d64283f9c76L, 0x3ba5d0bd324f8394L,
-            0xca8f44ec7ee36479L, 0x7e998b13cf4e1ecbL,
-            0x9e3fedd8c321a67eL, 0xc5cfe94ef3ea101eL,
-            0xbba1f1d158724a12L, 0x2a8a6e45ae8edc97L,
-            0xf52d09d71a3293bdL, 0x593c2626705f9c56L,
-            0x6f8b2fb00c77836cL, 0xb6dfb9c0f956447L,
-            0x4724bd4189bd5eacL, 0x58edec91ec2cb657L,
-            0x2f2967b66737e3edL, 0xbd79e0d20082ee74L,
-            0xecd8590680a3aa11L, 0xe80e6f4820cc9495L,
-            0x3109058d147fdcddL, 0xbd4b46f0599fd415L,
-            0x6c9e18ac7007c91aL, 0x3e2cf6bc604ddb0L,
-            0x84db8346b786151cL, 0xe612641865679a63L,
-            0x4fcb7e8f3f60c07eL, 0xe3be5e330f38f09dL,
-            0x5cadf5bfd3072cc5L, 0x73d9732fc7c8f7f6L,
-            0x2867e7fddcdd9afaL, 0xb281e1fd541501b8L,
-            0x1f225a7ca91a4226L, 0x3375788de9b06958L,
-            0x52d6b1641c83aeL, 0xc0678c5dbd23a49aL,
-            0xf840b7ba963646e0L, 0xb650e5a93bc3d898L,
-            0xa3e51f138ab4cebeL, 0xc66f336c36b10137L,
-            0xb80b0047445d4184L, 0xa60dc059157491e5L,
-            0x87c89837ad68db2fL, 0x29babe4598c311fbL,
-            0xf4296dd6fef3d67aL, 0x1899e4a65f58660cL,
-            0x5ec05dcff72e7f8fL, 0x76707543f4fa1f73L,
-            0x6a06494a791c53a8L, 0x487db9d17636892L,
-            0x45a9d2845d3c42b6L, 0xb8a2392ba45a9b2L,
-            0x8e6cac7768d7141eL, 0x3207d795430cd926L,
-            0x7f44e6bd49e807b8L, 0x5f16206c9c6209a6L,
-            0x36dba887c37a8c0fL, 0xc2494954da2c9789L,
-            0xf2db9baa10b7bd6cL, 0x6f92829494e5acc7L,
-            0xcb772339ba1f17f9L, 0xff2a760414536efbL,
-            0xfef5138519684abaL, 0x7eb258665fc25d69L,
-            0xef2f773ffbd97a61L, 0xaafb550ffacfd8faL,
-            0x95ba2a53f983cf38L, 0xdd945a747bf26183L,
-            0x94f971119aeef9e4L, 0x7a37cd5601aab85dL,
-            0xac62e055c10ab33aL, 0x577b986b314d6009L,
-            0xed5a7e85fda0b80bL, 0x14588f13be847307L,
-            0x596eb2d8ae258fc8L, 0x6fca5f8ed9aef3bbL,
-            0x25de7bb9480d5854L, 0xaf561aa79a10ae6aL,
-            0x1b2ba1518094da04L, 0x90fb44d2f05d0842L,
-            0x353a1607ac744a53L, 0x42889b8997915ce8L,
-            0x69956135febada11L, 0x43fab9837e699095L,
-            0x94f967e45e03f4bbL, 0x1d1be0eebac278f5L,
-            0x6462d92a69731732L, 0x7d7b8f7503cfdcfeL,
-            0x5cda735244c3d43eL, 0x3a0888136afa64a7L,
-            0x88aaa1845b8fdd0L, 0x8aad549e57273d45L,
-            0x36ac54e2f678864bL, 0x84576a1bb416a7ddL,
-            0x656d44a2a11c51d5L, 0x9f644ae5a4b1b325L,
-            0x873d5d9f0dde1feeL, 0xa90cb506d155a7eaL,
-            0x9a7f12442d588f2L, 0xc11ed6d538aeb2fL,
-            0x8f1668c8a86da5faL, 0xf96e017d694487bcL,
-            0x37c981dcc395a9acL, 0x85bbe253f47b1417L,
-            0x93956d7478ccec8eL, 0x387ac8d1970027b2L,
-            0x6997b05fcc0319eL, 0x441fece3bdf81f03L,
-            0xd527e81cad7626c3L, 0x8a71e223d8d3b074L,
-            0xf6872d5667844e49L, 0xb428f8ac016561dbL,
-            0xe13336d701beba52L, 0xecc0024661173473L,
-            0x27f002d7f95d0190L, 0x31ec038df7b441f4L,
-            0x7e67047175a15271L, 0xf0062c6e984d386L,
-            0x52c07b78a3e60868L, 0xa7709a56ccdf8a82L,
-            0x88a66076400bb691L, 0x6acff893d00ea435L,
-            0x583f6b8c4124d43L, 0xc3727a337a8b704aL,
-            0x744f18c0592e4c5cL, 0x1162def06f79df73L,
-            0x8addcb5645ac2ba8L, 0x6d953e2bd7173692L,
-            0xc8fa8db6ccdd0437L, 0x1d9c9892400a22a2L,
-            0x2503beb6d00cab4bL, 0x2e44ae64840fd61dL,
-            0x5ceaecfed289e5d2L, 0x7425a83e872c5f47L,
-            0xd12f124e28f77719L, 0x82bd6b70d99aaa6fL,
-            0x636cc64d1001550bL, 0x3c47f7e05401aa4eL,
-            0x65acfaec34810a71L, 0x7f1839a741a14d0dL,
-            0x1ede48111209a050L, 0x934aed0aab460432L,
-            0xf81da84d5617853fL, 0x36251260ab9d668eL,
-            0xc1d72b7c6b426019L, 0xb24cf65b8612f81fL,
-            0xdee033f26797b627L, 0x169840ef017da3b1L,
-            0x8e1f289560ee864eL, 0xf1a6f2bab92a27e2L,
-            0xae10af696774b1dbL, 0xacca6da1e0a8ef29L,
-            0x17fd090a58d32af3L, 0xddfc4b4cef07f5b0L,
-            0x4abdaf101564f98eL, 0x9d6d1ad41abe37f1L,
-            0x84c86189216dc5edL, 0x32fd3cf5b4e49bb4L,
-            0x3fbc8c33221dc2a1L, 0xfabaf3feaa5334aL,
-            0x29cb4d87f2a7400eL, 0x743e20e9ef511012L,
-            0x914da9246b255416L, 0x1ad089b6c2f7548eL,
-            0xa184ac2473b529b1L, 0xc9e5d72d90a2741eL,
-            0x7e2fa67c7a658892L, 0xddbb901b98feeab7L,
-            0x552a74227f3ea565L, 0xd53a88958f87275fL,
-            0x8a892abaf368f137L, 0x2d2b7569b0432d85L,
-            0x9c3b29620e29fc73L, 0x8349f3ba91b47b8fL,
-            0x241c70a936219a73L, 0xed238cd383aa0110L,
-            0xf4363804324a40aaL, 0xb143c6053edcd0d5L,
-            0xdd94b7868e94050aL, 0xca7cf2b4191c8326L,
-            0xfd1c2f611f63a3f0L, 0xbc633b39673c8cecL,
-            0xd5be0503e085d813L, 0x4b2d8644d8a74e18L,
-            0xddf8e7d60ed1219eL, 0xcabb90e5c942b503L,
-            0x3d6a751f3b936243L, 0xcc512670a783ad4L,
-            0x27fb2b80668b24c5L, 0xb1f9f660802dedf6L,
-            0x5e7873f8a0396973L, 0xdb0b487b6423e1e8L,
-            0x91ce1a9a3d2cda62L, 0x7641a140cc7810fbL,
-            0xa9e904c87fcb0a9dL, 0x546345fa9fbdcd44L,
-            0xa97c177947ad4095L, 0x49ed8eabcccc485dL,
-            0x5c68f256bfff5a74L, 0x73832eec6fff3111L,
-            0xc831fd53c5ff7eabL, 0xba3e7ca8b77f5e55L,
-            0x28ce1bd2e55f35ebL, 0x7980d163cf5b81b3L,
-            0xd7e105bcc332621fL, 0x8dd9472bf3fefaa7L,
-            0xb14f98f6f0feb951L, 0x6ed1bf9a569f33d3L,
-            0xa862f80ec4700c8L, 0xcd27bb612758c0faL,
-            0x8038d51cb897789cL, 0xe0470a63e6bd56c3L,
-            0x1858ccfce06cac74L, 0xf37801e0c43ebc8L,
-            0xd30560258f54e6baL, 0x47c6b82ef32a2069L,
-            0x4cdc331d57fa5441L, 0xe0133fe4adf8e952L,
-            0x58180fddd97723a6L, 0x570f09eaa7ea7648L};
     private final static int DOUBLE_MIN_EXPONENT_POWER_OF_TWO = Double.MIN_EXPONENT;
     private final static int DOUBLE_MAX_EXPONENT_POWER_OF_TWO = Double.MAX_EXPONENT;
     /**
@@ -802,6 +470,37 @@ class FastDoubleMath {
         return result;
     }
 
+    /**
+     * Computes {@code significand * 10^exponent} faithfully, that is, with an
+     * error of less than one ulp; and if {@code isNegative} is true, negate
+     * the result; the significand can be truncated.
+     * <p>
+     * Unlike the correctly rounded conversion, this method does not check
+     * whether rounding up the truncated significand changes the result, and
+     * it does not bail out if the product lies close to the halfway point
+     * between two {@code double} values.
+     *
+     * @param isNegative                     true if the sign is negative
+     * @param significand                    the significand
+     * @param exponent                       the exponent number (the power)
+     * @param isSignificandTruncated         true if significand has been truncated
+     * @param exponentOfTruncatedSignificand the exponent number of the truncated significand
+     * @return the double value,
+     * or {@link Double#NaN} if the exponent is out of range of the fast algorithm,
+     * or if the value is subnormal.
+     */
+    static double tryDecFloatToDoubleFaithful(boolean isNegative, long significand, int exponent,
+                                             boolean isSignificandTruncated,
+                                             int exponentOfTruncatedSignificand) {
+        if (significand == 0) {
+            return isNegative ? -0.0 : 0.0;
+        }
+        int power = isSignificandTruncated ? exponentOfTruncatedSignificand : exponent;
+        return DOUBLE_MIN_EXPONENT_POWER_OF_TEN <= power && power <= DOUBLE_MAX_EXPONENT_POWER_OF_TEN
+                ? tryDecToDoubleWithFastAlgorithm(isNegative, significand, power, true)
+                : Double.NaN;
+    }
+
     /**
      * Tries to compute {@code significand * 10^power} exactly using
      * a fast algorithm; and if {@code isNegative} is true, negate the result.
@@ -818,6 +517,24 @@ class FastDoubleMath {
      * @return the computed double on success, {@link Double#NaN} on failure
      */
     static double tryDecToDoubleWithFastAlgorithm(boolean isNegative, long significand, int power) {
+        return tryDecToDoubleWithFastAlgorithm(isNegative, significand, power, false);
+    }
+
+    /**
+     * Attempts to compute {@code significand * 10^power}; and if
+     * {@code isNegative} is true, negate the result.
+     * <p>
+     * If {@code faithful} is false, the result is correctly rounded, or
+     * {@link Double#NaN} if the algorithm can not decide the rounding.
+     * If {@code faithful} is true, the result has an error of less than one ulp.
+     *
+     * @param isNegative  whether the number is negative
+     * @param significand uint64 the significand
+     * @param power       the exponent number (the power)
+     * @param faithful    whether a faithfully rounded result is sufficient
+     * @return the computed double on success, {@link Double#NaN} on failure
+     */
+    private static double tryDecToDoubleWithFastAlgorithm(boolean isNegative, long significand, int power, boolean faithful) {
         // we start with a fast path
         // It was described in Clinger WD (1990).
         if (-22 <= power && power <= 22 && Long.compareUnsigned(significand, (1L << DOUBLE_SIGNIFICAND_WIDTH) - 1) <= 0) {
@@ -906,8 +623,8 @@ class FastDoubleMath {
         // which we guard against.
         // If we have lots of trailing zeros, we may fall right between two
         // floating-point values.
-        if (((upper & 0x1ff) == 0x1ff)
-                || ((upper & 0x1ff) == 0) && (mantissa & 3) == 1) {
+        if (!faithful && (((upper & 0x1ff) == 0x1ff)
+                || ((upper & 0x1ff) == 0) && (mantissa & 3) == 1)) {
             // if mantissa & 1 == 1 we might need to round up.
             //
             // Scenarios:
@@ -985,4 +702,352 @@ class FastDoubleMath {
             return Double.NaN;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Holds the 128-bit extension of {@link #MANTISSA_64}.
+     * <p>
+     * The table is in a separate class, so that its large initializer
+     * does not run when {@code FastDoubleMath} is initialized.
+     */
+    static final class Mantissa128 {
+        /**
+         * A complement to mantissa_64 complete to a
+         * 128-bit mantissa.
+         * <p>
+         * Uses about 5KB and is not needed by the parsers.
+         * <pre>
+         * UInt128 getMantissa128(int q) {
+         *     return new UInt128(
+         *        MANTISSA_64[q - SMALLEST_POWER_OF_TEN],
+         *        MANTISSA_128[q - SMALLEST_POWER_OF_TEN];
+         *     );
+         * }
+         * </pre>
+         */
+        final static long[] MANTISSA_128 = {
+                0x419ea3bd35385e2dL, 0x52064cac828675b9L,
+                0x7343efebd1940993L, 0x1014ebe6c5f90bf8L,
+                0xd41a26e077774ef6L, 0x8920b098955522b4L,
+                0x55b46e5f5d5535b0L, 0xeb2189f734aa831dL,
+                0xa5e9ec7501d523e4L, 0x47b233c92125366eL,
+                0x999ec0bb696e840aL, 0xc00670ea43ca250dL,
+                0x380406926a5e5728L, 0xc605083704f5ecf2L,
+                0xf7864a44c633682eL, 0x7ab3ee6afbe0211dL,
+                0x5960ea05bad82964L, 0x6fb92487298e33bdL,
+                0xa5d3b6d479f8e056L, 0x8f48a4899877186cL,
+                0x331acdabfe94de87L, 0x9ff0c08b7f1d0b14L,
+                0x7ecf0ae5ee44dd9L, 0xc9e82cd9f69d6150L,
+                0xbe311c083a225cd2L, 0x6dbd630a48aaf406L,
+                0x92cbbccdad5b108L, 0x25bbf56008c58ea5L,
+                0xaf2af2b80af6f24eL, 0x1af5af660db4aee1L,
+                0x50d98d9fc890ed4dL, 0xe50ff107bab528a0L,
+                0x1e53ed49a96272c8L, 0x25e8e89c13bb0f7aL,
+                0x77b191618c54e9acL, 0xd59df5b9ef6a2417L,
+                0x4b0573286b44ad1dL, 0x4ee367f9430aec32L,
+                0x229c41f793cda73fL, 0x6b43527578c1110fL,
+                0x830a13896b78aaa9L, 0x23cc986bc656d553L,
+                0x2cbfbe86b7ec8aa8L, 0x7bf7d71432f3d6a9L,
+                0xdaf5ccd93fb0cc53L, 0xd1b3400f8f9cff68L,
+                0x23100809b9c21fa1L, 0xabd40a0c2832a78aL,
+                0x16c90c8f323f516cL, 0xae3da7d97f6792e3L,
+                0x99cd11cfdf41779cL, 0x40405643d711d583L,
+                0x482835ea666b2572L, 0xda3243650005eecfL,
+                0x90bed43e40076a82L, 0x5a7744a6e804a291L,
+                0x711515d0a205cb36L, 0xd5a5b44ca873e03L,
+                0xe858790afe9486c2L, 0x626e974dbe39a872L,
+                0xfb0a3d212dc8128fL, 0x7ce66634bc9d0b99L,
+                0x1c1fffc1ebc44e80L, 0xa327ffb266b56220L,
+                0x4bf1ff9f0062baa8L, 0x6f773fc3603db4a9L,
+                0xcb550fb4384d21d3L, 0x7e2a53a146606a48L,
+                0x2eda7444cbfc426dL, 0xfa911155fefb5308L,
+                0x793555ab7eba27caL, 0x4bc1558b2f3458deL,
+                0x9eb1aaedfb016f16L, 0x465e15a979c1cadcL,
+                0xbfacd89ec191ec9L, 0xcef980ec671f667bL,
+                0x82b7e12780e7401aL, 0xd1b2ecb8b0908810L,
+                0x861fa7e6dcb4aa15L, 0x67a791e093e1d49aL,
+                0xe0c8bb2c5c6d24e0L, 0x58fae9f773886e18L,
+                0xaf39a475506a899eL, 0x6d8406c952429603L,
+                0xc8e5087ba6d33b83L, 0xfb1e4a9a90880a64L,
+                0x5cf2eea09a55067fL, 0xf42faa48c0ea481eL,
+                0xf13b94daf124da26L, 0x76c53d08d6b70858L,
+                0x54768c4b0c64ca6eL, 0xa9942f5dcf7dfd09L,
+                0xd3f93b35435d7c4cL, 0xc47bc5014a1a6dafL,
+                0x359ab6419ca1091bL, 0xc30163d203c94b62L,
+                0x79e0de63425dcf1dL, 0x985915fc12f542e4L,
+                0x3e6f5b7b17b2939dL, 0xa705992ceecf9c42L,
+                0x50c6ff782a838353L, 0xa4f8bf5635246428L,
+                0x871b7795e136be99L, 0x28e2557b59846e3fL,
+                0x331aeada2fe589cfL, 0x3ff0d2c85def7621L,
+                0xfed077a756b53a9L, 0xd3e8495912c62894L,
+                0x64712dd7abbbd95cL, 0xbd8d794d96aacfb3L,
+                0xecf0d7a0fc5583a0L, 0xf41686c49db57244L,
+                0x311c2875c522ced5L, 0x7d633293366b828bL,
+                0xae5dff9c02033197L, 0xd9f57f830283fdfcL,
+                0xd072df63c324fd7bL, 0x4247cb9e59f71e6dL,
+                0x52d9be85f074e608L, 0x67902e276c921f8bL,
+                0xba1cd8a3db53b6L, 0x80e8a40eccd228a4L,
+                0x6122cd128006b2cdL, 0x796b805720085f81L,
+                0xcbe3303674053bb0L, 0xbedbfc4411068a9cL,
+                0xee92fb5515482d44L, 0x751bdd152d4d1c4aL,
+                0xd262d45a78a0635dL, 0x86fb897116c87c34L,
+                0xd45d35e6ae3d4da0L, 0x8974836059cca109L,
+                0x2bd1a438703fc94bL, 0x7b6306a34627ddcfL,
+                0x1a3bc84c17b1d542L, 0x20caba5f1d9e4a93L,
+                0x547eb47b7282ee9cL, 0xe99e619a4f23aa43L,
+                0x6405fa00e2ec94d4L, 0xde83bc408dd3dd04L,
+                0x9624ab50b148d445L, 0x3badd624dd9b0957L,
+                0xe54ca5d70a80e5d6L, 0x5e9fcf4ccd211f4cL,
+                0x7647c3200069671fL, 0x29ecd9f40041e073L,
+                0xf468107100525890L, 0x7182148d4066eeb4L,
+                0xc6f14cd848405530L, 0xb8ada00e5a506a7cL,
+                0xa6d90811f0e4851cL, 0x908f4a166d1da663L,
+                0x9a598e4e043287feL, 0x40eff1e1853f29fdL,
+                0xd12bee59e68ef47cL, 0x82bb74f8301958ceL,
+                0xe36a52363c1faf01L, 0xdc44e6c3cb279ac1L,
+                0x29ab103a5ef8c0b9L, 0x7415d448f6b6f0e7L,
+                0x111b495b3464ad21L, 0xcab10dd900beec34L,
+                0x3d5d514f40eea742L, 0xcb4a5a3112a5112L,
+                0x47f0e785eaba72abL, 0x59ed216765690f56L,
+                0x306869c13ec3532cL, 0x1e414218c73a13fbL,
+                0xe5d1929ef90898faL, 0xdf45f746b74abf39L,
+                0x6b8bba8c328eb783L, 0x66ea92f3f326564L,
+                0xc80a537b0efefebdL, 0xbd06742ce95f5f36L,
+                0x2c48113823b73704L, 0xf75a15862ca504c5L,
+                0x9a984d73dbe722fbL, 0xc13e60d0d2e0ebbaL,
+                0x318df905079926a8L, 0xfdf17746497f7052L,
+                0xfeb6ea8bedefa633L, 0xfe64a52ee96b8fc0L,
+                0x3dfdce7aa3c673b0L, 0x6bea10ca65c084eL,
+                0x486e494fcff30a62L, 0x5a89dba3c3efccfaL,
+                0xf89629465a75e01cL, 0xf6bbb397f1135823L,
+                0x746aa07ded582e2cL, 0xa8c2a44eb4571cdcL,
+                0x92f34d62616ce413L, 0x77b020baf9c81d17L,
+                0xace1474dc1d122eL, 0xd819992132456baL,
+                0x10e1fff697ed6c69L, 0xca8d3ffa1ef463c1L,
+                0xbd308ff8a6b17cb2L, 0xac7cb3f6d05ddbdeL,
+                0x6bcdf07a423aa96bL, 0x86c16c98d2c953c6L,
+                0xe871c7bf077ba8b7L, 0x11471cd764ad4972L,
+                0xd598e40d3dd89bcfL, 0x4aff1d108d4ec2c3L,
+                0xcedf722a585139baL, 0xc2974eb4ee658828L,
+                0x733d226229feea32L, 0x806357d5a3f525fL,
+                0xca07c2dcb0cf26f7L, 0xfc89b393dd02f0b5L,
+                0xbbac2078d443ace2L, 0xd54b944b84aa4c0dL,
+                0xa9e795e65d4df11L, 0x4d4617b5ff4a16d5L,
+                0x504bced1bf8e4e45L, 0xe45ec2862f71e1d6L,
+                0x5d767327bb4e5a4cL, 0x3a6a07f8d510f86fL,
+                0x890489f70a55368bL, 0x2b45ac74ccea842eL,
+                0x3b0b8bc90012929dL, 0x9ce6ebb40173744L,
+                0xcc420a6a101d0515L, 0x9fa946824a12232dL,
+                0x47939822dc96abf9L, 0x59787e2b93bc56f7L,
+                0x57eb4edb3c55b65aL, 0xede622920b6b23f1L,
+                0xe95fab368e45ecedL, 0x11dbcb0218ebb414L,
+                0xd652bdc29f26a119L, 0x4be76d3346f0495fL,
+                0x6f70a4400c562ddbL, 0xcb4ccd500f6bb952L,
+                0x7e2000a41346a7a7L, 0x8ed400668c0c28c8L,
+                0x728900802f0f32faL, 0x4f2b40a03ad2ffb9L,
+                0xe2f610c84987bfa8L, 0xdd9ca7d2df4d7c9L,
+                0x91503d1c79720dbbL, 0x75a44c6397ce912aL,
+                0xc986afbe3ee11abaL, 0xfbe85badce996168L,
+                0xfae27299423fb9c3L, 0xdccd879fc967d41aL,
+                0x5400e987bbc1c920L, 0x290123e9aab23b68L,
+                0xf9a0b6720aaf6521L, 0xf808e40e8d5b3e69L,
+                0xb60b1d1230b20e04L, 0xb1c6f22b5e6f48c2L,
+                0x1e38aeb6360b1af3L, 0x25c6da63c38de1b0L,
+                0x579c487e5a38ad0eL, 0x2d835a9df0c6d851L,
+                0xf8e431456cf88e65L, 0x1b8e9ecb641b58ffL,
+                0xe272467e3d222f3fL, 0x5b0ed81dcc6abb0fL,
+                0x98e947129fc2b4e9L, 0x3f2398d747b36224L,
+                0x8eec7f0d19a03aadL, 0x1953cf68300424acL,
+                0x5fa8c3423c052dd7L, 0x3792f412cb06794dL,
+                0xe2bbd88bbee40bd0L, 0x5b6aceaeae9d0ec4L,
+                0xf245825a5a445275L, 0xeed6e2f0f0d56712L,
+                0x55464dd69685606bL, 0xaa97e14c3c26b886L,
+                0xd53dd99f4b3066a8L, 0xe546a8038efe4029L,
+                0xde98520472bdd033L, 0x963e66858f6d4440L,
+                0xdde7001379a44aa8L, 0x5560c018580d5d52L,
+                0xaab8f01e6e10b4a6L, 0xcab3961304ca70e8L,
+                0x3d607b97c5fd0d22L, 0x8cb89a7db77c506aL,
+                0x77f3608e92adb242L, 0x55f038b237591ed3L,
+                0x6b6c46dec52f6688L, 0x2323ac4b3b3da015L,
+                0xabec975e0a0d081aL, 0x96e7bd358c904a21L,
+                0x7e50d64177da2e54L, 0xdde50bd1d5d0b9e9L,
+                0x955e4ec64b44e864L, 0xbd5af13bef0b113eL,
+                0xecb1ad8aeacdd58eL, 0x67de18eda5814af2L,
+                0x80eacf948770ced7L, 0xa1258379a94d028dL,
+                0x96ee45813a04330L, 0x8bca9d6e188853fcL,
+                0x775ea264cf55347dL, 0x95364afe032a819dL,
+                0x3a83ddbd83f52204L, 0xc4926a9672793542L,
+                0x75b7053c0f178293L, 0x5324c68b12dd6338L,
+                0xd3f6fc16ebca5e03L, 0x88f4bb1ca6bcf584L,
+                0x2b31e9e3d06c32e5L, 0x3aff322e62439fcfL,
+                0x9befeb9fad487c2L, 0x4c2ebe687989a9b3L,
+                0xf9d37014bf60a10L, 0x538484c19ef38c94L,
+                0x2865a5f206b06fb9L, 0xf93f87b7442e45d3L,
+                0xf78f69a51539d748L, 0xb573440e5a884d1bL,
+                0x31680a88f8953030L, 0xfdc20d2b36ba7c3dL,
+                0x3d32907604691b4cL, 0xa63f9a49c2c1b10fL,
+                0xfcf80dc33721d53L, 0xd3c36113404ea4a8L,
+                0x645a1cac083126e9L, 0x3d70a3d70a3d70a3L,
+                0xccccccccccccccccL, 0x0L,
+                0x0L, 0x0L,
+                0x0L, 0x0L,
+                0x0L, 0x0L,
+                0x0L, 0x0L,
+                0x0L, 0x0L,
+                0x0L, 0x0L,
+                0x0L, 0x0L,
+                0x0L, 0x0L,
+                0x0L, 0x0L,
+                0x0L, 0x0L,
+                0x0L, 0x0L,
+                0x0L, 0x0L,
+                0x0L, 0x0L,
+                0x0L, 0x4000000000000000L,
+                0x5000000000000000L, 0xa400000000000000L,
+                0x4d00000000000000L, 0xf020000000000000L,
+                0x6c28000000000000L, 0xc732000000000000L,
+                0x3c7f400000000000L, 0x4b9f100000000000L,
+                0x1e86d40000000000L, 0x1314448000000000L,
+                0x17d955a000000000L, 0x5dcfab0800000000L,
+                0x5aa1cae500000000L, 0xf14a3d9e40000000L,
+                0x6d9ccd05d0000000L, 0xe4820023a2000000L,
+                0xdda2802c8a800000L, 0xd50b2037ad200000L,
+                0x4526f422cc340000L, 0x9670b12b7f410000L,
+                0x3c0cdd765f114000L, 0xa5880a69fb6ac800L,
+                0x8eea0d047a457a00L, 0x72a4904598d6d880L,
+                0x47a6da2b7f864750L, 0x999090b65f67d924L,
+                0xfff4b4e3f741cf6dL, 0xbff8f10e7a8921a4L,
+                0xaff72d52192b6a0dL, 0x9bf4f8a69f764490L,
+                0x2f236d04753d5b4L, 0x1d762422c946590L,
+                0x424d3ad2b7b97ef5L, 0xd2e0898765a7deb2L,
+                0x63cc55f49f88eb2fL, 0x3cbf6b71c76b25fbL,
+                0x8bef464e3945ef7aL, 0x97758bf0e3cbb5acL,
+                0x3d52eeed1cbea317L, 0x4ca7aaa863ee4bddL,
+                0x8fe8caa93e74ef6aL, 0xb3e2fd538e122b44L,
+                0x60dbbca87196b616L, 0xbc8955e946fe31cdL,
+                0x6babab6398bdbe41L, 0xc696963c7eed2dd1L,
+                0xfc1e1de5cf543ca2L, 0x3b25a55f43294bcbL,
+                0x49ef0eb713f39ebeL, 0x6e3569326c784337L,
+                0x49c2c37f07965404L, 0xdc33745ec97be906L,
+                0x69a028bb3ded71a3L, 0xc40832ea0d68ce0cL,
+                0xf50a3fa490c30190L, 0x792667c6da79e0faL,
+                0x577001b891185938L, 0xed4c0226b55e6f86L,
+                0x544f8158315b05b4L, 0x696361ae3db1c721L,
+                0x3bc3a19cd1e38e9L, 0x4ab48a04065c723L,
+                0x62eb0d64283f9c76L, 0x3ba5d0bd324f8394L,
+                0xca8f44ec7ee36479L, 0x7e998b13cf4e1ecbL,
+                0x9e3fedd8c321a67eL, 0xc5cfe94ef3ea101eL,
+                0xbba1f1d158724a12L, 0x2a8a6e45ae8edc97L,
+                0xf52d09d71a3293bdL, 0x593c2626705f9c56L,
+                0x6f8b2fb00c77836cL, 0xb6dfb9c0f956447L,
+                0x4724bd4189bd5eacL, 0x58edec91ec2cb657L,
+                0x2f2967b66737e3edL, 0xbd79e0d20082ee74L,
+                0xecd8590680a3aa11L, 0xe80e6f4820cc9495L,
+                0x3109058d147fdcddL, 0xbd4b46f0599fd415L,
+                0x6c9e18ac7007c91aL, 0x3e2cf6bc604ddb0L,
+                0x84db8346b786151cL, 0xe612641865679a63L,
+                0x4fcb7e8f3f60c07eL, 0xe3be5e330f38f09dL,
+                0x5cadf5bfd3072cc5L, 0x73d9732fc7c8f7f6L,
+                0x2867e7fddcdd9afaL, 0xb281e1fd541501b8L,
+                0x1f225a7ca91a4226L, 0x3375788de9b06958L,
+                0x52d6b1641c83aeL, 0xc0678c5dbd23a49aL,
+                0xf840b7ba963646e0L, 0xb650e5a93bc3d898L,
+                0xa3e51f138ab4cebeL, 0xc66f336c36b10137L,
+                0xb80b0047445d4184L, 0xa60dc059157491e5L,
+                0x87c89837ad68db2fL, 0x29babe4598c311fbL,
+                0xf4296dd6fef3d67aL, 0x1899e4a65f58660cL,
+                0x5ec05dcff72e7f8fL, 0x76707543f4fa1f73L,
+                0x6a06494a791c53a8L, 0x487db9d17636892L,
+                0x45a9d2845d3c42b6L, 0xb8a2392ba45a9b2L,
+                0x8e6cac7768d7141eL, 0x3207d795430cd926L,
+                0x7f44e6bd49e807b8L, 0x5f16206c9c6209a6L,
+                0x36dba887c37a8c0fL, 0xc2494954da2c9789L,
+                0xf2db9baa10b7bd6cL, 0x6f92829494e5acc7L,
+                0xcb772339ba1f17f9L, 0xff2a760414536efbL,
+                0xfef5138519684abaL, 0x7eb258665fc25d69L,
+                0xef2f773ffbd97a61L, 0xaafb550ffacfd8faL,
+                0x95ba2a53f983cf38L, 0xdd945a747bf26183L,
+                0x94f971119aeef9e4L, 0x7a37cd5601aab85dL,
+                0xac62e055c10ab33aL, 0x577b986b314d6009L,
+                0xed5a7e85fda0b80bL, 0x14588f13be847307L,
+                0x596eb2d8ae258fc8L, 0x6fca5f8ed9aef3bbL,
+                0x25de7bb9480d5854L, 0xaf561aa79a10ae6aL,
+                0x1b2ba1518094da04L, 0x90fb44d2f05d0842L,
+                0x353a1607ac744a53L, 0x42889b8997915ce8L,
+                0x69956135febada11L, 0x43fab9837e699095L,
+                0x94f967e45e03f4bbL, 0x1d1be0eebac278f5L,
+                0x6462d92a69731732L, 0x7d7b8f7503cfdcfeL,
+                0x5cda735244c3d43eL, 0x3a0888136afa64a7L,
+                0x88aaa1845b8fdd0L, 0x8aad549e57273d45L,
+                0x36ac54e2f678864bL, 0x84576a1bb416a7ddL,
+                0x656d44a2a11c51d5L, 0x9f644ae5a4b1b325L,
+                0x873d5d9f0dde1feeL, 0xa90cb506d155a7eaL,
+                0x9a7f12442d588f2L, 0xc11ed6d538aeb2fL,
+                0x8f1668c8a86da5faL, 0xf96e017d694487bcL,
+                0x37c981dcc395a9acL, 0x85bbe253f47b1417L,
+                0x93956d7478ccec8eL, 0x387ac8d1970027b2L,
+                0x6997b05fcc0319eL, 0x441fece3bdf81f03L,
+                0xd527e81cad7626c3L, 0x8a71e223d8d3b074L,
+                0xf6872d5667844e49L, 0xb428f8ac016561dbL,
+                0xe13336d701beba52L, 0xecc0024661173473L,
+                0x27f002d7f95d0190L, 0x31ec038df7b441f4L,
+                0x7e67047175a15271L, 0xf0062c6e984d386L,
+                0x52c07b78a3e60868L, 0xa7709a56ccdf8a82L,
+                0x88a66076400bb691L, 0x6acff893d00ea435L,
+                0x583f6b8c4124d43L, 0xc3727a337a8b704aL,
+                0x744f18c0592e4c5cL, 0x1162def06f79df73L,
+                0x8addcb5645ac2ba8L, 0x6d953e2bd7173692L,
+                0xc8fa8db6ccdd0437L, 0x1d9c9892400a22a2L,
+                0x2503beb6d00cab4bL, 0x2e44ae64840fd61dL,
+                0x5ceaecfed289e5d2L, 0x7425a83e872c5f47L,
+                0xd12f124e28f77719L, 0x82bd6b70d99aaa6fL,
+                0x636cc64d1001550bL, 0x3c47f7e05401aa4eL,
+                0x65acfaec34810a71L, 0x7f1839a741a14d0dL,
+                0x1ede48111209a050L, 0x934aed0aab460432L,
+                0xf81da84d5617853fL, 0x36251260ab9d668eL,
+                0xc1d72b7c6b426019L, 0xb24cf65b8612f81fL,
+                0xdee033f26797b627L, 0x169840ef017da3b1L,
+                0x8e1f289560ee864eL, 0xf1a6f2bab92a27e2L,
+                0xae10af696774b1dbL, 0xacca6da1e0a8ef29L,
+                0x17fd090a58d32af3L, 0xddfc4b4cef07f5b0L,
+                0x4abdaf101564f98eL, 0x9d6d1ad41abe37f1L,
+                0x84c86189216dc5edL, 0x32fd3cf5b4e49bb4L,
+                0x3fbc8c33221dc2a1L, 0xfabaf3feaa5334aL,
+                0x29cb4d87f2a7400eL, 0x743e20e9ef511012L,
+                0x914da9246b255416L, 0x1ad089b6c2f7548eL,
+                0xa184ac2473b529b1L, 0xc9e5d72d90a2741eL,
+                0x7e2fa67c7a658892L, 0xddbb901b98feeab7L,
+                0x552a74227f3ea565L, 0xd53a88958f87275fL,
+                0x8a892abaf368f137L, 0x2d2b7569b0432d85L,
+                0x9c3b29620e29fc73L, 0x8349f3ba91b47b8fL,
+                0x241c70a936219a73L, 0xed238cd383aa0110L,
+                0xf4363804324a40aaL, 0xb143c6053edcd0d5L,
+                0xdd94b7868e94050aL, 0xca7cf2b4191c8326L,
+                0xfd1c2f611f63a3f0L, 0xbc633b39673c8cecL,
+                0xd5be0503e085d813L, 0x4b2d8644d8a74e18L,
+                0xddf8e7d60ed1219eL, 0xcabb90e5c942b503L,
+                0x3d6a751f3b936243L, 0xcc512670a783ad4L,
+                0x27fb2b80668b24c5L, 0xb1f9f660802dedf6L,
+                0x5e7873f8a0396973L, 0xdb0b487b6423e1e8L,
+                0x91ce1a9a3d2cda62L, 0x7641a140cc7810fbL,
+                0xa9e904c87fcb0a9dL, 0x546345fa9fbdcd44L,
+                0xa97c177947ad4095L, 0x49ed8eabcccc485dL,
+                0x5c68f256bfff5a74L, 0x73832eec6fff3111L,
+                0xc831fd53c5ff7eabL, 0xba3e7ca8b77f5e55L,
+                0x28ce1bd2e55f35ebL, 0x7980d163cf5b81b3L,
+                0xd7e105bcc332621fL, 0x8dd9472bf3fefaa7L,
+                0xb14f98f6f0feb951L, 0x6ed1bf9a569f33d3L,
+                0xa862f80ec4700c8L, 0xcd27bb612758c0faL,
+                0x8038d51cb897789cL, 0xe0470a63e6bd56c3L,
+                0x1858ccfce06cac74L, 0xf37801e0c43ebc8L,
+                0xd30560258f54e6baL, 0x47c6b82ef32a2069L,
+                0x4cdc331d57fa5441L, 0xe0133fe4adf8e952L,
+                0x58180fddd97723a6L, 0x570f09eaa7ea7648L};
+
+        /**
+         * Don't let anyone instantiate this class.
+         */
+        private Mantissa128() {
+
+        }
+    }
+}
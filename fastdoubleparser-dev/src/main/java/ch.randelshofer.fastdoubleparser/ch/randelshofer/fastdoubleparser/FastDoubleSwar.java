@@ -36,14 +36,31 @@ import java.nio.ByteOrder;
  */
 class FastDoubleSwar {
 
-    private final static VarHandle readLongLE =
-            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
-    private final static VarHandle readIntLE =
-            MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
-    private final static VarHandle readIntBE =
-            MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
-    private final static VarHandle readLongBE =
-            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    /**
+     * Holds the byte-array views.
+     * <p>
+     * The views are in a separate class, so that parsers that do not
+     * read {@code byte} arrays do not have to initialize them. Creating
+     * the first byte-array view in a JVM bootstraps the method handle
+     * infrastructure, which takes several milliseconds.
+     */
+    private static final class ByteArrayViews {
+        static final VarHandle readLongLE =
+                MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+        static final VarHandle readIntLE =
+                MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+        static final VarHandle readIntBE =
+                MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+        static final VarHandle readLongBE =
+                MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+        /**
+         * Don't let anyone instantiate this class.
+         */
+        private ByteArrayViews() {
+
+        }
+    }
     private final static ValueLayout.OfLong CHAR_ALIGNED_LONG = ValueLayout.OfLong.JAVA_LONG
             .withBitAlignment(16);
 
@@ -127,7 +144,7 @@ class FastDoubleSwar {
     }
 
     public static boolean isEightZeroes(byte[] a, int offset) {
-        return isEightZeroesUtf8((long) readLongLE.get(a, offset));
+        return isEightZeroesUtf8((long) ByteArrayViews.readLongLE.get(a, offset));
     }
 
     public static boolean isEightZeroes(CharSequence a, int offset) {
@@ -171,15 +188,15 @@ class FastDoubleSwar {
     }
 
     public static int readIntBE(byte[] a, int offset) {
-        return (int) readIntBE.get(a, offset);
+        return (int) ByteArrayViews.readIntBE.get(a, offset);
     }
 
     public static long readLongBE(byte[] a, int offset) {
-        return (long) readLongBE.get(a, offset);
+        return (long) ByteArrayViews.readLongBE.get(a, offset);
     }
 
     public static long readLongLE(byte[] a, int offset) {
-        return (long) readLongLE.get(a, offset);
+        return (long) ByteArrayViews.readLongLE.get(a, offset);
     }
 
     /**
@@ -200,7 +217,7 @@ class FastDoubleSwar {
     }
 
     public static int tryToParseEightDigits(byte[] a, int offset) {
-        return FastDoubleSwar.tryToParseEightDigitsUtf8((long) readLongLE.get(a, offset));
+        return FastDoubleSwar.tryToParseEightDigitsUtf8((long) ByteArrayViews.readLongLE.get(a, offset));
     }
 
     /**
@@ -360,7 +377,7 @@ class FastDoubleSwar {
      *               returns a negative value if {@code value} does not contain 8 digits
      */
     public static long tryToParseEightHexDigits(byte[] a, int offset) {
-        return tryToParseEightHexDigitsUtf8((long) readLongBE.get(a, offset));
+        return tryToParseEightHexDigitsUtf8((long) ByteArrayViews.readLongBE.get(a, offset));
     }
 
     /**
@@ -461,7 +478,7 @@ class FastDoubleSwar {
     }
 
     public static int tryToParseFourDigits(byte[] a, int offset) {
-        return tryToParseFourDigitsUtf8((int) readIntLE.get(a, offset));
+        return tryToParseFourDigitsUtf8((int) ByteArrayViews.readIntLE.get(a, offset));
     }
 
     public static int tryToParseFourDigitsUtf16(long first) {
@@ -528,11 +545,11 @@ class FastDoubleSwar {
     }
 
     public static void writeIntBE(byte[] a, int offset, int value) {
-        readIntBE.set(a, offset, value);
+        ByteArrayViews.readIntBE.set(a, offset, value);
     }
 
     public static void writeLongBE(byte[] a, int offset, long value) {
-        readLongBE.set(a, offset, value);
+        ByteArrayViews.readLongBE.set(a, offset, value);
     }
 
     public static double fma(double a, double b, double c) {
@@ -101,6 +101,37 @@ class FastFloatMath {
         }
     }
 
+    /**
+     * Computes {@code significand * 10^exponent} faithfully, that is, with an
+     * error of less than one ulp; and if {@code isNegative} is true, negate
+     * the result; the significand can be truncated.
+     * <p>
+     * Unlike the correctly rounded conversion, this method does not check
+     * whether rounding up the truncated significand changes the result, and
+     * it does not bail out if the product lies close to the halfway point
+     * between two {@code float} values.
+     *
+     * @param isNegative                     true if the sign is negative
+     * @param significand                    the significand
+     * @param exponent                       the exponent number (the power)
+     * @param isSignificandTruncated         true if significand has been truncated
+     * @param exponentOfTruncatedSignificand the exponent number of the truncated significand
+     * @return the float value,
+     * or {@link Float#NaN} if the exponent is out of range of the fast algorithm,
+     * or if the value is subnormal.
+     */
+    static float decFloatLiteralToFloatFaithful(boolean isNegative, long significand, int exponent,
+                                               boolean isSignificandTruncated,
+                                               int exponentOfTruncatedSignificand) {
+        if (significand == 0) {
+            return isNegative ? -0.0f : 0.0f;
+        }
+        int power = isSignificandTruncated ? exponentOfTruncatedSignificand : exponent;
+        return FLOAT_MIN_EXPONENT_POWER_OF_TEN <= power && power <= FLOAT_MAX_EXPONENT_POWER_OF_TEN
+                ? tryDecToFloatWithFastAlgorithm(isNegative, significand, power, true)
+                : Float.NaN;
+    }
+
     /**
      * Attempts to compute {@literal digits * 10^(power)} exactly;
      * and if "negative" is true, negate the result.
@@ -118,6 +149,24 @@ class FastFloatMath {
      * @return the computed double on success, {@link Double#NaN} on failure
      */
     static float tryDecToFloatWithFastAlgorithm(boolean isNegative, long significand, int power) {
+        return tryDecToFloatWithFastAlgorithm(isNegative, significand, power, false);
+    }
+
+    /**
+     * Attempts to compute {@code significand * 10^power}; and if
+     * {@code isNegative} is true, negate the result.
+     * <p>
+     * If {@code faithful} is false, the result is correctly rounded, or
+     * {@link Float#NaN} if the algorithm can not decide the rounding.
+     * If {@code faithful} is true, the result has an error of less than one ulp.
+     *
+     * @param isNegative  whether the number is negative
+     * @param significand uint64 the significand
+     * @param power       the exponent number (the power)
+     * @param faithful    whether a faithfully rounded result is sufficient
+     * @return the computed float on success, {@link Float#NaN} on failure
+     */
+    private static float tryDecToFloatWithFastAlgorithm(boolean isNegative, long significand, int power, boolean faithful) {
 
         // we start with a fast path
         if (-10 <= power && power <= 10 && Long.compareUnsigned(significand, (1L << FLOAT_SIGNIFICAND_WIDTH) - 1L) <= 0) {
@@ -206,8 +255,8 @@ class FastFloatMath {
         // which we guard against.
         // If we have lots of trailing zeros, we may fall right between two
         // floating-point values.
-        if (((upper & 0x3_FFFFF_FFFFL) == 0x3_FFFFF_FFFFL)
-                || ((upper & 0x3_FFFFF_FFFFL) == 0) && (mantissa & 3) == 1) {
+        if (!faithful && (((upper & 0x3_FFFFF_FFFFL) == 0x3_FFFFF_FFFFL)
+                || ((upper & 0x3_FFFFF_FFFFL) == 0) && (mantissa & 3) == 1)) {
             // if mantissa & 1 == 1 we might need to round up.
             //
             // Scenarios:
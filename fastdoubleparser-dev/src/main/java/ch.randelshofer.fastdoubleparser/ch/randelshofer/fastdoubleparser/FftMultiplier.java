@@ -5,7 +5,14 @@
 package ch.randelshofer.fastdoubleparser;
 
 import java.math.BigInteger;
-
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+import static ch.randelshofer.fastdoubleparser.AlgorithmThresholds.FFT_THRESHOLD;
+import static ch.randelshofer.fastdoubleparser.AlgorithmThresholds.LOW_MEMORY_THRESHOLD;
+import static ch.randelshofer.fastdoubleparser.AlgorithmThresholds.OFF_HEAP_THRESHOLD;
+import static ch.randelshofer.fastdoubleparser.AlgorithmThresholds.TOOM_COOK_THRESHOLD;
 import static ch.randelshofer.fastdoubleparser.FastDoubleSwar.fma;
 
 /**
@@ -24,14 +31,6 @@ class FftMultiplier {
 
     public static final double COS_0_25 = Math.cos(0.25 * Math.PI);
     public static final double SIN_0_25 = Math.sin(0.25 * Math.PI);
-    /**
-     * The threshold value for using floating point FFT multiplication.
-     * If the number of bits in each mag array is greater than the
-     * Toom-Cook threshold, and the number of bits in at least one of
-     * the mag arrays is greater than this threshold, then FFT
-     * multiplication will be used.
-     */
-    private static final int FFT_THRESHOLD = 33220;
     /**
      * This constant limits {@code mag.length} of BigIntegers to the supported
      * range.
@@ -45,10 +44,6 @@ class FftMultiplier {
      * for FFTs of length up to 2^19
      */
     private static final int ROOTS_CACHE2_SIZE = 20;
-    /**
-     * The threshold value for using 3-way Toom-Cook multiplication.
-     */
-    private static final int TOOM_COOK_THRESHOLD = 240 * 8;
     /**
      * Sets of complex roots of unity. The set at index k contains 2^k
      * elements representing all (2^(k+2))-th roots between 0 and pi/2.
@@ -274,9 +269,9 @@ class FftMultiplier {
      */
     private static void fftMixedRadix(ComplexVector a, ComplexVector[] roots2, ComplexVector roots3) {
         int oneThird = a.length / 3;
-        ComplexVector a0 = new ComplexVector(a, 0, oneThird);
-        ComplexVector a1 = new ComplexVector(a, oneThird, oneThird * 2);
-        ComplexVector a2 = new ComplexVector(a, oneThird * 2, a.length);
+        ComplexVector a0 = a.view(0, oneThird);
+        ComplexVector a1 = a.view(oneThird, oneThird * 2);
+        ComplexVector a2 = a.view(oneThird * 2, a.length);
 
         // step 1: perform a.length/3 transforms of length 3
         fft3(a0, a1, a2, 1, 1);
@@ -307,6 +302,14 @@ class FftMultiplier {
     }
 
     static BigInteger fromFftVector(ComplexVector fftVec, int signum, int bitsPerFftPoint) {
+        return new BigInteger(signum, fromFftVector(fftVec, bitsPerFftPoint));
+    }
+
+    /**
+     * Converts an FFT vector back into a magnitude in big-endian byte order.
+     * The magnitude has leading zero bytes.
+     */
+    static byte[] fromFftVector(ComplexVector fftVec, int bitsPerFftPoint) {
         assert bitsPerFftPoint <= 25 : bitsPerFftPoint + " does not fit into an int with slack";
 
         int fftLen = (int) Math.min(fftVec.length, ((long) MAX_MAG_LENGTH * 32) / bitsPerFftPoint + 1);
@@ -335,7 +338,7 @@ class FftMultiplier {
                 bitIdx -= bitsPerFftPoint;
             }
         }
-        return new BigInteger(signum, mag);
+        return mag;
     }
 
     /**
@@ -490,9 +493,9 @@ class FftMultiplier {
      */
     private static void ifftMixedRadix(ComplexVector a, ComplexVector[] roots2, ComplexVector roots3) {
         int oneThird = a.length / 3;
-        ComplexVector a0 = new ComplexVector(a, 0, oneThird);
-        ComplexVector a1 = new ComplexVector(a, oneThird, oneThird * 2);
-        ComplexVector a2 = new ComplexVector(a, oneThird * 2, a.length);
+        ComplexVector a0 = a.view(0, oneThird);
+        ComplexVector a1 = a.view(oneThird, oneThird * 2);
+        ComplexVector a2 = a.view(oneThird * 2, a.length);
 
         // step 1: perform 3 transforms of length a.length/3
         ifft(a0, roots2);
@@ -532,6 +535,32 @@ class FftMultiplier {
      * performance when {@code a == b}.
      */
     static BigInteger multiply(BigInteger a, BigInteger b) {
+        return multiply(a, b, null);
+    }
+
+    /**
+     * Returns a BigInteger whose value is {@code (a * b)}.
+     * <p>
+     * If the product is computed with an FFT, the forward transform of
+     * {@code b} is taken from the cache, or is stored in the cache.
+     *
+     * @param a     value a
+     * @param b     value b, which is multiplied with many other values
+     * @param cache the cache for the transform of b, or null
+     * @return {@code this * val}
+     */
+    static BigInteger multiply(BigInteger a, BigInteger b, TransformCache cache) {
+        BigNumberParseRecorder recorder = BigNumberParseRecorder.current();
+        if (recorder == null) {
+            return multiplyUnrecorded(a, b, cache);
+        }
+        long start = System.nanoTime();
+        BigInteger result = multiplyUnrecorded(a, b, cache);
+        recorder.addMultiplyTime(System.nanoTime() - start);
+        return result;
+    }
+
+    private static BigInteger multiplyUnrecorded(BigInteger a, BigInteger b, TransformCache cache) {
         if (b.signum() == 0 || a.signum() == 0) {
             return BigInteger.ZERO;
         }
@@ -548,11 +577,153 @@ class FftMultiplier {
         if (xlen > TOOM_COOK_THRESHOLD
                 && ylen > TOOM_COOK_THRESHOLD
                 && (xlen > FFT_THRESHOLD || ylen > FFT_THRESHOLD)) {
-            return multiplyFft(a, b);
+            if (ParserStatistics.ENABLED) {
+                ParserStatistics.count(ParserStatistics.Counter.FFT_MULTIPLY);
+            }
+            if (BigNumberParseRecorder.ENABLED) {
+                BigNumberParseRecorder.countFftMultiply();
+            }
+            return cache == null ? multiplyFft(a, b) : multiplyFft(a, b, cache);
         }
         return a.multiply(b);
     }
 
+    /**
+     * Returns the magnitude of {@code (a * b)} in big-endian byte order,
+     * computed with an FFT.
+     * <p>
+     * This method allows to multiply large numbers without converting
+     * them into BigIntegers and back. The forward transform of
+     * {@code b} is taken from the cache, or is stored in the cache.
+     *
+     * @param aMag  the magnitude of value a in big-endian byte order,
+     *              may have leading zero bytes
+     * @param b     value b, must be positive
+     * @param cache the cache for the transform of b, or null
+     * @return the magnitude of {@code a * b}, may have leading zero bytes
+     */
+    static byte[] multiply(byte[] aMag, BigInteger b, TransformCache cache) {
+        BigNumberParseRecorder recorder = BigNumberParseRecorder.current();
+        if (recorder == null) {
+            return multiplyUnrecorded(aMag, b, cache);
+        }
+        long start = System.nanoTime();
+        byte[] result = multiplyUnrecorded(aMag, b, cache);
+        recorder.addMultiplyTime(System.nanoTime() - start);
+        return result;
+    }
+
+    private static byte[] multiplyUnrecorded(byte[] aMag, BigInteger b, TransformCache cache) {
+        if (8L * aMag.length + b.bitLength() > 32L * MAX_MAG_LENGTH) {
+            throw new ArithmeticException("BigInteger would overflow supported range");
+        }
+        if (ParserStatistics.ENABLED) {
+            ParserStatistics.count(ParserStatistics.Counter.FFT_MULTIPLY);
+        }
+        if (BigNumberParseRecorder.ENABLED) {
+            BigNumberParseRecorder.countFftMultiply();
+        }
+        if (LOW_MEMORY_THRESHOLD != Integer.MAX_VALUE) {
+            return multiplyFft(new BigInteger(1, aMag), b).toByteArray();
+        }
+        return cache == null ? multiplyFft(aMag, b.toByteArray(), OFF_HEAP_THRESHOLD) : multiplyFft(aMag, b, cache);
+    }
+
+    /**
+     * Adds two magnitudes in big-endian byte order.
+     * <p>
+     * The leading zero bytes of the magnitudes are skipped. The sum has
+     * at most one leading zero byte.
+     *
+     * @param a the magnitude of value a
+     * @param b the magnitude of value b
+     * @return the magnitude of {@code a + b}
+     */
+    static byte[] add(byte[] a, byte[] b) {
+        int aFrom = 0;
+        while (aFrom < a.length && a[aFrom] == 0) {
+            aFrom++;
+        }
+        int bFrom = 0;
+        while (bFrom < b.length && b[bFrom] == 0) {
+            bFrom++;
+        }
+        if (a.length - aFrom < b.length - bFrom) {
+            byte[] tmp = a;
+            a = b;
+            b = tmp;
+            int tmpFrom = aFrom;
+            aFrom = bFrom;
+            bFrom = tmpFrom;
+        }
+
+        byte[] sum = new byte[a.length - aFrom + 1];
+        int i = a.length, j = b.length, k = sum.length;
+        long carry = 0;
+
+        // add 8 bytes at a time, starting with the least significant bytes
+        for (; j - 8 >= bFrom; i -= 8, j -= 8, k -= 8) {
+            long x = FastDoubleSwar.readLongBE(a, i - 8);
+            long y = FastDoubleSwar.readLongBE(b, j - 8);
+            long s = x + y + carry;
+            carry = ((x & y) | ((x | y) & ~s)) >>> 63;
+            FastDoubleSwar.writeLongBE(sum, k - 8, s);
+        }
+        for (; j > bFrom; i--, j--, k--) {
+            long s = (a[i - 1] & 0xff) + (b[j - 1] & 0xff) + carry;
+            carry = s >>> 8;
+            sum[k - 1] = (byte) s;
+        }
+        for (; i > aFrom && carry != 0; i--, k--) {
+            long s = (a[i - 1] & 0xff) + carry;
+            carry = s >>> 8;
+            sum[k - 1] = (byte) s;
+        }
+        System.arraycopy(a, aFrom, sum, 1, i - aFrom);
+        sum[0] = (byte) carry;
+        return sum;
+    }
+
+    /**
+     * Adds a magnitude in place to a region of another magnitude. Both
+     * magnitudes are in big-endian byte order.
+     * <p>
+     * The leading zero bytes of {@code b} are skipped. The caller must
+     * ensure that the sum fits into {@code sum[0..sumTo)}.
+     *
+     * @param sum   the magnitude to which {@code b} is added
+     * @param sumTo the index after the byte of {@code sum} to which the
+     *              least significant byte of {@code b} is added
+     * @param b     the magnitude that is added
+     */
+    static void addInPlace(byte[] sum, int sumTo, byte[] b) {
+        int bFrom = 0;
+        while (bFrom < b.length && b[bFrom] == 0) {
+            bFrom++;
+        }
+        int j = b.length, k = sumTo;
+        long carry = 0;
+
+        // add 8 bytes at a time, starting with the least significant bytes
+        for (; j - 8 >= bFrom; j -= 8, k -= 8) {
+            long x = FastDoubleSwar.readLongBE(sum, k - 8);
+            long y = FastDoubleSwar.readLongBE(b, j - 8);
+            long s = x + y + carry;
+            carry = ((x & y) | ((x | y) & ~s)) >>> 63;
+            FastDoubleSwar.writeLongBE(sum, k - 8, s);
+        }
+        for (; j > bFrom; j--, k--) {
+            long s = (sum[k - 1] & 0xff) + (b[j - 1] & 0xff) + carry;
+            carry = s >>> 8;
+            sum[k - 1] = (byte) s;
+        }
+        for (; carry != 0; k--) {
+            long s = (sum[k - 1] & 0xff) + carry;
+            carry = s >>> 8;
+            sum[k - 1] = (byte) s;
+        }
+    }
+
     /**
      * Multiplies two BigIntegers using a floating-point FFT.
      * <p>
@@ -596,9 +767,40 @@ class FftMultiplier {
      * @return a*b
      */
     static BigInteger multiplyFft(BigInteger a, BigInteger b) {
+        if (Math.max(a.bitLength(), b.bitLength()) > LOW_MEMORY_THRESHOLD) {
+            return multiplyFftInPieces(a, b, LOW_MEMORY_THRESHOLD, OFF_HEAP_THRESHOLD);
+        }
+        return multiplyFft(a, b, OFF_HEAP_THRESHOLD);
+    }
+
+    /**
+     * Multiplies two BigIntegers using a floating-point FFT.
+     *
+     * @param a                value a
+     * @param b                value b
+     * @param offHeapThreshold the number of bytes of an FFT vector, at which
+     *                         the FFT vectors are allocated outside the Java
+     *                         heap. {@link Integer#MAX_VALUE} disables this.
+     * @return a*b
+     */
+    static BigInteger multiplyFft(BigInteger a, BigInteger b, int offHeapThreshold) {
         int signum = a.signum() * b.signum();
         byte[] aMag = (a.signum() < 0 ? a.negate() : a).toByteArray();
         byte[] bMag = (b.signum() < 0 ? b.negate() : b).toByteArray();
+        return new BigInteger(signum, multiplyFft(aMag, bMag, offHeapThreshold));
+    }
+
+    /**
+     * Multiplies two magnitudes using a floating-point FFT.
+     *
+     * @param aMag             the magnitude of value a in big-endian byte order
+     * @param bMag             the magnitude of value b in big-endian byte order
+     * @param offHeapThreshold the number of bytes of an FFT vector, at which
+     *                         the FFT vectors are allocated outside the Java
+     *                         heap. {@link Integer#MAX_VALUE} disables this.
+     * @return the magnitude of a*b, with leading zero bytes
+     */
+    private static byte[] multiplyFft(byte[] aMag, byte[] bMag, int offHeapThreshold) {
         int bitLen = Math.max(aMag.length, bMag.length) * 8;
         int bitsPerPoint = bitsPerFftPoint(bitLen);
         int fftLen = (bitLen + bitsPerPoint - 1) / bitsPerPoint + 1;   // +1 for a possible carry, see toFFTVector()
@@ -607,32 +809,34 @@ class FftMultiplier {
         // Use a 2^n or 3*2^n transform, whichever is shortest
         int fftLen2 = 1 << (logFFTLen);   // rounded to 2^n
         int fftLen3 = fftLen2 * 3 / 4;   // rounded to 3*2^n
-        if (fftLen < fftLen3 && logFFTLen > 3) {
-            ComplexVector[] roots2 = getRootsOfUnity2(logFFTLen - 2);   // roots for length fftLen/3 which is a power of two
-            ComplexVector weights = getRootsOfUnity3(logFFTLen - 2);
-            ComplexVector twiddles = getRootsOfUnity3(logFFTLen - 4);
-            ComplexVector aVec = toFftVector(aMag, fftLen3, bitsPerPoint);
-            aVec.applyWeights(weights);
-            fftMixedRadix(aVec, roots2, twiddles);
-            ComplexVector bVec = toFftVector(bMag, fftLen3, bitsPerPoint);
-            bVec.applyWeights(weights);
-            fftMixedRadix(bVec, roots2, twiddles);
-            aVec.multiplyPointwise(bVec);
-            ifftMixedRadix(aVec, roots2, twiddles);
-            aVec.applyInverseWeights(weights);
-            return fromFftVector(aVec, signum, bitsPerPoint);
-        } else {
-            ComplexVector[] roots = getRootsOfUnity2(logFFTLen);
-            ComplexVector aVec = toFftVector(aMag, fftLen2, bitsPerPoint);
-            aVec.applyWeights(roots[logFFTLen]);
-            fft(aVec, roots);
-            ComplexVector bVec = toFftVector(bMag, fftLen2, bitsPerPoint);
-            bVec.applyWeights(roots[logFFTLen]);
-            fft(bVec, roots);
-            aVec.multiplyPointwise(bVec);
-            ifft(aVec, roots);
-            aVec.applyInverseWeights(roots[logFFTLen]);
-            return fromFftVector(aVec, signum, bitsPerPoint);
+        try (OffHeapArena arena = newOffHeapArena(fftLen2, offHeapThreshold)) {
+            if (fftLen < fftLen3 && logFFTLen > 3) {
+                ComplexVector[] roots2 = getRootsOfUnity2(logFFTLen - 2);   // roots for length fftLen/3 which is a power of two
+                ComplexVector weights = getRootsOfUnity3(logFFTLen - 2);
+                ComplexVector twiddles = getRootsOfUnity3(logFFTLen - 4);
+                ComplexVector aVec = toFftVector(aMag, fftLen3, bitsPerPoint, arena);
+                aVec.applyWeights(weights);
+                fftMixedRadix(aVec, roots2, twiddles);
+                ComplexVector bVec = toFftVector(bMag, fftLen3, bitsPerPoint, arena);
+                bVec.applyWeights(weights);
+                fftMixedRadix(bVec, roots2, twiddles);
+                aVec.multiplyPointwise(bVec);
+                ifftMixedRadix(aVec, roots2, twiddles);
+                aVec.applyInverseWeights(weights);
+                return fromFftVector(aVec, bitsPerPoint);
+            } else {
+                ComplexVector[] roots = getRootsOfUnity2(logFFTLen);
+                ComplexVector aVec = toFftVector(aMag, fftLen2, bitsPerPoint, arena);
+                aVec.applyWeights(roots[logFFTLen]);
+                fft(aVec, roots);
+                ComplexVector bVec = toFftVector(bMag, fftLen2, bitsPerPoint, arena);
+                bVec.applyWeights(roots[logFFTLen]);
+                fft(bVec, roots);
+                aVec.multiplyPointwise(bVec);
+                ifft(aVec, roots);
+                aVec.applyInverseWeights(roots[logFFTLen]);
+                return fromFftVector(aVec, bitsPerPoint);
+            }
         }
     }
 
@@ -645,10 +849,33 @@ class FftMultiplier {
         if (a.signum() == 0) {
             return BigInteger.ZERO;
         }
-        return a.bitLength() < FFT_THRESHOLD ? a.multiply(a) : squareFft(a);
+        if (a.bitLength() < FFT_THRESHOLD) {
+            return a.multiply(a);
+        }
+        if (ParserStatistics.ENABLED) {
+            ParserStatistics.count(ParserStatistics.Counter.FFT_MULTIPLY);
+        }
+        if (BigNumberParseRecorder.ENABLED) {
+            BigNumberParseRecorder.countFftMultiply();
+        }
+        return squareFft(a);
     }
 
     static BigInteger squareFft(BigInteger a) {
+        if (a.bitLength() > LOW_MEMORY_THRESHOLD) {
+            return multiplyFftInPieces(a, a, LOW_MEMORY_THRESHOLD, OFF_HEAP_THRESHOLD);
+        }
+        return squareFft(a, OFF_HEAP_THRESHOLD);
+    }
+
+    /**
+     * Squares a BigInteger using a floating-point FFT.
+     *
+     * @param a                value a
+     * @param offHeapThreshold see {@link #multiplyFft(BigInteger, BigInteger, int)}
+     * @return a*a
+     */
+    static BigInteger squareFft(BigInteger a, int offHeapThreshold) {
         byte[] mag = a.toByteArray();
         int bitLen = mag.length * 8;
         int bitsPerPoint = bitsPerFftPoint(bitLen);
@@ -658,29 +885,273 @@ class FftMultiplier {
         // Use a 2^n or 3*2^n transform, whichever is shorter
         int fftLen2 = 1 << (logFFTLen);   // rounded to 2^n
         int fftLen3 = fftLen2 * 3 / 4;   // rounded to 3*2^n
-        if (fftLen < fftLen3) {
+        try (OffHeapArena arena = newOffHeapArena(fftLen2, offHeapThreshold)) {
+            if (fftLen < fftLen3) {
+                fftLen = fftLen3;
+                ComplexVector vec = toFftVector(mag, fftLen, bitsPerPoint, arena);
+                ComplexVector[] roots2 = getRootsOfUnity2(logFFTLen - 2);   // roots for length fftLen/3 which is a power of two
+                ComplexVector weights = getRootsOfUnity3(logFFTLen - 2);
+                ComplexVector twiddles = getRootsOfUnity3(logFFTLen - 4);
+                vec.applyWeights(weights);
+                fftMixedRadix(vec, roots2, twiddles);
+                vec.squarePointwise();
+                ifftMixedRadix(vec, roots2, twiddles);
+                vec.applyInverseWeights(weights);
+                return fromFftVector(vec, 1, bitsPerPoint);
+            } else {
+                fftLen = fftLen2;
+                ComplexVector vec = toFftVector(mag, fftLen, bitsPerPoint, arena);
+                ComplexVector[] roots = getRootsOfUnity2(logFFTLen);
+                vec.applyWeights(roots[logFFTLen]);
+                fft(vec, roots);
+                vec.squarePointwise();
+                ifft(vec, roots);
+                vec.applyInverseWeights(roots[logFFTLen]);
+                return fromFftVector(vec, 1, bitsPerPoint);
+            }
+        }
+    }
+
+    /**
+     * Multiplies two BigIntegers using a floating-point FFT, and reuses the
+     * forward transform of {@code b} from the cache.
+     * <p>
+     * The cache is not used if the FFT vectors are split into pieces, or if
+     * they are allocated outside the Java heap, because the cached
+     * transforms would defeat the purpose of these settings.
+     *
+     * @param a     value a
+     * @param b     value b
+     * @param cache the cache for the transform of b
+     * @return a*b
+     */
+    static BigInteger multiplyFft(BigInteger a, BigInteger b, TransformCache cache) {
+        if (LOW_MEMORY_THRESHOLD != Integer.MAX_VALUE || OFF_HEAP_THRESHOLD != Integer.MAX_VALUE) {
+            return multiplyFft(a, b);
+        }
+        int signum = a.signum() * b.signum();
+        byte[] aMag = (a.signum() < 0 ? a.negate() : a).toByteArray();
+        return new BigInteger(signum, multiplyFft(aMag, b, cache));
+    }
+
+    /**
+     * Multiplies a magnitude with a BigInteger using a floating-point FFT,
+     * and reuses the forward transform of {@code b} from the cache.
+     *
+     * @param aMag  the magnitude of value a in big-endian byte order
+     * @param b     value b
+     * @param cache the cache for the transform of b
+     * @return the magnitude of a*b, with leading zero bytes
+     */
+    private static byte[] multiplyFft(byte[] aMag, BigInteger b, TransformCache cache) {
+        if (OFF_HEAP_THRESHOLD != Integer.MAX_VALUE) {
+            return multiplyFft(aMag, (b.signum() < 0 ? b.negate() : b).toByteArray(), OFF_HEAP_THRESHOLD);
+        }
+        Transform bTransform = cache.get(b);
+        byte[] bMag = null;
+        int bMagLength;
+        if (bTransform != null) {
+            bMagLength = bTransform.magLength;
+        } else {
+            bMag = (b.signum() < 0 ? b.negate() : b).toByteArray();
+            bMagLength = bMag.length;
+        }
+        int bitLen = Math.max(aMag.length, bMagLength) * 8;
+        int bitsPerPoint = bitsPerFftPoint(bitLen);
+        int fftLen = (bitLen + bitsPerPoint - 1) / bitsPerPoint + 1;   // +1 for a possible carry, see toFFTVector()
+        int logFFTLen = 32 - Integer.numberOfLeadingZeros(fftLen - 1);
+
+        // Use a 2^n or 3*2^n transform, whichever is shortest
+        int fftLen2 = 1 << (logFFTLen);   // rounded to 2^n
+        int fftLen3 = fftLen2 * 3 / 4;   // rounded to 3*2^n
+        boolean mixedRadix = fftLen < fftLen3 && logFFTLen > 3;
+        fftLen = mixedRadix ? fftLen3 : fftLen2;
+        ComplexVector[] roots2 = mixedRadix ? getRootsOfUnity2(logFFTLen - 2) : getRootsOfUnity2(logFFTLen);
+        ComplexVector weights = mixedRadix ? getRootsOfUnity3(logFFTLen - 2) : roots2[logFFTLen];
+        ComplexVector twiddles = mixedRadix ? getRootsOfUnity3(logFFTLen - 4) : null;
+
+        if (bTransform == null || bTransform.vec.length != fftLen || bTransform.bitsPerPoint != bitsPerPoint) {
+            if (bMag == null) {
+                bMag = (b.signum() < 0 ? b.negate() : b).toByteArray();
+            }
+            ComplexVector bVec = toFftVector(bMag, fftLen, bitsPerPoint);
+            bVec.applyWeights(weights);
+            if (mixedRadix) {
+                fftMixedRadix(bVec, roots2, twiddles);
+            } else {
+                fft(bVec, roots2);
+            }
+            bTransform = new Transform(bVec, bitsPerPoint, bMag.length);
+            cache.put(b, bTransform);
+        }
+
+        ComplexVector aVec = toFftVector(aMag, fftLen, bitsPerPoint);
+        aVec.applyWeights(weights);
+        if (mixedRadix) {
+            fftMixedRadix(aVec, roots2, twiddles);
+            aVec.multiplyPointwise(bTransform.vec);
+            ifftMixedRadix(aVec, roots2, twiddles);
+        } else {
+            fft(aVec, roots2);
+            aVec.multiplyPointwise(bTransform.vec);
+            ifft(aVec, roots2);
+        }
+        aVec.applyInverseWeights(weights);
+        return fromFftVector(aVec, bitsPerPoint);
+    }
+
+    /**
+     * Multiplies two BigIntegers using floating-point FFTs on pieces of the
+     * factors.
+     * <p>
+     * Both factors are split into pieces with at most {@code pieceBits} bits.
+     * The product is the sum of the shifted products of all pairs of pieces.
+     * Each piece of {@code a} is transformed once, and is then multiplied
+     * with the transforms of all pieces of {@code b}. The products of the
+     * pieces are added in place into a single magnitude of the product.
+     * <p>
+     * This needs more time than {@link #multiplyFft(BigInteger, BigInteger, int)},
+     * but the FFT vectors are only as long as required for a single piece.
+     *
+     * @param a                value a
+     * @param b                value b
+     * @param pieceBits        the maximal number of bits of a piece
+     * @param offHeapThreshold see {@link #multiplyFft(BigInteger, BigInteger, int)}
+     * @return a*b
+     */
+    static BigInteger multiplyFftInPieces(BigInteger a, BigInteger b, int pieceBits, int offHeapThreshold) {
+        int signum = a.signum() * b.signum();
+        byte[] aMag = (a.signum() < 0 ? a.negate() : a).toByteArray();
+        byte[] bMag = (b.signum() < 0 ? b.negate() : b).toByteArray();
+        int pieceLen = Math.max(4, pieceBits >>> 3);
+        int bitLen = Math.min(pieceLen, Math.max(aMag.length, bMag.length)) * 8;
+        int bitsPerPoint = bitsPerFftPoint(bitLen);
+        int fftLen = (bitLen + bitsPerPoint - 1) / bitsPerPoint + 1;   // +1 for a possible carry, see toFFTVector()
+        int logFFTLen = 32 - Integer.numberOfLeadingZeros(fftLen - 1);
+
+        // Use a 2^n or 3*2^n transform, whichever is shortest
+        int fftLen2 = 1 << (logFFTLen);   // rounded to 2^n
+        int fftLen3 = fftLen2 * 3 / 4;   // rounded to 3*2^n
+        boolean mixedRadix = fftLen < fftLen3 && logFFTLen > 3;
+        ComplexVector[] roots2;
+        ComplexVector weights;
+        ComplexVector twiddles;
+        if (mixedRadix) {
             fftLen = fftLen3;
-            ComplexVector vec = toFftVector(mag, fftLen, bitsPerPoint);
-            ComplexVector[] roots2 = getRootsOfUnity2(logFFTLen - 2);   // roots for length fftLen/3 which is a power of two
-            ComplexVector weights = getRootsOfUnity3(logFFTLen - 2);
-            ComplexVector twiddles = getRootsOfUnity3(logFFTLen - 4);
-            vec.applyWeights(weights);
-            fftMixedRadix(vec, roots2, twiddles);
-            vec.squarePointwise();
-            ifftMixedRadix(vec, roots2, twiddles);
-            vec.applyInverseWeights(weights);
-            return fromFftVector(vec, 1, bitsPerPoint);
+            roots2 = getRootsOfUnity2(logFFTLen - 2);   // roots for length fftLen/3 which is a power of two
+            weights = getRootsOfUnity3(logFFTLen - 2);
+            twiddles = getRootsOfUnity3(logFFTLen - 4);
         } else {
             fftLen = fftLen2;
-            ComplexVector vec = toFftVector(mag, fftLen, bitsPerPoint);
-            ComplexVector[] roots = getRootsOfUnity2(logFFTLen);
-            vec.applyWeights(roots[logFFTLen]);
-            fft(vec, roots);
-            vec.squarePointwise();
-            ifft(vec, roots);
-            vec.applyInverseWeights(roots[logFFTLen]);
-            return fromFftVector(vec, 1, bitsPerPoint);
+            roots2 = getRootsOfUnity2(logFFTLen);
+            weights = roots2[logFFTLen];
+            twiddles = null;
+        }
+
+        // The pieces are taken from the least significant end of the magnitudes
+        byte[] productMag = new byte[aMag.length + bMag.length];
+        for (int aTo = aMag.length, aShift = 0; aTo > 0; aTo -= pieceLen, aShift += pieceLen) {
+            try (OffHeapArena aArena = newOffHeapArena(fftLen, offHeapThreshold)) {
+                ComplexVector aVec = toFftVector(Arrays.copyOfRange(aMag, Math.max(0, aTo - pieceLen), aTo), fftLen, bitsPerPoint, aArena);
+                aVec.applyWeights(weights);
+                if (mixedRadix) {
+                    fftMixedRadix(aVec, roots2, twiddles);
+                } else {
+                    fft(aVec, roots2);
+                }
+                for (int bTo = bMag.length, bShift = aShift; bTo > 0; bTo -= pieceLen, bShift += pieceLen) {
+                    try (OffHeapArena bArena = newOffHeapArena(fftLen, offHeapThreshold)) {
+                        ComplexVector bVec = toFftVector(Arrays.copyOfRange(bMag, Math.max(0, bTo - pieceLen), bTo), fftLen, bitsPerPoint, bArena);
+                        bVec.applyWeights(weights);
+                        if (mixedRadix) {
+                            fftMixedRadix(bVec, roots2, twiddles);
+                            bVec.multiplyPointwise(aVec);
+                            ifftMixedRadix(bVec, roots2, twiddles);
+                        } else {
+                            fft(bVec, roots2);
+                            bVec.multiplyPointwise(aVec);
+                            ifft(bVec, roots2);
+                        }
+                        bVec.applyInverseWeights(weights);
+                        addInPlace(productMag, productMag.length - bShift, fromFftVector(bVec, bitsPerPoint));
+                    }
+                }
+            }
         }
+        return new BigInteger(signum, productMag);
+    }
+
+    /**
+     * Estimates the number of bytes in the Java heap that are needed for
+     * multiplying two factors with the specified number of bits.
+     * <p>
+     * The estimate includes the magnitudes of the factors, the FFT vectors,
+     * the roots of unity, and the product. It does not include the factors.
+     *
+     * @param bits the number of bits of a factor
+     * @return the estimated number of bytes
+     */
+    static long estimateMultiplyMemory(long bits) {
+        long factorBytes = (bits >>> 3) + 1;
+        if (bits <= FFT_THRESHOLD) {
+            return 2 * factorBytes;
+        }
+        boolean inPieces = bits > LOW_MEMORY_THRESHOLD;
+        int bitLen = (int) Math.min(inPieces ? Math.max(4, LOW_MEMORY_THRESHOLD >>> 3) : factorBytes, Integer.MAX_VALUE >>> 3) * 8;
+        int bitsPerPoint = bitsPerFftPoint(bitLen);
+        int fftLen = (bitLen + bitsPerPoint - 1) / bitsPerPoint + 1;
+        int logFFTLen = 32 - Integer.numberOfLeadingZeros(fftLen - 1);
+        int fftLen2 = 1 << (logFFTLen);
+        int fftLen3 = fftLen2 * 3 / 4;
+
+        // Two vectors, and the roots of unity. The roots need about as much
+        // memory as 1.7 vectors of length 3*2^n, or 1.3 vectors of length 2^n.
+        long complexNumbers = fftLen < fftLen3 && logFFTLen > 3 ? fftLen3 * 37L / 10 : fftLen2 * 10L / 3;
+
+        // The magnitudes of the factors, and the product with its magnitude.
+        // A product of pieces is accumulated in an additional sum.
+        return complexNumbers * 16 + 2 * factorBytes + (inPieces ? 6 : 4) * factorBytes;
+    }
+
+    /**
+     * Estimates the number of bytes in the Java heap that are needed for
+     * the transforms in a {@link TransformCache}, if the largest cached
+     * factor has the specified number of bits.
+     * <p>
+     * The factors of each recursion level have half as many bits as the
+     * factors of the level above, and a level can have two factors of
+     * almost the same size. Therefore, the cache needs about twice the
+     * memory of the largest transform.
+     *
+     * @param bits the number of bits of the largest cached factor
+     * @return the estimated number of bytes
+     */
+    static long estimateTransformCacheMemory(long bits) {
+        if (bits <= FFT_THRESHOLD || LOW_MEMORY_THRESHOLD != Integer.MAX_VALUE || OFF_HEAP_THRESHOLD != Integer.MAX_VALUE) {
+            return 0;
+        }
+        int bitLen = (int) Math.min((bits >>> 3) + 1, Integer.MAX_VALUE >>> 3) * 8;
+        int bitsPerPoint = bitsPerFftPoint(bitLen);
+        int fftLen = (bitLen + bitsPerPoint - 1) / bitsPerPoint + 1;
+        int logFFTLen = 32 - Integer.numberOfLeadingZeros(fftLen - 1);
+        int fftLen2 = 1 << (logFFTLen);
+        int fftLen3 = fftLen2 * 3 / 4;
+        long complexNumbers = fftLen < fftLen3 && logFFTLen > 3 ? fftLen3 : fftLen2;
+        return 2 * complexNumbers * 16;
+    }
+
+    /**
+     * Returns a new arena for the working vectors of a multiplication,
+     * if the vectors have at least the specified number of bytes.
+     *
+     * @param fftLen           the number of complex numbers in a vector
+     * @param offHeapThreshold the threshold in bytes
+     * @return a new arena or null
+     */
+    private static OffHeapArena newOffHeapArena(int fftLen, int offHeapThreshold) {
+        // A complex number occupies 16 bytes
+        return offHeapThreshold != Integer.MAX_VALUE && (long) fftLen << 4 >= offHeapThreshold
+                ? new OffHeapArena() : null;
     }
 
     /**
@@ -688,9 +1159,20 @@ class FftMultiplier {
      * Populates the real parts and sets the imaginary parts to zero.
      */
     static ComplexVector toFftVector(byte[] mag, int fftLen, int bitsPerFftPoint) {
+        return toFftVector(mag, fftLen, bitsPerFftPoint, null);
+    }
+
+    /**
+     * Converts this BigInteger into an array of complex numbers suitable for an FFT.
+     * Populates the real parts and sets the imaginary parts to zero.
+     * <p>
+     * If an arena is specified, the array is allocated outside the Java heap,
+     * if possible.
+     */
+    static ComplexVector toFftVector(byte[] mag, int fftLen, int bitsPerFftPoint, OffHeapArena arena) {
         assert bitsPerFftPoint <= 25 : bitsPerFftPoint + " does not fit into an int with slack";
 
-        ComplexVector fftVec = new ComplexVector(fftLen);
+        ComplexVector fftVec = arena == null ? new ComplexVector(fftLen) : DirectComplexVector.allocate(arena, fftLen);
         if (mag.length < 4) {
             byte[] paddedMag = new byte[4];
             System.arraycopy(mag, 0, paddedMag, 4 - mag.length, mag.length);
@@ -727,13 +1209,13 @@ class FftMultiplier {
     }
 
 
-    final static class ComplexVector {
+    static class ComplexVector {
         /**
          * A complex number in an FFT double[] vector occupies 2^1 array elements.
          */
-        private final static int COMPLEX_SIZE_SHIFT = 1;
-        private final static int IMAG = 1;
-        private final static int REAL = 0;
+        final static int COMPLEX_SIZE_SHIFT = 1;
+        final static int IMAG = 1;
+        final static int REAL = 0;
         /**
          * This arrays contains complex numbers.
          * <p>
@@ -744,11 +1226,11 @@ class FftMultiplier {
         /**
          * The number of complex numbers stored in this vector.
          */
-        private final int length;
+        final int length;
         /**
          * Offset to the real part of a complex number.
          */
-        private final int offset;
+        final int offset;
 
         ComplexVector(int length) {
             this.a = new double[length << COMPLEX_SIZE_SHIFT];
@@ -769,6 +1251,18 @@ class FftMultiplier {
             this.offset = from << 1;
         }
 
+        /**
+         * Creates a vector that stores its complex numbers elsewhere.
+         *
+         * @param length the number of complex numbers
+         * @param offset offset to the real part of a complex number
+         */
+        ComplexVector(int length, int offset) {
+            this.a = null;
+            this.length = length;
+            this.offset = offset;
+        }
+
         void add(int idxa, MutableComplex c) {
             a[realIdx(idxa)] += c.real;
             a[imagIdx(idxa)] += c.imag;
@@ -980,6 +1474,315 @@ class FftMultiplier {
             a[ri] = Math.scalb(real, n);
             a[ii] = Math.scalb(imag, n);
         }
+
+        /**
+         * Creates a view on this vector.
+         *
+         * @param from start index of the view
+         * @param to   end index of the view
+         * @return the view
+         */
+        ComplexVector view(int from, int to) {
+            return new ComplexVector(this, from, to);
+        }
+    }
+
+    /**
+     * A vector of complex numbers that is stored outside the Java heap.
+     * <p>
+     * Only the working vectors of a multiplication are stored outside the
+     * Java heap. The roots of unity, which are passed as weights, are always
+     * stored in the Java heap. The working vectors of a multiplication have
+     * the same length, and therefore they are either all stored in the Java
+     * heap, or all outside the Java heap.
+     * <p>
+     * As long as no instance of this class is created, the calls in the FFT
+     * loops are monomorphic, and multiplications in the Java heap are as fast
+     * as without this class. Once instances are created, the calls become
+     * polymorphic, and all FFT multiplications become slower. Therefore,
+     * vectors are only stored outside the Java heap if this has been
+     * enabled with {@link ThresholdCalibrator#OFF_HEAP_THRESHOLD_PROPERTY}.
+     */
+    final static class DirectComplexVector extends ComplexVector {
+        /**
+         * This buffer contains complex numbers.
+         * <p>
+         * A complex number occupies 2 consecutive buffer elements:
+         * the real part and then the imaginary part.
+         */
+        private final DoubleBuffer b;
+
+        private DirectComplexVector(DoubleBuffer b, int length, int offset) {
+            super(length, offset);
+            this.b = b;
+        }
+
+        /**
+         * Allocates a vector in the specified arena, or in the Java heap
+         * if the vector is too large for the arena.
+         *
+         * @param arena  the arena
+         * @param length the number of complex numbers
+         * @return a new vector
+         */
+        static ComplexVector allocate(OffHeapArena arena, int length) {
+            DoubleBuffer b = arena.allocate(length << COMPLEX_SIZE_SHIFT);
+            return b == null ? new ComplexVector(length) : new DirectComplexVector(b, length, 0);
+        }
+
+        private int realIdx(int idxa) {
+            return (idxa << COMPLEX_SIZE_SHIFT) + offset;
+        }
+
+        @Override
+        void add(int idxa, MutableComplex c) {
+            int ri = realIdx(idxa);
+            b.put(ri, b.get(ri) + c.real);
+            b.put(ri + IMAG, b.get(ri + IMAG) + c.imag);
+        }
+
+        @Override
+        void addInto(int idxa, ComplexVector c, int idxc, MutableComplex destination) {
+            int ri = realIdx(idxa);
+            destination.real = b.get(ri) + c.real(idxc);
+            destination.imag = b.get(ri + IMAG) + c.imag(idxc);
+        }
+
+        @Override
+        void addTimesIInto(int idxa, ComplexVector c, int idxc, MutableComplex destination) {
+            int ri = realIdx(idxa);
+            destination.real = b.get(ri) - c.imag(idxc);
+            destination.imag = b.get(ri + IMAG) + c.real(idxc);
+        }
+
+        @Override
+        void applyInverseWeights(ComplexVector weights) {
+            int offa = offset;
+            int offw = weights.offset;
+            double[] w = weights.a;
+            for (int i = 0; i < length; i++) {
+                double real = b.get(offa + REAL);
+                double imag = b.get(offa + IMAG);
+                b.put(offa + REAL, fma(real, w[offw + REAL], imag * w[offw + IMAG]));
+                b.put(offa + IMAG, fma(-real, w[offw + IMAG], imag * w[offw + REAL]));
+                offa += 2;
+                offw += 2;
+            }
+        }
+
+        @Override
+        void applyWeights(ComplexVector weights) {
+            int offw = weights.offset;
+            double[] w = weights.a;
+            int end = offset + length << 1;
+            for (int offa = offset; offa < end; offa += 2) {
+                double real = b.get(offa + REAL);
+                b.put(offa + REAL, real * w[offw + REAL]);
+                b.put(offa + IMAG, real * w[offw + IMAG]);
+                offw += 2;
+            }
+        }
+
+        @Override
+        void copyInto(int idxa, MutableComplex destination) {
+            int ri = realIdx(idxa);
+            destination.real = b.get(ri);
+            destination.imag = b.get(ri + IMAG);
+        }
+
+        @Override
+        double imag(int idxa) {
+            return b.get(realIdx(idxa) + IMAG);
+        }
+
+        @Override
+        void imag(int idxa, double value) {
+            b.put(realIdx(idxa) + IMAG, value);
+        }
+
+        @Override
+        void multiply(int idxa, MutableComplex c) {
+            int ri = realIdx(idxa);
+            double real = b.get(ri);
+            double imag = b.get(ri + IMAG);
+            b.put(ri, fma(real, c.real, -imag * c.imag));
+            b.put(ri + IMAG, fma(real, c.imag, +imag * c.real));
+        }
+
+        @Override
+        void multiplyByIAnd(int idxa, MutableComplex c) {
+            int ri = realIdx(idxa);
+            double real = b.get(ri);
+            double imag = b.get(ri + IMAG);
+            b.put(ri, fma(-real, c.imag, -imag * c.real));
+            b.put(ri + IMAG, fma(real, c.real, -imag * c.imag));
+        }
+
+        @Override
+        void multiplyConjugate(int idxa, MutableComplex c) {
+            int ri = realIdx(idxa);
+            double real = b.get(ri);
+            double imag = b.get(ri + IMAG);
+            b.put(ri, fma(real, c.real, +imag * c.imag));
+            b.put(ri + IMAG, fma(-real, c.imag, +imag * c.real));
+        }
+
+        @Override
+        void multiplyConjugateInto(int idxa, MutableComplex c, MutableComplex destination) {
+            int ri = realIdx(idxa);
+            double real = b.get(ri);
+            double imag = b.get(ri + IMAG);
+            destination.real = fma(real, c.real, +imag * c.imag);
+            destination.imag = fma(-real, c.imag, +imag * c.real);
+        }
+
+        @Override
+        void multiplyConjugateTimesI(int idxa, MutableComplex c) {
+            int ri = realIdx(idxa);
+            double real = b.get(ri);
+            double imag = b.get(ri + IMAG);
+            b.put(ri, fma(-real, c.imag, +imag * c.real));
+            b.put(ri + IMAG, fma(-real, c.real, -imag * c.imag));
+        }
+
+        @Override
+        void multiplyInto(int idxa, MutableComplex c, MutableComplex destination) {
+            int ri = realIdx(idxa);
+            double real = b.get(ri);
+            double imag = b.get(ri + IMAG);
+            destination.real = fma(real, c.real, -imag * c.imag);
+            destination.imag = fma(real, c.imag, +imag * c.real);
+        }
+
+        @Override
+        void multiplyPointwise(ComplexVector cvec) {
+            int offc = cvec.offset;
+            DoubleBuffer c = ((DirectComplexVector) cvec).b;
+            int end = offset + length << 1;
+            for (int offa = offset; offa < end; offa += 2) {
+                double real = b.get(offa + REAL);
+                double imag = b.get(offa + IMAG);
+                double creal = c.get(offc + REAL);
+                double cimag = c.get(offc + IMAG);
+                b.put(offa + REAL, fma(real, creal, -imag * cimag));
+                b.put(offa + IMAG, fma(real, cimag, +imag * creal));
+                offc += 2;
+            }
+        }
+
+        @Override
+        double part(int idxa, int part) {
+            return b.get((idxa << COMPLEX_SIZE_SHIFT) + part);
+        }
+
+        @Override
+        double real(int idxa) {
+            return b.get(realIdx(idxa));
+        }
+
+        @Override
+        void real(int idxa, double value) {
+            b.put(realIdx(idxa), value);
+        }
+
+        @Override
+        void set(int idxa, double real, double imag) {
+            int ri = realIdx(idxa);
+            b.put(ri, real);
+            b.put(ri + IMAG, imag);
+        }
+
+        @Override
+        void squarePointwise() {
+            int end = offset + length << 1;
+            for (int offa = offset; offa < end; offa += 2) {
+                double real = b.get(offa + REAL);
+                double imag = b.get(offa + IMAG);
+                b.put(offa + REAL, fma(real, real, -imag * imag));
+                b.put(offa + IMAG, 2 * real * imag);
+            }
+        }
+
+        @Override
+        void subtractInto(int idxa, ComplexVector c, int idxc, MutableComplex destination) {
+            int ri = realIdx(idxa);
+            destination.real = b.get(ri) - c.real(idxc);
+            destination.imag = b.get(ri + IMAG) - c.imag(idxc);
+        }
+
+        @Override
+        void subtractTimesIInto(int idxa, ComplexVector c, int idxc, MutableComplex destination) {
+            int ri = realIdx(idxa);
+            destination.real = b.get(ri) + c.imag(idxc);
+            destination.imag = b.get(ri + IMAG) - c.real(idxc);
+        }
+
+        @Override
+        void timesTwoToThe(int idxa, int n) {
+            int ri = realIdx(idxa);
+            double real = b.get(ri);
+            double imag = b.get(ri + IMAG);
+            b.put(ri, Math.scalb(real, n));
+            b.put(ri + IMAG, Math.scalb(imag, n));
+        }
+
+        @Override
+        ComplexVector view(int from, int to) {
+            return new DirectComplexVector(b, to - from, from << 1);
+        }
+    }
+
+    /**
+     * Caches the forward transforms of factors that are multiplied with
+     * many other factors, for example, the powers of ten in a recursive
+     * parse.
+     * <p>
+     * The factors are compared by identity. A cached transform is only
+     * reused for multiplications with the same FFT length.
+     * <p>
+     * A transform occupies many times the memory of its factor. A cache
+     * should therefore only be kept for the duration of a single parse.
+     * <p>
+     * Instances of this class are not thread-safe.
+     */
+    final static class TransformCache {
+        private final IdentityHashMap<BigInteger, Transform> transforms = new IdentityHashMap<>();
+
+        /**
+         * Removes all transforms from the cache.
+         */
+        void clear() {
+            transforms.clear();
+        }
+
+        private Transform get(BigInteger factor) {
+            return transforms.get(factor);
+        }
+
+        private void put(BigInteger factor, Transform transform) {
+            transforms.put(factor, transform);
+        }
+    }
+
+    /**
+     * The forward transform of a factor.
+     */
+    private final static class Transform {
+        /**
+         * The weighted and transformed vector.
+         */
+        final ComplexVector vec;
+        final int bitsPerPoint;
+        /**
+         * The length of the byte array that holds the magnitude of the factor.
+         */
+        final int magLength;
+
+        Transform(ComplexVector vec, int bitsPerPoint, int magLength) {
+            this.vec = vec;
+            this.bitsPerPoint = bitsPerPoint;
+            this.magLength = magLength;
+        }
     }
 
     final static class MutableComplex {
@@ -0,0 +1,280 @@
+/*
+ * @(#)FormatDigitsTask.java
+ * Copyright © 2023 Werner Randelshofer, Switzerland. MIT License.
+ */
+package ch.randelshofer.fastdoubleparser;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+
+import static ch.randelshofer.fastdoubleparser.AlgorithmThresholds.FFT_THRESHOLD;
+import static ch.randelshofer.fastdoubleparser.FastIntegerMath.splitFloor16;
+
+/**
+ * Formats the decimal digits of a non-negative {@link BigInteger}.
+ * <p>
+ * Values with up to about 120,000 digits are formatted with
+ * {@link BigInteger#toString()}, which is faster for them. Larger values
+ * are split up recursively by dividing them by powers of ten. The split
+ * points are the same as in {@link ParseDigitsTaskCharSequence},
+ * so that the powers of ten can be computed with
+ * {@link FastIntegerMath#fillPowersOf10Floor16(int, int)}.
+ * <p>
+ * A division by a large power of ten is performed as a multiplication with
+ * its reciprocal (Barrett reduction). The reciprocal of each power of ten is
+ * computed once with Newton's method. All multiplications are performed with
+ * {@link FftMultiplier}, which reuses the transforms of the powers of ten
+ * and of their reciprocals.
+ */
+final class FormatDigitsTask {
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private FormatDigitsTask() {
+    }
+
+    /**
+     * Returns an upper bound for the number of decimal digits of a
+     * non-negative value. The bound is at most 2 larger than the exact
+     * number of digits.
+     *
+     * @param value a non-negative value
+     * @return the upper bound
+     */
+    static int estimateNumDigits(BigInteger value) {
+        // log_10(2) * 2^31 = 646,456,993.15, rounded up
+        return (int) (((long) value.bitLength() * 646_456_994L) >>> 31) + 1;
+    }
+
+    /**
+     * Formats the decimal digits of a non-negative value, without
+     * leading zeros.
+     *
+     * @param value  a non-negative value
+     * @param dest   the destination, must have room for
+     *               {@link #estimateNumDigits(BigInteger)} characters
+     * @param offset the index of the first character
+     * @return the number of characters
+     */
+    static int formatDigits(BigInteger value, byte[] dest, int offset) {
+        if (value.signum() == 0) {
+            dest[offset] = '0';
+            return 1;
+        }
+        // Base case: For values with up to about 120,000 digits, computing the
+        // reciprocals of the powers of ten costs more than it saves.
+        int numDigits = estimateNumDigits(value);
+        if (FastIntegerMath.estimateNumBits(numDigits) <= 12L * FFT_THRESHOLD) {
+            return writeDigits(value.toString(), 0, dest, offset);
+        }
+        PowersOfTen powersOfTen = new PowersOfTen(numDigits);
+
+        // Recursion case: Split the value up into two parts. The lower part has a multiple of 16 digits.
+        // The power of ten of the top level is only used once, we do not cache its transform.
+        int lowDigits = numDigits - splitFloor16(0, numDigits);
+        BigInteger[] highAndLow = powersOfTen.divideAndRemainder(value, lowDigits, false);
+        int count = formatDigitsRecursive(highAndLow[0], numDigits - lowDigits, true, dest, offset, powersOfTen);
+        return count + formatDigitsRecursive(highAndLow[1], lowDigits, count == 0, dest, offset + count, powersOfTen);
+    }
+
+    /**
+     * Formats the decimal digits of a non-negative value, without
+     * leading zeros.
+     *
+     * @param value  a non-negative value
+     * @param dest   the destination, must have room for
+     *               {@link #estimateNumDigits(BigInteger)} characters
+     * @param offset the index of the first character
+     * @return the number of characters
+     */
+    static int formatDigits(BigInteger value, char[] dest, int offset) {
+        if (value.signum() == 0) {
+            dest[offset] = '0';
+            return 1;
+        }
+        // Base case: For values with up to about 120,000 digits, computing the
+        // reciprocals of the powers of ten costs more than it saves.
+        int numDigits = estimateNumDigits(value);
+        if (FastIntegerMath.estimateNumBits(numDigits) <= 12L * FFT_THRESHOLD) {
+            return writeDigits(value.toString(), 0, dest, offset);
+        }
+        PowersOfTen powersOfTen = new PowersOfTen(numDigits);
+
+        // Recursion case: Split the value up into two parts. The lower part has a multiple of 16 digits.
+        // The power of ten of the top level is only used once, we do not cache its transform.
+        int lowDigits = numDigits - splitFloor16(0, numDigits);
+        BigInteger[] highAndLow = powersOfTen.divideAndRemainder(value, lowDigits, false);
+        int count = formatDigitsRecursive(highAndLow[0], numDigits - lowDigits, true, dest, offset, powersOfTen);
+        return count + formatDigitsRecursive(highAndLow[1], lowDigits, count == 0, dest, offset + count, powersOfTen);
+    }
+
+    /**
+     * Returns true if a value with the specified number of digits is
+     * formatted with {@link BigInteger#toString()}. This is the case if the
+     * division by the power of ten that splits the value in half would not
+     * use an FFT.
+     */
+    private static boolean isBaseCase(int numDigits) {
+        return FastIntegerMath.estimateNumBits(numDigits) <= 2L * FFT_THRESHOLD;
+    }
+
+    /**
+     * Formats {@code value < 10^numDigits}.
+     *
+     * @param leftmost true if these are the leftmost digits of the number,
+     *                 which are formatted without leading zeros, otherwise
+     *                 exactly {@code numDigits} are formatted
+     * @return the number of characters
+     */
+    private static int formatDigitsRecursive(BigInteger value, int numDigits, boolean leftmost, byte[] dest, int offset,
+                                             PowersOfTen powersOfTen) {
+        if (leftmost && value.signum() == 0) {
+            return 0;
+        }
+
+        // Base case: Small values can be formatted by BigInteger.
+        if (isBaseCase(numDigits)) {
+            return writeDigits(value.toString(), leftmost ? 0 : numDigits, dest, offset);
+        }
+
+        // Recursion case: Split the value up into two parts. The lower part has a multiple of 16 digits.
+        int lowDigits = numDigits - splitFloor16(0, numDigits);
+        BigInteger[] highAndLow = powersOfTen.divideAndRemainder(value, lowDigits, true);
+        int count = formatDigitsRecursive(highAndLow[0], numDigits - lowDigits, leftmost, dest, offset, powersOfTen);
+        return count + formatDigitsRecursive(highAndLow[1], lowDigits, leftmost && count == 0, dest, offset + count, powersOfTen);
+    }
+
+    /**
+     * Formats {@code value < 10^numDigits}.
+     *
+     * @param leftmost true if these are the leftmost digits of the number,
+     *                 which are formatted without leading zeros, otherwise
+     *                 exactly {@code numDigits} are formatted
+     * @return the number of characters
+     */
+    private static int formatDigitsRecursive(BigInteger value, int numDigits, boolean leftmost, char[] dest, int offset,
+                                             PowersOfTen powersOfTen) {
+        if (leftmost && value.signum() == 0) {
+            return 0;
+        }
+
+        // Base case: Small values can be formatted by BigInteger.
+        if (isBaseCase(numDigits)) {
+            return writeDigits(value.toString(), leftmost ? 0 : numDigits, dest, offset);
+        }
+
+        // Recursion case: Split the value up into two parts. The lower part has a multiple of 16 digits.
+        int lowDigits = numDigits - splitFloor16(0, numDigits);
+        BigInteger[] highAndLow = powersOfTen.divideAndRemainder(value, lowDigits, true);
+        int count = formatDigitsRecursive(highAndLow[0], numDigits - lowDigits, leftmost, dest, offset, powersOfTen);
+        return count + formatDigitsRecursive(highAndLow[1], lowDigits, leftmost && count == 0, dest, offset + count, powersOfTen);
+    }
+
+    /**
+     * Writes the digits, with leading zeros up to the specified width.
+     */
+    private static int writeDigits(String digits, int width, byte[] dest, int offset) {
+        int zeros = Math.max(0, width - digits.length());
+        for (int i = 0; i < zeros; i++) {
+            dest[offset + i] = '0';
+        }
+        offset += zeros;
+        for (int i = 0, n = digits.length(); i < n; i++) {
+            dest[offset + i] = (byte) digits.charAt(i);
+        }
+        return zeros + digits.length();
+    }
+
+    /**
+     * Writes the digits, with leading zeros up to the specified width.
+     */
+    private static int writeDigits(String digits, int width, char[] dest, int offset) {
+        int zeros = Math.max(0, width - digits.length());
+        for (int i = 0; i < zeros; i++) {
+            dest[offset + i] = '0';
+        }
+        digits.getChars(0, digits.length(), dest, offset + zeros);
+        return zeros + digits.length();
+    }
+
+    /**
+     * Computes {@code floor(2^(2n) / d)}, where {@code n} is the bit
+     * length of {@code d}, with Newton's method.
+     *
+     * @param d a positive value
+     * @return the reciprocal
+     */
+    static BigInteger reciprocal(BigInteger d) {
+        int n = d.bitLength();
+        BigInteger twoPow2n = BigInteger.ONE.shiftLeft(2 * n);
+        if (n <= FFT_THRESHOLD) {
+            return twoPow2n.divide(d);
+        }
+
+        // The reciprocal of the upper half of d is an approximation with
+        // about n/2 correct bits. A Newton step doubles the number of
+        // correct bits: x1 = x0 + x0 * (2^(2n) - d * x0) / 2^(2n).
+        int shift = n >>> 1;
+        BigInteger x0 = reciprocal(d.shiftRight(shift)).shiftLeft(shift);
+        BigInteger error = twoPow2n.subtract(FftMultiplier.multiply(d, x0));
+        BigInteger delta = FftMultiplier.multiply(x0, error).shiftRight(2 * n);
+        BigInteger x1 = x0.add(delta);
+
+        // The approximation is off by a few units, correct it with the
+        // remainder 2^(2n) - d * x1 = error - d * delta.
+        BigInteger remainder = error.subtract(FftMultiplier.multiply(d, delta));
+        while (remainder.signum() < 0) {
+            x1 = x1.subtract(BigInteger.ONE);
+            remainder = remainder.add(d);
+        }
+        while (remainder.compareTo(d) >= 0) {
+            x1 = x1.add(BigInteger.ONE);
+            remainder = remainder.subtract(d);
+        }
+        return x1;
+    }
+
+    /**
+     * Holds the powers of ten that split up a number, and their reciprocals.
+     */
+    private static final class PowersOfTen {
+        private final Map<Integer, BigInteger> powersOfTen;
+        private final Map<Integer, BigInteger> reciprocals = new HashMap<>();
+        private final FftMultiplier.TransformCache cache = new FftMultiplier.TransformCache();
+
+        PowersOfTen(int numDigits) {
+            powersOfTen = FastIntegerMath.fillPowersOf10Floor16(0, numDigits);
+        }
+
+        /**
+         * Divides {@code value < 10^(2*n)} by {@code 10^n}.
+         *
+         * @param value           the dividend
+         * @param n               the power of ten
+         * @param cacheTransforms whether the transforms of the power of ten
+         *                        and of its reciprocal are cached
+         * @return the quotient and the remainder
+         */
+        BigInteger[] divideAndRemainder(BigInteger value, int n, boolean cacheTransforms) {
+            BigInteger divisor = powersOfTen.get(n);
+            BigInteger reciprocal = reciprocals.get(n);
+            if (reciprocal == null) {
+                reciprocal = reciprocal(divisor);
+                reciprocals.put(n, reciprocal);
+            }
+
+            // Barrett reduction: the estimated quotient is at most 2 too small.
+            int bits = divisor.bitLength();
+            FftMultiplier.TransformCache transformCache = cacheTransforms ? cache : null;
+            BigInteger quotient = FftMultiplier.multiply(value.shiftRight(bits - 1), reciprocal, transformCache)
+                    .shiftRight(bits + 1);
+            BigInteger remainder = value.subtract(FftMultiplier.multiply(quotient, divisor, transformCache));
+            while (remainder.compareTo(divisor) >= 0) {
+                quotient = quotient.add(BigInteger.ONE);
+                remainder = remainder.subtract(divisor);
+            }
+            return new BigInteger[]{quotient, remainder};
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * @(#)JavaBigDecimalFormatter.java
+ * Copyright © 2023 Werner Randelshofer, Switzerland. MIT License.
+ */
+package ch.randelshofer.fastdoubleparser;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import static ch.randelshofer.fastdoubleparser.JavaBigIntegerFormatter.checkBounds;
+
+/**
+ * Formats a {@link BigDecimal} value as a decimal string; the output is
+ * identical to {@link BigDecimal#toString()}, which uses scientific
+ * notation if the exponent is positive or very small.
+ * <p>
+ * The digits of the unscaled value are formatted with the same algorithm
+ * as in {@link JavaBigIntegerFormatter}.
+ * <p>
+ * The output can be parsed with {@link JavaBigDecimalParser}.
+ */
+public class JavaBigDecimalFormatter {
+    /**
+     * The largest number of characters that are added to the digits of
+     * the unscaled value: a decimal point, the exponent indicator, the
+     * sign of the exponent and up to 10 exponent digits.
+     */
+    private static final int MAX_DECORATION_LENGTH = 13;
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private JavaBigDecimalFormatter() {
+    }
+
+    /**
+     * Returns an upper bound for the number of characters that are
+     * needed for formatting the specified value.
+     *
+     * @param value a value
+     * @return the upper bound
+     * @throws NullPointerException if the value is null
+     */
+    public static int getMaxFormattedLength(BigDecimal value) {
+        return JavaBigIntegerFormatter.getMaxFormattedLength(value.unscaledValue()) + MAX_DECORATION_LENGTH;
+    }
+
+    /**
+     * Formats a {@link BigDecimal} value as a decimal string.
+     *
+     * @param value a value
+     * @return the decimal string
+     * @throws NullPointerException if the value is null
+     */
+    public static String toString(BigDecimal value) {
+        char[] chars = new char[getMaxFormattedLength(value)];
+        int length = formatBigDecimal(value, chars, 0);
+        return new String(chars, 0, length);
+    }
+
+    /**
+     * Formats a {@link BigDecimal} value as a decimal string into a
+     * {@code byte}-Array.
+     *
+     * @param value  a value
+     * @param dest   the destination, the characters are in ASCII encoding
+     * @param offset the index of the first character to write
+     * @return the number of characters that have been written
+     * @throws NullPointerException     if the value or the destination is null
+     * @throws IllegalArgumentException if offset is negative, or if the
+     *                                  destination has fewer than
+     *                                  {@link #getMaxFormattedLength(BigDecimal)}
+     *                                  elements after the offset
+     */
+    public static int formatBigDecimal(BigDecimal value, byte[] dest, int offset) {
+        checkBounds(dest.length, offset, getMaxFormattedLength(value));
+        BigInteger unscaledValue = value.unscaledValue();
+        int pos = offset;
+        if (unscaledValue.signum() < 0) {
+            dest[pos++] = '-';
+            unscaledValue = unscaledValue.negate();
+        }
+        int numDigits = FormatDigitsTask.formatDigits(unscaledValue, dest, pos);
+        int scale = value.scale();
+        long adjustedExponent = -(long) scale + (numDigits - 1);
+
+        // The digits are in place, insert the decimal point and append the exponent
+        if (scale == 0) {
+            return pos + numDigits - offset;
+        }
+        if (scale > 0 && adjustedExponent >= -6) {
+            if (numDigits > scale) {
+                int point = pos + numDigits - scale;
+                System.arraycopy(dest, point, dest, point + 1, scale);
+                dest[point] = '.';
+                return pos + numDigits + 1 - offset;
+            }
+            int zeros = scale - numDigits;
+            System.arraycopy(dest, pos, dest, pos + 2 + zeros, numDigits);
+            dest[pos++] = '0';
+            dest[pos++] = '.';
+            for (int i = 0; i < zeros; i++) {
+                dest[pos++] = '0';
+            }
+            return pos + numDigits - offset;
+        }
+        if (numDigits > 1) {
+            System.arraycopy(dest, pos + 1, dest, pos + 2, numDigits - 1);
+            dest[pos + 1] = '.';
+            pos++;
+        }
+        pos += numDigits;
+        dest[pos++] = 'E';
+        if (adjustedExponent > 0) {
+            dest[pos++] = '+';
+        }
+        String exponent = Long.toString(adjustedExponent);
+        for (int i = 0, n = exponent.length(); i < n; i++) {
+            dest[pos++] = (byte) exponent.charAt(i);
+        }
+        return pos - offset;
+    }
+
+    /**
+     * Formats a {@link BigDecimal} value as a decimal string into a
+     * {@code char}-Array.
+     *
+     * @param value  a value
+     * @param dest   the destination
+     * @param offset the index of the first character to write
+     * @return the number of characters that have been written
+     * @throws NullPointerException     if the value or the destination is null
+     * @throws IllegalArgumentException if offset is negative, or if the
+     *                                  destination has fewer than
+     *                                  {@link #getMaxFormattedLength(BigDecimal)}
+     *                                  elements after the offset
+     */
+    public static int formatBigDecimal(BigDecimal value, char[] dest, int offset) {
+        checkBounds(dest.length, offset, getMaxFormattedLength(value));
+        BigInteger unscaledValue = value.unscaledValue();
+        int pos = offset;
+        if (unscaledValue.signum() < 0) {
+            dest[pos++] = '-';
+            unscaledValue = unscaledValue.negate();
+        }
+        int numDigits = FormatDigitsTask.formatDigits(unscaledValue, dest, pos);
+        int scale = value.scale();
+        long adjustedExponent = -(long) scale + (numDigits - 1);
+
+        // The digits are in place, insert the decimal point and append the exponent
+        if (scale == 0) {
+            return pos + numDigits - offset;
+        }
+        if (scale > 0 && adjustedExponent >= -6) {
+            if (numDigits > scale) {
+                int point = pos + numDigits - scale;
+                System.arraycopy(dest, point, dest, point + 1, scale);
+                dest[point] = '.';
+                return pos + numDigits + 1 - offset;
+            }
+            int zeros = scale - numDigits;
+            System.arraycopy(dest, pos, dest, pos + 2 + zeros, numDigits);
+            dest[pos++] = '0';
+            dest[pos++] = '.';
+            for (int i = 0; i < zeros; i++) {
+                dest[pos++] = '0';
+            }
+            return pos + numDigits - offset;
+        }
+        if (numDigits > 1) {
+            System.arraycopy(dest, pos + 1, dest, pos + 2, numDigits - 1);
+            dest[pos + 1] = '.';
+            pos++;
+        }
+        pos += numDigits;
+        dest[pos++] = 'E';
+        if (adjustedExponent > 0) {
+            dest[pos++] = '+';
+        }
+        String exponent = Long.toString(adjustedExponent);
+        exponent.getChars(0, exponent.length(), dest, pos);
+        return pos + exponent.length() - offset;
+    }
+}
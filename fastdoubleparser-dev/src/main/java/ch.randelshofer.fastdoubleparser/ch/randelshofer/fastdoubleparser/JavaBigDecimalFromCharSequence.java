@@ -8,10 +8,10 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.NavigableMap;
 
+import static ch.randelshofer.fastdoubleparser.AlgorithmThresholds.RECURSION_THRESHOLD;
 import static ch.randelshofer.fastdoubleparser.FastIntegerMath.computePowerOfTen;
 import static ch.randelshofer.fastdoubleparser.FastIntegerMath.createPowersOfTenFloor16Map;
 import static ch.randelshofer.fastdoubleparser.FastIntegerMath.fillPowersOfNFloor16Recursive;
-import static ch.randelshofer.fastdoubleparser.ParseDigitsTaskCharSequence.RECURSION_THRESHOLD;
 
 
 /**
@@ -71,9 +71,29 @@ final class JavaBigDecimalFromCharSequence extends AbstractNumberParser {
      * @throws NumberFormatException    if the input string can not be parsed successfully
      */
     public BigDecimal parseBigDecimalString(CharSequence str, int offset, int length) {
+        return parseBigDecimalString(str, offset, length, ParseLimits.UNLIMITED);
+    }
+
+    /**
+     * Parses a {@code BigDecimalString} as specified in {@link JavaBigDecimalParser}.
+     *
+     * @param str    the input string
+     * @param offset start of the input data
+     * @param length length of the input data
+     * @param limits the parse limits
+     * @return the parsed {@link BigDecimal}
+     * @throws NullPointerException     if str is null
+     * @throws IllegalArgumentException if offset or length are illegal
+     * @throws NumberFormatException    if the input string can not be parsed successfully
+     * @throws ParseLimitExceededException if the input exceeds the limits
+     */
+    public BigDecimal parseBigDecimalString(CharSequence str, int offset, int length, ParseLimits limits) {
         try {
             if (length >= MANY_DIGITS_THRESHOLD) {
-                return parseBigDecimalStringWithManyDigits(str, offset, length);
+                if (ParserStatistics.ENABLED) {
+                    ParserStatistics.count(ParserStatistics.Counter.BIG_DECIMAL_MANY_DIGITS);
+                }
+                return parseBigDecimalStringWithManyDigits(str, offset, length, limits);
             }
             long significand = 0L;
             final int integerPartIndex;
@@ -161,6 +181,8 @@ final class JavaBigDecimalFromCharSequence extends AbstractNumberParser {
                     || digitCount > MAX_DIGIT_COUNT) {
                 throw new NumberFormatException(SYNTAX_ERROR);
             }
+            limits.checkDigits(digitCount);
+            limits.checkExponent(exponent);
             if (exponent <= Integer.MIN_VALUE
                     || exponent > Integer.MAX_VALUE) {
                 throw new NumberFormatException(VALUE_EXCEEDS_LIMITS);
@@ -169,7 +191,7 @@ final class JavaBigDecimalFromCharSequence extends AbstractNumberParser {
             if (digitCount <= 18) {
                 return new BigDecimal(isNegative ? -significand : significand).scaleByPowerOfTen((int) exponent);
             }
-            return valueOfBigDecimalString(str, integerPartIndex, decimalPointIndex, decimalPointIndex + 1, exponentIndicatorIndex, isNegative, (int) exponent);
+            return valueOfBigDecimalString(str, integerPartIndex, decimalPointIndex, decimalPointIndex + 1, exponentIndicatorIndex, isNegative, (int) exponent, null);
         } catch (ArithmeticException e) {
             NumberFormatException nfe = new NumberFormatException(VALUE_EXCEEDS_LIMITS);
             nfe.initCause(e);
@@ -181,7 +203,8 @@ final class JavaBigDecimalFromCharSequence extends AbstractNumberParser {
     /**
      * Parses a big decimal string that has many digits.
      */
-    BigDecimal parseBigDecimalStringWithManyDigits(CharSequence str, int offset, int length) {
+    BigDecimal parseBigDecimalStringWithManyDigits(CharSequence str, int offset, int length, ParseLimits limits) {
+        ParseDeadline deadline = limits.startDeadline();
         if (length > MAX_INPUT_LENGTH) {
             throw new NumberFormatException(SYNTAX_ERROR);
         }
@@ -289,12 +312,14 @@ final class JavaBigDecimalFromCharSequence extends AbstractNumberParser {
         if (exponentIndicatorIndex - integerPartIndex == 0) {
             throw new NumberFormatException(SYNTAX_ERROR);
         }
+        limits.checkDigits(significandEndIndex - integerPartIndex - (decimalPointIndex < significandEndIndex ? 1 : 0));
+        limits.checkExponent(exponent);
         if (exponent < Integer.MIN_VALUE
                 || exponent > Integer.MAX_VALUE
                 || digitCount > MAX_DIGIT_COUNT) {
             throw new NumberFormatException(VALUE_EXCEEDS_LIMITS);
         }
-        return valueOfBigDecimalString(str, nonZeroIntegerPartIndex, decimalPointIndex, nonZeroFractionalPartIndex, exponentIndicatorIndex, isNegative, (int) exponent);
+        return valueOfBigDecimalString(str, nonZeroIntegerPartIndex, decimalPointIndex, nonZeroFractionalPartIndex, exponentIndicatorIndex, isNegative, (int) exponent, deadline);
     }
 
     /**
@@ -319,58 +344,86 @@ final class JavaBigDecimalFromCharSequence extends AbstractNumberParser {
      *                                   exponent indicator)
      * @param isNegative                 indicates that the significand is negative
      * @param exponent                   the exponent value
+     * @param deadline                   the deadline, or null if there is no time budget
      * @return the parsed big decimal
      */
-    private BigDecimal valueOfBigDecimalString(CharSequence str, int integerPartIndex, int decimalPointIndex, int nonZeroFractionalPartIndex, int exponentIndicatorIndex, boolean isNegative, int exponent) {
+    private BigDecimal valueOfBigDecimalString(CharSequence str, int integerPartIndex, int decimalPointIndex, int nonZeroFractionalPartIndex, int exponentIndicatorIndex, boolean isNegative, int exponent,
+                                               ParseDeadline deadline) {
         int fractionDigitsCount = exponentIndicatorIndex - decimalPointIndex - 1;
         int nonZeroFractionDigitsCount = exponentIndicatorIndex - nonZeroFractionalPartIndex;
         int integerDigitsCount = decimalPointIndex - integerPartIndex;
         NavigableMap<Integer, BigInteger> powersOfTen = null;
+        BigNumberParseRecorder recorder = BigNumberParseRecorder.begin(integerDigitsCount + nonZeroFractionDigitsCount, 10,
+                integerDigitsCount > RECURSION_THRESHOLD || nonZeroFractionDigitsCount > RECURSION_THRESHOLD);
+        try {
+            // Parse the significand
+            // ---------------------
+            BigInteger significand;
 
-        // Parse the significand
-        // ---------------------
-        BigInteger significand;
-
-        // If there is an integer part, we parse it using a recursive algorithm.
-        // The recursive algorithm needs a map with powers of ten, if we have more than RECURSION_THRESHOLD digits.
-        BigInteger integerPart;
-        if (integerDigitsCount > 0) {
-            if (integerDigitsCount > RECURSION_THRESHOLD) {
-                powersOfTen = createPowersOfTenFloor16Map();
-                fillPowersOfNFloor16Recursive(powersOfTen, integerPartIndex, decimalPointIndex);
-                integerPart = ParseDigitsTaskCharSequence.parseDigitsRecursive(str, integerPartIndex, decimalPointIndex, powersOfTen);
-            } else {
-                integerPart = ParseDigitsTaskCharSequence.parseDigitsRecursive(str, integerPartIndex, decimalPointIndex, null);
-            }
-        } else {
-            integerPart = BigInteger.ZERO;
-        }
-
-        // If there is a fraction part, we parse it using a recursive algorithm.
-        // The recursive algorithm needs a map with powers of ten, if we have more than RECURSION_THRESHOLD digits.
-        if (fractionDigitsCount > 0) {
-            BigInteger fractionalPart;
-            if (nonZeroFractionDigitsCount > RECURSION_THRESHOLD) {
-                if (powersOfTen == null) {
+            // If there is an integer part, we parse it using a recursive algorithm.
+            // The recursive algorithm needs a map with powers of ten, if we have more than RECURSION_THRESHOLD digits.
+            BigInteger integerPart;
+            if (integerDigitsCount > 0) {
+                if (integerDigitsCount > RECURSION_THRESHOLD) {
+                    if (ParserStatistics.ENABLED) {
+                        ParserStatistics.count(ParserStatistics.Counter.RECURSIVE_ALGORITHM);
+                    }
                     powersOfTen = createPowersOfTenFloor16Map();
+                    long start = BigNumberParseRecorder.startTime(recorder);
+                    fillPowersOfNFloor16Recursive(powersOfTen, integerPartIndex, decimalPointIndex);
+                    BigNumberParseRecorder.addPowersOfTenTime(recorder, start);
+                    if (deadline != null) {
+                        deadline.check();
+                    }
+                    integerPart = ParseDigitsTaskCharSequence.parseDigitsRecursive(str, integerPartIndex, decimalPointIndex, powersOfTen, deadline);
+                } else {
+                    integerPart = ParseDigitsTaskCharSequence.parseDigitsRecursive(str, integerPartIndex, decimalPointIndex, null);
                 }
-                fillPowersOfNFloor16Recursive(powersOfTen, nonZeroFractionalPartIndex, exponentIndicatorIndex);
-                fractionalPart = ParseDigitsTaskCharSequence.parseDigitsRecursive(str, nonZeroFractionalPartIndex, exponentIndicatorIndex, powersOfTen);
             } else {
-                fractionalPart = ParseDigitsTaskCharSequence.parseDigitsRecursive(str, nonZeroFractionalPartIndex, exponentIndicatorIndex, null);
+                integerPart = BigInteger.ZERO;
             }
-            if (integerPart.signum() == 0) {
-                significand = fractionalPart;
+
+            // If there is a fraction part, we parse it using a recursive algorithm.
+            // The recursive algorithm needs a map with powers of ten, if we have more than RECURSION_THRESHOLD digits.
+            if (fractionDigitsCount > 0) {
+                BigInteger fractionalPart;
+                if (nonZeroFractionDigitsCount > RECURSION_THRESHOLD) {
+                    if (ParserStatistics.ENABLED) {
+                        ParserStatistics.count(ParserStatistics.Counter.RECURSIVE_ALGORITHM);
+                    }
+                    if (powersOfTen == null) {
+                        powersOfTen = createPowersOfTenFloor16Map();
+                    }
+                    long start = BigNumberParseRecorder.startTime(recorder);
+                    fillPowersOfNFloor16Recursive(powersOfTen, nonZeroFractionalPartIndex, exponentIndicatorIndex);
+                    BigNumberParseRecorder.addPowersOfTenTime(recorder, start);
+                    if (deadline != null) {
+                        deadline.check();
+                    }
+                    fractionalPart = ParseDigitsTaskCharSequence.parseDigitsRecursive(str, nonZeroFractionalPartIndex, exponentIndicatorIndex, powersOfTen, deadline);
+                } else {
+                    fractionalPart = ParseDigitsTaskCharSequence.parseDigitsRecursive(str, nonZeroFractionalPartIndex, exponentIndicatorIndex, null);
+                }
+                if (integerPart.signum() == 0) {
+                    significand = fractionalPart;
+                } else {
+                    long start = BigNumberParseRecorder.startTime(recorder);
+                    BigInteger integerFactor = computePowerOfTen(powersOfTen, fractionDigitsCount);
+                    BigNumberParseRecorder.addPowersOfTenTime(recorder, start);
+                    if (deadline != null) {
+                        deadline.check();
+                    }
+                    significand = FftMultiplier.multiply(integerPart, integerFactor).add(fractionalPart);
+                }
             } else {
-                BigInteger integerFactor = computePowerOfTen(powersOfTen, fractionDigitsCount);
-                significand = FftMultiplier.multiply(integerPart, integerFactor).add(fractionalPart);
+                significand = integerPart;
             }
-        } else {
-            significand = integerPart;
-        }
 
-        // Combine the significand with the sign and the exponent
-        // ------------------------------------------------------
-        return new BigDecimal(isNegative ? significand.negate() : significand, -exponent);
+            // Combine the significand with the sign and the exponent
+            // ------------------------------------------------------
+            return new BigDecimal(isNegative ? significand.negate() : significand, -exponent);
+        } finally {
+            BigNumberParseRecorder.end(recorder);
+        }
     }
 }
\ No newline at end of file
@@ -127,6 +127,10 @@ public class JavaBigDecimalParser {
     /**
      * Parses a {@code FloatingPointLiteral} from a {@link CharSequence} and converts it
      * into a {@link BigDecimal} value.
+     * <p>
+     * Short {@link String}s, {@link StringBuilder}s, {@link StringBuffer}s and
+     * {@link java.nio.CharBuffer}s are copied into a thread-local {@code char}
+     * array, and then the {@code char} array is parsed.
      *
      * @param str    the string to be parsed
      * @param offset the start offset of the {@code FloatingPointLiteral} in {@code str}
@@ -137,7 +141,38 @@ public class JavaBigDecimalParser {
      * @throws NumberFormatException    if the string can not be parsed successfully
      */
     public static BigDecimal parseBigDecimal(CharSequence str, int offset, int length) throws NumberFormatException {
-        return CHAR_SEQUENCE_PARSER.parseBigDecimalString(str, offset, length);
+        char[] chars = ThreadLocalCharArray.copyOf(str, offset, length);
+        return chars == null
+                ? CHAR_SEQUENCE_PARSER.parseBigDecimalString(str, offset, length)
+                : CHAR_ARRAY_PARSER.parseBigDecimalString(chars, 0, length);
+    }
+
+    /**
+     * Parses a {@code FloatingPointLiteral} from a {@link CharSequence} and converts it
+     * into a {@link BigDecimal} value.
+     * <p>
+     * The parse stops early with a {@link ParseLimitExceededException}, if the
+     * string exceeds the specified limits.
+     * <p>
+     * Short {@link String}s, {@link StringBuilder}s, {@link StringBuffer}s and
+     * {@link java.nio.CharBuffer}s are copied into a thread-local {@code char}
+     * array, and then the {@code char} array is parsed.
+     *
+     * @param str    the string to be parsed
+     * @param offset the start offset of the {@code FloatingPointLiteral} in {@code str}
+     * @param length the length of {@code FloatingPointLiteral} in {@code str}
+     * @param limits the parse limits
+     * @return the parsed value
+     * @throws NullPointerException     if the string or the limits are null
+     * @throws IllegalArgumentException if offset or length are illegal
+     * @throws NumberFormatException    if the string can not be parsed successfully
+     * @throws ParseLimitExceededException if the string exceeds the limits
+     */
+    public static BigDecimal parseBigDecimal(CharSequence str, int offset, int length, ParseLimits limits) throws NumberFormatException {
+        char[] chars = ThreadLocalCharArray.copyOf(str, offset, length);
+        return chars == null
+                ? CHAR_SEQUENCE_PARSER.parseBigDecimalString(str, offset, length, limits)
+                : CHAR_ARRAY_PARSER.parseBigDecimalString(chars, 0, length, limits);
     }
 
     /**
@@ -170,6 +205,28 @@ public class JavaBigDecimalParser {
         return BYTE_ARRAY_PARSER.parseBigDecimalString(str, offset, length);
     }
 
+    /**
+     * Parses a {@code FloatingPointLiteral} from a {@code byte}-Array and converts it
+     * into a {@link BigDecimal} value.
+     * <p>
+     * The parse stops early with a {@link ParseLimitExceededException}, if the
+     * string exceeds the specified limits.
+     *
+     * @param str    the string to be parsed, a byte array with characters
+     *               in ISO-8859-1, ASCII or UTF-8 encoding
+     * @param offset The index of the first byte to parse
+     * @param length The number of bytes to parse
+     * @param limits the parse limits
+     * @return the parsed value
+     * @throws NullPointerException     if the string or the limits are null
+     * @throws IllegalArgumentException if offset or length are illegal
+     * @throws NumberFormatException    if the string can not be parsed successfully
+     * @throws ParseLimitExceededException if the string exceeds the limits
+     */
+    public static BigDecimal parseBigDecimal(byte[] str, int offset, int length, ParseLimits limits) throws NumberFormatException {
+        return BYTE_ARRAY_PARSER.parseBigDecimalString(str, offset, length, limits);
+    }
+
     /**
      * Convenience method for calling {@link #parseBigDecimal(char[], int, int)}.
      *
@@ -200,4 +257,116 @@ public class JavaBigDecimalParser {
     public static BigDecimal parseBigDecimal(char[] str, int offset, int length) throws NumberFormatException {
         return CHAR_ARRAY_PARSER.parseBigDecimalString(str, offset, length);
     }
-}
\ No newline at end of file
+
+    /**
+     * Parses a {@code FloatingPointLiteral} from a {@code char}-Array and converts it
+     * into a {@link BigDecimal} value.
+     * <p>
+     * The parse stops early with a {@link ParseLimitExceededException}, if the
+     * string exceeds the specified limits.
+     *
+     * @param str    the string to be parsed
+     * @param offset The index of the first character to parse
+     * @param length The number of characters to parse
+     * @param limits the parse limits
+     * @return the parsed value
+     * @throws NullPointerException     if the string or the limits are null
+     * @throws IllegalArgumentException if offset or length are illegal
+     * @throws NumberFormatException    if the string can not be parsed successfully
+     * @throws ParseLimitExceededException if the string exceeds the limits
+     */
+    public static BigDecimal parseBigDecimal(char[] str, int offset, int length, ParseLimits limits) throws NumberFormatException {
+        return CHAR_ARRAY_PARSER.parseBigDecimalString(str, offset, length, limits);
+    }
+
+    /**
+     * Convenience method for calling {@link #isValidBigDecimal(CharSequence, int, int)}.
+     *
+     * @param str the string to be checked
+     * @return true if the string can be parsed successfully
+     * @throws NullPointerException if the string is null
+     */
+    public static boolean isValidBigDecimal(CharSequence str) {
+        return isValidBigDecimal(str, 0, str.length());
+    }
+
+    /**
+     * Checks whether the specified region of a {@link CharSequence} is a
+     * {@code BigDecimalString}, without computing its value.
+     * <p>
+     * This method returns true if and only if {@code parseBigDecimal} can
+     * parse the region successfully. It does not throw a
+     * {@link NumberFormatException}, and it is faster than parsing.
+     *
+     * @param str    the string to be checked
+     * @param offset The index of the first character to check
+     * @param length The number of characters to check
+     * @return true if the region can be parsed successfully
+     * @throws NullPointerException     if the string is null
+     * @throws IllegalArgumentException if offset or length are illegal
+     */
+    public static boolean isValidBigDecimal(CharSequence str, int offset, int length) {
+        return NumberSyntax.isBigDecimalString(str, offset, length);
+    }
+
+    /**
+     * Checks whether the specified region of a {@code char}-Array is a
+     * {@code BigDecimalString}, without computing its value.
+     * <p>
+     * See {@link #isValidBigDecimal(CharSequence, int, int)}.
+     *
+     * @param str    the string to be checked
+     * @param offset The index of the first character to check
+     * @param length The number of characters to check
+     * @return true if the region can be parsed successfully
+     * @throws NullPointerException     if the string is null
+     * @throws IllegalArgumentException if offset or length are illegal
+     */
+    public static boolean isValidBigDecimal(char[] str, int offset, int length) {
+        return NumberSyntax.isBigDecimalString(str, offset, length);
+    }
+
+    /**
+     * Checks whether the specified region of a {@code byte}-Array is a
+     * {@code BigDecimalString}, without computing its value.
+     * <p>
+     * See {@link #isValidBigDecimal(CharSequence, int, int)}.
+     *
+     * @param str    the string to be checked, a byte array with characters
+     *               in ISO-8859-1, ASCII or UTF-8 encoding
+     * @param offset The index of the first character to check
+     * @param length The number of characters to check
+     * @return true if the region can be parsed successfully
+     * @throws NullPointerException     if the string is null
+     * @throws IllegalArgumentException if offset or length are illegal
+     */
+    public static boolean isValidBigDecimal(byte[] str, int offset, int length) {
+        return NumberSyntax.isBigDecimalString(str, offset, length);
+    }
+
+    /**
+     * Estimates the peak number of bytes in the Java heap that are needed
+     * for parsing a decimal {@code BigDecimalString} with the specified number of
+     * characters. The memory that is occupied by the input is not included.
+     * <p>
+     * This method can be used for rejecting a huge input before it is parsed,
+     * for example, by comparing the estimate with {@link Runtime#maxMemory()}.
+     * <p>
+     * The peak can be reduced by setting the threshold
+     * {@value ThresholdCalibrator#LOW_MEMORY_THRESHOLD_PROPERTY}, which is
+     * taken into account by the estimate. The estimate includes a margin of
+     * 25 % for the garbage collector. It is only an approximation: the actual
+     * peak also depends on the garbage collector, and on the other objects in
+     * the heap.
+     *
+     * @param length the number of characters
+     * @return the estimated number of bytes
+     * @throws IllegalArgumentException if length is negative
+     */
+    public static long estimateMemoryUsage(int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException(AbstractNumberParser.ILLEGAL_OFFSET_OR_ILLEGAL_LENGTH);
+        }
+        return FastIntegerMath.estimateParseMemory(length) * 5 / 4;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * @(#)JavaBigIntegerFormatter.java
+ * Copyright © 2023 Werner Randelshofer, Switzerland. MIT License.
+ */
+package ch.randelshofer.fastdoubleparser;
+
+import java.math.BigInteger;
+
+/**
+ * Formats a {@link BigInteger} value as a decimal string; the output is
+ * identical to {@link BigInteger#toString()}.
+ * <p>
+ * {@link BigInteger#toString()} becomes slow for values with millions of
+ * digits. This formatter splits large values up by dividing them by powers
+ * of ten. The divisions are performed as FFT multiplications with the
+ * reciprocals of the powers of ten. This needs {@code O(M(N) log N)} time,
+ * where {@code M(N)} is the time of an FFT multiplication.
+ * <p>
+ * The output can be parsed with {@link JavaBigIntegerParser}.
+ * <p>
+ * Maximal output length of this formatter:
+ * <ul>
+ *     <li>646,456,993 decimal digits + 1 sign character.</li>
+ * </ul>
+ */
+public class JavaBigIntegerFormatter {
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private JavaBigIntegerFormatter() {
+    }
+
+    /**
+     * Returns an upper bound for the number of characters that are
+     * needed for formatting the specified value. The bound is at most 2
+     * larger than the exact number.
+     *
+     * @param value a value
+     * @return the upper bound
+     * @throws NullPointerException if the value is null
+     */
+    public static int getMaxFormattedLength(BigInteger value) {
+        return FormatDigitsTask.estimateNumDigits(value) + (value.signum() < 0 ? 1 : 0);
+    }
+
+    /**
+     * Formats a {@link BigInteger} value as a decimal string.
+     *
+     * @param value a value
+     * @return the decimal string
+     * @throws NullPointerException if the value is null
+     */
+    public static String toString(BigInteger value) {
+        char[] chars = new char[getMaxFormattedLength(value)];
+        int length = formatBigInteger(value, chars, 0);
+        return new String(chars, 0, length);
+    }
+
+    /**
+     * Formats a {@link BigInteger} value as a decimal string into a
+     * {@code byte}-Array.
+     *
+     * @param value  a value
+     * @param dest   the destination, the characters are in ASCII encoding
+     * @param offset the index of the first character to write
+     * @return the number of characters that have been written
+     * @throws NullPointerException     if the value or the destination is null
+     * @throws IllegalArgumentException if offset is negative, or if the
+     *                                  destination has fewer than
+     *                                  {@link #getMaxFormattedLength(BigInteger)}
+     *                                  elements after the offset
+     */
+    public static int formatBigInteger(BigInteger value, byte[] dest, int offset) {
+        checkBounds(dest.length, offset, getMaxFormattedLength(value));
+        int pos = offset;
+        if (value.signum() < 0) {
+            dest[pos++] = '-';
+            value = value.negate();
+        }
+        return pos - offset + FormatDigitsTask.formatDigits(value, dest, pos);
+    }
+
+    /**
+     * Formats a {@link BigInteger} value as a decimal string into a
+     * {@code char}-Array.
+     *
+     * @param value  a value
+     * @param dest   the destination
+     * @param offset the index of the first character to write
+     * @return the number of characters that have been written
+     * @throws NullPointerException     if the value or the destination is null
+     * @throws IllegalArgumentException if offset is negative, or if the
+     *                                  destination has fewer than
+     *                                  {@link #getMaxFormattedLength(BigInteger)}
+     *                                  elements after the offset
+     */
+    public static int formatBigInteger(BigInteger value, char[] dest, int offset) {
+        checkBounds(dest.length, offset, getMaxFormattedLength(value));
+        int pos = offset;
+        if (value.signum() < 0) {
+            dest[pos++] = '-';
+            value = value.negate();
+        }
+        return pos - offset + FormatDigitsTask.formatDigits(value, dest, pos);
+    }
+
+    static void checkBounds(int destLength, int offset, int length) {
+        if (offset < 0 || offset > destLength - length) {
+            throw new IllegalArgumentException(AbstractNumberParser.ILLEGAL_OFFSET_OR_ILLEGAL_LENGTH);
+        }
+    }
+}
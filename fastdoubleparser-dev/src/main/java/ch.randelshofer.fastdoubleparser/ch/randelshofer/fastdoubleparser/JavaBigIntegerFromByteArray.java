@@ -8,6 +8,7 @@ import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
+import static ch.randelshofer.fastdoubleparser.AlgorithmThresholds.RECURSION_THRESHOLD;
 import static ch.randelshofer.fastdoubleparser.FastIntegerMath.fillPowersOf10Floor16;
 
 class JavaBigIntegerFromByteArray extends AbstractNumberParser {
@@ -37,6 +38,23 @@ class JavaBigIntegerFromByteArray extends AbstractNumberParser {
      */
     public BigInteger parseBigIntegerLiteral(byte[] str, int offset, int length, int radix)
             throws NumberFormatException {
+        return parseBigIntegerLiteral(str, offset, length, radix, ParseLimits.UNLIMITED);
+    }
+
+    /**
+     * Parses a {@code BigIntegerLiteral} as specified in {@link JavaBigIntegerParser}.
+     *
+     * @param str    the input string
+     * @param offset the start of the string
+     * @param length the length of the string
+     * @param radix  the radix of the number
+     * @param limits the parse limits
+     * @return the parsed value (always non-null)
+     * @throws NumberFormatException if parsing fails
+     * @throws ParseLimitExceededException if the input exceeds the limits
+     */
+    public BigInteger parseBigIntegerLiteral(byte[] str, int offset, int length, int radix, ParseLimits limits)
+            throws NumberFormatException {
         try {
             final int endIndex = offset + length;
             if (offset < 0 || endIndex < offset || endIndex > str.length || length > MAX_INPUT_LENGTH) {
@@ -53,10 +71,11 @@ class JavaBigIntegerFromByteArray extends AbstractNumberParser {
                     throw new NumberFormatException(SYNTAX_ERROR);
                 }
             }
+            limits.checkDigits(endIndex - index);
 
             switch (radix) {
                 case 10:
-                    return parseDecDigits(str, index, endIndex, isNegative);
+                    return parseDecDigits(str, index, endIndex, isNegative, limits);
                 case 16:
                     return parseHexDigits(str, index, endIndex, isNegative);
                 default:
@@ -69,11 +88,155 @@ class JavaBigIntegerFromByteArray extends AbstractNumberParser {
         }
     }
 
-    private BigInteger parseDecDigits(byte[] str, int from, int to, boolean isNegative) {
+    /**
+     * Parses a decimal {@code BigIntegerLiteral} as specified in
+     * {@link JavaBigIntegerParser}, and converts it into a {@code long} value.
+     *
+     * @param str    the input string
+     * @param offset the start of the string
+     * @param length the length of the string
+     * @return the parsed value
+     * @throws NumberFormatException if parsing fails, or if the value does
+     *                               not fit into a {@code long}
+     */
+    public long parseLongLiteral(byte[] str, int offset, int length)
+            throws NumberFormatException {
+        final int endIndex = offset + length;
+        if (offset < 0 || endIndex < offset || endIndex > str.length || length > MAX_INPUT_LENGTH) {
+            throw new IllegalArgumentException(ILLEGAL_OFFSET_OR_ILLEGAL_LENGTH);
+        }
+        return parseLongLiteralUnchecked(str, offset, length);
+    }
+
+    /**
+     * Parses like {@link #parseLongLiteral(byte[], int, int)}, but does not check
+     * the offset and the length. The batch parse methods check the bounds of
+     * all literals before they call this method.
+     */
+    long parseLongLiteralUnchecked(byte[] str, int offset, int length) {
+        final int endIndex = offset + length;
+        // Parse optional sign
+        // -------------------
+        int index = offset;
+        byte ch = charAt(str, index, endIndex);
+        final boolean isNegative = ch == '-';
+        if (isNegative || ch == '+') {
+            index++;
+        }
+        if (index == endIndex) {
+            throw new NumberFormatException(SYNTAX_ERROR);
+        }
+
+        if (endIndex - index > 18) {
+            // A long has at most 19 significant digits. We reject longer
+            // inputs before we look at their digits.
+            index = skipZeroes(str, index, endIndex);
+            int numDigits = endIndex - index;
+            if (numDigits > 19) {
+                throw new NumberFormatException(VALUE_EXCEEDS_LIMITS);
+            }
+            if (numDigits == 19) {
+                return parse19DecDigits(str, index, isNegative);
+            }
+        }
+        long significand = parseUpTo18DecDigits(str, index, endIndex);
+        return isNegative ? -significand : significand;
+    }
+
+    /**
+     * Parses like {@link #parseLongLiteralUnchecked(byte[], int, int)}, but
+     * stores the value in {@code out[i]}, and returns {@code false} instead
+     * of throwing an exception, if the literal is illegal or if its value
+     * does not fit into a {@code long}.
+     */
+    boolean tryParseLongLiteralUnchecked(byte[] str, int offset, int length, long[] out, int i) {
+        final int endIndex = offset + length;
+        int index = offset;
+        byte ch = charAt(str, index, endIndex);
+        final boolean isNegative = ch == '-';
+        if (isNegative || ch == '+') {
+            index++;
+        }
+        if (index == endIndex) {
+            return false;
+        }
+
+        if (endIndex - index > 18) {
+            index = skipZeroes(str, index, endIndex);
+            int numDigits = endIndex - index;
+            if (numDigits > 19) {
+                return false;
+            }
+            if (numDigits == 19) {
+                long high = tryToParseUpTo18DecDigits(str, index, index + 18);
+                int digit = str[index + 18] - '0';
+                if (high < 0 || digit < 0 || digit > 9 || exceedsLong(high, digit, isNegative)) {
+                    return false;
+                }
+                out[i] = isNegative ? -high * 10 - digit : high * 10 + digit;
+                return true;
+            }
+        }
+        long significand = tryToParseUpTo18DecDigits(str, index, endIndex);
+        if (significand < 0) {
+            return false;
+        }
+        out[i] = isNegative ? -significand : significand;
+        return true;
+    }
+
+    /**
+     * Parses exactly 19 digits into a {@code long} value. The first 18
+     * digits are parsed with SWAR, the last digit is added with an
+     * overflow check.
+     */
+    private long parse19DecDigits(byte[] str, int from, boolean isNegative) {
+        long high = parseUpTo18DecDigits(str, from, from + 18);
+        int digit = str[from + 18] - '0';
+        if (digit < 0 || digit > 9) {
+            throw new NumberFormatException(SYNTAX_ERROR);
+        }
+        if (exceedsLong(high, digit, isNegative)) {
+            throw new NumberFormatException(VALUE_EXCEEDS_LIMITS);
+        }
+        return isNegative ? -high * 10 - digit : high * 10 + digit;
+    }
+
+    /**
+     * Returns true if 18 digits with the value {@code high}, followed by
+     * the specified digit, do not fit into a {@code long}.
+     */
+    private static boolean exceedsLong(long high, int digit, boolean isNegative) {
+        // Long.MIN_VALUE = -922337203685477580_8, Long.MAX_VALUE = 922337203685477580_7
+        return high > 922337203685477580L
+                || high == 922337203685477580L && digit > (isNegative ? 8 : 7);
+    }
+
+    private BigInteger parseDecDigits(byte[] str, int from, int to, boolean isNegative, ParseLimits limits) {
         int numDigits = to - from;
         if (numDigits > 18) {
-            return parseManyDecDigits(str, from, to, isNegative);
+            return parseManyDecDigits(str, from, to, isNegative, limits);
+        }
+        long significand = parseUpTo18DecDigits(str, from, to);
+        return BigInteger.valueOf(isNegative ? -significand : significand);
+    }
+
+    private long parseUpTo18DecDigits(byte[] str, int from, int to) {
+        long significand = tryToParseUpTo18DecDigits(str, from, to);
+        if (significand < 0) {
+            throw new NumberFormatException(SYNTAX_ERROR);
         }
+        return significand;
+    }
+
+    /**
+     * Parses up to 18 digits.
+     *
+     * @return the value of the digits, or {@code -1} if a character is not
+     * a digit
+     */
+    private static long tryToParseUpTo18DecDigits(byte[] str, int from, int to) {
+        int numDigits = to - from;
         int preroll = from + (numDigits & 7);
         long significand = FastDoubleSwar.tryToParseUpTo7Digits(str, from, preroll);
         boolean success = significand >= 0;
@@ -82,10 +245,7 @@ class JavaBigIntegerFromByteArray extends AbstractNumberParser {
             success &= addend >= 0;
             significand = significand * 100_000_000L + addend;
         }
-        if (!success) {
-            throw new NumberFormatException(SYNTAX_ERROR);
-        }
-        return BigInteger.valueOf(isNegative ? -significand : significand);
+        return success ? significand : -1;
     }
 
     private BigInteger parseHexDigits(byte[] str, int from, int to, boolean isNegative) {
@@ -97,46 +257,65 @@ class JavaBigIntegerFromByteArray extends AbstractNumberParser {
         if (numDigits > MAX_HEX_DIGITS) {
             throw new NumberFormatException(VALUE_EXCEEDS_LIMITS);
         }
-        byte[] bytes = new byte[((numDigits + 1) >> 1) + 1];
-        int index = 1;
-        boolean illegalDigits = false;
-
-        if ((numDigits & 1) != 0) {
-            byte chLow = str[from++];
-            int valueLow = chLow < 0 ? AbstractFloatValueParser.OTHER_CLASS : AbstractFloatValueParser.CHAR_TO_HEX_MAP[chLow];
-            bytes[index++] = (byte) valueLow;
-            illegalDigits = valueLow < 0;
-        }
-        int prerollLimit = from + ((to - from) & 7);
-        for (; from < prerollLimit; from += 2) {
-            byte chHigh = str[from];
-            byte chLow = str[from + 1];
-            int valueHigh = chHigh < 0 ? AbstractFloatValueParser.OTHER_CLASS : AbstractFloatValueParser.CHAR_TO_HEX_MAP[chHigh];
-            int valueLow = chLow < 0 ? AbstractFloatValueParser.OTHER_CLASS : AbstractFloatValueParser.CHAR_TO_HEX_MAP[chLow];
-            bytes[index++] = (byte) (valueHigh << 4 | valueLow);
-            illegalDigits |= valueHigh < 0 || valueLow < 0;
-        }
-        for (; from < to; from += 8, index += 4) {
-            long value = FastDoubleSwar.tryToParseEightHexDigits(str, from);
-            FastDoubleSwar.writeIntBE(bytes, index, (int) value);
-            illegalDigits |= value < 0;
-        }
-        if (illegalDigits) {
-            throw new NumberFormatException(SYNTAX_ERROR);
+        BigNumberParseRecorder recorder = BigNumberParseRecorder.begin(numDigits, 16, false);
+        try {
+            byte[] bytes = new byte[((numDigits + 1) >> 1) + 1];
+            int index = 1;
+            boolean illegalDigits = false;
+
+            if ((numDigits & 1) != 0) {
+                byte chLow = str[from++];
+                int valueLow = chLow < 0 ? AbstractFloatValueParser.OTHER_CLASS : AbstractFloatValueParser.CHAR_TO_HEX_MAP[chLow];
+                bytes[index++] = (byte) valueLow;
+                illegalDigits = valueLow < 0;
+            }
+            int prerollLimit = from + ((to - from) & 7);
+            for (; from < prerollLimit; from += 2) {
+                byte chHigh = str[from];
+                byte chLow = str[from + 1];
+                int valueHigh = chHigh < 0 ? AbstractFloatValueParser.OTHER_CLASS : AbstractFloatValueParser.CHAR_TO_HEX_MAP[chHigh];
+                int valueLow = chLow < 0 ? AbstractFloatValueParser.OTHER_CLASS : AbstractFloatValueParser.CHAR_TO_HEX_MAP[chLow];
+                bytes[index++] = (byte) (valueHigh << 4 | valueLow);
+                illegalDigits |= valueHigh < 0 || valueLow < 0;
+            }
+            for (; from < to; from += 8, index += 4) {
+                long value = FastDoubleSwar.tryToParseEightHexDigits(str, from);
+                FastDoubleSwar.writeIntBE(bytes, index, (int) value);
+                illegalDigits |= value < 0;
+            }
+            if (illegalDigits) {
+                throw new NumberFormatException(SYNTAX_ERROR);
+            }
+            BigInteger result = new BigInteger(bytes);
+            return isNegative ? result.negate() : result;
+        } finally {
+            BigNumberParseRecorder.end(recorder);
         }
-        BigInteger result = new BigInteger(bytes);
-        return isNegative ? result.negate() : result;
     }
 
-    private BigInteger parseManyDecDigits(byte[] str, int from, int to, boolean isNegative) {
+    private BigInteger parseManyDecDigits(byte[] str, int from, int to, boolean isNegative, ParseLimits limits) {
+        ParseDeadline deadline = limits.startDeadline();
         from = skipZeroes(str, from, to);
         int numDigits = to - from;
         if (numDigits > MAX_DECIMAL_DIGITS) {
             throw new NumberFormatException(VALUE_EXCEEDS_LIMITS);
         }
-        Map<Integer, BigInteger> powersOfTen = fillPowersOf10Floor16(from, to);
-        BigInteger result = ParseDigitsTaskByteArray.parseDigitsRecursive(str, from, to, powersOfTen);
-        return isNegative ? result.negate() : result;
+        if (ParserStatistics.ENABLED && numDigits > RECURSION_THRESHOLD) {
+            ParserStatistics.count(ParserStatistics.Counter.RECURSIVE_ALGORITHM);
+        }
+        BigNumberParseRecorder recorder = BigNumberParseRecorder.begin(numDigits, 10, numDigits > RECURSION_THRESHOLD);
+        try {
+            long start = BigNumberParseRecorder.startTime(recorder);
+            Map<Integer, BigInteger> powersOfTen = fillPowersOf10Floor16(from, to);
+            BigNumberParseRecorder.addPowersOfTenTime(recorder, start);
+            if (deadline != null && numDigits > RECURSION_THRESHOLD) {
+                deadline.check();
+            }
+            BigInteger result = ParseDigitsTaskByteArray.parseDigitsRecursive(str, from, to, powersOfTen, deadline);
+            return isNegative ? result.negate() : result;
+        } finally {
+            BigNumberParseRecorder.end(recorder);
+        }
     }
 
     private int skipZeroes(byte[] str, int from, int to) {
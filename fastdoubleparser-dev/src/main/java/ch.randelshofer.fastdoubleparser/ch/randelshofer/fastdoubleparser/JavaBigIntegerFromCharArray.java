@@ -7,6 +7,7 @@ package ch.randelshofer.fastdoubleparser;
 import java.math.BigInteger;
 import java.util.Map;
 
+import static ch.randelshofer.fastdoubleparser.AlgorithmThresholds.RECURSION_THRESHOLD;
 import static ch.randelshofer.fastdoubleparser.FastIntegerMath.fillPowersOf10Floor16;
 
 class JavaBigIntegerFromCharArray extends AbstractNumberParser {
@@ -31,6 +32,19 @@ class JavaBigIntegerFromCharArray extends AbstractNumberParser {
      */
     public BigInteger parseBigIntegerLiteral(char[] str, int offset, int length, int radix)
             throws NumberFormatException {
+        return parseBigIntegerLiteral(str, offset, length, radix, ParseLimits.UNLIMITED);
+    }
+
+    /**
+     * Parses a {@code BigIntegerLiteral} as specified in {@link JavaBigIntegerParser}.
+     *
+     * @param limits the parse limits
+     * @return result (always non-null)
+     * @throws NumberFormatException if parsing fails
+     * @throws ParseLimitExceededException if the input exceeds the limits
+     */
+    public BigInteger parseBigIntegerLiteral(char[] str, int offset, int length, int radix, ParseLimits limits)
+            throws NumberFormatException {
         try {
             final int endIndex = offset + length;
             if (offset < 0 || endIndex < offset || endIndex > str.length || length > MAX_INPUT_LENGTH) {
@@ -47,10 +61,11 @@ class JavaBigIntegerFromCharArray extends AbstractNumberParser {
                     throw new NumberFormatException(SYNTAX_ERROR);
                 }
             }
+            limits.checkDigits(endIndex - index);
 
             switch (radix) {
                 case 10:
-                    return parseDecDigits(str, index, endIndex, isNegative);
+                    return parseDecDigits(str, index, endIndex, isNegative, limits);
                 case 16:
                     return parseHexDigits(str, index, endIndex, isNegative);
                 default:
@@ -63,10 +78,10 @@ class JavaBigIntegerFromCharArray extends AbstractNumberParser {
         }
     }
 
-    private BigInteger parseDecDigits(char[] str, int from, int to, boolean isNegative) {
+    private BigInteger parseDecDigits(char[] str, int from, int to, boolean isNegative, ParseLimits limits) {
         int numDigits = to - from;
         if (numDigits > 18) {
-            return parseManyDecDigits(str, from, to, isNegative);
+            return parseManyDecDigits(str, from, to, isNegative, limits);
         }
         int preroll = from + (numDigits & 7);
         long significand = FastDoubleSwar.tryToParseUpTo7Digits(str, from, preroll);
@@ -91,46 +106,65 @@ class JavaBigIntegerFromCharArray extends AbstractNumberParser {
         if (numDigits > MAX_HEX_DIGITS) {
             throw new NumberFormatException(VALUE_EXCEEDS_LIMITS);
         }
-        byte[] bytes = new byte[((numDigits + 1) >> 1) + 1];
-        int index = 1;
-        boolean illegalDigits = false;
+        BigNumberParseRecorder recorder = BigNumberParseRecorder.begin(numDigits, 16, false);
+        try {
+            byte[] bytes = new byte[((numDigits + 1) >> 1) + 1];
+            int index = 1;
+            boolean illegalDigits = false;
 
-        if ((numDigits & 1) != 0) {
-            char chLow = str[from++];
-            int valueLow = AbstractFloatValueParser.CHAR_TO_HEX_MAP[chLow];
-            bytes[index++] = (byte) valueLow;
-            illegalDigits = valueLow < 0;
-        }
-        int prerollLimit = from + ((to - from) & 7);
-        for (; from < prerollLimit; from += 2) {
-            char chHigh = str[from];
-            char chLow = str[from + 1];
-            int valueHigh = chHigh >= 128 ? AbstractFloatValueParser.OTHER_CLASS : AbstractFloatValueParser.CHAR_TO_HEX_MAP[chHigh];
-            int valueLow = chLow >= 128 ? AbstractFloatValueParser.OTHER_CLASS : AbstractFloatValueParser.CHAR_TO_HEX_MAP[chLow];
-            bytes[index++] = (byte) (valueHigh << 4 | valueLow);
-            illegalDigits |= valueHigh < 0 || valueLow < 0;
-        }
-        for (; from < to; from += 8, index += 4) {
-            long value = FastDoubleSwar.tryToParseEightHexDigits(str, from);
-            FastDoubleSwar.writeIntBE(bytes, index, (int) value);
-            illegalDigits |= value < 0;
-        }
-        if (illegalDigits) {
-            throw new NumberFormatException(SYNTAX_ERROR);
+            if ((numDigits & 1) != 0) {
+                char chLow = str[from++];
+                int valueLow = AbstractFloatValueParser.CHAR_TO_HEX_MAP[chLow];
+                bytes[index++] = (byte) valueLow;
+                illegalDigits = valueLow < 0;
+            }
+            int prerollLimit = from + ((to - from) & 7);
+            for (; from < prerollLimit; from += 2) {
+                char chHigh = str[from];
+                char chLow = str[from + 1];
+                int valueHigh = chHigh >= 128 ? AbstractFloatValueParser.OTHER_CLASS : AbstractFloatValueParser.CHAR_TO_HEX_MAP[chHigh];
+                int valueLow = chLow >= 128 ? AbstractFloatValueParser.OTHER_CLASS : AbstractFloatValueParser.CHAR_TO_HEX_MAP[chLow];
+                bytes[index++] = (byte) (valueHigh << 4 | valueLow);
+                illegalDigits |= valueHigh < 0 || valueLow < 0;
+            }
+            for (; from < to; from += 8, index += 4) {
+                long value = FastDoubleSwar.tryToParseEightHexDigits(str, from);
+                FastDoubleSwar.writeIntBE(bytes, index, (int) value);
+                illegalDigits |= value < 0;
+            }
+            if (illegalDigits) {
+                throw new NumberFormatException(SYNTAX_ERROR);
+            }
+            BigInteger result = new BigInteger(bytes);
+            return isNegative ? result.negate() : result;
+        } finally {
+            BigNumberParseRecorder.end(recorder);
         }
-        BigInteger result = new BigInteger(bytes);
-        return isNegative ? result.negate() : result;
     }
 
-    private BigInteger parseManyDecDigits(char[] str, int from, int to, boolean isNegative) {
+    private BigInteger parseManyDecDigits(char[] str, int from, int to, boolean isNegative, ParseLimits limits) {
+        ParseDeadline deadline = limits.startDeadline();
         from = skipZeroes(str, from, to);
         int numDigits = to - from;
         if (numDigits > MAX_DECIMAL_DIGITS) {
             throw new NumberFormatException(VALUE_EXCEEDS_LIMITS);
         }
-        Map<Integer, BigInteger> powersOfTen = fillPowersOf10Floor16(from, to);
-        BigInteger result = ParseDigitsTaskCharArray.parseDigitsRecursive(str, from, to, powersOfTen);
-        return isNegative ? result.negate() : result;
+        if (ParserStatistics.ENABLED && numDigits > RECURSION_THRESHOLD) {
+            ParserStatistics.count(ParserStatistics.Counter.RECURSIVE_ALGORITHM);
+        }
+        BigNumberParseRecorder recorder = BigNumberParseRecorder.begin(numDigits, 10, numDigits > RECURSION_THRESHOLD);
+        try {
+            long start = BigNumberParseRecorder.startTime(recorder);
+            Map<Integer, BigInteger> powersOfTen = fillPowersOf10Floor16(from, to);
+            BigNumberParseRecorder.addPowersOfTenTime(recorder, start);
+            if (deadline != null && numDigits > RECURSION_THRESHOLD) {
+                deadline.check();
+            }
+            BigInteger result = ParseDigitsTaskCharArray.parseDigitsRecursive(str, from, to, powersOfTen, deadline);
+            return isNegative ? result.negate() : result;
+        } finally {
+            BigNumberParseRecorder.end(recorder);
+        }
     }
 
     private int skipZeroes(char[] str, int from, int to) {
@@ -7,6 +7,7 @@ package ch.randelshofer.fastdoubleparser;
 import java.math.BigInteger;
 import java.util.Map;
 
+import static ch.randelshofer.fastdoubleparser.AlgorithmThresholds.RECURSION_THRESHOLD;
 import static ch.randelshofer.fastdoubleparser.FastIntegerMath.fillPowersOf10Floor16;
 
 class JavaBigIntegerFromCharSequence extends AbstractNumberParser {
@@ -30,6 +31,19 @@ class JavaBigIntegerFromCharSequence extends AbstractNumberParser {
      */
     public BigInteger parseBigIntegerLiteral(CharSequence str, int offset, int length, int radix)
             throws NumberFormatException {
+        return parseBigIntegerLiteral(str, offset, length, radix, ParseLimits.UNLIMITED);
+    }
+
+    /**
+     * Parses a {@code BigIntegerLiteral} as specified in {@link JavaBigIntegerParser}.
+     *
+     * @param limits the parse limits
+     * @return result (always non-null)
+     * @throws NumberFormatException if parsing fails
+     * @throws ParseLimitExceededException if the input exceeds the limits
+     */
+    public BigInteger parseBigIntegerLiteral(CharSequence str, int offset, int length, int radix, ParseLimits limits)
+            throws NumberFormatException {
         try {
             final int endIndex = offset + length;
             if (offset < 0 || endIndex < offset || endIndex > str.length() || length > MAX_INPUT_LENGTH) {
@@ -46,10 +60,11 @@ class JavaBigIntegerFromCharSequence extends AbstractNumberParser {
                     throw new NumberFormatException(SYNTAX_ERROR);
                 }
             }
+            limits.checkDigits(endIndex - index);
 
             switch (radix) {
                 case 10:
-                    return parseDecDigits(str, index, endIndex, isNegative);
+                    return parseDecDigits(str, index, endIndex, isNegative, limits);
                 case 16:
                     return parseHexDigits(str, index, endIndex, isNegative);
                 default:
@@ -62,10 +77,10 @@ class JavaBigIntegerFromCharSequence extends AbstractNumberParser {
         }
     }
 
-    private BigInteger parseDecDigits(CharSequence str, int from, int to, boolean isNegative) {
+    private BigInteger parseDecDigits(CharSequence str, int from, int to, boolean isNegative, ParseLimits limits) {
         int numDigits = to - from;
         if (numDigits > 18) {
-            return parseManyDecDigits(str, from, to, isNegative);
+            return parseManyDecDigits(str, from, to, isNegative, limits);
         }
         int preroll = from + (numDigits & 7);
         long significand = FastDoubleSwar.tryToParseUpTo7Digits(str, from, preroll);
@@ -90,45 +105,64 @@ class JavaBigIntegerFromCharSequence extends AbstractNumberParser {
         if (numDigits > MAX_HEX_DIGITS) {
             throw new NumberFormatException(VALUE_EXCEEDS_LIMITS);
         }
-        byte[] bytes = new byte[((numDigits + 1) >> 1) + 1];
-        int index = 1;
-        boolean illegalDigits = false;
-        if ((numDigits & 1) != 0) {
-            char chLow = str.charAt(from++);
-            int valueLow = lookupHex(chLow);
-            bytes[index++] = (byte) valueLow;
-            illegalDigits = valueLow < 0;
-        }
-        int prerollLimit = from + ((to - from) & 7);
-        for (; from < prerollLimit; from += 2) {
-            char chHigh = str.charAt(from);
-            char chLow = str.charAt(from + 1);
-            int valueHigh = lookupHex(chHigh);
-            int valueLow = lookupHex(chLow);
-            bytes[index++] = (byte) (valueHigh << 4 | valueLow);
-            illegalDigits |= valueLow < 0 || valueHigh < 0;
-        }
-        for (; from < to; from += 8, index += 4) {
-            long value = FastDoubleSwar.tryToParseEightHexDigits(str, from);
-            FastDoubleSwar.writeIntBE(bytes, index, (int) value);
-            illegalDigits |= value < 0;
-        }
-        if (illegalDigits) {
-            throw new NumberFormatException(SYNTAX_ERROR);
+        BigNumberParseRecorder recorder = BigNumberParseRecorder.begin(numDigits, 16, false);
+        try {
+            byte[] bytes = new byte[((numDigits + 1) >> 1) + 1];
+            int index = 1;
+            boolean illegalDigits = false;
+            if ((numDigits & 1) != 0) {
+                char chLow = str.charAt(from++);
+                int valueLow = lookupHex(chLow);
+                bytes[index++] = (byte) valueLow;
+                illegalDigits = valueLow < 0;
+            }
+            int prerollLimit = from + ((to - from) & 7);
+            for (; from < prerollLimit; from += 2) {
+                char chHigh = str.charAt(from);
+                char chLow = str.charAt(from + 1);
+                int valueHigh = lookupHex(chHigh);
+                int valueLow = lookupHex(chLow);
+                bytes[index++] = (byte) (valueHigh << 4 | valueLow);
+                illegalDigits |= valueLow < 0 || valueHigh < 0;
+            }
+            for (; from < to; from += 8, index += 4) {
+                long value = FastDoubleSwar.tryToParseEightHexDigits(str, from);
+                FastDoubleSwar.writeIntBE(bytes, index, (int) value);
+                illegalDigits |= value < 0;
+            }
+            if (illegalDigits) {
+                throw new NumberFormatException(SYNTAX_ERROR);
+            }
+            BigInteger result = new BigInteger(bytes);
+            return isNegative ? result.negate() : result;
+        } finally {
+            BigNumberParseRecorder.end(recorder);
         }
-        BigInteger result = new BigInteger(bytes);
-        return isNegative ? result.negate() : result;
     }
 
-    private BigInteger parseManyDecDigits(CharSequence str, int from, int to, boolean isNegative) {
+    private BigInteger parseManyDecDigits(CharSequence str, int from, int to, boolean isNegative, ParseLimits limits) {
+        ParseDeadline deadline = limits.startDeadline();
         from = skipZeroes(str, from, to);
         int numDigits = to - from;
         if (numDigits > MAX_DECIMAL_DIGITS) {
             throw new NumberFormatException(VALUE_EXCEEDS_LIMITS);
         }
-        Map<Integer, BigInteger> powersOfTen = fillPowersOf10Floor16(from, to);
-        BigInteger result = ParseDigitsTaskCharSequence.parseDigitsRecursive(str, from, to, powersOfTen);
-        return isNegative ? result.negate() : result;
+        if (ParserStatistics.ENABLED && numDigits > RECURSION_THRESHOLD) {
+            ParserStatistics.count(ParserStatistics.Counter.RECURSIVE_ALGORITHM);
+        }
+        BigNumberParseRecorder recorder = BigNumberParseRecorder.begin(numDigits, 10, numDigits > RECURSION_THRESHOLD);
+        try {
+            long start = BigNumberParseRecorder.startTime(recorder);
+            Map<Integer, BigInteger> powersOfTen = fillPowersOf10Floor16(from, to);
+            BigNumberParseRecorder.addPowersOfTenTime(recorder, start);
+            if (deadline != null && numDigits > RECURSION_THRESHOLD) {
+                deadline.check();
+            }
+            BigInteger result = ParseDigitsTaskCharSequence.parseDigitsRecursive(str, from, to, powersOfTen, deadline);
+            return isNegative ? result.negate() : result;
+        } finally {
+            BigNumberParseRecorder.end(recorder);
+        }
     }
 
     private int skipZeroes(CharSequence str, int from, int to) {
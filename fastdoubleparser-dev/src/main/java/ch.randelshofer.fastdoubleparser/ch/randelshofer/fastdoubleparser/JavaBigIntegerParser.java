@@ -124,6 +124,28 @@ public class JavaBigIntegerParser {
         return CHAR_SEQUENCE_PARSER.parseBigIntegerLiteral(str, offset, length, radix);
     }
 
+    /**
+     * Parses a {@code BigIntegerLiteral} from a {@link CharSequence} and converts it
+     * into a {@link BigInteger} value.
+     * <p>
+     * The parse stops early with a {@link ParseLimitExceededException}, if the
+     * string exceeds the specified limits.
+     *
+     * @param str    the string to be parsed
+     * @param offset The index of the first character to parse
+     * @param length The number of characters to parse
+     * @param radix  the radix to be used in interpreting the {@code str}
+     * @param limits the parse limits
+     * @return the parsed value
+     * @throws NullPointerException     if the string or the limits are null
+     * @throws IllegalArgumentException if offset or length are illegal
+     * @throws NumberFormatException    if the string can not be parsed successfully
+     * @throws ParseLimitExceededException if the string exceeds the limits
+     */
+    public static BigInteger parseBigInteger(CharSequence str, int offset, int length, int radix, ParseLimits limits) {
+        return CHAR_SEQUENCE_PARSER.parseBigIntegerLiteral(str, offset, length, radix, limits);
+    }
+
     /**
      * Convenience method for calling {@link #parseBigInteger(byte[], int, int)}.
      *
@@ -188,6 +210,116 @@ public class JavaBigIntegerParser {
         return BYTE_ARRAY_PARSER.parseBigIntegerLiteral(str, offset, length, radix);
     }
 
+    /**
+     * Parses a {@code BigIntegerLiteral} from a {@code byte}-Array and converts it
+     * into a {@link BigInteger} value.
+     * <p>
+     * The parse stops early with a {@link ParseLimitExceededException}, if the
+     * string exceeds the specified limits.
+     *
+     * @param str    the string to be parsed, a byte array with characters
+     *               in ISO-8859-1, ASCII or UTF-8 encoding
+     * @param offset The index of the first character to parse
+     * @param length The number of characters to parse
+     * @param radix  the radix to be used in interpreting the {@code str}
+     * @param limits the parse limits
+     * @return the parsed value
+     * @throws NullPointerException     if the string or the limits are null
+     * @throws IllegalArgumentException if offset or length are illegal
+     * @throws NumberFormatException    if the string can not be parsed successfully
+     * @throws ParseLimitExceededException if the string exceeds the limits
+     */
+    public static BigInteger parseBigInteger(byte[] str, int offset, int length, int radix, ParseLimits limits) {
+        return BYTE_ARRAY_PARSER.parseBigIntegerLiteral(str, offset, length, radix, limits);
+    }
+
+    /**
+     * Parses many {@code BigIntegerLiteral}s from a {@code byte}-Array and converts
+     * them into {@code long} values.
+     * <p>
+     * This method is intended for inputs that have already been split into
+     * tokens, for example by a JSON or CSV indexer. The literal with index
+     * {@code i} starts at {@code offsets[i]} and has the length
+     * {@code lengths[i]}. Its value is stored in {@code out[i]}.
+     * <p>
+     * The offsets and lengths of all literals are checked before the first
+     * literal is parsed. If a literal can not be parsed, the values of all
+     * literals before it have already been stored in {@code out}.
+     *
+     * @param str     the byte array that contains the literals, with characters
+     *                in ISO-8859-1, ASCII or UTF-8 encoding
+     * @param offsets the start offsets of the literals in {@code str}
+     * @param lengths the lengths of the literals in {@code str}
+     * @param out     the array that receives the parsed values
+     * @throws NullPointerException     if one of the arrays is null
+     * @throws IllegalArgumentException if {@code lengths} or {@code out} have
+     *                                  fewer elements than {@code offsets},
+     *                                  or if an offset or a length is illegal
+     * @throws NumberFormatException    if a literal can not be parsed successfully
+     */
+    public static void parseLongs(byte[] str, int[] offsets, int[] lengths, long[] out) throws NumberFormatException {
+        AbstractNumberParser.checkBounds(str, offsets, lengths, out.length, JavaBigIntegerFromByteArray.MAX_INPUT_LENGTH);
+        for (int i = 0, n = offsets.length; i < n; i++) {
+            out[i] = BYTE_ARRAY_PARSER.parseLongLiteralUnchecked(str, offsets[i], lengths[i]);
+        }
+    }
+
+    /**
+     * Parses a column of {@code BigIntegerLiteral}s from a {@code byte}-Array and converts
+     * them into {@code long} values.
+     * <p>
+     * This method works like {@link #parseLongs(byte[], int[], int[], long[])}, but it does not stop
+     * at the first field that does not contain a number. The policy specifies
+     * how such fields are handled. The bit of each field in the validity
+     * bitmap is set if the field holds a value, and cleared otherwise.
+     * See {@link ColumnPolicy} for the bit order.
+     *
+     * @param str      the byte array that contains the fields, with characters
+     *                 in ISO-8859-1, ASCII or UTF-8 encoding
+     * @param offsets  the start offsets of the fields in {@code str}
+     * @param lengths  the lengths of the fields in {@code str}
+     * @param out      the array that receives the parsed values
+     * @param validity the validity bitmap, must have at least
+     *                 {@code (offsets.length + 63) / 64} elements
+     * @param policy   the policy for fields that do not contain a number
+     * @return the number of fields that have been marked as invalid
+     * @throws NullPointerException     if one of the arrays or the policy is null
+     * @throws IllegalArgumentException if {@code lengths} or {@code out} have
+     *                                  fewer elements than {@code offsets},
+     *                                  if the validity bitmap is too short,
+     *                                  or if an offset or a length is illegal
+     * @throws NumberFormatException    if a field can not be parsed, and the
+     *                                  policy specifies {@link ColumnPolicy.Action#FAIL}
+     */
+    public static int parseLongColumn(byte[] str, int[] offsets, int[] lengths, long[] out, long[] validity, ColumnPolicy policy) throws NumberFormatException {
+        AbstractNumberParser.checkBounds(str, offsets, lengths, out.length, JavaBigIntegerFromByteArray.MAX_INPUT_LENGTH);
+        ColumnPolicy.checkValidity(validity, offsets.length);
+        int invalidCount = 0;
+        for (int i = 0, n = offsets.length; i < n; i++) {
+            final int offset = offsets[i];
+            final int length = lengths[i];
+            ColumnPolicy.Action action = policy.check(str, offset, length);
+            if (action == null) {
+                // Each field is parsed only once. A malformed field is
+                // handled by the policy, which may throw an exception.
+                if (BYTE_ARRAY_PARSER.tryParseLongLiteralUnchecked(str, offset, length, out, i)) {
+                    ColumnPolicy.setValid(validity, i, true);
+                    continue;
+                }
+                action = policy.malformed();
+                if (action == ColumnPolicy.Action.FAIL) {
+                    // Throws the exception with the message of the parser.
+                    BYTE_ARRAY_PARSER.parseLongLiteralUnchecked(str, offset, length);
+                }
+            }
+            if (ColumnPolicy.apply(action, validity, i)) {
+                invalidCount++;
+            }
+            out[i] = policy.getDefaultLong();
+        }
+        return invalidCount;
+    }
+
     /**
      * Convenience method for calling {@link #parseBigInteger(char[], int, int)}.
      *
@@ -251,4 +383,52 @@ public class JavaBigIntegerParser {
     public static BigInteger parseBigInteger(char[] str, int offset, int length, int radix) {
         return CHAR_ARRAY_PARSER.parseBigIntegerLiteral(str, offset, length, radix);
     }
+
+    /**
+     * Parses a {@code BigIntegerLiteral} from a {@code char}-Array and converts it
+     * into a {@link BigInteger} value.
+     * <p>
+     * The parse stops early with a {@link ParseLimitExceededException}, if the
+     * string exceeds the specified limits.
+     *
+     * @param str    the string to be parsed
+     * @param offset The index of the first character to parse
+     * @param length The number of characters to parse
+     * @param radix  the radix to be used in interpreting the {@code str}
+     * @param limits the parse limits
+     * @return the parsed value
+     * @throws NullPointerException     if the string or the limits are null
+     * @throws IllegalArgumentException if offset or length are illegal
+     * @throws NumberFormatException    if the string can not be parsed successfully
+     * @throws ParseLimitExceededException if the string exceeds the limits
+     */
+    public static BigInteger parseBigInteger(char[] str, int offset, int length, int radix, ParseLimits limits) {
+        return CHAR_ARRAY_PARSER.parseBigIntegerLiteral(str, offset, length, radix, limits);
+    }
+
+    /**
+     * Estimates the peak number of bytes in the Java heap that are needed
+     * for parsing a decimal {@code BigIntegerLiteral} with the specified number of
+     * characters. The memory that is occupied by the input is not included.
+     * <p>
+     * This method can be used for rejecting a huge input before it is parsed,
+     * for example, by comparing the estimate with {@link Runtime#maxMemory()}.
+     * <p>
+     * The peak can be reduced by setting the threshold
+     * {@value ThresholdCalibrator#LOW_MEMORY_THRESHOLD_PROPERTY}, which is
+     * taken into account by the estimate. The estimate includes a margin of
+     * 25 % for the garbage collector. It is only an approximation: the actual
+     * peak also depends on the garbage collector, and on the other objects in
+     * the heap.
+     *
+     * @param length the number of characters
+     * @return the estimated number of bytes
+     * @throws IllegalArgumentException if length is negative
+     */
+    public static long estimateMemoryUsage(int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException(AbstractNumberParser.ILLEGAL_OFFSET_OR_ILLEGAL_LENGTH);
+        }
+        return FastIntegerMath.estimateParseMemory(length) * 5 / 4;
+    }
 }
@@ -12,10 +12,25 @@ import java.nio.charset.StandardCharsets;
 final class JavaDoubleBitsFromByteArray extends AbstractJavaFloatingPointBitsFromByteArray {
 
     /**
-     * Creates a new instance.
+     * Whether a faithfully rounded result is sufficient.
+     */
+    private final boolean faithful;
+
+    /**
+     * Creates a new instance that produces correctly rounded results.
      */
     public JavaDoubleBitsFromByteArray() {
+        this(false);
+    }
 
+    /**
+     * Creates a new instance.
+     *
+     * @param faithful if true, decimal literals are converted with an error
+     *                 of less than one ulp, instead of being correctly rounded
+     */
+    public JavaDoubleBitsFromByteArray(boolean faithful) {
+        this.faithful = faithful;
     }
 
     @Override
@@ -37,9 +52,18 @@ final class JavaDoubleBitsFromByteArray extends AbstractJavaFloatingPointBitsFro
     long valueOfFloatLiteral(byte[] str, int startIndex, int endIndex, boolean isNegative,
                              long significand, int exponent, boolean isSignificandTruncated,
                              int exponentOfTruncatedSignificand) {
-        double d = FastDoubleMath.tryDecFloatToDoubleTruncated(isNegative, significand, exponent, isSignificandTruncated,
+        double d = faithful
+                ? FastDoubleMath.tryDecFloatToDoubleFaithful(isNegative, significand, exponent, isSignificandTruncated,
+                exponentOfTruncatedSignificand)
+                : FastDoubleMath.tryDecFloatToDoubleTruncated(isNegative, significand, exponent, isSignificandTruncated,
                 exponentOfTruncatedSignificand);
-        return Double.doubleToRawLongBits(Double.isNaN(d) ? Double.parseDouble(new String(str, startIndex, endIndex - startIndex, StandardCharsets.ISO_8859_1)) : d);
+        if (Double.isNaN(d)) {
+            if (ParserStatistics.ENABLED) {
+                ParserStatistics.count(ParserStatistics.Counter.FLOAT_FALLBACK);
+            }
+            d = Double.parseDouble(new String(str, startIndex, endIndex - startIndex, StandardCharsets.ISO_8859_1));
+        }
+        return Double.doubleToRawLongBits(d);
     }
 
     @Override
@@ -48,6 +72,12 @@ final class JavaDoubleBitsFromByteArray extends AbstractJavaFloatingPointBitsFro
             boolean isSignificandTruncated, int exponentOfTruncatedSignificand) {
         double d = FastDoubleMath.tryHexFloatToDoubleTruncated(isNegative, significand, exponent, isSignificandTruncated,
                 exponentOfTruncatedSignificand);
-        return Double.doubleToRawLongBits(Double.isNaN(d) ? Double.parseDouble(new String(str, startIndex, endIndex - startIndex, StandardCharsets.ISO_8859_1)) : d);
+        if (Double.isNaN(d)) {
+            if (ParserStatistics.ENABLED) {
+                ParserStatistics.count(ParserStatistics.Counter.FLOAT_FALLBACK);
+            }
+            d = Double.parseDouble(new String(str, startIndex, endIndex - startIndex, StandardCharsets.ISO_8859_1));
+        }
+        return Double.doubleToRawLongBits(d);
     }
 }
\ No newline at end of file
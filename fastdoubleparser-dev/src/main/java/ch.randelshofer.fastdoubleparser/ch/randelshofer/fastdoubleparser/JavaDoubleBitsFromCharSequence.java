@@ -10,10 +10,25 @@ package ch.randelshofer.fastdoubleparser;
 final class JavaDoubleBitsFromCharSequence extends AbstractJavaFloatingPointBitsFromCharSequence {
 
     /**
-     * Creates a new instance.
+     * Whether a faithfully rounded result is sufficient.
+     */
+    private final boolean faithful;
+
+    /**
+     * Creates a new instance that produces correctly rounded results.
      */
     public JavaDoubleBitsFromCharSequence() {
+        this(false);
+    }
 
+    /**
+     * Creates a new instance.
+     *
+     * @param faithful if true, decimal literals are converted with an error
+     *                 of less than one ulp, instead of being correctly rounded
+     */
+    public JavaDoubleBitsFromCharSequence(boolean faithful) {
+        this.faithful = faithful;
     }
 
     @Override
@@ -35,11 +50,18 @@ final class JavaDoubleBitsFromCharSequence extends AbstractJavaFloatingPointBits
     long valueOfFloatLiteral(CharSequence str, int startIndex, int endIndex, boolean isNegative,
                              long significand, int exponent, boolean isSignificandTruncated,
                              int exponentOfTruncatedSignificand) {
-        double d = FastDoubleMath.tryDecFloatToDoubleTruncated(isNegative, significand, exponent, isSignificandTruncated,
+        double d = faithful
+                ? FastDoubleMath.tryDecFloatToDoubleFaithful(isNegative, significand, exponent, isSignificandTruncated,
+                exponentOfTruncatedSignificand)
+                : FastDoubleMath.tryDecFloatToDoubleTruncated(isNegative, significand, exponent, isSignificandTruncated,
                 exponentOfTruncatedSignificand);
-        return Double.doubleToRawLongBits(Double.isNaN(d)
-                ? Double.parseDouble(str.subSequence(startIndex, endIndex).toString())
-                : d);
+        if (Double.isNaN(d)) {
+            if (ParserStatistics.ENABLED) {
+                ParserStatistics.count(ParserStatistics.Counter.FLOAT_FALLBACK);
+            }
+            d = Double.parseDouble(str.subSequence(startIndex, endIndex).toString());
+        }
+        return Double.doubleToRawLongBits(d);
     }
 
     @Override
@@ -48,8 +70,12 @@ final class JavaDoubleBitsFromCharSequence extends AbstractJavaFloatingPointBits
             boolean isSignificandTruncated, int exponentOfTruncatedSignificand) {
         double d = FastDoubleMath.tryHexFloatToDoubleTruncated(isNegative, significand, exponent, isSignificandTruncated,
                 exponentOfTruncatedSignificand);
-        return Double.doubleToRawLongBits(Double.isNaN(d)
-                ? Double.parseDouble(str.subSequence(startIndex, endIndex).toString())
-                : d);
+        if (Double.isNaN(d)) {
+            if (ParserStatistics.ENABLED) {
+                ParserStatistics.count(ParserStatistics.Counter.FLOAT_FALLBACK);
+            }
+            d = Double.parseDouble(str.subSequence(startIndex, endIndex).toString());
+        }
+        return Double.doubleToRawLongBits(d);
     }
 }
\ No newline at end of file
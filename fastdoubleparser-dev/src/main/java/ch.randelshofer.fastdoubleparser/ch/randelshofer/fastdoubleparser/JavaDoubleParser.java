@@ -4,6 +4,9 @@
  */
 package ch.randelshofer.fastdoubleparser;
 
+import java.util.stream.DoubleStream;
+import java.util.stream.StreamSupport;
+
 /**
  * Parses a {@code double} value; the supported syntax is compatible with
  * {@link Double#valueOf(String)}.
@@ -158,6 +161,12 @@ public class JavaDoubleParser {
 
     private static final JavaDoubleBitsFromCharSequence CHAR_SEQUENCE_PARSER = new JavaDoubleBitsFromCharSequence();
 
+    private static final JavaDoubleBitsFromByteArray FAITHFUL_BYTE_ARRAY_PARSER = new JavaDoubleBitsFromByteArray(true);
+
+    private static final JavaDoubleBitsFromCharArray FAITHFUL_CHAR_ARRAY_PARSER = new JavaDoubleBitsFromCharArray(true);
+
+    private static final JavaDoubleBitsFromCharSequence FAITHFUL_CHAR_SEQUENCE_PARSER = new JavaDoubleBitsFromCharSequence(true);
+
     /**
      * Don't let anyone instantiate this class.
      */
@@ -180,6 +189,10 @@ public class JavaDoubleParser {
     /**
      * Parses a {@code FloatingPointLiteral} from a {@link CharSequence} and converts it
      * into a {@code double} value.
+     * <p>
+     * Short {@link String}s, {@link StringBuilder}s, {@link StringBuffer}s and
+     * {@link java.nio.CharBuffer}s are copied into a thread-local {@code char}
+     * array, and then the {@code char} array is parsed.
      *
      * @param str    the string to be parsed
      * @param offset the start offset of the {@code FloatingPointLiteral} in {@code str}
@@ -190,7 +203,10 @@ public class JavaDoubleParser {
      * @throws NumberFormatException    if the string can not be parsed successfully
      */
     public static double parseDouble(CharSequence str, int offset, int length) throws NumberFormatException {
-        long bitPattern = CHAR_SEQUENCE_PARSER.parseFloatingPointLiteral(str, offset, length);
+        char[] chars = ThreadLocalCharArray.copyOf(str, offset, length);
+        long bitPattern = chars == null
+                ? CHAR_SEQUENCE_PARSER.parseFloatingPointLiteral(str, offset, length)
+                : CHAR_ARRAY_PARSER.parseFloatingPointLiteral(chars, 0, length);
         return Double.longBitsToDouble(bitPattern);
     }
 
@@ -226,6 +242,122 @@ public class JavaDoubleParser {
         return Double.longBitsToDouble(bitPattern);
     }
 
+    /**
+     * Parses many {@code FloatingPointLiteral}s from a {@code byte}-Array and converts
+     * them into {@code double} values.
+     * <p>
+     * This method is intended for inputs that have already been split into
+     * tokens, for example by a JSON or CSV indexer. The literal with index
+     * {@code i} starts at {@code offsets[i]} and has the length
+     * {@code lengths[i]}. Its value is stored in {@code out[i]}.
+     * <p>
+     * The offsets and lengths of all literals are checked before the first
+     * literal is parsed. If a literal can not be parsed, the values of all
+     * literals before it have already been stored in {@code out}.
+     *
+     * @param str     the byte array that contains the literals, with characters
+     *                in ISO-8859-1, ASCII or UTF-8 encoding
+     * @param offsets the start offsets of the literals in {@code str}
+     * @param lengths the lengths of the literals in {@code str}
+     * @param out     the array that receives the parsed values
+     * @throws NullPointerException     if one of the arrays is null
+     * @throws IllegalArgumentException if {@code lengths} or {@code out} have
+     *                                  fewer elements than {@code offsets},
+     *                                  or if an offset or a length is illegal
+     * @throws NumberFormatException    if a literal can not be parsed successfully
+     */
+    public static void parseDoubles(byte[] str, int[] offsets, int[] lengths, double[] out) throws NumberFormatException {
+        AbstractNumberParser.checkBounds(str, offsets, lengths, out.length, AbstractFloatValueParser.MAX_INPUT_LENGTH);
+        for (int i = 0, n = offsets.length; i < n; i++) {
+            out[i] = Double.longBitsToDouble(BYTE_ARRAY_PARSER.parseFloatingPointLiteralUnchecked(str, offsets[i], lengths[i]));
+        }
+    }
+
+    /**
+     * Parses a column of {@code FloatingPointLiteral}s from a {@code byte}-Array and converts
+     * them into {@code double} values.
+     * <p>
+     * This method works like {@link #parseDoubles(byte[], int[], int[], double[])}, but it does not stop
+     * at the first field that does not contain a number. The policy specifies
+     * how such fields are handled. The bit of each field in the validity
+     * bitmap is set if the field holds a value, and cleared otherwise.
+     * See {@link ColumnPolicy} for the bit order.
+     *
+     * @param str      the byte array that contains the fields, with characters
+     *                 in ISO-8859-1, ASCII or UTF-8 encoding
+     * @param offsets  the start offsets of the fields in {@code str}
+     * @param lengths  the lengths of the fields in {@code str}
+     * @param out      the array that receives the parsed values
+     * @param validity the validity bitmap, must have at least
+     *                 {@code (offsets.length + 63) / 64} elements
+     * @param policy   the policy for fields that do not contain a number
+     * @return the number of fields that have been marked as invalid
+     * @throws NullPointerException     if one of the arrays or the policy is null
+     * @throws IllegalArgumentException if {@code lengths} or {@code out} have
+     *                                  fewer elements than {@code offsets},
+     *                                  if the validity bitmap is too short,
+     *                                  or if an offset or a length is illegal
+     * @throws NumberFormatException    if a field can not be parsed, and the
+     *                                  policy specifies {@link ColumnPolicy.Action#FAIL}
+     */
+    public static int parseDoubleColumn(byte[] str, int[] offsets, int[] lengths, double[] out, long[] validity, ColumnPolicy policy) throws NumberFormatException {
+        AbstractNumberParser.checkBounds(str, offsets, lengths, out.length, AbstractFloatValueParser.MAX_INPUT_LENGTH);
+        ColumnPolicy.checkValidity(validity, offsets.length);
+        int invalidCount = 0;
+        for (int i = 0, n = offsets.length; i < n; i++) {
+            final int offset = offsets[i];
+            final int length = lengths[i];
+            ColumnPolicy.Action action = policy.check(str, offset, length);
+            if (action == null) {
+                // Each field is parsed only once. A malformed field is
+                // handled by the policy, which may throw an exception.
+                long bits = BYTE_ARRAY_PARSER.tryParseFloatingPointLiteralUnchecked(str, offset, length);
+                if (bits != AbstractFloatValueParser.PARSE_ERROR) {
+                    out[i] = Double.longBitsToDouble(bits);
+                    ColumnPolicy.setValid(validity, i, true);
+                    continue;
+                }
+                action = policy.malformed();
+            }
+            if (ColumnPolicy.apply(action, validity, i)) {
+                invalidCount++;
+            }
+            out[i] = policy.getDefaultDouble();
+        }
+        return invalidCount;
+    }
+
+    /**
+     * Returns a parallel stream of the {@code double} values of delimited
+     * {@code FloatingPointLiteral}s in a {@code byte}-Array.
+     * <p>
+     * The region is split into fields at each delimiter. A delimiter at
+     * the end of the region does not start another field, so that
+     * newline-terminated lines can be parsed with {@code '\n'} as the
+     * delimiter. Whitespace around a literal is ignored, for example a
+     * {@code '\r'} before a {@code '\n'}.
+     * <p>
+     * The fields are parsed lazily by the stream. The stream is only split
+     * at delimiters, so that it can be processed in parallel without
+     * copying the fields. If a field can not be parsed, the terminal
+     * operation of the stream throws a {@link NumberFormatException}.
+     * The stream reads from the byte array while it is processed; the
+     * region must not be modified until the stream has been consumed.
+     *
+     * @param str       the byte array that contains the fields, with characters
+     *                  in ISO-8859-1, ASCII or UTF-8 encoding
+     * @param offset    the index of the first byte of the region
+     * @param length    the number of bytes of the region
+     * @param delimiter the delimiter between the fields
+     * @return a parallel stream of the values of the fields
+     * @throws NullPointerException     if the byte array is null
+     * @throws IllegalArgumentException if offset or length are illegal
+     */
+    public static DoubleStream parallelDoubles(byte[] str, int offset, int length, byte delimiter) {
+        checkBounds(str.length, offset, length);
+        return StreamSupport.doubleStream(new DoubleSpliteratorFromByteArray(BYTE_ARRAY_PARSER, str, offset, offset + length, delimiter), true);
+    }
+
     /**
      * Convenience method for calling {@link #parseDouble(char[], int, int)}.
      *
@@ -257,4 +389,181 @@ public class JavaDoubleParser {
         long bitPattern = CHAR_ARRAY_PARSER.parseFloatingPointLiteral(str, offset, length);
         return Double.longBitsToDouble(bitPattern);
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns a parallel stream of the {@code double} values of delimited
+     * {@code FloatingPointLiteral}s in a {@code char}-Array.
+     * <p>
+     * This method works like {@link #parallelDoubles(byte[], int, int, byte)}.
+     *
+     * @param str       the char array that contains the fields
+     * @param offset    the index of the first character of the region
+     * @param length    the number of characters of the region
+     * @param delimiter the delimiter between the fields
+     * @return a parallel stream of the values of the fields
+     * @throws NullPointerException     if the char array is null
+     * @throws IllegalArgumentException if offset or length are illegal
+     */
+    public static DoubleStream parallelDoubles(char[] str, int offset, int length, char delimiter) {
+        checkBounds(str.length, offset, length);
+        return StreamSupport.doubleStream(new DoubleSpliteratorFromCharArray(CHAR_ARRAY_PARSER, str, offset, offset + length, delimiter), true);
+    }
+
+    /**
+     * Convenience method for calling {@link #parseDoubleFaithful(CharSequence, int, int)}.
+     *
+     * @param str the string to be parsed
+     * @return the parsed value
+     * @throws NullPointerException  if the string is null
+     * @throws NumberFormatException if the string can not be parsed successfully
+     */
+    public static double parseDoubleFaithful(CharSequence str) throws NumberFormatException {
+        return parseDoubleFaithful(str, 0, str.length());
+    }
+
+    /**
+     * Parses a {@code FloatingPointLiteral} from a {@link CharSequence} and converts it
+     * into a {@code double} value that is faithfully rounded.
+     * <p>
+     * The syntax is the same as for {@link #parseDouble(CharSequence, int, int)}.
+     * Decimal literals are converted with an error of less than one ulp,
+     * instead of being correctly rounded. That is, the result is either the
+     * correctly rounded value, or one of its two neighbors.
+     * <p>
+     * This is faster for literals with more than 19 significant digits,
+     * and for literals that lie close to the halfway point between two
+     * {@code double} values, because the result is always computed with a
+     * single 64-bit multiplication, and the parser does not fall back to
+     * {@link Double#parseDouble(String)}. The fall back is still used for
+     * subnormal values, and for exponents that are out of range of the
+     * fast algorithm.
+     * <p>
+     * Hexadecimal literals, {@code NaN} and {@code Infinity} are
+     * converted exactly as in {@link #parseDouble(CharSequence, int, int)}.
+     *
+     * @param str    the string to be parsed
+     * @param offset the start offset of the {@code FloatingPointLiteral} in {@code str}
+     * @param length the length of {@code FloatingPointLiteral} in {@code str}
+     * @return the parsed value
+     * @throws NullPointerException     if the string is null
+     * @throws IllegalArgumentException if offset or length are illegal
+     * @throws NumberFormatException    if the string can not be parsed successfully
+     */
+    public static double parseDoubleFaithful(CharSequence str, int offset, int length) throws NumberFormatException {
+        char[] chars = ThreadLocalCharArray.copyOf(str, offset, length);
+        long bitPattern = chars == null
+                ? FAITHFUL_CHAR_SEQUENCE_PARSER.parseFloatingPointLiteral(str, offset, length)
+                : FAITHFUL_CHAR_ARRAY_PARSER.parseFloatingPointLiteral(chars, 0, length);
+        return Double.longBitsToDouble(bitPattern);
+    }
+
+    /**
+     * Parses a {@code FloatingPointLiteral} from a {@code char}-Array and converts it
+     * into a {@code double} value that is faithfully rounded.
+     * <p>
+     * See {@link #parseDoubleFaithful(CharSequence, int, int)}.
+     *
+     * @param str    the string to be parsed
+     * @param offset The index of the first character to parse
+     * @param length The number of characters to parse
+     * @return the parsed value
+     * @throws NullPointerException     if the string is null
+     * @throws IllegalArgumentException if offset or length are illegal
+     * @throws NumberFormatException    if the string can not be parsed successfully
+     */
+    public static double parseDoubleFaithful(char[] str, int offset, int length) throws NumberFormatException {
+        long bitPattern = FAITHFUL_CHAR_ARRAY_PARSER.parseFloatingPointLiteral(str, offset, length);
+        return Double.longBitsToDouble(bitPattern);
+    }
+
+    /**
+     * Parses a {@code FloatingPointLiteral} from a {@code byte}-Array and converts it
+     * into a {@code double} value that is faithfully rounded.
+     * <p>
+     * See {@link #parseDoubleFaithful(CharSequence, int, int)}.
+     *
+     * @param str    the string to be parsed, a byte array with characters
+     *               in ISO-8859-1, ASCII or UTF-8 encoding
+     * @param offset The index of the first byte to parse
+     * @param length The number of bytes to parse
+     * @return the parsed value
+     * @throws NullPointerException     if the string is null
+     * @throws IllegalArgumentException if offset or length are illegal
+     * @throws NumberFormatException    if the string can not be parsed successfully
+     */
+    public static double parseDoubleFaithful(byte[] str, int offset, int length) throws NumberFormatException {
+        long bitPattern = FAITHFUL_BYTE_ARRAY_PARSER.parseFloatingPointLiteral(str, offset, length);
+        return Double.longBitsToDouble(bitPattern);
+    }
+
+    /**
+     * Convenience method for calling {@link #isValidDouble(CharSequence, int, int)}.
+     *
+     * @param str the string to be checked
+     * @return true if the string can be parsed successfully
+     * @throws NullPointerException if the string is null
+     */
+    public static boolean isValidDouble(CharSequence str) {
+        return isValidDouble(str, 0, str.length());
+    }
+
+    /**
+     * Checks whether the specified region of a {@link CharSequence} is a
+     * {@code FloatingPointLiteral}, without computing its value.
+     * <p>
+     * This method returns true if and only if {@code parseDouble} can
+     * parse the region successfully. It does not throw a
+     * {@link NumberFormatException}, and it is faster than parsing.
+     *
+     * @param str    the string to be checked
+     * @param offset The index of the first character to check
+     * @param length The number of characters to check
+     * @return true if the region can be parsed successfully
+     * @throws NullPointerException     if the string is null
+     * @throws IllegalArgumentException if offset or length are illegal
+     */
+    public static boolean isValidDouble(CharSequence str, int offset, int length) {
+        return NumberSyntax.isJavaFloatingPointLiteral(str, offset, length);
+    }
+
+    /**
+     * Checks whether the specified region of a {@code char}-Array is a
+     * {@code FloatingPointLiteral}, without computing its value.
+     * <p>
+     * See {@link #isValidDouble(CharSequence, int, int)}.
+     *
+     * @param str    the string to be checked
+     * @param offset The index of the first character to check
+     * @param length The number of characters to check
+     * @return true if the region can be parsed successfully
+     * @throws NullPointerException     if the string is null
+     * @throws IllegalArgumentException if offset or length are illegal
+     */
+    public static boolean isValidDouble(char[] str, int offset, int length) {
+        return NumberSyntax.isJavaFloatingPointLiteral(str, offset, length);
+    }
+
+    /**
+     * Checks whether the specified region of a {@code byte}-Array is a
+     * {@code FloatingPointLiteral}, without computing its value.
+     * <p>
+     * See {@link #isValidDouble(CharSequence, int, int)}.
+     *
+     * @param str    the string to be checked, a byte array with characters
+     *               in ISO-8859-1, ASCII or UTF-8 encoding
+     * @param offset The index of the first character to check
+     * @param length The number of characters to check
+     * @return true if the region can be parsed successfully
+     * @throws NullPointerException     if the string is null
+     * @throws IllegalArgumentException if offset or length are illegal
+     */
+    public static boolean isValidDouble(byte[] str, int offset, int length) {
+        return NumberSyntax.isJavaFloatingPointLiteral(str, offset, length);
+    }
+
+    private static void checkBounds(int strLength, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > strLength - length) {
+            throw new IllegalArgumentException(AbstractNumberParser.ILLEGAL_OFFSET_OR_ILLEGAL_LENGTH);
+        }
+    }
+}
@@ -13,10 +13,25 @@ final class JavaFloatBitsFromByteArray extends AbstractJavaFloatingPointBitsFrom
 
 
     /**
-     * Creates a new instance.
+     * Whether a faithfully rounded result is sufficient.
+     */
+    private final boolean faithful;
+
+    /**
+     * Creates a new instance that produces correctly rounded results.
      */
     public JavaFloatBitsFromByteArray() {
+        this(false);
+    }
 
+    /**
+     * Creates a new instance.
+     *
+     * @param faithful if true, decimal literals are converted with an error
+     *                 of less than one ulp, instead of being correctly rounded
+     */
+    public JavaFloatBitsFromByteArray(boolean faithful) {
+        this.faithful = faithful;
     }
 
     @Override
@@ -38,9 +53,16 @@ final class JavaFloatBitsFromByteArray extends AbstractJavaFloatingPointBitsFrom
     long valueOfFloatLiteral(byte[] str, int startIndex, int endIndex, boolean isNegative,
                              long significand, int exponent, boolean isSignificandTruncated,
                              int exponentOfTruncatedSignificand) {
-        float result = FastFloatMath.decFloatLiteralToFloat(isNegative, significand, exponent, isSignificandTruncated, exponentOfTruncatedSignificand);
-        return Float.floatToRawIntBits(Float.isNaN(result) ? Float.parseFloat(
-                new String(str, startIndex, endIndex - startIndex, StandardCharsets.ISO_8859_1)) : result);
+        float result = faithful
+                ? FastFloatMath.decFloatLiteralToFloatFaithful(isNegative, significand, exponent, isSignificandTruncated, exponentOfTruncatedSignificand)
+                : FastFloatMath.decFloatLiteralToFloat(isNegative, significand, exponent, isSignificandTruncated, exponentOfTruncatedSignificand);
+        if (Float.isNaN(result)) {
+            if (ParserStatistics.ENABLED) {
+                ParserStatistics.count(ParserStatistics.Counter.FLOAT_FALLBACK);
+            }
+            result = Float.parseFloat(new String(str, startIndex, endIndex - startIndex, StandardCharsets.ISO_8859_1));
+        }
+        return Float.floatToRawIntBits(result);
     }
 
     @Override
@@ -48,7 +70,13 @@ final class JavaFloatBitsFromByteArray extends AbstractJavaFloatingPointBitsFrom
             byte[] str, int startIndex, int endIndex, boolean isNegative, long significand, int exponent,
             boolean isSignificandTruncated, int exponentOfTruncatedSignificand) {
         float d = FastFloatMath.hexFloatLiteralToFloat(isNegative, significand, exponent, isSignificandTruncated, exponentOfTruncatedSignificand);
-        return Float.floatToRawIntBits(Float.isNaN(d) ? Float.parseFloat(new String(str, startIndex, endIndex - startIndex, StandardCharsets.ISO_8859_1)) : d);
+        if (Float.isNaN(d)) {
+            if (ParserStatistics.ENABLED) {
+                ParserStatistics.count(ParserStatistics.Counter.FLOAT_FALLBACK);
+            }
+            d = Float.parseFloat(new String(str, startIndex, endIndex - startIndex, StandardCharsets.ISO_8859_1));
+        }
+        return Float.floatToRawIntBits(d);
     }
 
 }
\ No newline at end of file
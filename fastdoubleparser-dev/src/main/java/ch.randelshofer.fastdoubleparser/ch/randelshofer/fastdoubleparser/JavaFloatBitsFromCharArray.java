@@ -11,10 +11,25 @@ final class JavaFloatBitsFromCharArray extends AbstractJavaFloatingPointBitsFrom
 
 
     /**
-     * Creates a new instance.
+     * Whether a faithfully rounded result is sufficient.
+     */
+    private final boolean faithful;
+
+    /**
+     * Creates a new instance that produces correctly rounded results.
      */
     public JavaFloatBitsFromCharArray() {
+        this(false);
+    }
 
+    /**
+     * Creates a new instance.
+     *
+     * @param faithful if true, decimal literals are converted with an error
+     *                 of less than one ulp, instead of being correctly rounded
+     */
+    public JavaFloatBitsFromCharArray(boolean faithful) {
+        this.faithful = faithful;
     }
 
     @Override
@@ -36,8 +51,16 @@ final class JavaFloatBitsFromCharArray extends AbstractJavaFloatingPointBitsFrom
     long valueOfFloatLiteral(char[] str, int startIndex, int endIndex, boolean isNegative,
                              long significand, int exponent, boolean isSignificandTruncated,
                              int exponentOfTruncatedSignificand) {
-        float result = FastFloatMath.decFloatLiteralToFloat(isNegative, significand, exponent, isSignificandTruncated, exponentOfTruncatedSignificand);
-        return Float.isNaN(result) ? (long) Float.floatToRawIntBits(Float.parseFloat(new String(str, startIndex, endIndex - startIndex))) : Float.floatToRawIntBits(result);
+        float result = faithful
+                ? FastFloatMath.decFloatLiteralToFloatFaithful(isNegative, significand, exponent, isSignificandTruncated, exponentOfTruncatedSignificand)
+                : FastFloatMath.decFloatLiteralToFloat(isNegative, significand, exponent, isSignificandTruncated, exponentOfTruncatedSignificand);
+        if (Float.isNaN(result)) {
+            if (ParserStatistics.ENABLED) {
+                ParserStatistics.count(ParserStatistics.Counter.FLOAT_FALLBACK);
+            }
+            result = Float.parseFloat(new String(str, startIndex, endIndex - startIndex));
+        }
+        return Float.floatToRawIntBits(result);
     }
 
     @Override
@@ -45,6 +68,12 @@ final class JavaFloatBitsFromCharArray extends AbstractJavaFloatingPointBitsFrom
             char[] str, int startIndex, int endIndex, boolean isNegative, long significand, int exponent,
             boolean isSignificandTruncated, int exponentOfTruncatedSignificand) {
         float d = FastFloatMath.hexFloatLiteralToFloat(isNegative, significand, exponent, isSignificandTruncated, exponentOfTruncatedSignificand);
-        return Float.floatToRawIntBits(Float.isNaN(d) ? Float.parseFloat(new String(str, startIndex, endIndex - startIndex)) : d);
+        if (Float.isNaN(d)) {
+            if (ParserStatistics.ENABLED) {
+                ParserStatistics.count(ParserStatistics.Counter.FLOAT_FALLBACK);
+            }
+            d = Float.parseFloat(new String(str, startIndex, endIndex - startIndex));
+        }
+        return Float.floatToRawIntBits(d);
     }
 }
\ No newline at end of file
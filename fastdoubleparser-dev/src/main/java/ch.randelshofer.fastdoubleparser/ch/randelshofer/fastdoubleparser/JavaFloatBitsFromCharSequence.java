@@ -11,10 +11,25 @@ final class JavaFloatBitsFromCharSequence extends AbstractJavaFloatingPointBitsF
 
 
     /**
-     * Creates a new instance.
+     * Whether a faithfully rounded result is sufficient.
+     */
+    private final boolean faithful;
+
+    /**
+     * Creates a new instance that produces correctly rounded results.
      */
     public JavaFloatBitsFromCharSequence() {
+        this(false);
+    }
 
+    /**
+     * Creates a new instance.
+     *
+     * @param faithful if true, decimal literals are converted with an error
+     *                 of less than one ulp, instead of being correctly rounded
+     */
+    public JavaFloatBitsFromCharSequence(boolean faithful) {
+        this.faithful = faithful;
     }
 
     @Override
@@ -36,8 +51,16 @@ final class JavaFloatBitsFromCharSequence extends AbstractJavaFloatingPointBitsF
     long valueOfFloatLiteral(CharSequence str, int startIndex, int endIndex, boolean isNegative,
                              long significand, int exponent, boolean isSignificandTruncated,
                              int exponentOfTruncatedSignificand) {
-        float d = FastFloatMath.decFloatLiteralToFloat(isNegative, significand, exponent, isSignificandTruncated, exponentOfTruncatedSignificand);
-        return Float.floatToRawIntBits(Float.isNaN(d) ? Float.parseFloat(str.subSequence(startIndex, endIndex).toString()) : d);
+        float d = faithful
+                ? FastFloatMath.decFloatLiteralToFloatFaithful(isNegative, significand, exponent, isSignificandTruncated, exponentOfTruncatedSignificand)
+                : FastFloatMath.decFloatLiteralToFloat(isNegative, significand, exponent, isSignificandTruncated, exponentOfTruncatedSignificand);
+        if (Float.isNaN(d)) {
+            if (ParserStatistics.ENABLED) {
+                ParserStatistics.count(ParserStatistics.Counter.FLOAT_FALLBACK);
+            }
+            d = Float.parseFloat(str.subSequence(startIndex, endIndex).toString());
+        }
+        return Float.floatToRawIntBits(d);
     }
 
     @Override
@@ -45,7 +68,13 @@ final class JavaFloatBitsFromCharSequence extends AbstractJavaFloatingPointBitsF
             CharSequence str, int startIndex, int endIndex, boolean isNegative, long significand, int exponent,
             boolean isSignificandTruncated, int exponentOfTruncatedSignificand) {
         float d = FastFloatMath.hexFloatLiteralToFloat(isNegative, significand, exponent, isSignificandTruncated, exponentOfTruncatedSignificand);
-        return Float.floatToRawIntBits(Float.isNaN(d) ? Float.parseFloat(str.subSequence(startIndex, endIndex).toString()) : d);
+        if (Float.isNaN(d)) {
+            if (ParserStatistics.ENABLED) {
+                ParserStatistics.count(ParserStatistics.Counter.FLOAT_FALLBACK);
+            }
+            d = Float.parseFloat(str.subSequence(startIndex, endIndex).toString());
+        }
+        return Float.floatToRawIntBits(d);
     }
 
 }
\ No newline at end of file
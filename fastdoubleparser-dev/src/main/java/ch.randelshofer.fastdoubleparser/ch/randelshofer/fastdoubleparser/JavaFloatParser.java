@@ -33,6 +33,12 @@ public class JavaFloatParser {
 
     private static final JavaFloatBitsFromCharSequence CHAR_SEQUENCE_PARSER = new JavaFloatBitsFromCharSequence();
 
+    private static final JavaFloatBitsFromByteArray FAITHFUL_BYTE_ARRAY_PARSER = new JavaFloatBitsFromByteArray(true);
+
+    private static final JavaFloatBitsFromCharArray FAITHFUL_CHAR_ARRAY_PARSER = new JavaFloatBitsFromCharArray(true);
+
+    private static final JavaFloatBitsFromCharSequence FAITHFUL_CHAR_SEQUENCE_PARSER = new JavaFloatBitsFromCharSequence(true);
+
     /**
      * Don't let anyone instantiate this class.
      */
@@ -55,6 +61,10 @@ public class JavaFloatParser {
     /**
      * Parses a {@code FloatingPointLiteral} from a {@link CharSequence} and converts it
      * into a {@code float} value.
+     * <p>
+     * Short {@link String}s, {@link StringBuilder}s, {@link StringBuffer}s and
+     * {@link java.nio.CharBuffer}s are copied into a thread-local {@code char}
+     * array, and then the {@code char} array is parsed.
      *
      * @param str    the string to be parsed
      * @param offset the start offset of the {@code FloatingPointLiteral} in {@code str}
@@ -65,7 +75,10 @@ public class JavaFloatParser {
      * @throws NumberFormatException    if the string can not be parsed successfully
      */
     public static float parseFloat(CharSequence str, int offset, int length) throws NumberFormatException {
-        long bitPattern = CHAR_SEQUENCE_PARSER.parseFloatingPointLiteral(str, offset, length);
+        char[] chars = ThreadLocalCharArray.copyOf(str, offset, length);
+        long bitPattern = chars == null
+                ? CHAR_SEQUENCE_PARSER.parseFloatingPointLiteral(str, offset, length)
+                : CHAR_ARRAY_PARSER.parseFloatingPointLiteral(chars, 0, length);
         return Float.intBitsToFloat((int) bitPattern);
     }
 
@@ -100,6 +113,91 @@ public class JavaFloatParser {
         return Float.intBitsToFloat((int) bitPattern);
     }
 
+    /**
+     * Parses many {@code FloatingPointLiteral}s from a {@code byte}-Array and converts
+     * them into {@code float} values.
+     * <p>
+     * This method is intended for inputs that have already been split into
+     * tokens, for example by a JSON or CSV indexer. The literal with index
+     * {@code i} starts at {@code offsets[i]} and has the length
+     * {@code lengths[i]}. Its value is stored in {@code out[i]}.
+     * <p>
+     * The offsets and lengths of all literals are checked before the first
+     * literal is parsed. If a literal can not be parsed, the values of all
+     * literals before it have already been stored in {@code out}.
+     *
+     * @param str     the byte array that contains the literals, with characters
+     *                in ISO-8859-1, ASCII or UTF-8 encoding
+     * @param offsets the start offsets of the literals in {@code str}
+     * @param lengths the lengths of the literals in {@code str}
+     * @param out     the array that receives the parsed values
+     * @throws NullPointerException     if one of the arrays is null
+     * @throws IllegalArgumentException if {@code lengths} or {@code out} have
+     *                                  fewer elements than {@code offsets},
+     *                                  or if an offset or a length is illegal
+     * @throws NumberFormatException    if a literal can not be parsed successfully
+     */
+    public static void parseFloats(byte[] str, int[] offsets, int[] lengths, float[] out) throws NumberFormatException {
+        AbstractNumberParser.checkBounds(str, offsets, lengths, out.length, AbstractFloatValueParser.MAX_INPUT_LENGTH);
+        for (int i = 0, n = offsets.length; i < n; i++) {
+            out[i] = Float.intBitsToFloat((int) BYTE_ARRAY_PARSER.parseFloatingPointLiteralUnchecked(str, offsets[i], lengths[i]));
+        }
+    }
+
+    /**
+     * Parses a column of {@code FloatingPointLiteral}s from a {@code byte}-Array and converts
+     * them into {@code float} values.
+     * <p>
+     * This method works like {@link #parseFloats(byte[], int[], int[], float[])}, but it does not stop
+     * at the first field that does not contain a number. The policy specifies
+     * how such fields are handled. The bit of each field in the validity
+     * bitmap is set if the field holds a value, and cleared otherwise.
+     * See {@link ColumnPolicy} for the bit order.
+     *
+     * @param str      the byte array that contains the fields, with characters
+     *                 in ISO-8859-1, ASCII or UTF-8 encoding
+     * @param offsets  the start offsets of the fields in {@code str}
+     * @param lengths  the lengths of the fields in {@code str}
+     * @param out      the array that receives the parsed values
+     * @param validity the validity bitmap, must have at least
+     *                 {@code (offsets.length + 63) / 64} elements
+     * @param policy   the policy for fields that do not contain a number
+     * @return the number of fields that have been marked as invalid
+     * @throws NullPointerException     if one of the arrays or the policy is null
+     * @throws IllegalArgumentException if {@code lengths} or {@code out} have
+     *                                  fewer elements than {@code offsets},
+     *                                  if the validity bitmap is too short,
+     *                                  or if an offset or a length is illegal
+     * @throws NumberFormatException    if a field can not be parsed, and the
+     *                                  policy specifies {@link ColumnPolicy.Action#FAIL}
+     */
+    public static int parseFloatColumn(byte[] str, int[] offsets, int[] lengths, float[] out, long[] validity, ColumnPolicy policy) throws NumberFormatException {
+        AbstractNumberParser.checkBounds(str, offsets, lengths, out.length, AbstractFloatValueParser.MAX_INPUT_LENGTH);
+        ColumnPolicy.checkValidity(validity, offsets.length);
+        int invalidCount = 0;
+        for (int i = 0, n = offsets.length; i < n; i++) {
+            final int offset = offsets[i];
+            final int length = lengths[i];
+            ColumnPolicy.Action action = policy.check(str, offset, length);
+            if (action == null) {
+                // Each field is parsed only once. A malformed field is
+                // handled by the policy, which may throw an exception.
+                long bits = BYTE_ARRAY_PARSER.tryParseFloatingPointLiteralUnchecked(str, offset, length);
+                if (bits != AbstractFloatValueParser.PARSE_ERROR) {
+                    out[i] = Float.intBitsToFloat((int) bits);
+                    ColumnPolicy.setValid(validity, i, true);
+                    continue;
+                }
+                action = policy.malformed();
+            }
+            if (ColumnPolicy.apply(action, validity, i)) {
+                invalidCount++;
+            }
+            out[i] = (float) policy.getDefaultDouble();
+        }
+        return invalidCount;
+    }
+
 
     /**
      * Convenience method for calling {@link #parseFloat(char[], int, int)}.
@@ -130,4 +228,91 @@ public class JavaFloatParser {
         long bitPattern = CHAR_ARRAY_PARSER.parseFloatingPointLiteral(str, offset, length);
         return Float.intBitsToFloat((int) bitPattern);
     }
+
+    /**
+     * Convenience method for calling {@link #parseFloatFaithful(CharSequence, int, int)}.
+     *
+     * @param str the string to be parsed
+     * @return the parsed value
+     * @throws NullPointerException  if the string is null
+     * @throws NumberFormatException if the string can not be parsed successfully
+     */
+    public static float parseFloatFaithful(CharSequence str) throws NumberFormatException {
+        return parseFloatFaithful(str, 0, str.length());
+    }
+
+    /**
+     * Parses a {@code FloatingPointLiteral} from a {@link CharSequence} and converts it
+     * into a {@code float} value that is faithfully rounded.
+     * <p>
+     * The syntax is the same as for {@link #parseFloat(CharSequence, int, int)}.
+     * Decimal literals are converted with an error of less than one ulp,
+     * instead of being correctly rounded. That is, the result is either the
+     * correctly rounded value, or one of its two neighbors.
+     * <p>
+     * This is faster for literals with more than 19 significant digits,
+     * and for literals that lie close to the halfway point between two
+     * {@code float} values, because the result is always computed with a
+     * single 64-bit multiplication, and the parser does not fall back to
+     * {@link Float#parseFloat(String)}. The fall back is still used for
+     * subnormal values, and for exponents that are out of range of the
+     * fast algorithm.
+     * <p>
+     * Hexadecimal literals, {@code NaN} and {@code Infinity} are
+     * converted exactly as in {@link #parseFloat(CharSequence, int, int)}.
+     *
+     * @param str    the string to be parsed
+     * @param offset the start offset of the {@code FloatingPointLiteral} in {@code str}
+     * @param length the length of {@code FloatingPointLiteral} in {@code str}
+     * @return the parsed value
+     * @throws NullPointerException     if the string is null
+     * @throws IllegalArgumentException if offset or length are illegal
+     * @throws NumberFormatException    if the string can not be parsed successfully
+     */
+    public static float parseFloatFaithful(CharSequence str, int offset, int length) throws NumberFormatException {
+        char[] chars = ThreadLocalCharArray.copyOf(str, offset, length);
+        long bitPattern = chars == null
+                ? FAITHFUL_CHAR_SEQUENCE_PARSER.parseFloatingPointLiteral(str, offset, length)
+                : FAITHFUL_CHAR_ARRAY_PARSER.parseFloatingPointLiteral(chars, 0, length);
+        return Float.intBitsToFloat((int) bitPattern);
+    }
+
+    /**
+     * Parses a {@code FloatingPointLiteral} from a {@code char}-Array and converts it
+     * into a {@code float} value that is faithfully rounded.
+     * <p>
+     * See {@link #parseFloatFaithful(CharSequence, int, int)}.
+     *
+     * @param str    the string to be parsed
+     * @param offset The index of the first character to parse
+     * @param length The number of characters to parse
+     * @return the parsed value
+     * @throws NullPointerException     if the string is null
+     * @throws IllegalArgumentException if offset or length are illegal
+     * @throws NumberFormatException    if the string can not be parsed successfully
+     */
+    public static float parseFloatFaithful(char[] str, int offset, int length) throws NumberFormatException {
+        long bitPattern = FAITHFUL_CHAR_ARRAY_PARSER.parseFloatingPointLiteral(str, offset, length);
+        return Float.intBitsToFloat((int) bitPattern);
+    }
+
+    /**
+     * Parses a {@code FloatingPointLiteral} from a {@code byte}-Array and converts it
+     * into a {@code float} value that is faithfully rounded.
+     * <p>
+     * See {@link #parseFloatFaithful(CharSequence, int, int)}.
+     *
+     * @param str    the string to be parsed, a byte array with characters
+     *               in ISO-8859-1, ASCII or UTF-8 encoding
+     * @param offset The index of the first byte to parse
+     * @param length The number of bytes to parse
+     * @return the parsed value
+     * @throws NullPointerException     if the string is null
+     * @throws IllegalArgumentException if offset or length are illegal
+     * @throws NumberFormatException    if the string can not be parsed successfully
+     */
+    public static float parseFloatFaithful(byte[] str, int offset, int length) throws NumberFormatException {
+        long bitPattern = FAITHFUL_BYTE_ARRAY_PARSER.parseFloatingPointLiteral(str, offset, length);
+        return Float.intBitsToFloat((int) bitPattern);
+    }
 }
\ No newline at end of file
@@ -22,6 +22,12 @@ final class JsonDoubleBitsFromCharArray extends AbstractJsonFloatingPointBitsFro
                              int exponentOfTruncatedSignificand) {
         double d = FastDoubleMath.tryDecFloatToDoubleTruncated(isNegative, significand, exponent, isSignificandTruncated,
                 exponentOfTruncatedSignificand);
-        return Double.doubleToRawLongBits(Double.isNaN(d) ? Double.parseDouble(new String(str, startIndex, endIndex - startIndex)) : d);
+        if (Double.isNaN(d)) {
+            if (ParserStatistics.ENABLED) {
+                ParserStatistics.count(ParserStatistics.Counter.FLOAT_FALLBACK);
+            }
+            d = Double.parseDouble(new String(str, startIndex, endIndex - startIndex));
+        }
+        return Double.doubleToRawLongBits(d);
     }
 }
\ No newline at end of file
@@ -22,6 +22,12 @@ final class JsonDoubleBitsFromCharSequence extends AbstractJsonFloatingPointBits
                              int exponentOfTruncatedSignificand) {
         double d = FastDoubleMath.tryDecFloatToDoubleTruncated(isNegative, significand, exponent, isSignificandTruncated,
                 exponentOfTruncatedSignificand);
-        return Double.doubleToRawLongBits(Double.isNaN(d) ? Double.parseDouble(str.subSequence(startIndex, endIndex).toString()) : d);
+        if (Double.isNaN(d)) {
+            if (ParserStatistics.ENABLED) {
+                ParserStatistics.count(ParserStatistics.Counter.FLOAT_FALLBACK);
+            }
+            d = Double.parseDouble(str.subSequence(startIndex, endIndex).toString());
+        }
+        return Double.doubleToRawLongBits(d);
     }
 }
\ No newline at end of file
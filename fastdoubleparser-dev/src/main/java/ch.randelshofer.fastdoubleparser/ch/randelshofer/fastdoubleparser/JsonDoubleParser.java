@@ -69,6 +69,10 @@ public class JsonDoubleParser {
     /**
      * Parses a {@code FloatingPointLiteral} from a {@link CharSequence} and converts it
      * into a {@code double} value.
+     * <p>
+     * Short {@link String}s, {@link StringBuilder}s, {@link StringBuffer}s and
+     * {@link java.nio.CharBuffer}s are copied into a thread-local {@code char}
+     * array, and then the {@code char} array is parsed.
      *
      * @param str    the string to be parsed
      * @param offset the start offset of the {@code FloatingPointLiteral} in {@code str}
@@ -79,7 +83,10 @@ public class JsonDoubleParser {
      * @throws NumberFormatException    if the string can not be parsed successfully
      */
     public static double parseDouble(CharSequence str, int offset, int length) throws NumberFormatException {
-        long bitPattern = CHAR_SEQUENCE_PARSER.parseNumber(str, offset, length);
+        char[] chars = ThreadLocalCharArray.copyOf(str, offset, length);
+        long bitPattern = chars == null
+                ? CHAR_SEQUENCE_PARSER.parseNumber(str, offset, length)
+                : CHAR_ARRAY_PARSER.parseNumber(chars, 0, length);
         return Double.longBitsToDouble(bitPattern);
     }
 
@@ -115,6 +122,91 @@ public class JsonDoubleParser {
         return Double.longBitsToDouble(bitPattern);
     }
 
+    /**
+     * Parses many JSON {@code number}s from a {@code byte}-Array and converts
+     * them into {@code double} values.
+     * <p>
+     * This method is intended for inputs that have already been split into
+     * tokens, for example by a JSON or CSV indexer. The literal with index
+     * {@code i} starts at {@code offsets[i]} and has the length
+     * {@code lengths[i]}. Its value is stored in {@code out[i]}.
+     * <p>
+     * The offsets and lengths of all literals are checked before the first
+     * literal is parsed. If a literal can not be parsed, the values of all
+     * literals before it have already been stored in {@code out}.
+     *
+     * @param str     the byte array that contains the literals, with characters
+     *                in ISO-8859-1, ASCII or UTF-8 encoding
+     * @param offsets the start offsets of the literals in {@code str}
+     * @param lengths the lengths of the literals in {@code str}
+     * @param out     the array that receives the parsed values
+     * @throws NullPointerException     if one of the arrays is null
+     * @throws IllegalArgumentException if {@code lengths} or {@code out} have
+     *                                  fewer elements than {@code offsets},
+     *                                  or if an offset or a length is illegal
+     * @throws NumberFormatException    if a literal can not be parsed successfully
+     */
+    public static void parseDoubles(byte[] str, int[] offsets, int[] lengths, double[] out) throws NumberFormatException {
+        AbstractNumberParser.checkBounds(str, offsets, lengths, out.length, AbstractFloatValueParser.MAX_INPUT_LENGTH);
+        for (int i = 0, n = offsets.length; i < n; i++) {
+            out[i] = Double.longBitsToDouble(BYTE_ARRAY_PARSER.parseNumberUnchecked(str, offsets[i], lengths[i]));
+        }
+    }
+
+    /**
+     * Parses a column of JSON {@code number}s from a {@code byte}-Array and converts
+     * them into {@code double} values.
+     * <p>
+     * This method works like {@link #parseDoubles(byte[], int[], int[], double[])}, but it does not stop
+     * at the first field that does not contain a number. The policy specifies
+     * how such fields are handled. The bit of each field in the validity
+     * bitmap is set if the field holds a value, and cleared otherwise.
+     * See {@link ColumnPolicy} for the bit order.
+     *
+     * @param str      the byte array that contains the fields, with characters
+     *                 in ISO-8859-1, ASCII or UTF-8 encoding
+     * @param offsets  the start offsets of the fields in {@code str}
+     * @param lengths  the lengths of the fields in {@code str}
+     * @param out      the array that receives the parsed values
+     * @param validity the validity bitmap, must have at least
+     *                 {@code (offsets.length + 63) / 64} elements
+     * @param policy   the policy for fields that do not contain a number
+     * @return the number of fields that have been marked as invalid
+     * @throws NullPointerException     if one of the arrays or the policy is null
+     * @throws IllegalArgumentException if {@code lengths} or {@code out} have
+     *                                  fewer elements than {@code offsets},
+     *                                  if the validity bitmap is too short,
+     *                                  or if an offset or a length is illegal
+     * @throws NumberFormatException    if a field can not be parsed, and the
+     *                                  policy specifies {@link ColumnPolicy.Action#FAIL}
+     */
+    public static int parseDoubleColumn(byte[] str, int[] offsets, int[] lengths, double[] out, long[] validity, ColumnPolicy policy) throws NumberFormatException {
+        AbstractNumberParser.checkBounds(str, offsets, lengths, out.length, AbstractFloatValueParser.MAX_INPUT_LENGTH);
+        ColumnPolicy.checkValidity(validity, offsets.length);
+        int invalidCount = 0;
+        for (int i = 0, n = offsets.length; i < n; i++) {
+            final int offset = offsets[i];
+            final int length = lengths[i];
+            ColumnPolicy.Action action = policy.check(str, offset, length);
+            if (action == null) {
+                // Each field is parsed only once. A malformed field is
+                // handled by the policy, which may throw an exception.
+                long bits = BYTE_ARRAY_PARSER.tryParseNumberUnchecked(str, offset, length);
+                if (bits != AbstractFloatValueParser.PARSE_ERROR) {
+                    out[i] = Double.longBitsToDouble(bits);
+                    ColumnPolicy.setValid(validity, i, true);
+                    continue;
+                }
+                action = policy.malformed();
+            }
+            if (ColumnPolicy.apply(action, validity, i)) {
+                invalidCount++;
+            }
+            out[i] = policy.getDefaultDouble();
+        }
+        return invalidCount;
+    }
+
     /**
      * Convenience method for calling {@link #parseDouble(char[], int, int)}.
      *
@@ -145,4 +237,69 @@ public class JsonDoubleParser {
         long bitPattern = CHAR_ARRAY_PARSER.parseNumber(str, offset, length);
         return Double.longBitsToDouble(bitPattern);
     }
-}
\ No newline at end of file
+
+    /**
+     * Convenience method for calling {@link #isValidJsonNumber(CharSequence, int, int)}.
+     *
+     * @param str the string to be checked
+     * @return true if the string can be parsed successfully
+     * @throws NullPointerException if the string is null
+     */
+    public static boolean isValidJsonNumber(CharSequence str) {
+        return isValidJsonNumber(str, 0, str.length());
+    }
+
+    /**
+     * Checks whether the specified region of a {@link CharSequence} is a
+     * JSON {@code number}, without computing its value.
+     * <p>
+     * This method returns true if and only if {@code parseDouble} can
+     * parse the region successfully. It does not throw a
+     * {@link NumberFormatException}, and it is faster than parsing.
+     *
+     * @param str    the string to be checked
+     * @param offset The index of the first character to check
+     * @param length The number of characters to check
+     * @return true if the region can be parsed successfully
+     * @throws NullPointerException     if the string is null
+     * @throws IllegalArgumentException if offset or length are illegal
+     */
+    public static boolean isValidJsonNumber(CharSequence str, int offset, int length) {
+        return NumberSyntax.isJsonNumber(str, offset, length);
+    }
+
+    /**
+     * Checks whether the specified region of a {@code char}-Array is a
+     * JSON {@code number}, without computing its value.
+     * <p>
+     * See {@link #isValidJsonNumber(CharSequence, int, int)}.
+     *
+     * @param str    the string to be checked
+     * @param offset The index of the first character to check
+     * @param length The number of characters to check
+     * @return true if the region can be parsed successfully
+     * @throws NullPointerException     if the string is null
+     * @throws IllegalArgumentException if offset or length are illegal
+     */
+    public static boolean isValidJsonNumber(char[] str, int offset, int length) {
+        return NumberSyntax.isJsonNumber(str, offset, length);
+    }
+
+    /**
+     * Checks whether the specified region of a {@code byte}-Array is a
+     * JSON {@code number}, without computing its value.
+     * <p>
+     * See {@link #isValidJsonNumber(CharSequence, int, int)}.
+     *
+     * @param str    the string to be checked, a byte array with characters
+     *               in ISO-8859-1, ASCII or UTF-8 encoding
+     * @param offset The index of the first character to check
+     * @param length The number of characters to check
+     * @return true if the region can be parsed successfully
+     * @throws NullPointerException     if the string is null
+     * @throws IllegalArgumentException if offset or length are illegal
+     */
+    public static boolean isValidJsonNumber(byte[] str, int offset, int length) {
+        return NumberSyntax.isJsonNumber(str, offset, length);
+    }
+}
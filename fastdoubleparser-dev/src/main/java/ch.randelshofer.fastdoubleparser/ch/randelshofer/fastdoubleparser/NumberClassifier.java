@@ -0,0 +1,375 @@
+/*
+ * @(#)NumberClassifier.java
+ * Copyright © 2023 Werner Randelshofer, Switzerland. MIT License.
+ */
+package ch.randelshofer.fastdoubleparser;
+
+import java.math.BigDecimal;
+
+/**
+ * Determines the narrowest type that can hold the value of a number literal
+ * without loss, and parses the value.
+ * <p>
+ * This class is intended for schema discovery, for example when the types
+ * of the columns of a CSV file have to be inferred. Each literal is scanned
+ * once. Illegal literals do not cause an exception, they are reported as
+ * {@link NumberType#MALFORMED}.
+ * <p>
+ * Decimal literals are accepted with the following syntax:
+ * <blockquote>
+ * <dl>
+ * <dt><i>DecimalLiteral:</i></dt>
+ * <dd><i>[Sign] Digits [{@code .} [Digits]] [ExponentPart]</i></dd>
+ * <dd><i>[Sign] {@code .} Digits [ExponentPart]</i></dd>
+ * </dl>
+ * </blockquote>
+ * White space and the type suffixes {@code f}, {@code F}, {@code d} and
+ * {@code D} are not accepted. Hexadecimal literals, {@code NaN} and
+ * {@code Infinity} are accepted as specified in {@link JavaDoubleParser}.
+ * <p>
+ * Usage:
+ * <pre>
+ * NumberClassifier classifier = new NumberClassifier();
+ * switch (classifier.classify(str, offset, length)) {
+ *     case INT:
+ *     case LONG:
+ *         long l = classifier.getLong();
+ *         ...
+ * }
+ * </pre>
+ * <p>
+ * Instances of this class are not thread-safe.
+ */
+public final class NumberClassifier {
+    /**
+     * The type of a number literal, from the narrowest to the widest type.
+     */
+    public enum NumberType {
+        /**
+         * An integer literal without decimal point and exponent, which fits
+         * into an {@code int}. The value is available with
+         * {@link NumberClassifier#getLong()}.
+         */
+        INT,
+        /**
+         * An integer literal without decimal point and exponent, which fits
+         * into a {@code long}. The value is available with
+         * {@link NumberClassifier#getLong()}.
+         */
+        LONG,
+        /**
+         * A decimal literal whose value is exactly representable as a
+         * {@code double}, for example {@code 0.5}. The value is available
+         * with {@link NumberClassifier#getDouble()}.
+         */
+        EXACT_DOUBLE,
+        /**
+         * A decimal literal with at most 15 significant digits, whose value
+         * is rounded to a normal {@code double}, for example {@code 0.1}.
+         * Converting the {@code double} back to 15 significant digits yields
+         * the literal value, so no information is lost. The value is
+         * available with {@link NumberClassifier#getDouble()}.
+         */
+        ROUNDED_DOUBLE,
+        /**
+         * A decimal literal that can only be held without loss by a
+         * {@link BigDecimal}. The value is available with
+         * {@link NumberClassifier#getBigDecimal()}.
+         */
+        BIG_DECIMAL,
+        /**
+         * A hexadecimal literal, {@code NaN} or {@code Infinity}. The value
+         * is available with {@link NumberClassifier#getDouble()}.
+         */
+        HEX_OR_SPECIAL,
+        /**
+         * A literal that can not be parsed.
+         */
+        MALFORMED
+    }
+
+    /**
+     * Powers of ten from 10^0 to 10^18.
+     */
+    private static final long[] LONG_POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+            1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L,
+            10_000_000_000_000L, 100_000_000_000_000L, 1_000_000_000_000_000L,
+            10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L};
+    /**
+     * Powers of five from 5^0 to 5^27, 5^27 is the largest power of five
+     * that fits into a {@code long}.
+     */
+    private static final long[] LONG_POWERS_OF_FIVE = new long[28];
+
+    static {
+        LONG_POWERS_OF_FIVE[0] = 1;
+        for (int i = 1; i < LONG_POWERS_OF_FIVE.length; i++) {
+            LONG_POWERS_OF_FIVE[i] = LONG_POWERS_OF_FIVE[i - 1] * 5;
+        }
+    }
+
+    /**
+     * The maximal number of significant digits that a {@code double} can
+     * hold without loss.
+     */
+    private static final int DOUBLE_DECIMAL_DIGITS = 15;
+    /**
+     * The maximal number of significant digits that a {@code long} can hold.
+     */
+    private static final int MAX_LONG_DIGITS = 19;
+    /**
+     * Larger exponents are clamped to this value, which is outside the
+     * range of {@code double}.
+     */
+    private static final int MAX_EXPONENT_NUMBER = 100_000_000;
+
+    private long longValue;
+    private double doubleValue;
+    private BigDecimal bigDecimalValue;
+
+    /**
+     * Creates a new instance.
+     */
+    public NumberClassifier() {
+    }
+
+    /**
+     * Classifies the specified literal and parses its value.
+     *
+     * @param str    the byte array, with characters in ISO-8859-1, ASCII or
+     *               UTF-8 encoding
+     * @param offset the start of the literal
+     * @param length the length of the literal
+     * @return the type of the literal
+     * @throws NullPointerException     if the byte array is null
+     * @throws IllegalArgumentException if offset or length are illegal
+     */
+    public NumberType classify(byte[] str, int offset, int length) {
+        final int endIndex = offset + length;
+        if (offset < 0 || endIndex < offset || endIndex > str.length) {
+            throw new IllegalArgumentException(AbstractNumberParser.ILLEGAL_OFFSET_OR_ILLEGAL_LENGTH);
+        }
+        bigDecimalValue = null;
+
+        // Reject leading and trailing white space, because the parsers for
+        // hexadecimal literals, NaN and Infinity would skip it.
+        if (length > 0 && ((str[offset] & 0xff) <= ' ' || (str[endIndex - 1] & 0xff) <= ' ')) {
+            return NumberType.MALFORMED;
+        }
+
+        // Parse optional sign
+        // -------------------
+        int index = offset;
+        byte ch = AbstractNumberParser.charAt(str, index, endIndex);
+        final boolean isNegative = ch == '-';
+        if (isNegative || ch == '+') {
+            ch = AbstractNumberParser.charAt(str, ++index, endIndex);
+        }
+        if (ch == 'N' || ch == 'I'
+                || ch == '0' && (AbstractNumberParser.charAt(str, index + 1, endIndex) | 0x20) == 'x') {
+            return classifyHexOrSpecial(str, offset, length);
+        }
+
+        // Parse significand
+        // -----------------
+        // The significand holds the digits without leading and trailing
+        // zeros. The trailing zeros are counted in pendingZeros.
+        long significand = 0;
+        int significantDigits = 0;
+        int pendingZeros = 0;
+        boolean isTruncated = false;
+        boolean hasPoint = false;
+        int digitCount = 0;
+        int fractionDigits = 0;
+        for (; index < endIndex; index++) {
+            ch = str[index];
+            if (FastDoubleSwar.isDigit(ch)) {
+                digitCount++;
+                if (hasPoint) {
+                    fractionDigits++;
+                }
+                if (ch != '0') {
+                    if (significantDigits + pendingZeros < MAX_LONG_DIGITS) {
+                        significand = significand * LONG_POWERS_OF_TEN[pendingZeros + 1] + ch - '0';
+                        significantDigits += pendingZeros + 1;
+                        pendingZeros = 0;
+                    } else {
+                        isTruncated = true;
+                    }
+                } else if (significantDigits != 0) {
+                    pendingZeros++;
+                }
+            } else if (ch == '.' && !hasPoint) {
+                hasPoint = true;
+            } else {
+                break;
+            }
+        }
+        if (digitCount == 0) {
+            return NumberType.MALFORMED;
+        }
+
+        // Parse optional exponent
+        // -----------------------
+        int expNumber = 0;
+        final boolean hasExponent = index < endIndex && (ch | 0x20) == 'e';
+        if (hasExponent) {
+            ch = AbstractNumberParser.charAt(str, ++index, endIndex);
+            final boolean isExponentNegative = ch == '-';
+            if (isExponentNegative || ch == '+') {
+                index++;
+            }
+            final int exponentIndex = index;
+            for (; index < endIndex && FastDoubleSwar.isDigit(ch = str[index]); index++) {
+                if (expNumber < MAX_EXPONENT_NUMBER) {
+                    expNumber = 10 * expNumber + ch - '0';
+                }
+            }
+            if (index == exponentIndex) {
+                return NumberType.MALFORMED;
+            }
+            if (isExponentNegative) {
+                expNumber = -expNumber;
+            }
+        }
+        if (index != endIndex) {
+            return NumberType.MALFORMED;
+        }
+
+        // Classify
+        // --------
+        if (isTruncated) {
+            return classifyManyDigits(str, offset, length);
+        }
+        final long exponent = (long) expNumber - fractionDigits + pendingZeros;
+        if (!hasPoint && !hasExponent && significantDigits + pendingZeros <= MAX_LONG_DIGITS) {
+            // The value has at most 19 digits, it fits into an unsigned long
+            long value = significand * LONG_POWERS_OF_TEN[pendingZeros];
+            if (value >= 0 || isNegative && value == Long.MIN_VALUE) {
+                longValue = isNegative ? -value : value;
+                return longValue == (int) longValue ? NumberType.INT : NumberType.LONG;
+            }
+        }
+        final int exp = (int) Math.max(Math.min(exponent, MAX_EXPONENT_NUMBER), -MAX_EXPONENT_NUMBER);
+        double d = FastDoubleMath.tryDecFloatToDoubleTruncated(isNegative, significand, exp, false, exp);
+        if (Double.isNaN(d)) {
+            d = JavaDoubleParser.parseDouble(str, offset, length);
+        }
+        doubleValue = d;
+        if (isExact(significand, exp)) {
+            return NumberType.EXACT_DOUBLE;
+        }
+        double abs = Math.abs(d);
+        if (significantDigits <= DOUBLE_DECIMAL_DIGITS && abs >= Double.MIN_NORMAL && abs <= Double.MAX_VALUE) {
+            return NumberType.ROUNDED_DOUBLE;
+        }
+        return classifyBigDecimal(str, offset, length);
+    }
+
+    /**
+     * Returns true if {@code significand * 10^exponent} is exactly
+     * representable as a {@code double}.
+     *
+     * @param significand the significand, an unsigned value
+     * @param exponent    the exponent
+     * @return true if the value is exact
+     */
+    static boolean isExact(long significand, int exponent) {
+        if (significand == 0) {
+            return true;
+        }
+        // The value is significand * 5^exponent * 2^exponent.
+        // The factor 2^exponent is exact, if the other factor is a
+        // (possibly fractional) integer with at most 53 bits.
+        long m = significand;
+        if (exponent < 0) {
+            if (-exponent >= LONG_POWERS_OF_FIVE.length) {
+                // significand < 2^64 < 5^28 can not be a multiple of 5^-exponent
+                return false;
+            }
+            long powerOfFive = LONG_POWERS_OF_FIVE[-exponent];
+            if (Long.remainderUnsigned(m, powerOfFive) != 0) {
+                return false;
+            }
+            m = Long.divideUnsigned(m, powerOfFive);
+        }
+        m >>>= Long.numberOfTrailingZeros(m);
+        if (m >>> 53 != 0) {
+            return false;
+        }
+        for (int i = 0; i < exponent; i++) {
+            m *= 5;
+            if (m >>> 53 != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Classifies a decimal literal with more significant digits than fit
+     * into a {@code long}.
+     */
+    private NumberType classifyManyDigits(byte[] str, int offset, int length) {
+        NumberType type = classifyBigDecimal(str, offset, length);
+        if (type == NumberType.BIG_DECIMAL) {
+            double d = bigDecimalValue.doubleValue();
+            if (!Double.isInfinite(d) && new BigDecimal(d).compareTo(bigDecimalValue) == 0) {
+                doubleValue = d;
+                bigDecimalValue = null;
+                return NumberType.EXACT_DOUBLE;
+            }
+        }
+        return type;
+    }
+
+    private NumberType classifyBigDecimal(byte[] str, int offset, int length) {
+        try {
+            bigDecimalValue = JavaBigDecimalParser.parseBigDecimal(str, offset, length);
+            return NumberType.BIG_DECIMAL;
+        } catch (NumberFormatException e) {
+            return NumberType.MALFORMED;
+        }
+    }
+
+    private NumberType classifyHexOrSpecial(byte[] str, int offset, int length) {
+        try {
+            doubleValue = JavaDoubleParser.parseDouble(str, offset, length);
+            return NumberType.HEX_OR_SPECIAL;
+        } catch (NumberFormatException e) {
+            return NumberType.MALFORMED;
+        }
+    }
+
+    /**
+     * Returns the value of the last literal that has been classified as
+     * {@link NumberType#INT} or {@link NumberType#LONG}.
+     *
+     * @return the value
+     */
+    public long getLong() {
+        return longValue;
+    }
+
+    /**
+     * Returns the value of the last literal that has been classified as
+     * {@link NumberType#EXACT_DOUBLE}, {@link NumberType#ROUNDED_DOUBLE} or
+     * {@link NumberType#HEX_OR_SPECIAL}.
+     *
+     * @return the value
+     */
+    public double getDouble() {
+        return doubleValue;
+    }
+
+    /**
+     * Returns the value of the last literal, if it has been classified as
+     * {@link NumberType#BIG_DECIMAL}.
+     *
+     * @return the value, or null if the last literal has another type
+     */
+    public BigDecimal getBigDecimal() {
+        return bigDecimalValue;
+    }
+}
@@ -0,0 +1,856 @@
+/*
+ * @(#)NumberSyntax.java
+ * Copyright © 2023 Werner Randelshofer, Switzerland. MIT License.
+ */
+package ch.randelshofer.fastdoubleparser;
+
+/**
+ * Checks the syntax of number literals without computing their values.
+ * <p>
+ * The methods of this class accept exactly the inputs that the
+ * corresponding parsers accept. They return false instead of throwing a
+ * {@link NumberFormatException}, and they skip digits eight at a time.
+ */
+final class NumberSyntax extends AbstractNumberParser {
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private NumberSyntax() {
+
+    }
+
+    /**
+     * Checks the offset and the length.
+     *
+     * @return the end index
+     * @throws IllegalArgumentException if offset or length are illegal
+     */
+    private static int checkBounds(int size, int offset, int length, int maxLength) {
+        final int endIndex = offset + length;
+        if (offset < 0 || endIndex < offset || endIndex > size || length > maxLength) {
+            throw new IllegalArgumentException(ILLEGAL_OFFSET_OR_ILLEGAL_LENGTH);
+        }
+        return endIndex;
+    }
+
+    /**
+     * Checks whether the specified region is a {@code FloatingPointLiteral}
+     * with optional leading and trailing white space, as specified in
+     * {@link JavaDoubleParser}.
+     *
+     * @param str    the string
+     * @param offset the start of the region
+     * @param length the length of the region
+     * @return true if {@link JavaDoubleParser} can parse the region
+     * @throws IllegalArgumentException if offset or length are illegal
+     */
+    static boolean isJavaFloatingPointLiteral(byte[] str, int offset, int length) {
+        checkBounds(str.length, offset, length, AbstractFloatValueParser.MAX_INPUT_LENGTH);
+        return isJavaFloatingPointLiteralUnchecked(str, offset, length);
+    }
+
+    /**
+     * Checks like {@link #isJavaFloatingPointLiteral(byte[], int, int)}, but does not
+     * check the offset and the length.
+     */
+    static boolean isJavaFloatingPointLiteralUnchecked(byte[] str, int offset, int length) {
+        final int endIndex = offset + length;
+
+        // Skip leading whitespace and parse optional sign
+        // -----------------------------------------------
+        int index = skipWhitespace(str, offset, endIndex);
+        if (index == endIndex) {
+            return false;
+        }
+        byte ch = str[index];
+        if (ch == '-' || ch == '+') {
+            ch = charAt(str, ++index, endIndex);
+            if (ch == 0) {
+                return false;
+            }
+        }
+
+        // Check NaN, Infinity or hexadecimal literal
+        // ------------------------------------------
+        if (ch >= 'I') {
+            String word = ch == 'N' ? "NaN" : "Infinity";
+            return regionMatches(str, index, endIndex, word)
+                    && skipWhitespace(str, index + word.length(), endIndex) == endIndex;
+        }
+        final boolean hasLeadingZero = ch == '0';
+        if (hasLeadingZero) {
+            ch = charAt(str, ++index, endIndex);
+            if ((ch | 0x20) == 'x') {
+                return isRestOfHexFloatingPointLiteral(str, index + 1, endIndex);
+            }
+        }
+
+        // Check decimal literal
+        // ---------------------
+        int digitCount = index;
+        index = skipDigits(str, index, endIndex);
+        if (charAt(str, index, endIndex) == '.') {
+            digitCount++;
+            index = skipDigits(str, index + 1, endIndex);
+            if (charAt(str, index, endIndex) == '.') {
+                return false;
+            }
+        }
+        digitCount = index - digitCount;
+        index = skipExponent(str, index, endIndex, 'e');
+        if (index < 0) {
+            return false;
+        }
+        index = skipFloatTypeSuffix(str, index, endIndex);
+        return skipWhitespace(str, index, endIndex) == endIndex
+                && (hasLeadingZero || digitCount > 0);
+    }
+
+    private static boolean isRestOfHexFloatingPointLiteral(byte[] str, int index, int endIndex) {
+        final int significandStartIndex = index;
+        boolean hasPoint = false;
+        for (; index < endIndex; index++) {
+            int hexValue = lookupHex(str[index]);
+            if (hexValue == DECIMAL_POINT_CLASS) {
+                if (hasPoint) {
+                    return false;
+                }
+                hasPoint = true;
+            } else if (hexValue < 0) {
+                break;
+            }
+        }
+        final int digitCount = index - significandStartIndex - (hasPoint ? 1 : 0);
+        if (charAt(str, index, endIndex) != 'p' && charAt(str, index, endIndex) != 'P') {
+            return false;
+        }
+        index = skipExponent(str, index, endIndex, 'p');
+        if (index < 0) {
+            return false;
+        }
+        index = skipFloatTypeSuffix(str, index, endIndex);
+        return skipWhitespace(str, index, endIndex) == endIndex
+                && digitCount > 0;
+    }
+
+    /**
+     * Checks whether the specified region is a JSON {@code number}, as
+     * specified in {@link JsonDoubleParser}.
+     *
+     * @param str    the string
+     * @param offset the start of the region
+     * @param length the length of the region
+     * @return true if {@link JsonDoubleParser} can parse the region
+     * @throws IllegalArgumentException if offset or length are illegal
+     */
+    static boolean isJsonNumber(byte[] str, int offset, int length) {
+        checkBounds(str.length, offset, length, AbstractFloatValueParser.MAX_INPUT_LENGTH);
+        return isJsonNumberUnchecked(str, offset, length);
+    }
+
+    /**
+     * Checks like {@link #isJsonNumber(byte[], int, int)}, but does not
+     * check the offset and the length.
+     */
+    static boolean isJsonNumberUnchecked(byte[] str, int offset, int length) {
+        final int endIndex = offset + length;
+        int index = offset;
+        byte ch = charAt(str, index, endIndex);
+        if (ch == '-') {
+            ch = charAt(str, ++index, endIndex);
+            if (ch == 0) {
+                return false;
+            }
+        }
+        final boolean hasLeadingZero = ch == '0';
+        if (hasLeadingZero) {
+            ch = charAt(str, ++index, endIndex);
+            if (ch == '0') {
+                return false;
+            }
+        }
+        int digitCount = index;
+        index = skipDigits(str, index, endIndex);
+        if (charAt(str, index, endIndex) == '.') {
+            digitCount++;
+            index = skipDigits(str, index + 1, endIndex);
+            if (charAt(str, index, endIndex) == '.') {
+                return false;
+            }
+        }
+        digitCount = index - digitCount;
+        index = skipExponent(str, index, endIndex, 'e');
+        return index == endIndex
+                && (hasLeadingZero || digitCount > 0);
+    }
+
+    /**
+     * Checks whether the specified region is a {@code BigDecimalString},
+     * as specified in {@link JavaBigDecimalParser}, and whether its value
+     * is within the limits of {@link java.math.BigDecimal}.
+     *
+     * @param str    the string
+     * @param offset the start of the region
+     * @param length the length of the region
+     * @return true if {@link JavaBigDecimalParser} can parse the region
+     * @throws IllegalArgumentException if offset or length are illegal
+     */
+    static boolean isBigDecimalString(byte[] str, int offset, int length) {
+        final int endIndex = checkBounds(str.length, offset, length, Integer.MAX_VALUE);
+        if (length > JavaBigDecimalFromByteArray.MAX_INPUT_LENGTH) {
+            return false;
+        }
+        int index = offset;
+        byte ch = charAt(str, index, endIndex);
+        if (ch == '-' || ch == '+') {
+            ch = charAt(str, ++index, endIndex);
+            if (ch == 0) {
+                return false;
+            }
+        }
+
+        // Skip significand, count the digits without leading zeroes
+        // ---------------------------------------------------------
+        final int significandStartIndex = index;
+        while (index < endIndex && str[index] == '0') {
+            index++;
+        }
+        final int nonZeroIndex = index;
+        index = skipDigits(str, index, endIndex);
+        int digitCount = index - nonZeroIndex;
+        long exponent = 0;
+        if (charAt(str, index, endIndex) == '.') {
+            final int fractionPartIndex = ++index;
+            if (digitCount == 0) {
+                while (index < endIndex && str[index] == '0') {
+                    index++;
+                }
+            }
+            final int nonZeroFractionPartIndex = index;
+            index = skipDigits(str, index, endIndex);
+            digitCount += index - nonZeroFractionPartIndex;
+            exponent = fractionPartIndex - index;
+        }
+        final int significandLength = index - significandStartIndex;
+        if (significandLength == 0 || significandLength == 1 && str[significandStartIndex] == '.') {
+            return false;
+        }
+
+        // Skip exponent, compute its value
+        // --------------------------------
+        if ((charAt(str, index, endIndex) | 0x20) == 'e') {
+            ch = charAt(str, ++index, endIndex);
+            final boolean isExponentNegative = ch == '-';
+            if (isExponentNegative || ch == '+') {
+                ch = charAt(str, ++index, endIndex);
+            }
+            long expNumber = 0;
+            if (!FastDoubleSwar.isDigit(ch)) {
+                return false;
+            }
+            do {
+                if (expNumber < Integer.MAX_VALUE) {
+                    expNumber = 10 * expNumber + ch - '0';
+                }
+                ch = charAt(str, ++index, endIndex);
+            } while (FastDoubleSwar.isDigit(ch));
+            exponent += isExponentNegative ? -expNumber : expNumber;
+        }
+        return index == endIndex
+                && digitCount <= JavaBigDecimalFromByteArray.MAX_DIGIT_COUNT
+                && exponent <= Integer.MAX_VALUE
+                && (exponent > Integer.MIN_VALUE
+                || exponent == Integer.MIN_VALUE && length >= JavaBigDecimalFromByteArray.MANY_DIGITS_THRESHOLD);
+    }
+
+    /**
+     * Skips digits, eight at a time.
+     */
+    private static int skipDigits(byte[] str, int index, int endIndex) {
+        while (index < endIndex - 7 && FastDoubleSwar.isEightDigits(str, index)) {
+            index += 8;
+        }
+        while (index < endIndex && FastDoubleSwar.isDigit(str[index])) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Skips an optional exponent.
+     *
+     * @param indicator the lower case exponent indicator
+     * @return the index after the exponent, or -1 if the exponent is illegal
+     */
+    private static int skipExponent(byte[] str, int index, int endIndex, char indicator) {
+        byte ch = charAt(str, index, endIndex);
+        if ((ch | 0x20) != indicator) {
+            return index;
+        }
+        ch = charAt(str, ++index, endIndex);
+        if (ch == '-' || ch == '+') {
+            ch = charAt(str, ++index, endIndex);
+        }
+        if (!FastDoubleSwar.isDigit(ch)) {
+            return -1;
+        }
+        return skipDigits(str, index, endIndex);
+    }
+
+    private static int skipFloatTypeSuffix(byte[] str, int index, int endIndex) {
+        byte ch = charAt(str, index, endIndex);
+        return ch == 'd' | ch == 'D' | ch == 'f' | ch == 'F' ? index + 1 : index;
+    }
+
+    private static int skipWhitespace(byte[] str, int index, int endIndex) {
+        while (index < endIndex && (str[index] & 0xff) <= ' ') {
+            index++;
+        }
+        return index;
+    }
+
+    private static boolean regionMatches(byte[] str, int index, int endIndex, String word) {
+        if (endIndex - index < word.length()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (str[index + i] != word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether the specified region is a {@code FloatingPointLiteral}
+     * with optional leading and trailing white space, as specified in
+     * {@link JavaDoubleParser}.
+     *
+     * @param str    the string
+     * @param offset the start of the region
+     * @param length the length of the region
+     * @return true if {@link JavaDoubleParser} can parse the region
+     * @throws IllegalArgumentException if offset or length are illegal
+     */
+    static boolean isJavaFloatingPointLiteral(char[] str, int offset, int length) {
+        final int endIndex = checkBounds(str.length, offset, length, AbstractFloatValueParser.MAX_INPUT_LENGTH);
+
+        // Skip leading whitespace and parse optional sign
+        // -----------------------------------------------
+        int index = skipWhitespace(str, offset, endIndex);
+        if (index == endIndex) {
+            return false;
+        }
+        char ch = str[index];
+        if (ch == '-' || ch == '+') {
+            ch = charAt(str, ++index, endIndex);
+            if (ch == 0) {
+                return false;
+            }
+        }
+
+        // Check NaN, Infinity or hexadecimal literal
+        // ------------------------------------------
+        if (ch >= 'I') {
+            String word = ch == 'N' ? "NaN" : "Infinity";
+            return regionMatches(str, index, endIndex, word)
+                    && skipWhitespace(str, index + word.length(), endIndex) == endIndex;
+        }
+        final boolean hasLeadingZero = ch == '0';
+        if (hasLeadingZero) {
+            ch = charAt(str, ++index, endIndex);
+            if ((ch | 0x20) == 'x') {
+                return isRestOfHexFloatingPointLiteral(str, index + 1, endIndex);
+            }
+        }
+
+        // Check decimal literal
+        // ---------------------
+        int digitCount = index;
+        index = skipDigits(str, index, endIndex);
+        if (charAt(str, index, endIndex) == '.') {
+            digitCount++;
+            index = skipDigits(str, index + 1, endIndex);
+            if (charAt(str, index, endIndex) == '.') {
+                return false;
+            }
+        }
+        digitCount = index - digitCount;
+        index = skipExponent(str, index, endIndex, 'e');
+        if (index < 0) {
+            return false;
+        }
+        index = skipFloatTypeSuffix(str, index, endIndex);
+        return skipWhitespace(str, index, endIndex) == endIndex
+                && (hasLeadingZero || digitCount > 0);
+    }
+
+    private static boolean isRestOfHexFloatingPointLiteral(char[] str, int index, int endIndex) {
+        final int significandStartIndex = index;
+        boolean hasPoint = false;
+        for (; index < endIndex; index++) {
+            int hexValue = lookupHex(str[index]);
+            if (hexValue == DECIMAL_POINT_CLASS) {
+                if (hasPoint) {
+                    return false;
+                }
+                hasPoint = true;
+            } else if (hexValue < 0) {
+                break;
+            }
+        }
+        final int digitCount = index - significandStartIndex - (hasPoint ? 1 : 0);
+        if (charAt(str, index, endIndex) != 'p' && charAt(str, index, endIndex) != 'P') {
+            return false;
+        }
+        index = skipExponent(str, index, endIndex, 'p');
+        if (index < 0) {
+            return false;
+        }
+        index = skipFloatTypeSuffix(str, index, endIndex);
+        return skipWhitespace(str, index, endIndex) == endIndex
+                && digitCount > 0;
+    }
+
+    /**
+     * Checks whether the specified region is a JSON {@code number}, as
+     * specified in {@link JsonDoubleParser}.
+     *
+     * @param str    the string
+     * @param offset the start of the region
+     * @param length the length of the region
+     * @return true if {@link JsonDoubleParser} can parse the region
+     * @throws IllegalArgumentException if offset or length are illegal
+     */
+    static boolean isJsonNumber(char[] str, int offset, int length) {
+        final int endIndex = checkBounds(str.length, offset, length, AbstractFloatValueParser.MAX_INPUT_LENGTH);
+        int index = offset;
+        char ch = charAt(str, index, endIndex);
+        if (ch == '-') {
+            ch = charAt(str, ++index, endIndex);
+            if (ch == 0) {
+                return false;
+            }
+        }
+        final boolean hasLeadingZero = ch == '0';
+        if (hasLeadingZero) {
+            ch = charAt(str, ++index, endIndex);
+            if (ch == '0') {
+                return false;
+            }
+        }
+        int digitCount = index;
+        index = skipDigits(str, index, endIndex);
+        if (charAt(str, index, endIndex) == '.') {
+            digitCount++;
+            index = skipDigits(str, index + 1, endIndex);
+            if (charAt(str, index, endIndex) == '.') {
+                return false;
+            }
+        }
+        digitCount = index - digitCount;
+        index = skipExponent(str, index, endIndex, 'e');
+        return index == endIndex
+                && (hasLeadingZero || digitCount > 0);
+    }
+
+    /**
+     * Checks whether the specified region is a {@code BigDecimalString},
+     * as specified in {@link JavaBigDecimalParser}, and whether its value
+     * is within the limits of {@link java.math.BigDecimal}.
+     *
+     * @param str    the string
+     * @param offset the start of the region
+     * @param length the length of the region
+     * @return true if {@link JavaBigDecimalParser} can parse the region
+     * @throws IllegalArgumentException if offset or length are illegal
+     */
+    static boolean isBigDecimalString(char[] str, int offset, int length) {
+        final int endIndex = checkBounds(str.length, offset, length, Integer.MAX_VALUE);
+        if (length > JavaBigDecimalFromByteArray.MAX_INPUT_LENGTH) {
+            return false;
+        }
+        int index = offset;
+        char ch = charAt(str, index, endIndex);
+        if (ch == '-' || ch == '+') {
+            ch = charAt(str, ++index, endIndex);
+            if (ch == 0) {
+                return false;
+            }
+        }
+
+        // Skip significand, count the digits without leading zeroes
+        // ---------------------------------------------------------
+        final int significandStartIndex = index;
+        while (index < endIndex && str[index] == '0') {
+            index++;
+        }
+        final int nonZeroIndex = index;
+        index = skipDigits(str, index, endIndex);
+        int digitCount = index - nonZeroIndex;
+        long exponent = 0;
+        if (charAt(str, index, endIndex) == '.') {
+            final int fractionPartIndex = ++index;
+            if (digitCount == 0) {
+                while (index < endIndex && str[index] == '0') {
+                    index++;
+                }
+            }
+            final int nonZeroFractionPartIndex = index;
+            index = skipDigits(str, index, endIndex);
+            digitCount += index - nonZeroFractionPartIndex;
+            exponent = fractionPartIndex - index;
+        }
+        final int significandLength = index - significandStartIndex;
+        if (significandLength == 0 || significandLength == 1 && str[significandStartIndex] == '.') {
+            return false;
+        }
+
+        // Skip exponent, compute its value
+        // --------------------------------
+        if ((charAt(str, index, endIndex) | 0x20) == 'e') {
+            ch = charAt(str, ++index, endIndex);
+            final boolean isExponentNegative = ch == '-';
+            if (isExponentNegative || ch == '+') {
+                ch = charAt(str, ++index, endIndex);
+            }
+            long expNumber = 0;
+            if (!FastDoubleSwar.isDigit(ch)) {
+                return false;
+            }
+            do {
+                if (expNumber < Integer.MAX_VALUE) {
+                    expNumber = 10 * expNumber + ch - '0';
+                }
+                ch = charAt(str, ++index, endIndex);
+            } while (FastDoubleSwar.isDigit(ch));
+            exponent += isExponentNegative ? -expNumber : expNumber;
+        }
+        return index == endIndex
+                && digitCount <= JavaBigDecimalFromByteArray.MAX_DIGIT_COUNT
+                && exponent <= Integer.MAX_VALUE
+                && (exponent > Integer.MIN_VALUE
+                || exponent == Integer.MIN_VALUE && length >= JavaBigDecimalFromByteArray.MANY_DIGITS_THRESHOLD);
+    }
+
+    /**
+     * Skips digits, eight at a time.
+     */
+    private static int skipDigits(char[] str, int index, int endIndex) {
+        while (index < endIndex - 7 && FastDoubleSwar.isEightDigits(str, index)) {
+            index += 8;
+        }
+        while (index < endIndex && FastDoubleSwar.isDigit(str[index])) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Skips an optional exponent.
+     *
+     * @param indicator the lower case exponent indicator
+     * @return the index after the exponent, or -1 if the exponent is illegal
+     */
+    private static int skipExponent(char[] str, int index, int endIndex, char indicator) {
+        char ch = charAt(str, index, endIndex);
+        if ((ch | 0x20) != indicator) {
+            return index;
+        }
+        ch = charAt(str, ++index, endIndex);
+        if (ch == '-' || ch == '+') {
+            ch = charAt(str, ++index, endIndex);
+        }
+        if (!FastDoubleSwar.isDigit(ch)) {
+            return -1;
+        }
+        return skipDigits(str, index, endIndex);
+    }
+
+    private static int skipFloatTypeSuffix(char[] str, int index, int endIndex) {
+        char ch = charAt(str, index, endIndex);
+        return ch == 'd' | ch == 'D' | ch == 'f' | ch == 'F' ? index + 1 : index;
+    }
+
+    private static int skipWhitespace(char[] str, int index, int endIndex) {
+        while (index < endIndex && str[index] <= ' ') {
+            index++;
+        }
+        return index;
+    }
+
+    private static boolean regionMatches(char[] str, int index, int endIndex, String word) {
+        if (endIndex - index < word.length()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (str[index + i] != word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks like {@link #isJavaFloatingPointLiteral(char[], int, int)}.
+     * <p>
+     * A short region is copied into the thread-local {@code char} array.
+     * A longer region is checked in place, because copying it would
+     * allocate an array as long as the region.
+     */
+    static boolean isJavaFloatingPointLiteral(CharSequence str, int offset, int length) {
+        char[] chars = ThreadLocalCharArray.copyOf(str, offset, length);
+        if (chars != null) {
+            return isJavaFloatingPointLiteral(chars, 0, length);
+        }
+        final int endIndex = checkBounds(str.length(), offset, length, AbstractFloatValueParser.MAX_INPUT_LENGTH);
+
+        // Skip leading whitespace and parse optional sign
+        // -----------------------------------------------
+        int index = skipWhitespace(str, offset, endIndex);
+        if (index == endIndex) {
+            return false;
+        }
+        char ch = str.charAt(index);
+        if (ch == '-' || ch == '+') {
+            ch = charAt(str, ++index, endIndex);
+            if (ch == 0) {
+                return false;
+            }
+        }
+
+        // Check NaN, Infinity or hexadecimal literal
+        // ------------------------------------------
+        if (ch >= 'I') {
+            String word = ch == 'N' ? "NaN" : "Infinity";
+            return regionMatches(str, index, endIndex, word)
+                    && skipWhitespace(str, index + word.length(), endIndex) == endIndex;
+        }
+        final boolean hasLeadingZero = ch == '0';
+        if (hasLeadingZero) {
+            ch = charAt(str, ++index, endIndex);
+            if ((ch | 0x20) == 'x') {
+                return isRestOfHexFloatingPointLiteral(str, index + 1, endIndex);
+            }
+        }
+
+        // Check decimal literal
+        // ---------------------
+        int digitCount = index;
+        index = skipDigits(str, index, endIndex);
+        if (charAt(str, index, endIndex) == '.') {
+            digitCount++;
+            index = skipDigits(str, index + 1, endIndex);
+            if (charAt(str, index, endIndex) == '.') {
+                return false;
+            }
+        }
+        digitCount = index - digitCount;
+        index = skipExponent(str, index, endIndex, 'e');
+        if (index < 0) {
+            return false;
+        }
+        index = skipFloatTypeSuffix(str, index, endIndex);
+        return skipWhitespace(str, index, endIndex) == endIndex
+                && (hasLeadingZero || digitCount > 0);
+    }
+
+    private static boolean isRestOfHexFloatingPointLiteral(CharSequence str, int index, int endIndex) {
+        final int significandStartIndex = index;
+        boolean hasPoint = false;
+        for (; index < endIndex; index++) {
+            int hexValue = lookupHex(str.charAt(index));
+            if (hexValue == DECIMAL_POINT_CLASS) {
+                if (hasPoint) {
+                    return false;
+                }
+                hasPoint = true;
+            } else if (hexValue < 0) {
+                break;
+            }
+        }
+        final int digitCount = index - significandStartIndex - (hasPoint ? 1 : 0);
+        if (charAt(str, index, endIndex) != 'p' && charAt(str, index, endIndex) != 'P') {
+            return false;
+        }
+        index = skipExponent(str, index, endIndex, 'p');
+        if (index < 0) {
+            return false;
+        }
+        index = skipFloatTypeSuffix(str, index, endIndex);
+        return skipWhitespace(str, index, endIndex) == endIndex
+                && digitCount > 0;
+    }
+
+    /**
+     * Checks like {@link #isJsonNumber(char[], int, int)}.
+     * <p>
+     * A short region is copied into the thread-local {@code char} array,
+     * a longer region is checked in place.
+     */
+    static boolean isJsonNumber(CharSequence str, int offset, int length) {
+        char[] chars = ThreadLocalCharArray.copyOf(str, offset, length);
+        if (chars != null) {
+            return isJsonNumber(chars, 0, length);
+        }
+        final int endIndex = checkBounds(str.length(), offset, length, AbstractFloatValueParser.MAX_INPUT_LENGTH);
+        int index = offset;
+        char ch = charAt(str, index, endIndex);
+        if (ch == '-') {
+            ch = charAt(str, ++index, endIndex);
+            if (ch == 0) {
+                return false;
+            }
+        }
+        final boolean hasLeadingZero = ch == '0';
+        if (hasLeadingZero) {
+            ch = charAt(str, ++index, endIndex);
+            if (ch == '0') {
+                return false;
+            }
+        }
+        int digitCount = index;
+        index = skipDigits(str, index, endIndex);
+        if (charAt(str, index, endIndex) == '.') {
+            digitCount++;
+            index = skipDigits(str, index + 1, endIndex);
+            if (charAt(str, index, endIndex) == '.') {
+                return false;
+            }
+        }
+        digitCount = index - digitCount;
+        index = skipExponent(str, index, endIndex, 'e');
+        return index == endIndex
+                && (hasLeadingZero || digitCount > 0);
+    }
+
+    /**
+     * Checks like {@link #isBigDecimalString(char[], int, int)}.
+     * <p>
+     * A short region is copied into the thread-local {@code char} array,
+     * a longer region is checked in place.
+     */
+    static boolean isBigDecimalString(CharSequence str, int offset, int length) {
+        char[] chars = ThreadLocalCharArray.copyOf(str, offset, length);
+        if (chars != null) {
+            return isBigDecimalString(chars, 0, length);
+        }
+        final int endIndex = checkBounds(str.length(), offset, length, Integer.MAX_VALUE);
+        if (length > JavaBigDecimalFromByteArray.MAX_INPUT_LENGTH) {
+            return false;
+        }
+        int index = offset;
+        char ch = charAt(str, index, endIndex);
+        if (ch == '-' || ch == '+') {
+            ch = charAt(str, ++index, endIndex);
+            if (ch == 0) {
+                return false;
+            }
+        }
+
+        // Skip significand, count the digits without leading zeroes
+        // ---------------------------------------------------------
+        final int significandStartIndex = index;
+        while (index < endIndex && str.charAt(index) == '0') {
+            index++;
+        }
+        final int nonZeroIndex = index;
+        index = skipDigits(str, index, endIndex);
+        int digitCount = index - nonZeroIndex;
+        long exponent = 0;
+        if (charAt(str, index, endIndex) == '.') {
+            final int fractionPartIndex = ++index;
+            if (digitCount == 0) {
+                while (index < endIndex && str.charAt(index) == '0') {
+                    index++;
+                }
+            }
+            final int nonZeroFractionPartIndex = index;
+            index = skipDigits(str, index, endIndex);
+            digitCount += index - nonZeroFractionPartIndex;
+            exponent = fractionPartIndex - index;
+        }
+        final int significandLength = index - significandStartIndex;
+        if (significandLength == 0 || significandLength == 1 && str.charAt(significandStartIndex) == '.') {
+            return false;
+        }
+
+        // Skip exponent, compute its value
+        // --------------------------------
+        if ((charAt(str, index, endIndex) | 0x20) == 'e') {
+            ch = charAt(str, ++index, endIndex);
+            final boolean isExponentNegative = ch == '-';
+            if (isExponentNegative || ch == '+') {
+                ch = charAt(str, ++index, endIndex);
+            }
+            long expNumber = 0;
+            if (!FastDoubleSwar.isDigit(ch)) {
+                return false;
+            }
+            do {
+                if (expNumber < Integer.MAX_VALUE) {
+                    expNumber = 10 * expNumber + ch - '0';
+                }
+                ch = charAt(str, ++index, endIndex);
+            } while (FastDoubleSwar.isDigit(ch));
+            exponent += isExponentNegative ? -expNumber : expNumber;
+        }
+        return index == endIndex
+                && digitCount <= JavaBigDecimalFromByteArray.MAX_DIGIT_COUNT
+                && exponent <= Integer.MAX_VALUE
+                && (exponent > Integer.MIN_VALUE
+                || exponent == Integer.MIN_VALUE && length >= JavaBigDecimalFromByteArray.MANY_DIGITS_THRESHOLD);
+    }
+
+    private static int skipDigits(CharSequence str, int index, int endIndex) {
+        while (index < endIndex && FastDoubleSwar.isDigit(str.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Skips an optional exponent.
+     *
+     * @param indicator the lower case exponent indicator
+     * @return the index after the exponent, or -1 if the exponent is illegal
+     */
+    private static int skipExponent(CharSequence str, int index, int endIndex, char indicator) {
+        char ch = charAt(str, index, endIndex);
+        if ((ch | 0x20) != indicator) {
+            return index;
+        }
+        ch = charAt(str, ++index, endIndex);
+        if (ch == '-' || ch == '+') {
+            ch = charAt(str, ++index, endIndex);
+        }
+        if (!FastDoubleSwar.isDigit(ch)) {
+            return -1;
+        }
+        return skipDigits(str, index, endIndex);
+    }
+
+    private static int skipFloatTypeSuffix(CharSequence str, int index, int endIndex) {
+        char ch = charAt(str, index, endIndex);
+        return ch == 'd' | ch == 'D' | ch == 'f' | ch == 'F' ? index + 1 : index;
+    }
+
+    private static int skipWhitespace(CharSequence str, int index, int endIndex) {
+        while (index < endIndex && str.charAt(index) <= ' ') {
+            index++;
+        }
+        return index;
+    }
+
+    private static boolean regionMatches(CharSequence str, int index, int endIndex, String word) {
+        if (endIndex - index < word.length()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (str.charAt(index + i) != word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * @(#)OffHeapArena.java
+ * Copyright © 2023 Werner Randelshofer, Switzerland. MIT License.
+ */
+package ch.randelshofer.fastdoubleparser;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Allocates {@code double} buffers outside the Java heap, and frees them
+ * all at once when the arena is closed.
+ * <p>
+ * {@link FftMultiplier} uses an arena for the working vectors of a single
+ * multiplication, if the vectors are larger than the threshold
+ * {@value ThresholdCalibrator#OFF_HEAP_THRESHOLD_PROPERTY}. This keeps
+ * huge, short-lived arrays out of the heap, where they would be allocated
+ * as humongous objects, and where they could trigger full garbage
+ * collections.
+ * <p>
+ * The memory of a direct buffer is normally freed when the garbage collector
+ * finds that the buffer is unreachable. This class frees the memory
+ * explicitly with the cleaner of the buffer. The cleaner is not part of
+ * the public API: if it can not be accessed, the memory is left to the
+ * garbage collector.
+ * <p>
+ * The buffers must not be accessed after the arena has been closed.
+ * <p>
+ * Instances of this class are not thread-safe.
+ */
+final class OffHeapArena implements AutoCloseable {
+    /**
+     * The largest number of {@code double}s in a buffer.
+     * <p>
+     * The capacity of a {@link ByteBuffer} is an {@code int}.
+     */
+    static final int MAX_BUFFER_LENGTH = Integer.MAX_VALUE / Double.BYTES;
+
+    /**
+     * Frees the memory of a direct buffer, or does nothing if the cleaner
+     * of direct buffers can not be accessed.
+     */
+    private static final BufferCleaner CLEANER = createCleaner();
+
+    private final List<ByteBuffer> buffers = new ArrayList<>();
+
+    /**
+     * Creates a new arena.
+     */
+    OffHeapArena() {
+    }
+
+    /**
+     * Allocates a buffer outside the Java heap.
+     *
+     * @param length the number of {@code double}s
+     * @return a buffer in native byte order, with all elements set to 0,
+     * or null if length is larger than {@link #MAX_BUFFER_LENGTH}
+     */
+    DoubleBuffer allocate(int length) {
+        if (length > MAX_BUFFER_LENGTH) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(length * Double.BYTES).order(ByteOrder.nativeOrder());
+        buffers.add(buffer);
+        return buffer.asDoubleBuffer();
+    }
+
+    /**
+     * Frees all buffers that have been allocated by this arena.
+     */
+    @Override
+    public void close() {
+        for (ByteBuffer buffer : buffers) {
+            CLEANER.clean(buffer);
+        }
+        buffers.clear();
+    }
+
+    /**
+     * Frees the memory of a direct buffer.
+     */
+    private interface BufferCleaner {
+        void clean(ByteBuffer buffer);
+    }
+
+    private static BufferCleaner createCleaner() {
+        try {
+            // Java 9 and later: sun.misc.Unsafe.invokeCleaner(ByteBuffer)
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            final Object unsafe = theUnsafe.get(null);
+            final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            return new BufferCleaner() {
+                @Override
+                public void clean(ByteBuffer buffer) {
+                    try {
+                        invokeCleaner.invoke(unsafe, buffer);
+                    } catch (ReflectiveOperationException | RuntimeException e) {
+                        // leave the buffer to the garbage collector
+                    }
+                }
+            };
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // fall through
+        }
+        try {
+            // Java 8: ((sun.nio.ch.DirectBuffer) buffer).cleaner().clean()
+            Class<?> directBufferClass = Class.forName("sun.nio.ch.DirectBuffer");
+            final Method cleaner = directBufferClass.getMethod("cleaner");
+            final Method clean = cleaner.getReturnType().getMethod("clean");
+            return new BufferCleaner() {
+                @Override
+                public void clean(ByteBuffer buffer) {
+                    try {
+                        Object c = cleaner.invoke(buffer);
+                        if (c != null) {
+                            clean.invoke(c);
+                        }
+                    } catch (ReflectiveOperationException | RuntimeException e) {
+                        // leave the buffer to the garbage collector
+                    }
+                }
+            };
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // fall through
+        }
+        return new BufferCleaner() {
+            @Override
+            public void clean(ByteBuffer buffer) {
+                // leave the buffer to the garbage collector
+            }
+        };
+    }
+}
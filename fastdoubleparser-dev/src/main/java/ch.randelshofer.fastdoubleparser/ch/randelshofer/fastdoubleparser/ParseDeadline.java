@@ -0,0 +1,35 @@
+/*
+ * @(#)ParseDeadline.java
+ * Copyright © 2023 Werner Randelshofer, Switzerland. MIT License.
+ */
+package ch.randelshofer.fastdoubleparser;
+
+/**
+ * The time budget of a single parse, see {@link ParseLimits#withTimeBudget}.
+ * <p>
+ * The parse methods pass {@code null} instead of an instance of this
+ * class, if there is no time budget.
+ * <p>
+ * This class is not final, so that tests can make a deadline expire at a
+ * specific check.
+ */
+class ParseDeadline {
+    private final long startNanos;
+    private final long budgetNanos;
+
+    ParseDeadline(long startNanos, long budgetNanos) {
+        this.startNanos = startNanos;
+        this.budgetNanos = budgetNanos;
+    }
+
+    /**
+     * Checks whether the time budget has been used up.
+     *
+     * @throws ParseLimitExceededException if the time budget has been used up
+     */
+    void check() {
+        if (System.nanoTime() - startNanos > budgetNanos) {
+            throw new ParseLimitExceededException(ParseLimitExceededException.Limit.TIME_BUDGET);
+        }
+    }
+}
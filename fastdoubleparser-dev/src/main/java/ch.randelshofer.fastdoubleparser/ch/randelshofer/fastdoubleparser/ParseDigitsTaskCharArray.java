@@ -8,6 +8,9 @@ import java.math.BigInteger;
 import java.util.Map;
 
 import static ch.randelshofer.fastdoubleparser.AbstractNumberParser.SYNTAX_ERROR;
+import static ch.randelshofer.fastdoubleparser.AlgorithmThresholds.FFT_THRESHOLD;
+import static ch.randelshofer.fastdoubleparser.AlgorithmThresholds.LOW_MEMORY_THRESHOLD;
+import static ch.randelshofer.fastdoubleparser.AlgorithmThresholds.RECURSION_THRESHOLD;
 import static ch.randelshofer.fastdoubleparser.FastIntegerMath.splitFloor16;
 
 /**
@@ -20,22 +23,6 @@ class ParseDigitsTaskCharArray {
     private ParseDigitsTaskCharArray() {
     }
 
-    /**
-     * Threshold on the number of digits for selecting the
-     * recursive algorithm instead of the iterative algorithm.
-     * <p>
-     * Set this to {@link Integer#MAX_VALUE} if you only want to use the
-     * iterative algorithm.
-     * <p>
-     * Set this to {@code 0} if you only want to use the recursive algorithm.
-     * <p>
-     * Rationale for choosing a specific threshold value:
-     * The iterative algorithm has a smaller constant overhead than the
-     * recursive algorithm. We speculate that we break even somewhere at twice
-     * the threshold value.
-     */
-    static final int RECURSION_THRESHOLD = 400;
-
 
     /**
      * Parses digits in quadratic time O(N<sup>2</sup>).
@@ -67,6 +54,19 @@ class ParseDigitsTaskCharArray {
      * in the frequencey domain.
      */
     static BigInteger parseDigitsRecursive(char[] str, int from, int to, Map<Integer, BigInteger> powersOfTen) {
+        return parseDigitsRecursive(str, from, to, powersOfTen, null);
+    }
+
+    /**
+     * Parses digits like {@link #parseDigitsRecursive(char[], int, int, Map)}, and checks
+     * the deadline between the steps of the recursion, and before each
+     * multiplication with a power of ten.
+     *
+     * @throws ParseLimitExceededException if the deadline is not null, and the
+     *                                     time budget has been used up
+     */
+    static BigInteger parseDigitsRecursive(char[] str, int from, int to, Map<Integer, BigInteger> powersOfTen,
+                                           ParseDeadline deadline) {
         int numDigits = to - from;
 
         // Base case: Short sequences can be parsed iteratively.
@@ -74,12 +74,84 @@ class ParseDigitsTaskCharArray {
             return parseDigitsIterative(str, from, to);
         }
 
+        // The power of ten of a recursion level is multiplied with the high parts of all
+        // sequences at this level. If the multiplications at the second level and below
+        // use an FFT, we cache the transforms of the powers of ten, and we keep the
+        // intermediate results as magnitudes in the byte order of the FFT. This saves
+        // the conversions from and to BigIntegers at each level.
+        if (FastIntegerMath.estimateNumBits(numDigits) <= 4L * FFT_THRESHOLD
+                || LOW_MEMORY_THRESHOLD != Integer.MAX_VALUE) {
+            return parseDigitsRecursive(str, from, to, powersOfTen, null, deadline);
+        }
+        FftMultiplier.TransformCache cache = new FftMultiplier.TransformCache();
+
         // Recursion case: Split large sequences up into two parts. The lower part is a multiple of 16 digits.
+        // The power of ten of the top level is only used once, we do not cache its transform.
+        int mid = splitFloor16(from, to);
+        byte[] high = parseDigitsRecursiveMagnitude(str, from, mid, powersOfTen, cache, deadline);
+        if (deadline != null) {
+            deadline.check();
+        }
+        high = FftMultiplier.multiply(high, powersOfTen.get(to - mid), null);
+        byte[] low = parseDigitsRecursiveMagnitude(str, mid, to, powersOfTen, cache, deadline);
+        return new BigInteger(1, FftMultiplier.add(low, high));
+    }
+
+    /**
+     * Parses digits into a magnitude in big-endian byte order.
+     * The magnitude may have leading zero bytes.
+     */
+    private static byte[] parseDigitsRecursiveMagnitude(char[] str, int from, int to, Map<Integer, BigInteger> powersOfTen,
+                                                        FftMultiplier.TransformCache cache, ParseDeadline deadline) {
+        int numDigits = to - from;
+
+        // Base case: Short sequences can be parsed into a BigInteger.
+        if (numDigits <= RECURSION_THRESHOLD) {
+            return parseDigitsIterative(str, from, to).toByteArray();
+        }
+
+        // Base case: Sequences that are multiplied without an FFT are parsed into a BigInteger.
         int mid = splitFloor16(from, to);
-        BigInteger high = parseDigitsRecursive(str, from, mid, powersOfTen);
-        BigInteger low = parseDigitsRecursive(str, mid, to, powersOfTen);
+        BigInteger pow = powersOfTen.get(to - mid);
+        if (pow.bitLength() <= FFT_THRESHOLD) {
+            return parseDigitsRecursive(str, from, to, powersOfTen, cache, deadline).toByteArray();
+        }
+
+        // Recursion case: Split large sequences up into two parts. The lower part is a multiple of 16 digits.
+        if (deadline != null) {
+            deadline.check();
+        }
+        byte[] high = parseDigitsRecursiveMagnitude(str, from, mid, powersOfTen, cache, deadline);
+        if (deadline != null) {
+            deadline.check();
+        }
+        high = FftMultiplier.multiply(high, pow, cache);
+        byte[] low = parseDigitsRecursiveMagnitude(str, mid, to, powersOfTen, cache, deadline);
+        return FftMultiplier.add(low, high);
+    }
+
+    private static BigInteger parseDigitsRecursive(char[] str, int from, int to, Map<Integer, BigInteger> powersOfTen,
+                                                   FftMultiplier.TransformCache cache, ParseDeadline deadline) {
+        int numDigits = to - from;
+
+        // Base case: Short sequences can be parsed iteratively.
+        if (numDigits <= RECURSION_THRESHOLD) {
+            return parseDigitsIterative(str, from, to);
+        }
 
-        high = FftMultiplier.multiply(high, powersOfTen.get(to - mid));
+        // Recursion case: Split large sequences up into two parts. The lower part is a multiple of 16 digits.
+        if (deadline != null) {
+            deadline.check();
+        }
+        int mid = splitFloor16(from, to);
+        // The high part is multiplied before the low part is parsed, so that the low part
+        // does not occupy memory during the multiplication.
+        BigInteger high = parseDigitsRecursive(str, from, mid, powersOfTen, cache, deadline);
+        if (deadline != null) {
+            deadline.check();
+        }
+        high = FftMultiplier.multiply(high, powersOfTen.get(to - mid), cache);
+        BigInteger low = parseDigitsRecursive(str, mid, to, powersOfTen, cache, deadline);
         return low.add(high);
     }
 }
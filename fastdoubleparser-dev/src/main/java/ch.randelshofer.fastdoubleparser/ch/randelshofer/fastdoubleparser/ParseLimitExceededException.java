@@ -0,0 +1,58 @@
+/*
+ * @(#)ParseLimitExceededException.java
+ * Copyright © 2023 Werner Randelshofer, Switzerland. MIT License.
+ */
+package ch.randelshofer.fastdoubleparser;
+
+/**
+ * Thrown when a parse method stops early, because the input exceeds
+ * one of the {@link ParseLimits}.
+ * <p>
+ * The input may be syntactically correct. Callers that handle untrusted
+ * input can catch this exception separately from other
+ * {@link NumberFormatException}s.
+ */
+public class ParseLimitExceededException extends NumberFormatException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Specifies which limit has been exceeded.
+     */
+    public enum Limit {
+        /**
+         * The significand has more digits than {@link ParseLimits#withMaxDigits}.
+         */
+        MAX_DIGITS,
+        /**
+         * The absolute value of the exponent is larger than
+         * {@link ParseLimits#withMaxExponent}.
+         */
+        MAX_EXPONENT,
+        /**
+         * The parse method has used up the time budget that is specified
+         * with {@link ParseLimits#withTimeBudget}.
+         */
+        TIME_BUDGET
+    }
+
+    private final Limit limit;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param limit the limit that has been exceeded
+     */
+    public ParseLimitExceededException(Limit limit) {
+        super("parse limit exceeded: " + limit);
+        this.limit = limit;
+    }
+
+    /**
+     * Returns the limit that has been exceeded.
+     *
+     * @return the limit
+     */
+    public Limit getLimit() {
+        return limit;
+    }
+}
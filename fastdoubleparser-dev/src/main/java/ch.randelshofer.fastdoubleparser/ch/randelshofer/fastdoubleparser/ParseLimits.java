@@ -0,0 +1,135 @@
+/*
+ * @(#)ParseLimits.java
+ * Copyright © 2023 Werner Randelshofer, Switzerland. MIT License.
+ */
+package ch.randelshofer.fastdoubleparser;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Specifies limits for parsing {@link java.math.BigDecimal} and
+ * {@link java.math.BigInteger} values from untrusted input.
+ * <p>
+ * The time for parsing a number grows faster than linear with the number
+ * of digits, and a {@link java.math.BigDecimal} with a huge exponent can be
+ * expensive to process after it has been parsed. The parse methods that
+ * take a {@code ParseLimits} argument, for example
+ * {@link JavaBigDecimalParser#parseBigDecimal(CharSequence, int, int, ParseLimits)},
+ * throw a {@link ParseLimitExceededException} when the input exceeds one of
+ * the limits:
+ * <dl>
+ *     <dt>maximal number of digits</dt><dd>The digits of the significand,
+ *     including leading zeroes, are counted before the conversion of the
+ *     digits begins.</dd>
+ *     <dt>maximal exponent</dt><dd>The absolute value of the exponent of the
+ *     parsed {@link java.math.BigDecimal}, this is the negated
+ *     {@linkplain java.math.BigDecimal#scale() scale}. The exponent is
+ *     checked before the conversion of the digits begins.</dd>
+ *     <dt>time budget</dt><dd>The elapsed time since the parse method has
+ *     started. The time budget is only checked while the digits of numbers
+ *     with many digits are converted, between the steps of the recursive
+ *     algorithm. A parse method may therefore exceed its time budget by
+ *     the duration of one step.</dd>
+ * </dl>
+ * <p>
+ * Instances of this class are immutable.
+ */
+public final class ParseLimits {
+    /**
+     * Does not limit the input, other than by the limits of
+     * {@link java.math.BigDecimal} and {@link java.math.BigInteger}.
+     */
+    public static final ParseLimits UNLIMITED = new ParseLimits(Integer.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE);
+
+    private final int maxDigits;
+    private final long maxExponent;
+    private final long timeBudgetNanos;
+
+    private ParseLimits(int maxDigits, long maxExponent, long timeBudgetNanos) {
+        this.maxDigits = maxDigits;
+        this.maxExponent = maxExponent;
+        this.timeBudgetNanos = timeBudgetNanos;
+    }
+
+    /**
+     * Returns limits with the specified maximal number of digits.
+     *
+     * @param maxDigits the maximal number of digits
+     * @return new limits
+     * @throws IllegalArgumentException if maxDigits is less than 1
+     */
+    public ParseLimits withMaxDigits(int maxDigits) {
+        if (maxDigits < 1) {
+            throw new IllegalArgumentException("maxDigits < 1");
+        }
+        return new ParseLimits(maxDigits, maxExponent, timeBudgetNanos);
+    }
+
+    /**
+     * Returns limits with the specified maximal absolute value of the
+     * exponent.
+     *
+     * @param maxExponent the maximal absolute value of the exponent
+     * @return new limits
+     * @throws IllegalArgumentException if maxExponent is negative
+     */
+    public ParseLimits withMaxExponent(long maxExponent) {
+        if (maxExponent < 0) {
+            throw new IllegalArgumentException("maxExponent < 0");
+        }
+        return new ParseLimits(maxDigits, maxExponent, timeBudgetNanos);
+    }
+
+    /**
+     * Returns limits with the specified time budget.
+     * <p>
+     * The time is measured with {@link System#nanoTime()}, it is the elapsed
+     * time and not the CPU time of the parsing thread.
+     *
+     * @param budget the time budget
+     * @param unit   the unit of the time budget
+     * @return new limits
+     * @throws NullPointerException     if unit is null
+     * @throws IllegalArgumentException if budget is not positive
+     */
+    public ParseLimits withTimeBudget(long budget, TimeUnit unit) {
+        if (budget <= 0) {
+            throw new IllegalArgumentException("budget <= 0");
+        }
+        return new ParseLimits(maxDigits, maxExponent, unit.toNanos(budget));
+    }
+
+    /**
+     * Checks the number of digits.
+     *
+     * @param numDigits the number of digits
+     * @throws ParseLimitExceededException if there are too many digits
+     */
+    void checkDigits(long numDigits) {
+        if (numDigits > maxDigits) {
+            throw new ParseLimitExceededException(ParseLimitExceededException.Limit.MAX_DIGITS);
+        }
+    }
+
+    /**
+     * Checks the exponent.
+     *
+     * @param exponent the exponent
+     * @throws ParseLimitExceededException if the absolute value of the
+     *                                     exponent is too large
+     */
+    void checkExponent(long exponent) {
+        if (exponent > maxExponent || exponent < -maxExponent) {
+            throw new ParseLimitExceededException(ParseLimitExceededException.Limit.MAX_EXPONENT);
+        }
+    }
+
+    /**
+     * Starts the time budget.
+     *
+     * @return the deadline, or null if there is no time budget
+     */
+    ParseDeadline startDeadline() {
+        return timeBudgetNanos == Long.MAX_VALUE ? null : new ParseDeadline(System.nanoTime(), timeBudgetNanos);
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * @(#)ParserStatistics.java
+ * Copyright © 2023 Werner Randelshofer, Switzerland. MIT License.
+ */
+package ch.randelshofer.fastdoubleparser;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts how often the parsers leave their fast paths.
+ * <p>
+ * The counters are disabled by default. They can be enabled by setting the
+ * system property {@value #ENABLED_PROPERTY} to {@code true} on the
+ * command line:
+ * <pre>
+ * java -Dch.randelshofer.fastdoubleparser.statistics=true ...
+ * </pre>
+ * The property is read only once, when this class is initialized.
+ * When the counters are disabled, the JIT compiler removes all counting code
+ * from the parsers. When they are enabled, each count costs one
+ * {@link LongAdder#increment()}.
+ * <p>
+ * The counters can be read with {@link #snapshot()}. This allows to find out
+ * whether a drop in throughput is caused by a change of the shape of the
+ * input data.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class ParserStatistics {
+    /**
+     * The name of the system property that enables the counters.
+     */
+    public static final String ENABLED_PROPERTY = "ch.randelshofer.fastdoubleparser.statistics";
+
+    /**
+     * Whether counting is enabled.
+     * <p>
+     * This is a compile-time constant for the JIT compiler. Callers must check
+     * this flag before they call {@link #count(Counter)}, so that the counting
+     * code is removed when counting is disabled.
+     */
+    static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    private static final LongAdder[] COUNTERS = createCounters();
+
+    /**
+     * Identifies a counter.
+     */
+    public enum Counter {
+        /**
+         * The fast algorithm could not compute a {@code double} or
+         * {@code float} value, the parser fell back to
+         * {@link Double#parseDouble(String)} or {@link Float#parseFloat(String)}.
+         */
+        FLOAT_FALLBACK,
+        /**
+         * The significand of a floating point literal has more than
+         * 19 decimal digits or more than 16 hexadecimal digits, and had
+         * to be parsed a second time.
+         */
+        SIGNIFICAND_REPARSE,
+        /**
+         * The parser encountered a hexadecimal floating point literal.
+         */
+        HEX_FLOAT,
+        /**
+         * The parser encountered {@code NaN} or {@code Infinity}.
+         */
+        NAN_OR_INFINITY,
+        /**
+         * A {@code BigDecimal} input was longer than the threshold for
+         * parsing with many digits.
+         */
+        BIG_DECIMAL_MANY_DIGITS,
+        /**
+         * A digit sequence of a {@code BigDecimal} or {@code BigInteger}
+         * input was longer than the threshold for the recursive algorithm.
+         * For {@code BigDecimal} inputs, the integer part and the fraction
+         * part are counted separately.
+         */
+        RECURSIVE_ALGORITHM,
+        /**
+         * A multiplication of two {@code BigInteger}s was performed with
+         * the FFT algorithm.
+         */
+        FFT_MULTIPLY
+    }
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private ParserStatistics() {
+
+    }
+
+    private static LongAdder[] createCounters() {
+        LongAdder[] counters = new LongAdder[Counter.values().length];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+        return counters;
+    }
+
+    /**
+     * Increments the specified counter.
+     * <p>
+     * Callers must check {@link #ENABLED} before they call this method.
+     *
+     * @param counter the counter
+     */
+    static void count(Counter counter) {
+        COUNTERS[counter.ordinal()].increment();
+    }
+
+    /**
+     * Returns true if the counters are enabled.
+     *
+     * @return true if enabled
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Returns a snapshot of all counters.
+     * <p>
+     * The snapshot is not atomic: counts that occur while the snapshot is
+     * being taken may or may not be included.
+     *
+     * @return a new map with the current value of each counter
+     */
+    public static Map<Counter, Long> snapshot() {
+        Map<Counter, Long> map = new EnumMap<>(Counter.class);
+        for (Counter c : Counter.values()) {
+            map.put(c, COUNTERS[c.ordinal()].sum());
+        }
+        return map;
+    }
+
+    /**
+     * Resets all counters to zero.
+     */
+    public static void reset() {
+        for (LongAdder c : COUNTERS) {
+            c.reset();
+        }
+    }
+}
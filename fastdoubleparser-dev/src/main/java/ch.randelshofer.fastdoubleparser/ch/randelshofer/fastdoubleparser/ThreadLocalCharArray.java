@@ -0,0 +1,126 @@
+/*
+ * @(#)ThreadLocalCharArray.java
+ * Copyright © 2023 Werner Randelshofer, Switzerland. MIT License.
+ */
+package ch.randelshofer.fastdoubleparser;
+
+import java.nio.CharBuffer;
+
+/**
+ * Provides a thread-local {@code char} array into which short strings can
+ * be copied.
+ * <p>
+ * The parsers for {@code char} arrays process eight characters at once,
+ * whereas the parsers for {@link CharSequence}s access each character
+ * with an interface call. Copying a short {@link String} with
+ * {@link String#getChars(int, int, char[], int)} is a single intrinsic
+ * array copy. This makes parsing a {@code String} about as fast as parsing
+ * a {@code char} array, without having to rely on the JVM to inline
+ * {@link String#charAt(int)}.
+ * <p>
+ * The same holds for {@link StringBuilder}s, {@link StringBuffer}s and
+ * {@link CharBuffer}s, which are copied with their bulk methods, or from
+ * their backing array.
+ * <p>
+ * A {@link String} can not be copied into a {@code byte} array without
+ * checking each character, because {@code String.getBytes(int, int, byte[], int)}
+ * silently discards the high byte of a {@code char}.
+ */
+final class ThreadLocalCharArray {
+    /**
+     * The maximal length of a string that is copied.
+     * <p>
+     * Longer inputs are rare for {@code double} and {@code float} values.
+     * For {@code BigDecimal} values, the cost of a longer input is dominated
+     * by the {@code BigInteger} arithmetic.
+     */
+    static final int MAX_LENGTH = 64;
+
+    /**
+     * The thread-local {@code char} array.
+     * <p>
+     * This is an anonymous class instead of a lambda expression: the first
+     * lambda expression in a JVM bootstraps the lambda metafactory, which
+     * takes several milliseconds, much longer than the first call of a parser.
+     */
+    private static final ThreadLocal<char[]> BUFFER = new ThreadLocal<char[]>() {
+        @Override
+        protected char[] initialValue() {
+            return new char[MAX_LENGTH];
+        }
+    };
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private ThreadLocalCharArray() {
+
+    }
+
+    /**
+     * Copies the specified region of the string into the thread-local
+     * {@code char} array, starting at index 0.
+     *
+     * @param str    the string
+     * @param offset the start of the region
+     * @param length the length of the region
+     * @return the thread-local {@code char} array, or null if the region is
+     * longer than {@link #MAX_LENGTH}, or if the offset or the length are
+     * illegal
+     */
+    static char[] copyOf(String str, int offset, int length) {
+        if (length > MAX_LENGTH || (offset | length) < 0 || offset > str.length() - length) {
+            return null;
+        }
+        char[] buffer = BUFFER.get();
+        str.getChars(offset, offset + length, buffer, 0);
+        return buffer;
+    }
+
+    /**
+     * Copies the specified region of the character sequence into the
+     * thread-local {@code char} array, starting at index 0.
+     * <p>
+     * Only {@link String}s, {@link StringBuilder}s, {@link StringBuffer}s and
+     * {@link CharBuffer}s are copied. Other character sequences may have an
+     * expensive {@link CharSequence#charAt(int)} method, or they may not be
+     * thread-safe.
+     *
+     * @param str    the character sequence
+     * @param offset the start of the region
+     * @param length the length of the region
+     * @return the thread-local {@code char} array, or null if the character
+     * sequence is not copied, or if the region is longer than
+     * {@link #MAX_LENGTH}, or if the offset or the length are illegal
+     */
+    static char[] copyOf(CharSequence str, int offset, int length) {
+        if (str instanceof String) {
+            return copyOf((String) str, offset, length);
+        }
+        if (length > MAX_LENGTH || (offset | length) < 0 || offset > str.length() - length) {
+            return null;
+        }
+        char[] buffer;
+        if (str instanceof StringBuilder) {
+            buffer = BUFFER.get();
+            ((StringBuilder) str).getChars(offset, offset + length, buffer, 0);
+        } else if (str instanceof StringBuffer) {
+            buffer = BUFFER.get();
+            ((StringBuffer) str).getChars(offset, offset + length, buffer, 0);
+        } else if (str instanceof CharBuffer) {
+            CharBuffer cb = (CharBuffer) str;
+            buffer = BUFFER.get();
+            int from = cb.position() + offset;
+            if (cb.hasArray()) {
+                System.arraycopy(cb.array(), cb.arrayOffset() + from, buffer, 0, length);
+            } else {
+                for (int i = 0; i < length; i++) {
+                    buffer[i] = cb.get(from + i);
+                }
+            }
+        } else {
+            buffer = null;
+        }
+        return buffer;
+    }
+}
@@ -0,0 +1,500 @@
+/*
+ * @(#)ThresholdCalibrator.java
+ * Copyright © 2023 Werner Randelshofer, Switzerland. MIT License.
+ */
+package ch.randelshofer.fastdoubleparser;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * Measures the thresholds at which the {@code BigInteger} and
+ * {@code BigDecimal} parsers should switch between algorithms on the
+ * current machine.
+ * <p>
+ * The parsers use the following thresholds:
+ * <dl>
+ *     <dt>{@value #RECURSION_THRESHOLD_PROPERTY}</dt>
+ *     <dd>Number of digits above which a digit sequence is split in two
+ *     halves, instead of being parsed iteratively.</dd>
+ *
+ *     <dt>{@value #FFT_THRESHOLD_PROPERTY}</dt>
+ *     <dd>Number of bits above which a product is computed with a
+ *     floating point FFT, instead of with {@link BigInteger#multiply}.</dd>
+ *
+ *     <dt>{@value #TOOM_COOK_THRESHOLD_PROPERTY}</dt>
+ *     <dd>Number of bits that the smaller factor of a product must exceed,
+ *     so that the product is computed with a floating point FFT.</dd>
+ *
+ *     <dt>{@value #OFF_HEAP_THRESHOLD_PROPERTY}</dt>
+ *     <dd>Number of bytes of an FFT vector, at which the working vectors
+ *     of a multiplication are allocated outside the Java heap, and freed
+ *     right after the multiplication. This threshold is not calibrated.
+ *     By default, all vectors are allocated in the Java heap.</dd>
+ *
+ *     <dt>{@value #LOW_MEMORY_THRESHOLD_PROPERTY}</dt>
+ *     <dd>Number of bits of a factor, above which an FFT multiplication is
+ *     split into pieces with at most this many bits. This reduces the peak
+ *     memory usage for huge numbers, but makes their multiplication slower.
+ *     This threshold is not calibrated. By default, multiplications are
+ *     not split.</dd>
+ * </dl>
+ * The default values have been tuned on a Mac mini 2018 with an Intel
+ * i7-8700B CPU. On other machines, the crossover points can be different.
+ * <p>
+ * The thresholds are read only once, when the parsers need them for the
+ * first time. Calibrated thresholds must therefore be installed at startup
+ * of the JVM. Run the calibration once, and store the results in a
+ * properties file:
+ * <pre>
+ * java -cp fastdoubleparser.jar ch.randelshofer.fastdoubleparser.ThresholdCalibrator thresholds.properties
+ * </pre>
+ * Then install the thresholds with the following java command line option:
+ * <pre>
+ * java -Dch.randelshofer.fastdoubleparser.thresholds=thresholds.properties ...
+ * </pre>
+ * A single threshold can also be set with a system property with the name
+ * of the threshold. A system property takes precedence over the properties
+ * file.
+ * <p>
+ * The calibration takes a few seconds. It does not initialize the
+ * thresholds of the parsers, so it can be performed in the same JVM before
+ * the first {@code BigInteger} or {@code BigDecimal} is parsed, with the
+ * results being passed on as system properties. {@link #getThresholds()}
+ * does initialize the thresholds.
+ * <p>
+ * The thresholds only affect performance, the parsers produce the same
+ * results with any thresholds.
+ */
+public final class ThresholdCalibrator {
+    /**
+     * The name of the system property that specifies the path of a
+     * properties file with thresholds.
+     */
+    public static final String THRESHOLDS_FILE_PROPERTY = "ch.randelshofer.fastdoubleparser.thresholds";
+    /**
+     * The name of the threshold in bits for FFT multiplication.
+     */
+    public static final String FFT_THRESHOLD_PROPERTY = "ch.randelshofer.fastdoubleparser.fft.threshold";
+    /**
+     * The name of the threshold in bits for the smaller factor of an FFT
+     * multiplication.
+     */
+    public static final String TOOM_COOK_THRESHOLD_PROPERTY = "ch.randelshofer.fastdoubleparser.toomcook.threshold";
+    /**
+     * The name of the threshold in digits for the recursive parsing
+     * algorithm.
+     */
+    public static final String RECURSION_THRESHOLD_PROPERTY = "ch.randelshofer.fastdoubleparser.recursion.threshold";
+    /**
+     * The name of the threshold in bytes for allocating FFT vectors outside
+     * the Java heap.
+     */
+    public static final String OFF_HEAP_THRESHOLD_PROPERTY = "ch.randelshofer.fastdoubleparser.fft.offheap.threshold";
+    /**
+     * The name of the threshold in bits for splitting FFT multiplications
+     * into pieces.
+     */
+    public static final String LOW_MEMORY_THRESHOLD_PROPERTY = "ch.randelshofer.fastdoubleparser.lowmemory.threshold";
+
+    /**
+     * The default duration of a measurement round in nanoseconds.
+     */
+    private static final long DEFAULT_ROUND_NANOS = 5_000_000L;
+    /**
+     * The number of measurement rounds. The fastest round is used.
+     */
+    private static final int ROUNDS = 5;
+    /**
+     * The candidates for the recursion threshold in digits.
+     */
+    private static final int[] RECURSION_CANDIDATES = {32, 48, 64, 96, 128, 192, 256, 384, 512, 768, 1024, 1536, 2048};
+    /**
+     * The smallest and the largest candidate for the FFT threshold in bits.
+     */
+    private static final int MIN_FFT_CANDIDATE = 4096, MAX_FFT_CANDIDATE = 1 << 20;
+    /**
+     * The smallest candidate for the Toom-Cook threshold in bits.
+     */
+    private static final int MIN_TOOM_COOK_CANDIDATE = 256;
+
+    /**
+     * Prevents the JIT compiler from removing the measured computations.
+     */
+    private static volatile int sink;
+
+    /**
+     * Don't let anyone instantiate this class.
+     */
+    private ThresholdCalibrator() {
+
+    }
+
+    /**
+     * Measures the thresholds on the current machine.
+     *
+     * @return the thresholds, with the property names of this class as keys
+     */
+    public static Properties calibrate() {
+        return calibrate(DEFAULT_ROUND_NANOS);
+    }
+
+    /**
+     * Measures the thresholds on the current machine.
+     *
+     * @param roundNanos the duration of a measurement round
+     * @return the thresholds
+     */
+    static Properties calibrate(long roundNanos) {
+        Random rng = new Random(0);
+        Timer timer = new RoundTimer(roundNanos);
+        warmUp(rng, timer);
+        int recursionThreshold = findThreshold(AlgorithmThresholds.MIN_RECURSION_THRESHOLD,
+                RECURSION_CANDIDATES, new RecursionContest(rng), timer);
+        int fftThreshold = findThreshold(MIN_FFT_CANDIDATE,
+                candidates(MIN_FFT_CANDIDATE, MAX_FFT_CANDIDATE), new FftContest(rng), timer);
+        int toomCookThreshold = findThreshold(MIN_TOOM_COOK_CANDIDATE,
+                candidates(MIN_TOOM_COOK_CANDIDATE, fftThreshold), new ToomCookContest(rng, fftThreshold), timer);
+
+        Properties properties = new Properties();
+        properties.setProperty(RECURSION_THRESHOLD_PROPERTY, Integer.toString(recursionThreshold));
+        properties.setProperty(FFT_THRESHOLD_PROPERTY, Integer.toString(fftThreshold));
+        properties.setProperty(TOOM_COOK_THRESHOLD_PROPERTY, Integer.toString(toomCookThreshold));
+        return properties;
+    }
+
+    /**
+     * Returns the thresholds that are currently used by the parsers.
+     * <p>
+     * This method initializes the thresholds of the parsers, if they have
+     * not been initialized yet.
+     *
+     * @return the thresholds, with the property names of this class as keys
+     */
+    public static Properties getThresholds() {
+        Properties properties = new Properties();
+        properties.setProperty(RECURSION_THRESHOLD_PROPERTY, Integer.toString(AlgorithmThresholds.RECURSION_THRESHOLD));
+        properties.setProperty(FFT_THRESHOLD_PROPERTY, Integer.toString(AlgorithmThresholds.FFT_THRESHOLD));
+        properties.setProperty(TOOM_COOK_THRESHOLD_PROPERTY, Integer.toString(AlgorithmThresholds.TOOM_COOK_THRESHOLD));
+        properties.setProperty(OFF_HEAP_THRESHOLD_PROPERTY, Integer.toString(AlgorithmThresholds.OFF_HEAP_THRESHOLD));
+        properties.setProperty(LOW_MEMORY_THRESHOLD_PROPERTY, Integer.toString(AlgorithmThresholds.LOW_MEMORY_THRESHOLD));
+        return properties;
+    }
+
+    /**
+     * Measures the thresholds, and stores them in the specified properties
+     * file. If no file is specified, the thresholds are written to the
+     * standard output.
+     *
+     * @param args an optional file name
+     * @throws IOException if the file can not be written
+     */
+    public static void main(String... args) throws IOException {
+        Properties properties = calibrate();
+        String comment = "Thresholds for " + ThresholdCalibrator.class.getPackage().getName()
+                + " on " + System.getProperty("os.arch") + ", " + Runtime.getRuntime().availableProcessors() + " cores, "
+                + System.getProperty("java.vm.name") + " " + System.getProperty("java.version");
+        if (args.length == 0) {
+            properties.store(System.out, comment);
+        } else {
+            try (OutputStream out = Files.newOutputStream(Paths.get(args[0]))) {
+                properties.store(out, comment);
+            }
+        }
+    }
+
+    /**
+     * Lets the JIT compiler compile the measured methods before the
+     * measurements start.
+     */
+    private static void warmUp(Random rng, Timer timer) {
+        byte[] digits = randomDigits(rng, 512);
+        BigInteger a = randomBits(rng, MIN_FFT_CANDIDATE * 4);
+        BigInteger b = randomBits(rng, MIN_FFT_CANDIDATE * 4);
+        for (int i = 0; i < 10; i++) {
+            timer.nanosPerOp(new IterativeParse(digits));
+            timer.nanosPerOp(new SplitParse(digits));
+            timer.nanosPerOp(new Multiply(a, b, false));
+            timer.nanosPerOp(new Multiply(a, b, true));
+        }
+    }
+
+    /**
+     * Finds the crossover point of two algorithms.
+     * <p>
+     * The candidates are tried in ascending order. The threshold is the
+     * largest candidate for which the algorithm above the threshold is not
+     * faster. The search stops, when the algorithm above the threshold is
+     * faster for two candidates in a row. A single faster candidate is
+     * treated as noise.
+     *
+     * @param initial    the threshold, if the algorithm above the threshold
+     *                   is faster for the first two candidates
+     * @param candidates the candidates in ascending order
+     * @param contest    creates the operations for a candidate
+     * @param timer      measures the operations
+     * @return the threshold
+     */
+    static int findThreshold(int initial, int[] candidates, Contest contest, Timer timer) {
+        int threshold = initial;
+        boolean aboveWasFaster = false;
+        for (int candidate : candidates) {
+            Operation[][] ops = contest.create(candidate);
+            boolean aboveIsFaster = nanosPerOp(ops[1], timer) < nanosPerOp(ops[0], timer);
+            if (aboveIsFaster && aboveWasFaster) {
+                return threshold;
+            }
+            if (!aboveIsFaster) {
+                threshold = candidate;
+            }
+            aboveWasFaster = aboveIsFaster;
+        }
+        return threshold;
+    }
+
+    /**
+     * Returns the sum of the times of the specified operations.
+     */
+    private static double nanosPerOp(Operation[] ops, Timer timer) {
+        double sum = 0;
+        for (Operation op : ops) {
+            sum += timer.nanosPerOp(op);
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the candidates from {@code min} up to {@code max}. Each
+     * candidate is about {@code sqrt(2)} times larger than the previous
+     * one, rounded to a multiple of 64.
+     */
+    static int[] candidates(int min, int max) {
+        int count = 0;
+        for (int bits = min; bits <= max; bits = nextCandidate(bits)) {
+            count++;
+        }
+        int[] candidates = new int[count];
+        for (int i = 0, bits = min; i < count; i++, bits = nextCandidate(bits)) {
+            candidates[i] = bits;
+        }
+        return candidates;
+    }
+
+    private static int nextCandidate(int bits) {
+        return ((int) (bits * 1.4142135623730951) + 63) & ~63;
+    }
+
+    /**
+     * Returns the time of the fastest measurement round, divided by the
+     * number of operations in the round.
+     */
+    private static double nanosPerOp(Operation op, long roundNanos) {
+        double best = Double.POSITIVE_INFINITY;
+        int result = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            int count = 0;
+            long start = System.nanoTime();
+            long elapsed;
+            do {
+                result += op.run().bitLength();
+                count++;
+            } while ((elapsed = System.nanoTime() - start) < roundNanos);
+            best = Math.min(best, (double) elapsed / count);
+        }
+        sink = result;
+        return best;
+    }
+
+    private static byte[] randomDigits(Random rng, int numDigits) {
+        byte[] digits = new byte[numDigits];
+        digits[0] = (byte) ('1' + rng.nextInt(9));
+        for (int i = 1; i < numDigits; i++) {
+            digits[i] = (byte) ('0' + rng.nextInt(10));
+        }
+        return digits;
+    }
+
+    private static BigInteger randomBits(Random rng, int numBits) {
+        return new BigInteger(numBits, rng).setBit(numBits - 1);
+    }
+
+    /**
+     * A measured operation.
+     */
+    interface Operation {
+        BigInteger run();
+    }
+
+    /**
+     * Measures the time of an operation.
+     */
+    interface Timer {
+        double nanosPerOp(Operation op);
+    }
+
+    /**
+     * Creates the operations that are compared for a candidate threshold.
+     */
+    interface Contest {
+        /**
+         * Creates the operations for the specified candidate. The times of
+         * the operations of an algorithm are added up.
+         *
+         * @param candidate the candidate threshold
+         * @return the operations of the algorithm below the threshold at
+         * index 0, and of the algorithm above the threshold at index 1
+         */
+        Operation[][] create(int candidate);
+    }
+
+    /**
+     * Measures an operation in rounds of a fixed duration.
+     */
+    private static final class RoundTimer implements Timer {
+        private final long roundNanos;
+
+        RoundTimer(long roundNanos) {
+            this.roundNanos = roundNanos;
+        }
+
+        @Override
+        public double nanosPerOp(Operation op) {
+            return ThresholdCalibrator.nanosPerOp(op, roundNanos);
+        }
+    }
+
+    /**
+     * Compares parsing a digit sequence iteratively with splitting it into
+     * two halves that are parsed iteratively.
+     */
+    private static final class RecursionContest implements Contest {
+        private final Random rng;
+
+        RecursionContest(Random rng) {
+            this.rng = rng;
+        }
+
+        @Override
+        public Operation[][] create(int numDigits) {
+            byte[] digits = randomDigits(rng, numDigits);
+            return new Operation[][]{{new IterativeParse(digits)}, {new SplitParse(digits)}};
+        }
+    }
+
+    /**
+     * Compares multiplying two factors, and squaring a factor, with
+     * {@link BigInteger#multiply} and with a floating point FFT.
+     * <p>
+     * The threshold applies to both operations, and {@link BigInteger}
+     * squares a number faster than it multiplies two numbers.
+     */
+    private static final class FftContest implements Contest {
+        private final Random rng;
+
+        FftContest(Random rng) {
+            this.rng = rng;
+        }
+
+        @Override
+        public Operation[][] create(int bits) {
+            BigInteger a = randomBits(rng, bits);
+            BigInteger b = randomBits(rng, bits);
+            return new Operation[][]{
+                    {new Multiply(a, b, false), new Multiply(a, a, false)},
+                    {new Multiply(a, b, true), new Multiply(a, a, true)}};
+        }
+    }
+
+    /**
+     * Compares multiplying a smaller factor with a factor above the FFT
+     * threshold with {@link BigInteger#multiply} and with a floating point
+     * FFT.
+     */
+    private static final class ToomCookContest implements Contest {
+        private final Random rng;
+        private final BigInteger large;
+
+        ToomCookContest(Random rng, int fftThreshold) {
+            this.rng = rng;
+            this.large = randomBits(rng, fftThreshold * 2);
+        }
+
+        @Override
+        public Operation[][] create(int bits) {
+            BigInteger small = randomBits(rng, bits);
+            return new Operation[][]{{new Multiply(large, small, false)}, {new Multiply(large, small, true)}};
+        }
+    }
+
+    /**
+     * Parses a digit sequence with the iterative algorithm.
+     */
+    private static final class IterativeParse implements Operation {
+        private final byte[] digits;
+
+        IterativeParse(byte[] digits) {
+            this.digits = digits;
+        }
+
+        @Override
+        public BigInteger run() {
+            return ParseDigitsTaskByteArray.parseDigitsIterative(digits, 0, digits.length);
+        }
+    }
+
+    /**
+     * Performs one step of the recursive algorithm: splits a digit
+     * sequence in two halves, parses them with the iterative algorithm,
+     * and combines them.
+     */
+    private static final class SplitParse implements Operation {
+        private final byte[] digits;
+        private final int mid;
+        private final BigInteger powerOfTen;
+
+        SplitParse(byte[] digits) {
+            this.digits = digits;
+            this.mid = FastIntegerMath.splitFloor16(0, digits.length);
+            this.powerOfTen = BigInteger.TEN.pow(digits.length - mid);
+        }
+
+        @Override
+        public BigInteger run() {
+            BigInteger high = ParseDigitsTaskByteArray.parseDigitsIterative(digits, 0, mid);
+            BigInteger low = ParseDigitsTaskByteArray.parseDigitsIterative(digits, mid, digits.length);
+            return low.add(high.multiply(powerOfTen));
+        }
+    }
+
+    /**
+     * Multiplies two factors, or squares a factor if both factors are the
+     * same instance, with {@link BigInteger#multiply} or with a floating
+     * point FFT.
+     * <p>
+     * The FFT is called with explicit thresholds, so that the measurement
+     * does not initialize {@link AlgorithmThresholds}.
+     */
+    private static final class Multiply implements Operation {
+        private final BigInteger a, b;
+        private final boolean fft;
+
+        Multiply(BigInteger a, BigInteger b, boolean fft) {
+            this.a = a;
+            this.b = b;
+            this.fft = fft;
+        }
+
+        @Override
+        public BigInteger run() {
+            if (a == b) {
+                return fft ? FftMultiplier.squareFft(a, Integer.MAX_VALUE) : a.multiply(a);
+            }
+            return fft ? FftMultiplier.multiplyFft(a, b, Integer.MAX_VALUE) : a.multiply(b);
+        }
+    }
+}
@@ -3,6 +3,7 @@
  * and JSON {@code number}s.
  */
 module ch.randelshofer.fastdoubleparser {
-    requires jdk.incubator.vector;
+    requires static jdk.incubator.vector;
+    requires static jdk.jfr;
     exports ch.randelshofer.fastdoubleparser;
 }
\ No newline at end of file
@@ -0,0 +1,342 @@
+/*
+ * @(#)BatchParserTest.java
+ * Copyright © 2023 Werner Randelshofer, Switzerland. MIT License.
+ */
+package ch.randelshofer.fastdoubleparser;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the methods that parse many literals from a tokenized {@code byte}
+ * array.
+ */
+public class BatchParserTest {
+    /**
+     * Holds a byte array with comma-separated literals, and the offsets and
+     * lengths of the literals.
+     */
+    private static class Tokens {
+        final byte[] str;
+        final int[] offsets;
+        final int[] lengths;
+
+        Tokens(String... literals) {
+            StringBuilder buf = new StringBuilder();
+            offsets = new int[literals.length];
+            lengths = new int[literals.length];
+            for (int i = 0; i < literals.length; i++) {
+                buf.append(',');
+                offsets[i] = buf.length();
+                lengths[i] = literals[i].length();
+                buf.append(literals[i]);
+            }
+            buf.append(',');
+            str = buf.toString().getBytes(StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    @Test
+    public void testJavaParseDoubles() {
+        String[] literals = {"1", "-2.5", "0x1p4", " 3e2 ", "NaN", "1.7976931348623157e308", "4.9e-324"};
+        Tokens t = new Tokens(literals);
+        double[] out = new double[literals.length];
+        JavaDoubleParser.parseDoubles(t.str, t.offsets, t.lengths, out);
+        for (int i = 0; i < literals.length; i++) {
+            assertEquals(Double.parseDouble(literals[i]), out[i], literals[i]);
+        }
+    }
+
+    @Test
+    public void testJsonParseDoubles() {
+        String[] literals = {"0", "-0", "1.25", "-3E-2", "12345678901234567890"};
+        Tokens t = new Tokens(literals);
+        double[] out = new double[literals.length];
+        JsonDoubleParser.parseDoubles(t.str, t.offsets, t.lengths, out);
+        for (int i = 0; i < literals.length; i++) {
+            assertEquals(Double.parseDouble(literals[i]), out[i], literals[i]);
+        }
+    }
+
+    @Test
+    public void testJavaParseFloats() {
+        String[] literals = {"1", "-2.5f", "3.4028235e38", "1e-46"};
+        Tokens t = new Tokens(literals);
+        float[] out = new float[literals.length];
+        JavaFloatParser.parseFloats(t.str, t.offsets, t.lengths, out);
+        for (int i = 0; i < literals.length; i++) {
+            assertEquals(Float.parseFloat(literals[i]), out[i], literals[i]);
+        }
+    }
+
+    @Test
+    public void testParseLongs() {
+        String[] literals = {"0", "+7", "-42", "123456789012345678", "-9223372036854775808",
+                "9223372036854775807", "0000000000000000000000001", "1000000000000000000", "-1000000000000000009",
+                "9223372036854775799", "-9223372036854775799", "00009223372036854775807", "-00009223372036854775808"};
+        Tokens t = new Tokens(literals);
+        long[] out = new long[literals.length];
+        JavaBigIntegerParser.parseLongs(t.str, t.offsets, t.lengths, out);
+        for (int i = 0; i < literals.length; i++) {
+            assertEquals(Long.parseLong(literals[i]), out[i], literals[i]);
+        }
+    }
+
+    @Test
+    public void testParseLongsWithIllegalLiterals() {
+        for (String literal : new String[]{"", "-", "+", "1.0", "12a", "-+1", "9223372036854775808", "-9223372036854775809",
+                "12345678901234567a9", "123456789012345678a", "9223372036854775810", "9300000000000000000", "-9223372036854775810",
+                "92233720368547758070"}) {
+            Tokens t = new Tokens(literal);
+            NumberFormatException e = assertThrows(NumberFormatException.class,
+                    () -> JavaBigIntegerParser.parseLongs(t.str, t.offsets, t.lengths, new long[1]), literal);
+            assertEquals(literal.startsWith("922") || literal.startsWith("-922")
+                    || literal.startsWith("93") ? AbstractNumberParser.VALUE_EXCEEDS_LIMITS : AbstractNumberParser.SYNTAX_ERROR, e.getMessage(), literal);
+        }
+    }
+
+    @Test
+    public void testParseLongsRejectsHugeLiteralWithoutParsingIt() {
+        byte[] str = new byte[100_000_000];
+        Arrays.fill(str, (byte) '9');
+        NumberFormatException e = assertThrows(NumberFormatException.class,
+                () -> JavaBigIntegerParser.parseLongs(str, new int[]{0}, new int[]{str.length}, new long[1]));
+        assertEquals(AbstractNumberParser.VALUE_EXCEEDS_LIMITS, e.getMessage());
+    }
+
+    @Test
+    public void testIllegalLiteralStoresPrecedingValues() {
+        Tokens t = new Tokens("1", "2", "x", "4");
+        double[] out = new double[4];
+        assertThrows(NumberFormatException.class, () -> JavaDoubleParser.parseDoubles(t.str, t.offsets, t.lengths, out));
+        assertArrayEquals(new double[]{1, 2, 0, 0}, out);
+    }
+
+    @Test
+    public void testIllegalBoundsAreCheckedBeforeParsing() {
+        Tokens t = new Tokens("1", "2", "3");
+        t.lengths[2] = t.str.length;
+        double[] out = new double[3];
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> JavaDoubleParser.parseDoubles(t.str, t.offsets, t.lengths, out));
+        assertEquals(AbstractNumberParser.ILLEGAL_OFFSET_OR_ILLEGAL_LENGTH, e.getMessage());
+        assertArrayEquals(new double[3], out);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> JavaDoubleParser.parseDoubles(t.str, t.offsets, t.lengths, new double[2]));
+        assertThrows(IllegalArgumentException.class,
+                () -> JavaDoubleParser.parseDoubles(t.str, t.offsets, new int[2], out));
+        t.offsets[0] = -1;
+        assertThrows(IllegalArgumentException.class,
+                () -> JavaBigIntegerParser.parseLongs(t.str, t.offsets, t.lengths, new long[3]));
+    }
+
+    private static boolean isValid(long[] validity, int i) {
+        return (validity[i >>> 6] >>> i & 1) != 0;
+    }
+
+    @Test
+    public void testParseDoubleColumnMarksInvalidFields() {
+        Tokens t = new Tokens("1.5", "", "null", "x", "NaN", "-2");
+        double[] out = new double[6];
+        long[] validity = {-1L};
+        assertEquals(3, JavaDoubleParser.parseDoubleColumn(t.str, t.offsets, t.lengths, out, validity, ColumnPolicy.MARK_INVALID));
+        boolean[] expectedValid = {true, false, false, false, true, true};
+        for (int i = 0; i < expectedValid.length; i++) {
+            assertEquals(expectedValid[i], isValid(validity, i), "valid " + i);
+        }
+        assertEquals(1.5, out[0]);
+        assertTrue(Double.isNaN(out[1]));
+        assertTrue(Double.isNaN(out[4]));
+        assertEquals(-2, out[5]);
+        assertEquals(-1L << 6, validity[0] & (-1L << 6), "bits after the last field must not be changed");
+    }
+
+    @Test
+    public void testParseDoubleColumnWithDefaults() {
+        Tokens t = new Tokens("", "NaN", "1e", "3");
+        double[] out = new double[4];
+        long[] validity = new long[1];
+        ColumnPolicy policy = ColumnPolicy.MARK_INVALID
+                .withEmpty(ColumnPolicy.Action.USE_DEFAULT)
+                .withNullTokens("NaN")
+                .withDefaultDouble(-1.0);
+        assertEquals(2, JsonDoubleParser.parseDoubleColumn(t.str, t.offsets, t.lengths, out, validity, policy));
+        assertArrayEquals(new double[]{-1, -1, -1, 3}, out);
+        assertEquals(0b1001L, validity[0]);
+    }
+
+    @Test
+    public void testColumnDefaultsWithIntLiterals() {
+        Tokens t = new Tokens("x", "2");
+        ColumnPolicy policy = ColumnPolicy.MARK_INVALID.withDefaultDouble(-1).withDefaultLong(-2);
+        double[] doubles = new double[2];
+        JavaDoubleParser.parseDoubleColumn(t.str, t.offsets, t.lengths, doubles, new long[1], policy);
+        assertArrayEquals(new double[]{-1, 2}, doubles);
+        float[] floats = new float[2];
+        JavaFloatParser.parseFloatColumn(t.str, t.offsets, t.lengths, floats, new long[1], policy);
+        assertArrayEquals(new float[]{-1, 2}, floats);
+        long[] longs = new long[2];
+        JavaBigIntegerParser.parseLongColumn(t.str, t.offsets, t.lengths, longs, new long[1], policy);
+        assertArrayEquals(new long[]{-2, 2}, longs);
+    }
+
+    @Test
+    public void testParseFloatColumn() {
+        Tokens t = new Tokens("2.5f", "null", "");
+        float[] out = new float[3];
+        long[] validity = new long[1];
+        assertEquals(2, JavaFloatParser.parseFloatColumn(t.str, t.offsets, t.lengths, out, validity, ColumnPolicy.MARK_INVALID));
+        assertEquals(2.5f, out[0]);
+        assertTrue(Float.isNaN(out[1]));
+        assertEquals(1L, validity[0]);
+    }
+
+    @Test
+    public void testParseLongColumnAcrossBitmapWords() {
+        String[] literals = new String[130];
+        for (int i = 0; i < literals.length; i++) {
+            literals[i] = i % 3 == 0 ? "" : Integer.toString(i);
+        }
+        Tokens t = new Tokens(literals);
+        long[] out = new long[literals.length];
+        long[] validity = new long[3];
+        assertEquals(44, JavaBigIntegerParser.parseLongColumn(t.str, t.offsets, t.lengths, out, validity,
+                ColumnPolicy.MARK_INVALID.withDefaultLong(7L)));
+        for (int i = 0; i < literals.length; i++) {
+            assertEquals(i % 3 != 0, isValid(validity, i), "valid " + i);
+            assertEquals(i % 3 == 0 ? 7 : i, out[i], "value " + i);
+        }
+    }
+
+    @Test
+    public void testParseColumnFailFast() {
+        Tokens t = new Tokens("1", "", "x", "4");
+        long[] out = new long[4];
+        long[] validity = new long[1];
+        assertThrows(NumberFormatException.class,
+                () -> JavaBigIntegerParser.parseLongColumn(t.str, t.offsets, t.lengths, out, validity, ColumnPolicy.FAIL_ON_MALFORMED));
+        assertArrayEquals(new long[]{1, 0, 0, 0}, out);
+        assertEquals(1L, validity[0]);
+
+        double[] doubles = new double[4];
+        NumberFormatException e = assertThrows(NumberFormatException.class,
+                () -> JavaDoubleParser.parseDoubleColumn(t.str, t.offsets, t.lengths, doubles, validity,
+                        ColumnPolicy.MARK_INVALID.withEmpty(ColumnPolicy.Action.FAIL)));
+        assertEquals(AbstractNumberParser.SYNTAX_ERROR, e.getMessage());
+        assertEquals(1, doubles[0]);
+    }
+
+    @Test
+    public void testTryParseAgreesWithParse() {
+        JavaDoubleBitsFromByteArray javaDoubles = new JavaDoubleBitsFromByteArray();
+        JavaFloatBitsFromByteArray javaFloats = new JavaFloatBitsFromByteArray();
+        JsonDoubleBitsFromByteArray jsonDoubles = new JsonDoubleBitsFromByteArray();
+        JavaBigIntegerFromByteArray longs = new JavaBigIntegerFromByteArray();
+        List<String> list = NumberSyntaxTest.inputs();
+        list.addAll(Arrays.asList("9223372036854775807", "9223372036854775808", "-9223372036854775808", "-9223372036854775809",
+                "+0009223372036854775807", "9223372036854775797", "9999999999999999999", "-1000000000000000000", "-", "+-1",
+                "1x3456789012345678", "1234567890123456789x", "-1.0", "0x1.fffffep127"));
+        long[] out = new long[2];
+        for (String str : list) {
+            if (str.chars().anyMatch(ch -> ch >= 0x80)) {
+                continue;
+            }
+            Tokens t = new Tokens(str);
+            int offset = t.offsets[0], length = t.lengths[0];
+            assertTryParseAgreesWithParse(str, () -> javaDoubles.parseFloatingPointLiteralUnchecked(t.str, offset, length),
+                    javaDoubles.tryParseFloatingPointLiteralUnchecked(t.str, offset, length));
+            assertTryParseAgreesWithParse(str, () -> javaFloats.parseFloatingPointLiteralUnchecked(t.str, offset, length),
+                    javaFloats.tryParseFloatingPointLiteralUnchecked(t.str, offset, length));
+            assertTryParseAgreesWithParse(str, () -> jsonDoubles.parseNumberUnchecked(t.str, offset, length),
+                    jsonDoubles.tryParseNumberUnchecked(t.str, offset, length));
+            boolean accepted = NumberSyntaxTest.accepts(s -> out[0] = longs.parseLongLiteralUnchecked(t.str, offset, length), str);
+            assertEquals(accepted, longs.tryParseLongLiteralUnchecked(t.str, offset, length, out, 1), () -> "long \"" + str + "\"");
+            if (accepted) {
+                assertEquals(out[0], out[1], () -> "long \"" + str + "\"");
+            }
+        }
+    }
+
+    private static void assertTryParseAgreesWithParse(String str, LongSupplier parse, long bits) {
+        long expected;
+        try {
+            expected = parse.getAsLong();
+        } catch (NumberFormatException e) {
+            expected = AbstractFloatValueParser.PARSE_ERROR;
+        }
+        assertEquals(expected, bits, () -> "\"" + str + "\"");
+    }
+
+    @Test
+    public void testParseColumnWithShortBitmap() {
+        String[] literals = new String[65];
+        Arrays.fill(literals, "1");
+        Tokens t = new Tokens(literals);
+        assertThrows(IllegalArgumentException.class,
+                () -> JavaDoubleParser.parseDoubleColumn(t.str, t.offsets, t.lengths, new double[65], new long[1], ColumnPolicy.MARK_INVALID));
+        long[] validity = new long[2];
+        assertEquals(0, JavaDoubleParser.parseDoubleColumn(t.str, t.offsets, t.lengths, new double[65], validity, ColumnPolicy.MARK_INVALID));
+        assertArrayEquals(new long[]{-1L, 1L}, validity);
+    }
+
+    @Test
+    public void testJavaParallelDoubles() {
+        Random rng = new Random(0);
+        String[] literals = IntStream.range(0, 50_000)
+                .mapToObj(i -> Double.toString(rng.nextGaussian() * Math.pow(10, rng.nextInt(40) - 20)))
+                .toArray(String[]::new);
+        double[] expected = Arrays.stream(literals).mapToDouble(Double::parseDouble).toArray();
+        String lines = String.join("\r\n", literals) + "\r\n";
+
+        byte[] bytes = ("##" + lines + "##").getBytes(StandardCharsets.ISO_8859_1);
+        assertArrayEquals(expected, JavaDoubleParser.parallelDoubles(bytes, 2, bytes.length - 4, (byte) '\n').toArray());
+        assertArrayEquals(expected, JavaDoubleParser.parallelDoubles(bytes, 2, bytes.length - 6, (byte) '\n').toArray());
+        assertArrayEquals(expected, JavaDoubleParser.parallelDoubles(bytes, 2, bytes.length - 4, (byte) '\n').sequential().toArray());
+
+        char[] chars = ("##" + lines + "##").toCharArray();
+        assertArrayEquals(expected, JavaDoubleParser.parallelDoubles(chars, 2, chars.length - 4, '\n').toArray());
+        assertEquals(expected.length, JavaDoubleParser.parallelDoubles(chars, 2, chars.length - 4, '\n').count());
+    }
+
+    @Test
+    public void testJavaParallelDoublesSplitsAtDelimiters() {
+        String csv = IntStream.range(0, 10_000).mapToObj(Integer::toString).collect(Collectors.joining(","));
+        byte[] bytes = csv.getBytes(StandardCharsets.ISO_8859_1);
+        Spliterator.OfDouble suffix = new DoubleSpliteratorFromByteArray(new JavaDoubleBitsFromByteArray(), bytes, 0, bytes.length, (byte) ',');
+        Spliterator.OfDouble prefix = suffix.trySplit();
+        double[] next = new double[1];
+        int count = 0;
+        while (prefix.tryAdvance((double d) -> next[0] = d)) {
+            assertEquals(count++, next[0]);
+        }
+        while (suffix.tryAdvance((double d) -> next[0] = d)) {
+            assertEquals(count++, next[0]);
+        }
+        assertEquals(10_000, count);
+        assertTrue(new DoubleSpliteratorFromByteArray(new JavaDoubleBitsFromByteArray(), bytes, 0, 100, (byte) ',').trySplit() == null);
+    }
+
+    @Test
+    public void testJavaParallelDoublesWithIllegalInput() {
+        assertArrayEquals(new double[]{1, 2}, JavaDoubleParser.parallelDoubles("1,2,".toCharArray(), 0, 4, ',').toArray());
+        assertArrayEquals(new double[0], JavaDoubleParser.parallelDoubles(new byte[0], 0, 0, (byte) ',').toArray());
+        assertThrows(NumberFormatException.class, () -> JavaDoubleParser.parallelDoubles("1,,2".toCharArray(), 0, 4, ',').toArray());
+        assertThrows(NumberFormatException.class, () -> JavaDoubleParser.parallelDoubles("1,x".toCharArray(), 0, 3, ',').sum());
+        assertThrows(IllegalArgumentException.class, () -> JavaDoubleParser.parallelDoubles(new byte[3], 2, 2, (byte) ','));
+        assertThrows(IllegalArgumentException.class, () -> JavaDoubleParser.parallelDoubles(new char[3], -1, 2, ','));
+    }
+}
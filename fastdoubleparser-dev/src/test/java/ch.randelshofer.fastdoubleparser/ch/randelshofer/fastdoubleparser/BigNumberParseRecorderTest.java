@@ -0,0 +1,107 @@
+/*
+ * @(#)BigNumberParseRecorderTest.java
+ * Copyright © 2023 Werner Randelshofer, Switzerland. MIT License.
+ */
+package ch.randelshofer.fastdoubleparser;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the JFR events that are recorded by {@link BigNumberParseRecorder}.
+ * <p>
+ * This test is not run in the Java 8 module, because Java 8 has no JFR API.
+ */
+public class BigNumberParseRecorderTest {
+    private static final String EVENT_NAME = "ch.randelshofer.fastdoubleparser.BigNumberParse";
+
+    private static String digits(int count) {
+        StringBuilder buf = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            buf.append((char) ('1' + i % 9));
+        }
+        return buf.toString();
+    }
+
+    private static List<RecordedEvent> record(Runnable parse) throws IOException {
+        Path file = Files.createTempFile("BigNumberParseRecorderTest", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(EVENT_NAME).withoutThreshold();
+            recording.start();
+            parse.run();
+            recording.stop();
+            recording.dump(file);
+            List<RecordedEvent> events = new ArrayList<>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                if (event.getEventType().getName().equals(EVENT_NAME)) {
+                    events.add(event);
+                }
+            }
+            return events;
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testBigIntegerAboveThresholdRecordsOneEvent() throws IOException {
+        String str = digits(100_000);
+        List<RecordedEvent> events = record(() -> assertEquals(new BigInteger(str), JavaBigIntegerParser.parseBigInteger(str)));
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals(100_000, event.getInt("digitCount"));
+        assertEquals(10, event.getInt("radix"));
+        assertEquals("fft", event.getString("algorithm"));
+        assertTrue(event.getLong("powersOfTenTime") > 0, "powersOfTenTime");
+        assertTrue(event.getLong("multiplyTime") > 0, "multiplyTime");
+        assertTrue(event.getInt("fftMultiplyCount") > 0, "fftMultiplyCount");
+    }
+
+    @Test
+    public void testBigDecimalAboveThresholdRecordsOneEvent() throws IOException {
+        String str = digits(60_000) + "." + digits(40_000);
+        List<RecordedEvent> events = record(() -> assertEquals(new BigDecimal(str), JavaBigDecimalParser.parseBigDecimal(str.toCharArray())));
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals(100_000, event.getInt("digitCount"));
+        assertEquals(10, event.getInt("radix"));
+        assertEquals("fft", event.getString("algorithm"));
+        assertTrue(event.getLong("powersOfTenTime") > 0, "powersOfTenTime");
+        assertTrue(event.getLong("multiplyTime") > 0, "multiplyTime");
+    }
+
+    @Test
+    public void testHexBigIntegerAboveThresholdRecordsIterativeEvent() throws IOException {
+        String str = "f" + digits(BigNumberParseRecorder.DEFAULT_THRESHOLD);
+        List<RecordedEvent> events = record(() -> assertEquals(new BigInteger(str, 16), JavaBigIntegerParser.parseBigInteger(str.getBytes(), 16)));
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals(BigNumberParseRecorder.DEFAULT_THRESHOLD + 1, event.getInt("digitCount"));
+        assertEquals(16, event.getInt("radix"));
+        assertEquals("iterative", event.getString("algorithm"));
+    }
+
+    @Test
+    public void testInputsBelowThresholdRecordNoEvent() throws IOException {
+        String str = digits(BigNumberParseRecorder.DEFAULT_THRESHOLD - 1);
+        List<RecordedEvent> events = record(() -> {
+            JavaBigIntegerParser.parseBigInteger(str);
+            JavaBigDecimalParser.parseBigDecimal(str);
+            JavaBigDecimalParser.parseBigDecimal(str.getBytes());
+        });
+        assertEquals(0, events.size());
+    }
+}
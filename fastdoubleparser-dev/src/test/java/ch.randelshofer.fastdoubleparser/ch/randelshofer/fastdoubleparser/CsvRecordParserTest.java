@@ -0,0 +1,72 @@
+/*
+ * @(#)CsvRecordParserTest.java
+ * Copyright © 2023 Werner Randelshofer, Switzerland. MIT License.
+ */
+package ch.randelshofer.fastdoubleparser;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static ch.randelshofer.fastdoubleparser.CsvRecordParser.ColumnType.BIG_DECIMAL;
+import static ch.randelshofer.fastdoubleparser.CsvRecordParser.ColumnType.DOUBLE;
+import static ch.randelshofer.fastdoubleparser.CsvRecordParser.ColumnType.FLOAT;
+import static ch.randelshofer.fastdoubleparser.CsvRecordParser.ColumnType.LONG;
+import static ch.randelshofer.fastdoubleparser.CsvRecordParser.ColumnType.SKIP;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CsvRecordParserTest {
+    private static byte[] bytes(String str) {
+        return str.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testParseRecords() {
+        CsvRecordParser p = new CsvRecordParser(new CsvRecordParser.ColumnType[]{SKIP, DOUBLE, FLOAT, LONG, BIG_DECIMAL},
+                (byte) ',', (byte) '"');
+        byte[] str = bytes("name,x,y,n,d\r\n"
+                + "\"a, \"\"b\"\"\",1.5,2.5,-3,0.1\n"
+                + "Zürich,\"-1e3\",0x1p1,9223372036854775807,12345678901234567890.5\r"
+                + "c,0,0,0,0");
+        int index = bytes("name,x,y,n,d\r\n").length;
+
+        index = p.parseRecord(str, index, str.length);
+        assertEquals(1.5, p.getDouble(1));
+        assertEquals(2.5f, p.getFloat(2));
+        assertEquals(-3L, p.getLong(3));
+        assertEquals(new BigDecimal("0.1"), p.getBigDecimal(4));
+
+        index = p.parseRecord(str, index, str.length);
+        assertEquals(-1e3, p.getDouble(1));
+        assertEquals(2f, p.getFloat(2));
+        assertEquals(Long.MAX_VALUE, p.getLong(3));
+        assertEquals(new BigDecimal("12345678901234567890.5"), p.getBigDecimal(4));
+
+        index = p.parseRecord(str, index, str.length);
+        assertEquals(0.0, p.getDouble(1));
+        assertEquals(str.length, index);
+    }
+
+    @Test
+    public void testSkippedColumnsAreNotConverted() {
+        CsvRecordParser p = new CsvRecordParser(new CsvRecordParser.ColumnType[]{SKIP, LONG, SKIP}, (byte) ';', (byte) '\'');
+        byte[] str = bytes("x;42;'not;a\nnumber'\n");
+        assertEquals(str.length, p.parseRecord(str, 0, str.length));
+        assertEquals(42L, p.getLong(1));
+    }
+
+    @Test
+    public void testIllegalRecords() {
+        CsvRecordParser p = new CsvRecordParser(new CsvRecordParser.ColumnType[]{DOUBLE, DOUBLE}, (byte) ',', (byte) '"');
+        for (String record : new String[]{"1", "1,2,3", "1,x", "1,", "\"1\"x,2", "\"1,2", "1\n2"}) {
+            byte[] str = bytes(record);
+            assertThrows(NumberFormatException.class, () -> p.parseRecord(str, 0, str.length), record);
+        }
+        byte[] str = bytes("1,2");
+        assertThrows(IllegalArgumentException.class, () -> p.parseRecord(str, 0, str.length + 1));
+        assertThrows(IllegalArgumentException.class, () -> new CsvRecordParser(new CsvRecordParser.ColumnType[0], (byte) ',', (byte) '"'));
+        assertThrows(IllegalArgumentException.class, () -> new CsvRecordParser(new CsvRecordParser.ColumnType[]{DOUBLE}, (byte) ',', (byte) ','));
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * @(#)DoubleStatisticsTest.java
+ * Copyright © 2023 Werner Randelshofer, Switzerland. MIT License.
+ */
+package ch.randelshofer.fastdoubleparser;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DoubleStatisticsTest {
+    private static final String LINES = "1.5\n-2\r\n\n4e0\n0x1p1\n";
+
+    private static void assertStatistics(DoubleStatistics s) {
+        // values: 1.5, -2, 4, 2
+        assertEquals(4, s.getCount());
+        assertEquals(5.5, s.getSum());
+        assertEquals(-2, s.getMin());
+        assertEquals(4, s.getMax());
+        assertEquals(1.375, s.getAverage());
+        double m2 = 0.125 * 0.125 + 3.375 * 3.375 + 2.625 * 2.625 + 0.625 * 0.625;
+        assertEquals(m2 / 4, s.getPopulationVariance(), 1e-12);
+        assertEquals(m2 / 3, s.getSampleVariance(), 1e-12);
+    }
+
+    @Test
+    public void testAcceptAllByteArray() {
+        byte[] str = ("x" + LINES + "x").getBytes(StandardCharsets.ISO_8859_1);
+        DoubleStatistics s = new DoubleStatistics();
+        s.acceptAll(str, 1, str.length - 2, (byte) '\n');
+        assertStatistics(s);
+    }
+
+    @Test
+    public void testAcceptAllCharArray() {
+        char[] str = LINES.toCharArray();
+        DoubleStatistics s = new DoubleStatistics();
+        s.acceptAll(str, 0, str.length, '\n');
+        assertStatistics(s);
+    }
+
+    @Test
+    public void testAcceptAllByteBuffer() {
+        byte[] bytes = LINES.getBytes(StandardCharsets.ISO_8859_1);
+        ByteBuffer heap = ByteBuffer.wrap(bytes);
+        DoubleStatistics s = new DoubleStatistics();
+        s.acceptAll(heap, (byte) '\n');
+        assertStatistics(s);
+
+        // Longer than a chunk, with a field that is longer than a chunk
+        StringBuilder buf = new StringBuilder();
+        DoubleStatistics expected = new DoubleStatistics();
+        Random rng = new Random(0);
+        for (int i = 0; i < 5000; i++) {
+            double d = rng.nextGaussian();
+            buf.append(d).append(',');
+            expected.accept(d);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            buf.append('0');
+        }
+        buf.append("1.0");
+        expected.accept(1.0);
+        byte[] big = buf.toString().getBytes(StandardCharsets.ISO_8859_1);
+        ByteBuffer direct = ByteBuffer.allocateDirect(big.length);
+        direct.put(big).flip();
+        DoubleStatistics actual = new DoubleStatistics();
+        actual.acceptAll(direct, (byte) ',');
+        assertEquals(0, direct.position());
+        assertEquals(expected.getCount(), actual.getCount());
+        assertEquals(expected.getSum(), actual.getSum());
+        assertEquals(expected.getSampleVariance(), actual.getSampleVariance());
+    }
+
+    @Test
+    public void testCombine() {
+        DoubleStatistics a = new DoubleStatistics();
+        DoubleStatistics b = new DoubleStatistics();
+        a.accept(1.5);
+        a.accept(-2);
+        b.accept(4);
+        b.accept(2);
+        assertStatistics(a.combine(b).combine(new DoubleStatistics()));
+        assertStatistics(new DoubleStatistics().combine(a));
+    }
+
+    @Test
+    public void testCompensatedSumAndStableVariance() {
+        DoubleStatistics s = new DoubleStatistics();
+        BigDecimal exact = BigDecimal.ZERO;
+        for (int i = 0; i < 1000; i++) {
+            double d = 1e9 + (i % 2 == 0 ? 0.1 : -0.1);
+            s.accept(d);
+            exact = exact.add(new BigDecimal(d));
+        }
+        assertEquals(exact.doubleValue(), s.getSum());
+        // The textbook formula sum(x^2)/n - avg^2 returns garbage for this input
+        BigDecimal variance = new BigDecimal(s.getPopulationVariance());
+        assertEquals(0.01, variance.round(new MathContext(6)).doubleValue());
+    }
+
+    @Test
+    public void testIllegalInput() {
+        DoubleStatistics s = new DoubleStatistics();
+        byte[] str = "1,x,3".getBytes(StandardCharsets.ISO_8859_1);
+        assertThrows(NumberFormatException.class, () -> s.acceptAll(str, 0, str.length, (byte) ','));
+        assertEquals(1, s.getCount());
+        assertThrows(IllegalArgumentException.class, () -> s.acceptAll(str, 1, str.length, (byte) ','));
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * @(#)FaithfulParserTest.java
+ * Copyright © 2023 Werner Randelshofer, Switzerland. MIT License.
+ */
+package ch.randelshofer.fastdoubleparser;
+
+import org.junit.jupiter.api.DynamicNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
+
+/**
+ * Checks that the faithful parse methods are off by at most one ulp.
+ */
+public class FaithfulParserTest {
+    private static void assertFaithfulDouble(String str) {
+        double expected = Double.parseDouble(str);
+        byte[] bytes = ("[" + str + "]").getBytes(StandardCharsets.ISO_8859_1);
+        double[] actual = {
+                JavaDoubleParser.parseDoubleFaithful(str),
+                JavaDoubleParser.parseDoubleFaithful(("[" + str + "]").toCharArray(), 1, str.length()),
+                JavaDoubleParser.parseDoubleFaithful(bytes, 1, str.length())
+        };
+        for (double d : actual) {
+            long distance = Math.abs(Double.doubleToRawLongBits(d) - Double.doubleToRawLongBits(expected));
+            assertTrue(distance <= 1, () -> str + " expected " + expected + " but was " + d);
+        }
+    }
+
+    private static void assertFaithfulFloat(String str) {
+        float expected = Float.parseFloat(str);
+        byte[] bytes = ("[" + str + "]").getBytes(StandardCharsets.ISO_8859_1);
+        float[] actual = {
+                JavaFloatParser.parseFloatFaithful(str),
+                JavaFloatParser.parseFloatFaithful(("[" + str + "]").toCharArray(), 1, str.length()),
+                JavaFloatParser.parseFloatFaithful(bytes, 1, str.length())
+        };
+        for (float f : actual) {
+            int distance = Math.abs(Float.floatToRawIntBits(f) - Float.floatToRawIntBits(expected));
+            assertTrue(distance <= 1, () -> str + " expected " + expected + " but was " + f);
+        }
+    }
+
+    @TestFactory
+    public Stream<DynamicNode> dynamicTestsHandpicked() {
+        return Stream.of("0", "-0.0", "1", "1e23", "9007199254740993", "7.2057594037927933e+16",
+                        "123456789012345678901234567890", "0.1234567890123456789012", "-2.2250738585072014E-308",
+                        "4.9e-324", "1e-400", "1.7976931348623157e308", "1e400", "NaN", "-Infinity", "0x1.8p1",
+                        "3.4028235e38", "1.4e-45", "16777217", "1.00000017881393432617187499")
+                .map(str -> dynamicTest(str, () -> {
+                    assertFaithfulDouble(str);
+                    assertFaithfulFloat(str);
+                }));
+    }
+
+    @Test
+    public void testRandomLongSignificands() {
+        Random rng = new Random(0);
+        for (int i = 0; i < 100_000; i++) {
+            StringBuilder buf = new StringBuilder();
+            buf.append(rng.nextInt(9) + 1);
+            for (int j = 0, n = 15 + rng.nextInt(10); j < n; j++) {
+                buf.append(rng.nextInt(10));
+            }
+            buf.insert(1 + rng.nextInt(buf.length() - 1), '.');
+            buf.append('e').append(rng.nextInt(600) - 300);
+            String str = buf.toString();
+            assertFaithfulDouble(str);
+            assertFaithfulFloat(str);
+        }
+    }
+
+    @Test
+    public void testShortLiteralsAreCorrectlyRounded() {
+        Random rng = new Random(0);
+        for (int i = 0; i < 10_000; i++) {
+            String str = Double.toString(Double.longBitsToDouble(rng.nextLong() & 0x7fef_ffff_ffff_ffffL));
+            assertEquals(Double.parseDouble(str), JavaDoubleParser.parseDoubleFaithful(str), str);
+        }
+    }
+
+    @Test
+    public void testIllegalInput() {
+        assertThrows(NumberFormatException.class, () -> JavaDoubleParser.parseDoubleFaithful("1.2.3"));
+        assertThrows(NumberFormatException.class, () -> JavaFloatParser.parseFloatFaithful("x"));
+        assertThrows(IllegalArgumentException.class, () -> JavaDoubleParser.parseDoubleFaithful(new byte[2], 1, 2));
+    }
+}
@@ -12,7 +12,7 @@ import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.List;
 
-import static ch.randelshofer.fastdoubleparser.FastDoubleMath.MANTISSA_128;
+import static ch.randelshofer.fastdoubleparser.FastDoubleMath.Mantissa128.MANTISSA_128;
 import static ch.randelshofer.fastdoubleparser.FastDoubleMath.MANTISSA_64;
 import static java.lang.Long.toUnsignedString;
 import static org.junit.jupiter.api.Assertions.assertEquals;
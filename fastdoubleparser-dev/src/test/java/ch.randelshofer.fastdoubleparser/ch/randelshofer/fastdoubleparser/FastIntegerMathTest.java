@@ -7,6 +7,8 @@ package ch.randelshofer.fastdoubleparser;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class FastIntegerMathTest {
     @Test
@@ -19,4 +21,20 @@ public class FastIntegerMathTest {
         assertEquals(0x123456789abcdeeeL, actual.high);
         assertEquals(0xdcba987654321100L, actual.low);
     }
+
+    @Test
+    public void testEstimateParseMemory() {
+        long previous = 0;
+        for (int numDigits = 1; numDigits <= 646_456_993; numDigits = numDigits * 4 + 3) {
+            long estimate = FastIntegerMath.estimateParseMemory(numDigits);
+            assertTrue(estimate > previous, "numDigits=" + numDigits);
+            // a BigInteger needs at least 0.4 bytes per digit
+            assertTrue(estimate > numDigits * 2L / 5, "numDigits=" + numDigits);
+            previous = estimate;
+        }
+        assertEquals(FastIntegerMath.estimateParseMemory(10_000_000) * 5 / 4, JavaBigIntegerParser.estimateMemoryUsage(10_000_000));
+        assertEquals(FastIntegerMath.estimateParseMemory(10_000_000) * 5 / 4, JavaBigDecimalParser.estimateMemoryUsage(10_000_000));
+        assertThrows(IllegalArgumentException.class, () -> JavaBigIntegerParser.estimateMemoryUsage(-1));
+        assertThrows(IllegalArgumentException.class, () -> JavaBigDecimalParser.estimateMemoryUsage(-1));
+    }
 }
@@ -5,11 +5,13 @@
 package ch.randelshofer.fastdoubleparser;
 
 import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestFactory;
 
 import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import static ch.randelshofer.fastdoubleparser.Strings.repeat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -155,6 +157,113 @@ public class FftMultiplierTest {
 
     }
 
+    @TestFactory
+    public List<DynamicTest> dynamicTestsMultiplyOffHeap() {
+        // The bit lengths select transforms of length 2^n and 3*2^n
+        return Arrays.asList(
+                dynamicTest("100 bits", () -> shouldMultiplyOffHeap(100)),
+                dynamicTest("40_000 bits", () -> shouldMultiplyOffHeap(40_000)),
+                dynamicTest("50_000 bits", () -> shouldMultiplyOffHeap(50_000)),
+                dynamicTest("300_000 bits", () -> shouldMultiplyOffHeap(300_000))
+        );
+    }
+
+    private void shouldMultiplyOffHeap(int bits) {
+        Random rng = new Random(bits);
+        BigInteger a = new BigInteger(bits, rng);
+        BigInteger b = new BigInteger(bits, rng).negate();
+        assertEquals(a.multiply(b), FftMultiplier.multiplyFft(a, b, 0));
+        assertEquals(a.multiply(a), FftMultiplier.squareFft(a, 0));
+    }
+
+    @TestFactory
+    public List<DynamicTest> dynamicTestsMultiplyInPieces() {
+        return Arrays.asList(
+                dynamicTest("100 bits, 64 bit pieces", () -> shouldMultiplyInPieces(100, 80, 64, Integer.MAX_VALUE)),
+                dynamicTest("40_000 bits, 8192 bit pieces", () -> shouldMultiplyInPieces(40_000, 40_000, 8192, Integer.MAX_VALUE)),
+                dynamicTest("50_000 * 9_000 bits, 10_000 bit pieces", () -> shouldMultiplyInPieces(50_000, 9_000, 10_000, Integer.MAX_VALUE)),
+                dynamicTest("300_000 bits, 65_536 bit pieces", () -> shouldMultiplyInPieces(300_000, 300_001, 65_536, Integer.MAX_VALUE)),
+                dynamicTest("300_000 bits, 65_536 bit pieces, off heap", () -> shouldMultiplyInPieces(300_000, 300_000, 65_536, 0)),
+                dynamicTest("(2^20_000-1)^2, 1024 bit pieces", () -> {
+                    BigInteger a = BigInteger.ONE.shiftLeft(20_000).subtract(BigInteger.ONE);
+                    assertEquals(a.multiply(a), FftMultiplier.multiplyFftInPieces(a, a, 1024, Integer.MAX_VALUE));
+                })
+        );
+    }
+
+    private void shouldMultiplyInPieces(int aBits, int bBits, int pieceBits, int offHeapThreshold) {
+        Random rng = new Random(aBits);
+        BigInteger a = new BigInteger(aBits, rng);
+        BigInteger b = new BigInteger(bBits, rng).negate();
+        assertEquals(a.multiply(b), FftMultiplier.multiplyFftInPieces(a, b, pieceBits, offHeapThreshold));
+        assertEquals(b.multiply(a), FftMultiplier.multiplyFftInPieces(b, a, pieceBits, offHeapThreshold));
+        assertEquals(a.multiply(a), FftMultiplier.multiplyFftInPieces(a, a, pieceBits, offHeapThreshold));
+    }
+
+    @Test
+    public void shouldMultiplyWithCachedTransform() {
+        Random rng = new Random(0);
+        BigInteger b = new BigInteger(100_000, rng);
+        FftMultiplier.TransformCache cache = new FftMultiplier.TransformCache();
+        // The first factors need the same FFT length as b, the last factors need a longer FFT
+        for (int bits : new int[]{100_000, 99_000, 50_000, 100_000, 200_000, 100_000}) {
+            BigInteger a = new BigInteger(bits, rng);
+            if (bits == 99_000) {
+                a = a.negate();
+            }
+            assertEquals(a.multiply(b), FftMultiplier.multiply(a, b, cache), "bits=" + bits);
+        }
+        BigInteger negativeB = b.negate();
+        BigInteger a = new BigInteger(100_000, rng);
+        assertEquals(a.multiply(negativeB), FftMultiplier.multiply(a, negativeB, cache));
+        assertEquals(a.multiply(negativeB), FftMultiplier.multiply(a, negativeB, cache));
+    }
+
+    @Test
+    public void shouldMultiplyMagnitudes() {
+        Random rng = new Random(0);
+        BigInteger b = new BigInteger(100_000, rng).setBit(99_999);
+        FftMultiplier.TransformCache cache = new FftMultiplier.TransformCache();
+        for (int bits : new int[]{100_000, 50_000, 100_000, 8}) {
+            BigInteger a = new BigInteger(bits, rng);
+            assertEquals(a.multiply(b), new BigInteger(1, FftMultiplier.multiply(a.toByteArray(), b, cache)), "bits=" + bits);
+            assertEquals(a.multiply(b), new BigInteger(1, FftMultiplier.multiply(a.toByteArray(), b, null)), "bits=" + bits);
+        }
+        assertEquals(BigInteger.ZERO, new BigInteger(1, FftMultiplier.multiply(new byte[1], b, cache)));
+    }
+
+    @TestFactory
+    public List<DynamicTest> dynamicTestsAddMagnitudes() {
+        return Arrays.asList(
+                dynamicTest("0 + 0", () -> shouldAddMagnitudes(BigInteger.ZERO, BigInteger.ZERO)),
+                dynamicTest("0 + 1", () -> shouldAddMagnitudes(BigInteger.ZERO, BigInteger.ONE)),
+                dynamicTest("2^64-1 + 1", () -> shouldAddMagnitudes(BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE), BigInteger.ONE)),
+                dynamicTest("2^1000-1 + 1", () -> shouldAddMagnitudes(BigInteger.ONE.shiftLeft(1000).subtract(BigInteger.ONE), BigInteger.ONE)),
+                dynamicTest("2^1000-1 + 2^1000-1", () -> shouldAddMagnitudes(BigInteger.ONE.shiftLeft(1000).subtract(BigInteger.ONE), BigInteger.ONE.shiftLeft(1000).subtract(BigInteger.ONE))),
+                dynamicTest("random 1000 bits + random 3 bits", () -> shouldAddMagnitudes(new BigInteger(1000, new Random(1)), BigInteger.valueOf(7))),
+                dynamicTest("random 1000 bits + random 999 bits", () -> shouldAddMagnitudes(new BigInteger(1000, new Random(2)), new BigInteger(999, new Random(3))))
+        );
+    }
+
+    private void shouldAddMagnitudes(BigInteger a, BigInteger b) {
+        BigInteger expected = a.add(b);
+        assertEquals(expected, new BigInteger(1, FftMultiplier.add(a.toByteArray(), b.toByteArray())));
+        assertEquals(expected, new BigInteger(1, FftMultiplier.add(b.toByteArray(), a.toByteArray())));
+        // magnitudes with leading zero bytes
+        byte[] aMag = a.toByteArray();
+        byte[] paddedA = new byte[aMag.length + 5];
+        System.arraycopy(aMag, 0, paddedA, 5, aMag.length);
+        byte[] sum = FftMultiplier.add(paddedA, b.toByteArray());
+        assertEquals(expected, new BigInteger(1, sum));
+        // the sum has at most one leading zero byte
+        assertEquals((Math.max(a.bitLength(), b.bitLength()) + 7) / 8 + 1, sum.length);
+        // in place, with b added at an offset of 3 bytes
+        byte[] inPlace = new byte[sum.length + 4];
+        System.arraycopy(aMag, 0, inPlace, inPlace.length - aMag.length, aMag.length);
+        FftMultiplier.addInPlace(inPlace, inPlace.length - 3, b.toByteArray());
+        assertEquals(a.add(b.shiftLeft(24)), new BigInteger(1, inPlace));
+    }
+
     private void shouldSquare(String a) {
         BigInteger bigA = new BigInteger(a);
         BigInteger expected = bigA.multiply(bigA);
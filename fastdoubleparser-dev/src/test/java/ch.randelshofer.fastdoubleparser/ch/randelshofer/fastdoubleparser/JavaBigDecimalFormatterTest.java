@@ -0,0 +1,64 @@
+/*
+ * @(#)JavaBigDecimalFormatterTest.java
+ * Copyright © 2023 Werner Randelshofer, Switzerland. MIT License.
+ */
+package ch.randelshofer.fastdoubleparser;
+
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
+
+public class JavaBigDecimalFormatterTest {
+    @TestFactory
+    public List<DynamicTest> dynamicTestsFormatBigDecimal() {
+        List<DynamicTest> list = new ArrayList<>();
+        for (String str : new String[]{"0", "0.00", "0E+3", "0E-9", "1", "-1", "1E+3", "-1.5E+3", "123.456", "-0.001234",
+                "0.000001234", "0.0000001234", "1.23E-10", "1E-7", "12345678901234567890.123456789",
+                "9.999999999E+2147483647", "-1E-2147483647"}) {
+            list.add(dynamicTest(str, () -> shouldFormat(new BigDecimal(str))));
+        }
+        BigInteger unscaled = new BigInteger((int) (130_000 * 3.3219), new Random(0));
+        for (int scale : new int[]{0, 5, -5, 100_000, unscaled.toString().length() - 1, unscaled.toString().length() + 6,
+                unscaled.toString().length() + 7, Integer.MAX_VALUE, Integer.MIN_VALUE}) {
+            list.add(dynamicTest("random 130_000 digits, scale " + scale, () -> shouldFormat(new BigDecimal(unscaled, scale))));
+            list.add(dynamicTest("-random 130_000 digits, scale " + scale, () -> shouldFormat(new BigDecimal(unscaled.negate(), scale))));
+        }
+        return list;
+    }
+
+    private void shouldFormat(BigDecimal value) {
+        String expected = value.toString();
+        assertEquals(expected, JavaBigDecimalFormatter.toString(value));
+
+        int maxLength = JavaBigDecimalFormatter.getMaxFormattedLength(value);
+        assertTrue(maxLength >= expected.length(), "maxLength=" + maxLength);
+
+        byte[] bytes = new byte[maxLength + 3];
+        int length = JavaBigDecimalFormatter.formatBigDecimal(value, bytes, 3);
+        assertEquals(expected, new String(bytes, 3, length, StandardCharsets.ISO_8859_1));
+
+        char[] chars = new char[maxLength + 3];
+        length = JavaBigDecimalFormatter.formatBigDecimal(value, chars, 3);
+        assertEquals(expected, new String(chars, 3, length));
+    }
+
+    @Test
+    public void shouldRejectIllegalOffset() {
+        BigDecimal value = new BigDecimal("-1.5E-300");
+        int maxLength = JavaBigDecimalFormatter.getMaxFormattedLength(value);
+        assertThrows(IllegalArgumentException.class, () -> JavaBigDecimalFormatter.formatBigDecimal(value, new byte[maxLength], -1));
+        assertThrows(IllegalArgumentException.class, () -> JavaBigDecimalFormatter.formatBigDecimal(value, new char[maxLength], 1));
+    }
+}
@@ -9,6 +9,8 @@ import org.junit.jupiter.api.TestFactory;
 
 import java.util.stream.Stream;
 
+import static ch.randelshofer.fastdoubleparser.VirtualCharSequence.toSlicedCharBuffer;
+import static ch.randelshofer.fastdoubleparser.VirtualCharSequence.toUncopiedCharSequence;
 import static org.junit.jupiter.api.DynamicTest.dynamicTest;
 
 public class JavaBigDecimalFromCharSequenceTest extends AbstractBigDecimalParserTest {
@@ -36,6 +38,46 @@ public class JavaBigDecimalFromCharSequenceTest extends AbstractBigDecimalParser
                                 u.charOffset(), u.charLength()))));
     }
 
+    @TestFactory
+    public Stream<DynamicTest> dynamicTests_parseBigDecimal_String_int_int() {
+        return createRegularTestData().stream()
+                .filter(s -> s.supplier().get().input().length() <= 1024)
+                .map(t -> dynamicTest(t.title(),
+                        () -> test(t, u -> JavaBigDecimalParser.parseBigDecimal(
+                                u.input().toString(),
+                                u.charOffset(), u.charLength()))));
+    }
+
+    @TestFactory
+    public Stream<DynamicTest> dynamicTests_parseBigDecimal_StringBuilder_int_int() {
+        return createRegularTestData().stream()
+                .filter(s -> s.supplier().get().input().length() <= 1024)
+                .map(t -> dynamicTest(t.title(),
+                        () -> test(t, u -> JavaBigDecimalParser.parseBigDecimal(
+                                new StringBuilder(u.input()),
+                                u.charOffset(), u.charLength()))));
+    }
+
+    @TestFactory
+    public Stream<DynamicTest> dynamicTests_parseBigDecimal_CharBuffer_int_int() {
+        return createRegularTestData().stream()
+                .filter(s -> s.supplier().get().input().length() <= 1024)
+                .map(t -> dynamicTest(t.title(),
+                        () -> test(t, u -> JavaBigDecimalParser.parseBigDecimal(
+                                toSlicedCharBuffer(u.input()),
+                                u.charOffset(), u.charLength()))));
+    }
+
+    @TestFactory
+    public Stream<DynamicTest> dynamicTests_parseBigDecimal_uncopiedCharSequence_int_int() {
+        return createRegularTestData().stream()
+                .filter(s -> s.supplier().get().input().length() <= 1024)
+                .map(t -> dynamicTest(t.title(),
+                        () -> test(t, u -> JavaBigDecimalParser.parseBigDecimal(
+                                toUncopiedCharSequence(u.input()),
+                                u.charOffset(), u.charLength()))));
+    }
+
     @TestFactory
     public Stream<DynamicTest> dynamicTests_parseBigDecimal_CharSequence_int_int_longRunningTests() {
         return createLongRunningTestData().stream()
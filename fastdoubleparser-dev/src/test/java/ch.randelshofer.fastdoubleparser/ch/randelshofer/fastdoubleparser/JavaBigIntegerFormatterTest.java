@@ -0,0 +1,82 @@
+/*
+ * @(#)JavaBigIntegerFormatterTest.java
+ * Copyright © 2023 Werner Randelshofer, Switzerland. MIT License.
+ */
+package ch.randelshofer.fastdoubleparser;
+
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
+
+public class JavaBigIntegerFormatterTest {
+    @TestFactory
+    public List<DynamicTest> dynamicTestsFormatBigInteger() {
+        return Arrays.asList(
+                dynamicTest("0", () -> shouldFormat(BigInteger.ZERO)),
+                dynamicTest("1", () -> shouldFormat(BigInteger.ONE)),
+                dynamicTest("-1", () -> shouldFormat(BigInteger.ONE.negate())),
+                dynamicTest("Long.MIN_VALUE", () -> shouldFormat(BigInteger.valueOf(Long.MIN_VALUE))),
+                dynamicTest("random 1000 digits", () -> shouldFormat(randomDigits(1000))),
+                dynamicTest("random 200_000 digits", () -> shouldFormat(randomDigits(200_000))),
+                dynamicTest("-random 200_000 digits", () -> shouldFormat(randomDigits(200_000).negate())),
+                dynamicTest("random 500_000 digits", () -> shouldFormat(randomDigits(500_000))),
+                dynamicTest("10^300_000", () -> shouldFormat(BigInteger.TEN.pow(300_000))),
+                dynamicTest("10^300_000 - 1", () -> shouldFormat(BigInteger.TEN.pow(300_000).subtract(BigInteger.ONE))),
+                dynamicTest("10^300_000 + 1", () -> shouldFormat(BigInteger.TEN.pow(300_000).add(BigInteger.ONE))),
+                dynamicTest("2^1_000_000", () -> shouldFormat(BigInteger.ONE.shiftLeft(1_000_000))),
+                dynamicTest("2^1_000_000 - 1", () -> shouldFormat(BigInteger.ONE.shiftLeft(1_000_000).subtract(BigInteger.ONE)))
+        );
+    }
+
+    private static BigInteger randomDigits(int numDigits) {
+        return new BigInteger((int) (numDigits * 3.3219), new Random(numDigits));
+    }
+
+    private void shouldFormat(BigInteger value) {
+        String expected = value.toString();
+        assertEquals(expected, JavaBigIntegerFormatter.toString(value));
+
+        int maxLength = JavaBigIntegerFormatter.getMaxFormattedLength(value);
+        assertTrue(maxLength >= expected.length() && maxLength <= expected.length() + 2, "maxLength=" + maxLength);
+
+        byte[] bytes = new byte[maxLength + 3];
+        int length = JavaBigIntegerFormatter.formatBigInteger(value, bytes, 3);
+        assertEquals(expected, new String(bytes, 3, length, StandardCharsets.ISO_8859_1));
+
+        char[] chars = new char[maxLength + 3];
+        length = JavaBigIntegerFormatter.formatBigInteger(value, chars, 3);
+        assertEquals(expected, new String(chars, 3, length));
+    }
+
+    @Test
+    public void shouldRejectIllegalOffset() {
+        BigInteger value = BigInteger.valueOf(-12345);
+        int maxLength = JavaBigIntegerFormatter.getMaxFormattedLength(value);
+        assertThrows(IllegalArgumentException.class, () -> JavaBigIntegerFormatter.formatBigInteger(value, new byte[maxLength], -1));
+        assertThrows(IllegalArgumentException.class, () -> JavaBigIntegerFormatter.formatBigInteger(value, new byte[maxLength], 1));
+        assertThrows(IllegalArgumentException.class, () -> JavaBigIntegerFormatter.formatBigInteger(value, new char[maxLength - 1], 0));
+        assertEquals(6, JavaBigIntegerFormatter.formatBigInteger(value, new char[maxLength], 0));
+    }
+
+    @Test
+    public void shouldComputeReciprocal() {
+        for (int bits : new int[]{100, 40_000, 100_000, 300_001}) {
+            BigInteger d = new BigInteger(bits, new Random(bits)).setBit(bits - 1);
+            BigInteger expected = BigInteger.ONE.shiftLeft(2 * bits).divide(d);
+            assertEquals(expected, FormatDigitsTask.reciprocal(d), "bits=" + bits);
+        }
+        BigInteger d = BigInteger.ONE.shiftLeft(100_000);
+        assertEquals(BigInteger.ONE.shiftLeft(100_002), FormatDigitsTask.reciprocal(d));
+    }
+}
@@ -7,12 +7,15 @@ package ch.randelshofer.fastdoubleparser;
 import org.junit.jupiter.api.DynamicNode;
 import org.junit.jupiter.api.TestFactory;
 
+import java.nio.CharBuffer;
 import java.nio.file.Path;
 import java.util.Objects;
 import java.util.stream.Stream;
 
 import static ch.randelshofer.fastdoubleparser.VirtualCharSequence.toByteArray;
 import static ch.randelshofer.fastdoubleparser.VirtualCharSequence.toCharArray;
+import static ch.randelshofer.fastdoubleparser.VirtualCharSequence.toSlicedCharBuffer;
+import static ch.randelshofer.fastdoubleparser.VirtualCharSequence.toUncopiedCharSequence;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.junit.jupiter.api.DynamicTest.dynamicTest;
@@ -22,6 +25,11 @@ import static org.junit.jupiter.api.DynamicTest.dynamicTest;
  */
 public class JavaFloatParserTest extends AbstractJavaFloatParserTest {
 
+    /**
+     * Longer inputs are not converted to a String, because the test data
+     * contains virtual inputs with up to 2^31 characters.
+     */
+    private static final int STRING_TEST_MAX_LENGTH = 1024;
 
     @TestFactory
     public Stream<DynamicNode> dynamicTests_parseFloat_CharSequence() {
@@ -40,6 +48,56 @@ public class JavaFloatParserTest extends AbstractJavaFloatParserTest {
                         () -> test(t, u -> JavaFloatParser.parseFloat(u.input(), u.charOffset(), u.charLength()))));
     }
 
+    @TestFactory
+    public Stream<DynamicNode> dynamicTests_parseFloat_StringBuilder_int_int() {
+        return createRegularFloatTestData().stream()
+                .filter(t -> t.input().length() <= STRING_TEST_MAX_LENGTH)
+                .map(t -> dynamicTest(t.title(),
+                        () -> test(t, u -> JavaFloatParser.parseFloat(new StringBuilder(u.input()), u.charOffset(), u.charLength()))));
+    }
+
+    @TestFactory
+    public Stream<DynamicNode> dynamicTests_parseFloat_CharBuffer_int_int() {
+        return createRegularFloatTestData().stream()
+                .filter(t -> t.input().length() <= STRING_TEST_MAX_LENGTH)
+                .map(t -> dynamicTest(t.title(),
+                        () -> test(t, u -> JavaFloatParser.parseFloat(toSlicedCharBuffer(u.input()), u.charOffset(), u.charLength()))));
+    }
+
+    @TestFactory
+    public Stream<DynamicNode> dynamicTests_parseFloat_readOnlyCharBuffer_int_int() {
+        return createRegularFloatTestData().stream()
+                .filter(t -> t.input().length() <= STRING_TEST_MAX_LENGTH)
+                .map(t -> dynamicTest(t.title(),
+                        () -> test(t, u -> JavaFloatParser.parseFloat(CharBuffer.wrap(u.input().toString()), u.charOffset(), u.charLength()))));
+    }
+
+    @TestFactory
+    public Stream<DynamicNode> dynamicTests_parseFloat_uncopiedCharSequence_int_int() {
+        return createRegularFloatTestData().stream()
+                .filter(t -> t.input().length() <= STRING_TEST_MAX_LENGTH)
+                .map(t -> dynamicTest(t.title(),
+                        () -> test(t, u -> JavaFloatParser.parseFloat(toUncopiedCharSequence(u.input()), u.charOffset(), u.charLength()))));
+    }
+
+    @TestFactory
+    public Stream<DynamicNode> dynamicTests_parseFloat_String() {
+        return createRegularFloatTestData().stream()
+                .filter(t -> t.charLength() == t.input().length()
+                        && t.charLength() <= STRING_TEST_MAX_LENGTH
+                        && t.charOffset() == 0)
+                .map(t -> dynamicTest(t.title(),
+                        () -> test(t, u -> JavaFloatParser.parseFloat(u.input().toString()))));
+    }
+
+    @TestFactory
+    public Stream<DynamicNode> dynamicTests_parseFloat_String_int_int() {
+        return createRegularFloatTestData().stream()
+                .filter(t -> t.input().length() <= STRING_TEST_MAX_LENGTH)
+                .map(t -> dynamicTest(t.title(),
+                        () -> test(t, u -> JavaFloatParser.parseFloat(u.input().toString(), u.charOffset(), u.charLength()))));
+    }
+
     @TestFactory
     public Stream<DynamicNode> dynamicTests_parseFloat_CharSequence_int_int_longRunningTests() {
         ToFloatFunction<NumberTestData> lambda = u -> JavaFloatParser.parseFloat((u.input()), u.charOffset(), u.charLength());
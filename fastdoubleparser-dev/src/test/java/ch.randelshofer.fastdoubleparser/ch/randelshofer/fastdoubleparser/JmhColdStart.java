@@ -0,0 +1,62 @@
+/*
+ * @(#)JmhColdStart.java
+ * Copyright © 2023 Werner Randelshofer, Switzerland. MIT License.
+ */
+package ch.randelshofer.fastdoubleparser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of the first call of a parser in a fresh JVM,
+ * including class loading and class initialization.
+ * <p>
+ * Each fork performs exactly one call. Note that JMH has already
+ * bootstrapped lambda expressions and method handles in the fork, so
+ * this benchmark does not include their cost. To measure the cost
+ * of a truly cold JVM, time the first call in a {@code main} method.
+ * <pre>
+ * # JMH version: 1.36
+ * # VM version: JDK 17.0.9, OpenJDK 64-Bit Server VM, 17.0.9+9
+ *
+ * Benchmark                       Mode  Cnt     Score      Error  Units
+ * JmhColdStart.javaDoubleByteArr    ss   20  6502.091 ± 1806.432  us/op
+ * JmhColdStart.javaDoubleString     ss   20  8055.910 ± 1887.254  us/op
+ * JmhColdStart.javaFloatString      ss   20  7216.087 ± 2664.847  us/op
+ * </pre>
+ */
+@Fork(value = 20)
+@Measurement(iterations = 1)
+@Warmup(iterations = 0)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.SingleShotTime)
+@State(Scope.Benchmark)
+public class JmhColdStart {
+    private final String str = "1.2345e300";
+    private final byte[] bytes = str.getBytes(StandardCharsets.ISO_8859_1);
+
+    @Benchmark
+    public double javaDoubleString() {
+        return JavaDoubleParser.parseDouble(str);
+    }
+
+    @Benchmark
+    public double javaDoubleByteArr() {
+        return JavaDoubleParser.parseDouble(bytes);
+    }
+
+    @Benchmark
+    public float javaFloatString() {
+        return JavaFloatParser.parseFloat(str);
+    }
+}
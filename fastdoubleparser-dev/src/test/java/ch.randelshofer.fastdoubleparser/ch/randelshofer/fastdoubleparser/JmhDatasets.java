@@ -0,0 +1,355 @@
+/*
+ * @(#)JmhDatasets.java
+ * Copyright © 2023 Werner Randelshofer, Switzerland. MIT License.
+ */
+package ch.randelshofer.fastdoubleparser;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Benchmarks all parsers and all input kinds against a set of
+ * real-world and synthetic datasets.
+ * <p>
+ * There is one benchmark method per input kind. The parser is selected with
+ * the {@code parser} parameter, and is resolved into a function object
+ * once per trial, so that the measured loop calls exactly one parser.
+ * <p>
+ * Each benchmark invocation parses the entire dataset. The benchmark runs in
+ * throughput mode, and reports two auxiliary counters:
+ * <dl>
+ *     <dt>{@code bytes}</dt><dd>number of input bytes (characters) parsed per second,
+ *     divide by 1_000_000 to get MB/s.</dd>
+ *     <dt>{@code values}</dt><dd>number of values parsed per second,
+ *     compute {@code 1e9 / values} to get ns/value.</dd>
+ * </dl>
+ * <p>
+ * The real-world datasets {@code canada}, {@code canada_hex} and {@code mesh}
+ * are read from the {@code fastdoubleparserdemo/data} directory. The benchmark
+ * must be started from the project directory or from one of its
+ * sub-directories.
+ * <p>
+ * The {@code malformed} dataset contains only illegal inputs, it measures the
+ * cost of the error path. Values that can not be parsed by the selected
+ * parser (for example hex floats with {@link JsonDoubleParser}) are counted
+ * as values, too. Only if a dataset contains such values, the function
+ * object of the parser catches the {@link NumberFormatException}.
+ * <p>
+ * The {@code jdkDouble} parser is the baseline. It only accepts Strings, so
+ * the conversion of char and byte arrays into a String is included in its
+ * score.
+ * <p>
+ * The {@code tokenizedByteArray} benchmark stores all values in a single byte
+ * array, and parses them with the batch methods, for example
+ * {@link JavaDoubleParser#parseDoubles}. Parsers without a batch method parse
+ * the values one at a time from the same array. The batch methods stop at the
+ * first illegal input, therefore the score of the {@code malformed} dataset
+ * is not meaningful for this input.
+ * <p>
+ * Example: run only the byte array benchmarks of the canada dataset:
+ * <pre>
+ * java -jar target/benchmarks.jar JmhDatasets.byteArray -p dataset=canada
+ * </pre>
+ */
+@Fork(value = 1, jvmArgsAppend = {
+        "-XX:+UnlockExperimentalVMOptions", "--add-modules", "jdk.incubator.vector"
+        , "--enable-preview"
+})
+@Measurement(iterations = 4, time = 2)
+@Warmup(iterations = 4, time = 2)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Benchmark)
+public class JmhDatasets {
+    private static final int SYNTHETIC_DATASET_SIZE = 100_000;
+
+    @Param({
+            "canada"
+            , "canada_hex"
+            , "mesh"
+            , "random01"
+            , "integers"
+            , "longSignificands"
+            , "malformed"
+    })
+    public String dataset;
+
+    @Param({
+            "javaDouble"
+            , "jsonDouble"
+            , "javaFloat"
+            , "javaBigDecimal"
+            , "jdkDouble"
+    })
+    public String parser;
+
+    private String[] strings;
+    private char[][] charArrays;
+    private byte[][] byteArrays;
+    private byte[] tokens;
+    private int[] offsets;
+    private int[] lengths;
+    private double[] doubles;
+    private long byteCount;
+    private ToDoubleFunction<String> stringParser;
+    private ToDoubleFunction<char[]> charArrayParser;
+    private ToDoubleFunction<byte[]> byteArrayParser;
+    private BatchParser batchParser;
+
+    /**
+     * Parses all values of a tokenized byte array.
+     */
+    @FunctionalInterface
+    private interface BatchParser {
+        void parse(byte[] str, int[] offsets, int[] lengths, double[] out);
+    }
+
+    /**
+     * Auxiliary counters, JMH reports them as rates per second.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+        public long bytes;
+        public long values;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+            values = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<String> lines = createDataset(dataset);
+        strings = lines.toArray(new String[0]);
+        charArrays = new char[strings.length][];
+        byteArrays = new byte[strings.length][];
+        byteCount = 0;
+        for (int i = 0; i < strings.length; i++) {
+            charArrays[i] = strings[i].toCharArray();
+            byteArrays[i] = strings[i].getBytes(StandardCharsets.ISO_8859_1);
+            byteCount += strings[i].length();
+        }
+        tokens = String.join(",", lines).getBytes(StandardCharsets.ISO_8859_1);
+        offsets = new int[strings.length];
+        lengths = new int[strings.length];
+        for (int i = 0, offset = 0; i < strings.length; i++) {
+            offsets[i] = offset;
+            lengths[i] = strings[i].length();
+            offset += lengths[i] + 1;
+        }
+        doubles = new double[strings.length];
+        resolveParser();
+        stringParser = catchingIfNeeded(stringParser, strings);
+        charArrayParser = catchingIfNeeded(charArrayParser, charArrays);
+        byteArrayParser = catchingIfNeeded(byteArrayParser, byteArrays);
+    }
+
+    private void resolveParser() {
+        switch (parser) {
+            case "javaDouble":
+                stringParser = JavaDoubleParser::parseDouble;
+                charArrayParser = JavaDoubleParser::parseDouble;
+                byteArrayParser = JavaDoubleParser::parseDouble;
+                batchParser = JavaDoubleParser::parseDoubles;
+                break;
+            case "jsonDouble":
+                stringParser = JsonDoubleParser::parseDouble;
+                charArrayParser = JsonDoubleParser::parseDouble;
+                byteArrayParser = JsonDoubleParser::parseDouble;
+                batchParser = JsonDoubleParser::parseDoubles;
+                break;
+            case "javaFloat": {
+                float[] floats = new float[strings.length];
+                stringParser = JavaFloatParser::parseFloat;
+                charArrayParser = JavaFloatParser::parseFloat;
+                byteArrayParser = JavaFloatParser::parseFloat;
+                batchParser = (str, offsets, lengths, out) -> {
+                    JavaFloatParser.parseFloats(str, offsets, lengths, floats);
+                    for (int i = 0; i < floats.length; i++) {
+                        out[i] = floats[i];
+                    }
+                };
+                break;
+            }
+            case "javaBigDecimal":
+                stringParser = str -> JavaBigDecimalParser.parseBigDecimal(str).signum();
+                charArrayParser = str -> JavaBigDecimalParser.parseBigDecimal(str).signum();
+                byteArrayParser = str -> JavaBigDecimalParser.parseBigDecimal(str).signum();
+                batchParser = (str, offsets, lengths, out) -> {
+                    for (int i = 0; i < offsets.length; i++) {
+                        out[i] = JavaBigDecimalParser.parseBigDecimal(str, offsets[i], lengths[i]).signum();
+                    }
+                };
+                break;
+            case "jdkDouble":
+                stringParser = Double::parseDouble;
+                charArrayParser = str -> Double.parseDouble(new String(str));
+                byteArrayParser = str -> Double.parseDouble(new String(str, StandardCharsets.ISO_8859_1));
+                batchParser = (str, offsets, lengths, out) -> {
+                    for (int i = 0; i < offsets.length; i++) {
+                        out[i] = Double.parseDouble(new String(str, offsets[i], lengths[i], StandardCharsets.ISO_8859_1));
+                    }
+                };
+                break;
+            default:
+                throw new IllegalArgumentException("parser=" + parser);
+        }
+    }
+
+    /**
+     * Returns a function that returns 1 for an illegal value, if the
+     * dataset contains a value that the parser can not parse. Otherwise,
+     * returns the parser itself.
+     */
+    private static <T> ToDoubleFunction<T> catchingIfNeeded(ToDoubleFunction<T> parser, T[] values) {
+        for (T value : values) {
+            try {
+                parser.applyAsDouble(value);
+            } catch (NumberFormatException e) {
+                return str -> {
+                    try {
+                        return parser.applyAsDouble(str);
+                    } catch (NumberFormatException e2) {
+                        return 1;
+                    }
+                };
+            }
+        }
+        return parser;
+    }
+
+    private void count(Counters counters) {
+        counters.bytes += byteCount;
+        counters.values += strings.length;
+    }
+
+    @Benchmark
+    public double charSequence(Counters counters) {
+        ToDoubleFunction<String> p = stringParser;
+        double sum = 0;
+        for (String str : strings) {
+            sum += p.applyAsDouble(str);
+        }
+        count(counters);
+        return sum;
+    }
+
+    @Benchmark
+    public double charArray(Counters counters) {
+        ToDoubleFunction<char[]> p = charArrayParser;
+        double sum = 0;
+        for (char[] str : charArrays) {
+            sum += p.applyAsDouble(str);
+        }
+        count(counters);
+        return sum;
+    }
+
+    @Benchmark
+    public double byteArray(Counters counters) {
+        ToDoubleFunction<byte[]> p = byteArrayParser;
+        double sum = 0;
+        for (byte[] str : byteArrays) {
+            sum += p.applyAsDouble(str);
+        }
+        count(counters);
+        return sum;
+    }
+
+    @Benchmark
+    public double tokenizedByteArray(Counters counters) {
+        double sum = 0;
+        try {
+            batchParser.parse(tokens, offsets, lengths, doubles);
+        } catch (NumberFormatException e) {
+            sum += 1;
+        }
+        for (double d : doubles) {
+            sum += d;
+        }
+        count(counters);
+        return sum;
+    }
+
+    static List<String> createDataset(String dataset) throws IOException {
+        Random rng = new Random(0);
+        List<String> list = new ArrayList<>();
+        switch (dataset) {
+            case "canada":
+            case "canada_hex":
+            case "mesh":
+                for (String line : Files.readAllLines(findDataFile(dataset + ".txt"), StandardCharsets.ISO_8859_1)) {
+                    if (!line.isEmpty()) {
+                        list.add(line);
+                    }
+                }
+                break;
+            case "random01":
+                for (int i = 0; i < SYNTHETIC_DATASET_SIZE; i++) {
+                    list.add(Double.toString(rng.nextDouble()));
+                }
+                break;
+            case "integers":
+                for (int i = 0; i < SYNTHETIC_DATASET_SIZE; i++) {
+                    list.add(Long.toString(rng.nextLong() >> rng.nextInt(64)));
+                }
+                break;
+            case "longSignificands":
+                for (int i = 0; i < SYNTHETIC_DATASET_SIZE; i++) {
+                    StringBuilder buf = new StringBuilder();
+                    buf.append(1 + rng.nextInt(9));
+                    int digits = 20 + rng.nextInt(20);
+                    for (int j = 1; j < digits; j++) {
+                        buf.append(rng.nextInt(10));
+                    }
+                    list.add(new BigDecimal(buf.toString()).movePointLeft(rng.nextInt(digits + 10)).toString());
+                }
+                break;
+            case "malformed":
+                String[] templates = {"1.2.3", "--1", "1e", "0x", "1e+", ".", "e10", "1,5", "NaNx", "12a34", "Infinit", "0x1.8"};
+                for (int i = 0; i < SYNTHETIC_DATASET_SIZE; i++) {
+                    list.add(templates[i % templates.length]);
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("dataset=" + dataset);
+        }
+        return list;
+    }
+
+    private static Path findDataFile(String name) throws IOException {
+        for (Path dir = Paths.get("").toAbsolutePath(); dir != null; dir = dir.getParent()) {
+            Path p = dir.resolve("fastdoubleparserdemo").resolve("data").resolve(name);
+            if (Files.exists(p)) {
+                return p;
+            }
+        }
+        throw new IOException("could not find data file " + name);
+    }
+}
@@ -7,6 +7,7 @@ package ch.randelshofer.fastdoubleparser;
 import org.junit.jupiter.api.DynamicNode;
 import org.junit.jupiter.api.TestFactory;
 
+import java.nio.CharBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.util.Objects;
@@ -15,6 +16,8 @@ import java.util.stream.Stream;
 
 import static ch.randelshofer.fastdoubleparser.VirtualCharSequence.toByteArray;
 import static ch.randelshofer.fastdoubleparser.VirtualCharSequence.toCharArray;
+import static ch.randelshofer.fastdoubleparser.VirtualCharSequence.toSlicedCharBuffer;
+import static ch.randelshofer.fastdoubleparser.VirtualCharSequence.toUncopiedCharSequence;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.junit.jupiter.api.DynamicTest.dynamicTest;
@@ -24,6 +27,12 @@ import static org.junit.jupiter.api.DynamicTest.dynamicTest;
  */
 public class JsonDoubleParserTest extends AbstractJsonDoubleParserTest {
 
+    /**
+     * Longer inputs are not converted to a String, because the test data
+     * contains virtual inputs with up to 2^31 characters.
+     */
+    private static final int STRING_TEST_MAX_LENGTH = 1024;
+
     @TestFactory
     public Stream<DynamicNode> dynamicTests_parseDouble_CharSequence() {
         return createRegularTestData().stream()
@@ -41,6 +50,56 @@ public class JsonDoubleParserTest extends AbstractJsonDoubleParserTest {
                         () -> test(t, u -> JsonDoubleParser.parseDouble(u.input(), u.charOffset(), u.charLength()))));
     }
 
+    @TestFactory
+    public Stream<DynamicNode> dynamicTests_parseDouble_StringBuilder_int_int() {
+        return createRegularTestData().stream()
+                .filter(t -> t.input().length() <= STRING_TEST_MAX_LENGTH)
+                .map(t -> dynamicTest(t.title(),
+                        () -> test(t, u -> JsonDoubleParser.parseDouble(new StringBuilder(u.input()), u.charOffset(), u.charLength()))));
+    }
+
+    @TestFactory
+    public Stream<DynamicNode> dynamicTests_parseDouble_CharBuffer_int_int() {
+        return createRegularTestData().stream()
+                .filter(t -> t.input().length() <= STRING_TEST_MAX_LENGTH)
+                .map(t -> dynamicTest(t.title(),
+                        () -> test(t, u -> JsonDoubleParser.parseDouble(toSlicedCharBuffer(u.input()), u.charOffset(), u.charLength()))));
+    }
+
+    @TestFactory
+    public Stream<DynamicNode> dynamicTests_parseDouble_readOnlyCharBuffer_int_int() {
+        return createRegularTestData().stream()
+                .filter(t -> t.input().length() <= STRING_TEST_MAX_LENGTH)
+                .map(t -> dynamicTest(t.title(),
+                        () -> test(t, u -> JsonDoubleParser.parseDouble(CharBuffer.wrap(u.input().toString()), u.charOffset(), u.charLength()))));
+    }
+
+    @TestFactory
+    public Stream<DynamicNode> dynamicTests_parseDouble_uncopiedCharSequence_int_int() {
+        return createRegularTestData().stream()
+                .filter(t -> t.input().length() <= STRING_TEST_MAX_LENGTH)
+                .map(t -> dynamicTest(t.title(),
+                        () -> test(t, u -> JsonDoubleParser.parseDouble(toUncopiedCharSequence(u.input()), u.charOffset(), u.charLength()))));
+    }
+
+    @TestFactory
+    public Stream<DynamicNode> dynamicTests_parseDouble_String() {
+        return createRegularTestData().stream()
+                .filter(t -> t.charLength() == t.input().length()
+                        && t.charLength() <= STRING_TEST_MAX_LENGTH
+                        && t.charOffset() == 0)
+                .map(t -> dynamicTest(t.title(),
+                        () -> test(t, u -> JsonDoubleParser.parseDouble(u.input().toString()))));
+    }
+
+    @TestFactory
+    public Stream<DynamicNode> dynamicTests_parseDouble_String_int_int() {
+        return createRegularTestData().stream()
+                .filter(t -> t.input().length() <= STRING_TEST_MAX_LENGTH)
+                .map(t -> dynamicTest(t.title(),
+                        () -> test(t, u -> JsonDoubleParser.parseDouble(u.input().toString(), u.charOffset(), u.charLength()))));
+    }
+
     @TestFactory
     public Stream<DynamicNode> dynamicTests_parseDouble_CharSequence_int_int_longRunningTest() {
         ToDoubleFunction<NumberTestData> lambda = u -> JsonDoubleParser.parseDouble((u.input()), u.charOffset(), u.charLength());
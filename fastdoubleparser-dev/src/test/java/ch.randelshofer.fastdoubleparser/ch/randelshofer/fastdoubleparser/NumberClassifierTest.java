@@ -0,0 +1,126 @@
+/*
+ * @(#)NumberClassifierTest.java
+ * Copyright © 2023 Werner Randelshofer, Switzerland. MIT License.
+ */
+package ch.randelshofer.fastdoubleparser;
+
+import org.junit.jupiter.api.DynamicNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static ch.randelshofer.fastdoubleparser.NumberClassifier.NumberType.BIG_DECIMAL;
+import static ch.randelshofer.fastdoubleparser.NumberClassifier.NumberType.EXACT_DOUBLE;
+import static ch.randelshofer.fastdoubleparser.NumberClassifier.NumberType.HEX_OR_SPECIAL;
+import static ch.randelshofer.fastdoubleparser.NumberClassifier.NumberType.INT;
+import static ch.randelshofer.fastdoubleparser.NumberClassifier.NumberType.LONG;
+import static ch.randelshofer.fastdoubleparser.NumberClassifier.NumberType.MALFORMED;
+import static ch.randelshofer.fastdoubleparser.NumberClassifier.NumberType.ROUNDED_DOUBLE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
+
+public class NumberClassifierTest {
+    private static NumberClassifier.NumberType classify(NumberClassifier c, String str) {
+        byte[] bytes = ("[" + str + "]").getBytes(StandardCharsets.ISO_8859_1);
+        return c.classify(bytes, 1, bytes.length - 2);
+    }
+
+    @TestFactory
+    public Stream<DynamicNode> dynamicTestsClassify() {
+        return Stream.of(
+                dynamicTest("0", () -> testLong("0", INT)),
+                dynamicTest("-0", () -> testLong("-0", INT)),
+                dynamicTest("+123", () -> testLong("+123", INT)),
+                dynamicTest("-2147483648", () -> testLong("-2147483648", INT)),
+                dynamicTest("2147483648", () -> testLong("2147483648", LONG)),
+                dynamicTest("007", () -> testLong("007", INT)),
+                dynamicTest("1000000000000000000", () -> testLong("1000000000000000000", LONG)),
+                dynamicTest("9223372036854775807", () -> testLong("9223372036854775807", LONG)),
+                dynamicTest("-9223372036854775808", () -> testLong("-9223372036854775808", LONG)),
+
+                dynamicTest("9223372036854775808", () -> testDouble("9223372036854775808", EXACT_DOUBLE)),
+                dynamicTest("100000000000000000000000", () -> testDouble("100000000000000000000000", ROUNDED_DOUBLE)),
+                dynamicTest("1.0", () -> testDouble("1.0", EXACT_DOUBLE)),
+                dynamicTest("-0.0", () -> testDouble("-0.0", EXACT_DOUBLE)),
+                dynamicTest("0.5", () -> testDouble("0.5", EXACT_DOUBLE)),
+                dynamicTest(".375", () -> testDouble(".375", EXACT_DOUBLE)),
+                dynamicTest("5.", () -> testDouble("5.", EXACT_DOUBLE)),
+                dynamicTest("1e22", () -> testDouble("1e22", EXACT_DOUBLE)),
+                dynamicTest("1e23", () -> testDouble("1e23", ROUNDED_DOUBLE)),
+                dynamicTest("9007199254740992", () -> testDouble("9007199254740992.0", EXACT_DOUBLE)),
+                dynamicTest("9007199254740993.0", () -> testBigDecimal("9007199254740993.0")),
+                dynamicTest("7.450580596923828125E-9", () -> testDouble("7.450580596923828125E-9", EXACT_DOUBLE)),
+                dynamicTest("9.31322574615478515625E-10", () -> testDouble("9.31322574615478515625E-10", EXACT_DOUBLE)),
+                dynamicTest("0.1", () -> testDouble("0.1", ROUNDED_DOUBLE)),
+                dynamicTest("-123.456e-7", () -> testDouble("-123.456e-7", ROUNDED_DOUBLE)),
+                dynamicTest("0.30000000000000004", () -> testBigDecimal("0.30000000000000004")),
+                dynamicTest("1e400", () -> testBigDecimal("1e400")),
+                dynamicTest("1e-400", () -> testBigDecimal("1e-400")),
+                dynamicTest("1e999", () -> testBigDecimal("1e999")),
+                dynamicTest("0e999999999999", () -> testDouble("0e999999999999", EXACT_DOUBLE)),
+                dynamicTest("0.1000000000000000000000000001", () -> testBigDecimal("0.1000000000000000000000000001")),
+
+                dynamicTest("0x1p3", () -> testDouble("0x1p3", HEX_OR_SPECIAL)),
+                dynamicTest("-Infinity", () -> testDouble("-Infinity", HEX_OR_SPECIAL)),
+                dynamicTest("NaN", () -> testDouble("NaN", HEX_OR_SPECIAL)),
+
+                dynamicTest("malformed", () -> {
+                    NumberClassifier c = new NumberClassifier();
+                    for (String str : new String[]{"", "-", ".", "1..2", "1e", "1e+", "1.2.3", " 1", "1 ", "1d", "1f",
+                            "0x", "Nan", "12a", "e5", "1_000",
+                            "NaN ", " NaN", "-Infinity\t", "\n0x1p3", "0x1p3 ", " 1e400", "1e400 ", "\u0000"}) {
+                        assertEquals(MALFORMED, classify(c, str), str);
+                    }
+                })
+        );
+    }
+
+    private static void testLong(String str, NumberClassifier.NumberType expected) {
+        NumberClassifier c = new NumberClassifier();
+        assertEquals(expected, classify(c, str));
+        assertEquals(Long.parseLong(str), c.getLong());
+    }
+
+    private static void testDouble(String str, NumberClassifier.NumberType expected) {
+        NumberClassifier c = new NumberClassifier();
+        assertEquals(expected, classify(c, str));
+        assertEquals(JavaDoubleParser.parseDouble(str), c.getDouble());
+    }
+
+    private static void testBigDecimal(String str) {
+        NumberClassifier c = new NumberClassifier();
+        assertEquals(BIG_DECIMAL, classify(c, str));
+        assertEquals(new BigDecimal(str), c.getBigDecimal());
+    }
+
+    @Test
+    public void testExactDoublesAgreeWithBigDecimal() {
+        NumberClassifier c = new NumberClassifier();
+        Random rng = new Random(0);
+        for (int i = 0; i < 10_000; i++) {
+            long unscaled = rng.nextInt(1 << 20) * (long) (rng.nextBoolean() ? 1 : 1 << rng.nextInt(20));
+            int scale = rng.nextInt(40) - 20;
+            String str = BigDecimal.valueOf(unscaled, scale).toString();
+            if (str.indexOf('.') < 0 && str.indexOf('E') < 0) {
+                str = str + ".0";
+            }
+            NumberClassifier.NumberType type = classify(c, str);
+            BigDecimal expected = new BigDecimal(str);
+            boolean isExact = new BigDecimal(expected.doubleValue()).compareTo(expected) == 0;
+            assertEquals(isExact, type == EXACT_DOUBLE, str);
+            if (type != BIG_DECIMAL) {
+                assertEquals(expected.doubleValue(), c.getDouble(), str);
+            }
+        }
+    }
+
+    @Test
+    public void testIllegalBounds() {
+        assertThrows(IllegalArgumentException.class, () -> new NumberClassifier().classify(new byte[2], 1, 2));
+    }
+}
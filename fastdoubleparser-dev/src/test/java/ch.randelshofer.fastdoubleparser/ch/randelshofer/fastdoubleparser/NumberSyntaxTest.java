@@ -0,0 +1,175 @@
+/*
+ * @(#)NumberSyntaxTest.java
+ * Copyright © 2023 Werner Randelshofer, Switzerland. MIT License.
+ */
+package ch.randelshofer.fastdoubleparser;
+
+import org.junit.jupiter.api.DynamicNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
+
+/**
+ * Checks that the validation methods accept exactly the inputs that
+ * the parsers accept.
+ */
+public class NumberSyntaxTest {
+    private static final String[] HANDPICKED = {
+            "", " ", "-", "+", ".", "0", "-0", "+0", "00", "01", "0.", ".0", "1.", "1..2", "1.2.3",
+            "1e", "1e+", "1e-5", "1E5", "1e5d", "1.5f", "1.5F", "1.5D", "1.5x", " 1 ", "\t-1.5e3\n",
+            "0x", "0x1", "0x1p", "0x1p1", "0X1.8P-3", "0x.8p1", "0x.p1", "0x1p1f", "0x1.2.3p1",
+            "NaN", "-NaN", " NaN ", "Nan", "Infinity", "-Infinity ", "Infinit", "Infinityx",
+            "12345678901234567890", "1234567890.1234567890e-1234567890",
+            "1e2147483647", "1e2147483648", "1.0e-2147483647", "1e-2147483648", "0.1e-2147483647",
+            "00000000000000000000000000000000000000001e2147483647",
+            "-12345678901234567890123456789012345678901234567890.123456789e-2147483600",
+            "١٢٣"
+    };
+
+    static List<String> inputs() {
+        List<String> list = new ArrayList<>(Arrays.asList(HANDPICKED));
+        String alphabet = "0123456789012345678901234567890123456789..eE+-xXpPNaIfnityDdFf \u0000é";
+        Random rng = new Random(0);
+        for (int i = 0; i < 100_000; i++) {
+            int length = rng.nextInt(i % 10 == 0 ? 40 : 8);
+            StringBuilder buf = new StringBuilder();
+            for (int j = 0; j < length; j++) {
+                buf.append(alphabet.charAt(rng.nextInt(alphabet.length())));
+            }
+            list.add(buf.toString());
+        }
+        return list;
+    }
+
+    static boolean accepts(Function<String, ?> parser, String str) {
+        try {
+            parser.apply(str);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static void testAgreesWithParser(Function<String, ?> parser, Predicate<String> charSequence,
+                                             Predicate<String> charArray, Predicate<String> byteArray) {
+        for (String str : inputs()) {
+            boolean expected = accepts(parser, str);
+            assertEquals(expected, charSequence.test(str), () -> "CharSequence \"" + str + "\"");
+            assertEquals(expected, charArray.test(str), () -> "char[] \"" + str + "\"");
+            if (str.chars().allMatch(ch -> ch < 0x80)) {
+                assertEquals(expected, byteArray.test(str), () -> "byte[] \"" + str + "\"");
+            }
+        }
+    }
+
+    private static char[] padded(String str) {
+        return ("[" + str + "]").toCharArray();
+    }
+
+    private static byte[] paddedBytes(String str) {
+        return ("[" + str + "]").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TestFactory
+    public Stream<DynamicNode> dynamicTestsAgreeWithParser() {
+        return Stream.of(
+                dynamicTest("isValidDouble", () -> testAgreesWithParser(JavaDoubleParser::parseDouble,
+                        str -> JavaDoubleParser.isValidDouble(new StringBuilder("[" + str + "]"), 1, str.length()),
+                        str -> JavaDoubleParser.isValidDouble(padded(str), 1, str.length()),
+                        str -> JavaDoubleParser.isValidDouble(paddedBytes(str), 1, str.length()))),
+                dynamicTest("isValidJsonNumber", () -> testAgreesWithParser(JsonDoubleParser::parseDouble,
+                        str -> JsonDoubleParser.isValidJsonNumber(new StringBuilder("[" + str + "]"), 1, str.length()),
+                        str -> JsonDoubleParser.isValidJsonNumber(padded(str), 1, str.length()),
+                        str -> JsonDoubleParser.isValidJsonNumber(paddedBytes(str), 1, str.length()))),
+                dynamicTest("isValidBigDecimal", () -> testAgreesWithParser(JavaBigDecimalParser::parseBigDecimal,
+                        str -> JavaBigDecimalParser.isValidBigDecimal(new StringBuilder("[" + str + "]"), 1, str.length()),
+                        str -> JavaBigDecimalParser.isValidBigDecimal(padded(str), 1, str.length()),
+                        str -> JavaBigDecimalParser.isValidBigDecimal(paddedBytes(str), 1, str.length())))
+        );
+    }
+
+    /**
+     * A character sequence that is not copied into the thread-local
+     * {@code char} array, so that it is checked in place.
+     */
+    private static class InPlaceCharSequence implements CharSequence {
+        private final String str;
+
+        InPlaceCharSequence(String str) {
+            this.str = str;
+        }
+
+        @Override
+        public int length() {
+            return str.length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            return str.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new InPlaceCharSequence(str.substring(start, end));
+        }
+
+        @Override
+        public String toString() {
+            return str;
+        }
+    }
+
+    @Test
+    public void testCharSequencesCheckedInPlaceAgreeWithCopiedOnes() {
+        for (String str : inputs()) {
+            CharSequence copied = new StringBuilder("[" + str + "]");
+            CharSequence inPlace = new InPlaceCharSequence("[" + str + "]");
+            int length = str.length();
+            assertEquals(JavaDoubleParser.isValidDouble(copied, 1, length),
+                    JavaDoubleParser.isValidDouble(inPlace, 1, length), () -> "isValidDouble \"" + str + "\"");
+            assertEquals(JsonDoubleParser.isValidJsonNumber(copied, 1, length),
+                    JsonDoubleParser.isValidJsonNumber(inPlace, 1, length), () -> "isValidJsonNumber \"" + str + "\"");
+            assertEquals(JavaBigDecimalParser.isValidBigDecimal(copied, 1, length),
+                    JavaBigDecimalParser.isValidBigDecimal(inPlace, 1, length), () -> "isValidBigDecimal \"" + str + "\"");
+        }
+    }
+
+    @Test
+    public void testLongInputs() {
+        char[] digits = new char[1000];
+        Arrays.fill(digits, '7');
+        String str = new String(digits);
+        assertTrue(JavaDoubleParser.isValidDouble(str));
+        assertTrue(JsonDoubleParser.isValidJsonNumber(str + ".5e-3"));
+        assertTrue(JavaBigDecimalParser.isValidBigDecimal(str + "." + str));
+        assertFalse(JavaBigDecimalParser.isValidBigDecimal(str + "x"));
+        assertTrue(JavaDoubleParser.isValidDouble(new StringBuilder(" -" + str + "e-5 ")));
+        assertFalse(JavaDoubleParser.isValidDouble(new StringBuilder(str + ".." + str)));
+        assertTrue(JsonDoubleParser.isValidJsonNumber(new StringBuilder("0." + str)));
+        assertFalse(JsonDoubleParser.isValidJsonNumber(new StringBuilder(" " + str)));
+        assertTrue(JavaBigDecimalParser.isValidBigDecimal(new StringBuilder(str + "." + str + "E-99")));
+        assertFalse(JavaBigDecimalParser.isValidBigDecimal(new StringBuilder(str + "e")));
+    }
+
+    @Test
+    public void testIllegalBounds() {
+        assertThrows(IllegalArgumentException.class, () -> JavaDoubleParser.isValidDouble("12", 1, 2));
+        assertThrows(IllegalArgumentException.class, () -> JsonDoubleParser.isValidJsonNumber(new char[2], -1, 1));
+        assertThrows(IllegalArgumentException.class, () -> JavaBigDecimalParser.isValidBigDecimal(new byte[2], 0, 3));
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * @(#)ParseLimitsTest.java
+ * Copyright © 2023 Werner Randelshofer, Switzerland. MIT License.
+ */
+package ch.randelshofer.fastdoubleparser;
+
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static ch.randelshofer.fastdoubleparser.Strings.repeat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
+
+public class ParseLimitsTest {
+    private static final ParseLimits ONE_NANOSECOND = ParseLimits.UNLIMITED.withTimeBudget(1, TimeUnit.NANOSECONDS);
+    private static final String MANY_DIGITS = repeat("1234567890", 10);
+    /**
+     * Just above the recursion threshold, where the parsers start to check
+     * the time budget.
+     */
+    private static final String RECURSIVE_DIGITS = repeat("1234567890", 50);
+    /**
+     * Above the FFT threshold, so that the parsers check the time budget
+     * while they build powers of ten and multiply with the FFT.
+     */
+    private static final String FFT_DIGITS = repeat("1234567890", 1_200);
+
+    @TestFactory
+    public List<DynamicTest> dynamicTestsParseBigDecimalWithLimits() {
+        String manyDigits = MANY_DIGITS;
+        return Arrays.asList(
+                dynamicTest("123.45, maxDigits 5", () -> shouldParseBigDecimal("123.45", ParseLimits.UNLIMITED.withMaxDigits(5))),
+                dynamicTest("123.45, maxDigits 4", () -> shouldNotParseBigDecimal("123.45", ParseLimits.UNLIMITED.withMaxDigits(4),
+                        ParseLimitExceededException.Limit.MAX_DIGITS)),
+                dynamicTest("-0012, maxDigits 3", () -> shouldNotParseBigDecimal("-0012", ParseLimits.UNLIMITED.withMaxDigits(3),
+                        ParseLimitExceededException.Limit.MAX_DIGITS)),
+                dynamicTest("100 digits, maxDigits 100", () -> shouldParseBigDecimal(manyDigits, ParseLimits.UNLIMITED.withMaxDigits(100))),
+                dynamicTest("100 digits, maxDigits 99", () -> shouldNotParseBigDecimal(manyDigits, ParseLimits.UNLIMITED.withMaxDigits(99),
+                        ParseLimitExceededException.Limit.MAX_DIGITS)),
+                dynamicTest("100 digits with point, maxDigits 100", () -> shouldParseBigDecimal("." + manyDigits, ParseLimits.UNLIMITED.withMaxDigits(100))),
+                dynamicTest("1e10, maxExponent 10", () -> shouldParseBigDecimal("1e10", ParseLimits.UNLIMITED.withMaxExponent(10))),
+                dynamicTest("1e10, maxExponent 9", () -> shouldNotParseBigDecimal("1e10", ParseLimits.UNLIMITED.withMaxExponent(9),
+                        ParseLimitExceededException.Limit.MAX_EXPONENT)),
+                dynamicTest("-1.5e10, maxExponent 9", () -> shouldParseBigDecimal("-1.5e10", ParseLimits.UNLIMITED.withMaxExponent(9))),
+                dynamicTest("1e-10, maxExponent 9", () -> shouldNotParseBigDecimal("1e-10", ParseLimits.UNLIMITED.withMaxExponent(9),
+                        ParseLimitExceededException.Limit.MAX_EXPONENT)),
+                dynamicTest("1e99999999999, maxExponent 9", () -> shouldNotParseBigDecimal("1e99999999999", ParseLimits.UNLIMITED.withMaxExponent(9),
+                        ParseLimitExceededException.Limit.MAX_EXPONENT)),
+                dynamicTest("100 digits with exponent, maxExponent 1000", () -> shouldNotParseBigDecimal(manyDigits + "e1001", ParseLimits.UNLIMITED.withMaxExponent(1000),
+                        ParseLimitExceededException.Limit.MAX_EXPONENT)),
+                dynamicTest("100 digits, time budget 1ns", () -> shouldParseBigDecimal(manyDigits, ONE_NANOSECOND)),
+                dynamicTest("500 digits, time budget 1ns", () -> shouldNotParseBigDecimal(RECURSIVE_DIGITS, ONE_NANOSECOND,
+                        ParseLimitExceededException.Limit.TIME_BUDGET)),
+                dynamicTest("500 digits, fraction, time budget 1ns", () -> shouldNotParseBigDecimal("." + RECURSIVE_DIGITS, ONE_NANOSECOND,
+                        ParseLimitExceededException.Limit.TIME_BUDGET)),
+                dynamicTest("12_000 digits, time budget 1ns", () -> shouldNotParseBigDecimal(FFT_DIGITS + "." + FFT_DIGITS, ONE_NANOSECOND,
+                        ParseLimitExceededException.Limit.TIME_BUDGET)),
+                dynamicTest("12_000 digits, time budget 1h", () -> shouldParseBigDecimal(FFT_DIGITS + "." + FFT_DIGITS,
+                        ParseLimits.UNLIMITED.withTimeBudget(1, TimeUnit.HOURS)))
+        );
+    }
+
+    @TestFactory
+    public List<DynamicTest> dynamicTestsParseBigIntegerWithLimits() {
+        String manyDigits = MANY_DIGITS;
+        return Arrays.asList(
+                dynamicTest("-12345, maxDigits 5", () -> shouldParseBigInteger("-12345", 10, ParseLimits.UNLIMITED.withMaxDigits(5))),
+                dynamicTest("-12345, maxDigits 4", () -> shouldNotParseBigInteger("-12345", 10, ParseLimits.UNLIMITED.withMaxDigits(4),
+                        ParseLimitExceededException.Limit.MAX_DIGITS)),
+                dynamicTest("100 digits, maxDigits 99", () -> shouldNotParseBigInteger(manyDigits, 10, ParseLimits.UNLIMITED.withMaxDigits(99),
+                        ParseLimitExceededException.Limit.MAX_DIGITS)),
+                dynamicTest("100 hex digits, maxDigits 99", () -> shouldNotParseBigInteger(manyDigits, 16, ParseLimits.UNLIMITED.withMaxDigits(99),
+                        ParseLimitExceededException.Limit.MAX_DIGITS)),
+                dynamicTest("100 octal digits, maxDigits 99", () -> shouldNotParseBigInteger(repeat("7", 100), 8, ParseLimits.UNLIMITED.withMaxDigits(99),
+                        ParseLimitExceededException.Limit.MAX_DIGITS)),
+                dynamicTest("1e10, maxExponent 0", () -> shouldParseBigInteger("10000000000", 10, ParseLimits.UNLIMITED.withMaxExponent(0))),
+                dynamicTest("100 digits, time budget 1ns", () -> shouldParseBigInteger(manyDigits, 10, ONE_NANOSECOND)),
+                dynamicTest("12_000 hex digits, time budget 1ns", () -> shouldParseBigInteger(FFT_DIGITS, 16, ONE_NANOSECOND)),
+                dynamicTest("500 digits, time budget 1ns", () -> shouldNotParseBigInteger(RECURSIVE_DIGITS, 10, ONE_NANOSECOND,
+                        ParseLimitExceededException.Limit.TIME_BUDGET)),
+                dynamicTest("12_000 digits, time budget 1ns", () -> shouldNotParseBigInteger(FFT_DIGITS, 10, ONE_NANOSECOND,
+                        ParseLimitExceededException.Limit.TIME_BUDGET)),
+                dynamicTest("12_000 digits, time budget 1h", () -> shouldParseBigInteger(FFT_DIGITS, 10,
+                        ParseLimits.UNLIMITED.withTimeBudget(1, TimeUnit.HOURS)))
+        );
+    }
+
+    private void shouldParseBigDecimal(String str, ParseLimits limits) {
+        BigDecimal expected = new BigDecimal(str);
+        assertEquals(expected, JavaBigDecimalParser.parseBigDecimal(str, 0, str.length(), limits));
+        assertEquals(expected, JavaBigDecimalParser.parseBigDecimal(str.toCharArray(), 0, str.length(), limits));
+        assertEquals(expected, JavaBigDecimalParser.parseBigDecimal(str.getBytes(StandardCharsets.ISO_8859_1), 0, str.length(), limits));
+    }
+
+    private void shouldNotParseBigDecimal(String str, ParseLimits limits, ParseLimitExceededException.Limit limit) {
+        assertEquals(limit, assertThrows(ParseLimitExceededException.class,
+                () -> JavaBigDecimalParser.parseBigDecimal(str, 0, str.length(), limits)).getLimit());
+        assertEquals(limit, assertThrows(ParseLimitExceededException.class,
+                () -> JavaBigDecimalParser.parseBigDecimal(str.toCharArray(), 0, str.length(), limits)).getLimit());
+        assertEquals(limit, assertThrows(ParseLimitExceededException.class,
+                () -> JavaBigDecimalParser.parseBigDecimal(str.getBytes(StandardCharsets.ISO_8859_1), 0, str.length(), limits)).getLimit());
+    }
+
+    private void shouldParseBigInteger(String str, int radix, ParseLimits limits) {
+        BigInteger expected = new BigInteger(str, radix);
+        assertEquals(expected, JavaBigIntegerParser.parseBigInteger(str, 0, str.length(), radix, limits));
+        assertEquals(expected, JavaBigIntegerParser.parseBigInteger(str.toCharArray(), 0, str.length(), radix, limits));
+        assertEquals(expected, JavaBigIntegerParser.parseBigInteger(str.getBytes(StandardCharsets.ISO_8859_1), 0, str.length(), radix, limits));
+    }
+
+    private void shouldNotParseBigInteger(String str, int radix, ParseLimits limits, ParseLimitExceededException.Limit limit) {
+        assertEquals(limit, assertThrows(ParseLimitExceededException.class,
+                () -> JavaBigIntegerParser.parseBigInteger(str, 0, str.length(), radix, limits)).getLimit());
+        assertEquals(limit, assertThrows(ParseLimitExceededException.class,
+                () -> JavaBigIntegerParser.parseBigInteger(str.toCharArray(), 0, str.length(), radix, limits)).getLimit());
+        assertEquals(limit, assertThrows(ParseLimitExceededException.class,
+                () -> JavaBigIntegerParser.parseBigInteger(str.getBytes(StandardCharsets.ISO_8859_1), 0, str.length(), radix, limits)).getLimit());
+    }
+
+    /**
+     * A deadline that expires at the specified check, and that records for
+     * each check, whether it is made at the top level of the recursion.
+     */
+    private static class ExpiringDeadline extends ParseDeadline {
+        private final Class<?> task;
+        private final int expiringCheck;
+        private final List<Boolean> topLevelChecks = new ArrayList<>();
+
+        ExpiringDeadline(Class<?> task, int expiringCheck) {
+            super(System.nanoTime(), Long.MAX_VALUE);
+            this.task = task;
+            this.expiringCheck = expiringCheck;
+        }
+
+        @Override
+        void check() {
+            // Element 0 is this method, element 1 is the method of the task
+            // that checks the deadline, element 2 is the caller of that method.
+            StackTraceElement caller = new Throwable().getStackTrace()[2];
+            topLevelChecks.add(!caller.getClassName().equals(task.getName()));
+            if (topLevelChecks.size() > expiringCheck) {
+                throw new ParseLimitExceededException(ParseLimitExceededException.Limit.TIME_BUDGET);
+            }
+        }
+    }
+
+    private void shouldCheckDeadlineBeforeTopLevelMultiplication(Class<?> task, Consumer<ParseDeadline> parse) {
+        ExpiringDeadline unlimited = new ExpiringDeadline(task, Integer.MAX_VALUE);
+        parse.accept(unlimited);
+        int topLevelCheck = unlimited.topLevelChecks.indexOf(true);
+        assertTrue(topLevelCheck > 0, "the high part must be parsed before the top level checks the deadline");
+        assertTrue(topLevelCheck < unlimited.topLevelChecks.size() - 1, "the low part must be parsed after the top level checks the deadline");
+
+        // Let the deadline expire right after the high part has been parsed
+        ExpiringDeadline expiring = new ExpiringDeadline(task, topLevelCheck);
+        assertEquals(ParseLimitExceededException.Limit.TIME_BUDGET,
+                assertThrows(ParseLimitExceededException.class, () -> parse.accept(expiring)).getLimit());
+        assertEquals(topLevelCheck + 1, expiring.topLevelChecks.size());
+    }
+
+    @Test
+    public void shouldCheckDeadlineBeforeTopLevelMultiplication() {
+        // Above 4 * FFT_THRESHOLD bits, the top level of the recursion multiplies
+        // with the largest power of ten, after it has parsed the high part.
+        String str = repeat("1234567890", 5_000);
+        Map<Integer, BigInteger> powersOfTen = FastIntegerMath.fillPowersOf10Floor16(0, str.length());
+        byte[] bytes = str.getBytes(StandardCharsets.ISO_8859_1);
+        char[] chars = str.toCharArray();
+        shouldCheckDeadlineBeforeTopLevelMultiplication(ParseDigitsTaskByteArray.class,
+                deadline -> ParseDigitsTaskByteArray.parseDigitsRecursive(bytes, 0, bytes.length, powersOfTen, deadline));
+        shouldCheckDeadlineBeforeTopLevelMultiplication(ParseDigitsTaskCharArray.class,
+                deadline -> ParseDigitsTaskCharArray.parseDigitsRecursive(chars, 0, chars.length, powersOfTen, deadline));
+        shouldCheckDeadlineBeforeTopLevelMultiplication(ParseDigitsTaskCharSequence.class,
+                deadline -> ParseDigitsTaskCharSequence.parseDigitsRecursive(str, 0, str.length(), powersOfTen, deadline));
+    }
+
+    @Test
+    public void shouldRejectIllegalLimits() {
+        assertThrows(IllegalArgumentException.class, () -> ParseLimits.UNLIMITED.withMaxDigits(0));
+        assertThrows(IllegalArgumentException.class, () -> ParseLimits.UNLIMITED.withMaxExponent(-1));
+        assertThrows(IllegalArgumentException.class, () -> ParseLimits.UNLIMITED.withTimeBudget(0, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * @(#)ParserStatisticsEnabledTest.java
+ * Copyright © 2023 Werner Randelshofer, Switzerland. MIT License.
+ */
+package ch.randelshofer.fastdoubleparser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks that the parsers count events when the statistics are enabled.
+ * <p>
+ * The statistics can only be enabled when the JVM starts. Therefore, this
+ * test is excluded from the default test execution, and runs in a separate
+ * test execution that sets the system property
+ * {@value ParserStatistics#ENABLED_PROPERTY} to {@code true}. The test is
+ * skipped if it is run in a JVM without this property, for example when
+ * it is selected with {@code -Dtest=...}.
+ */
+public class ParserStatisticsEnabledTest {
+    @Test
+    public void testParsersCountEachCounter() {
+        assumeTrue(ParserStatistics.isEnabled(), ParserStatistics.ENABLED_PROPERTY + " is not set");
+        StringBuilder buf = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            buf.append((char) ('1' + i % 9));
+        }
+        String manyDigits = buf.toString();
+
+        ParserStatistics.reset();
+        JavaDoubleParser.parseDouble("2.2250738585072011e-308");
+        JavaDoubleParser.parseDouble("1.23456789012345678901234567890");
+        JavaDoubleParser.parseDouble("0x1.8p1");
+        JavaDoubleParser.parseDouble("NaN");
+        JavaBigDecimalParser.parseBigDecimal(manyDigits + "." + manyDigits);
+        JavaBigIntegerParser.parseBigInteger(manyDigits);
+
+        Map<ParserStatistics.Counter, Long> snapshot = ParserStatistics.snapshot();
+        for (ParserStatistics.Counter counter : ParserStatistics.Counter.values()) {
+            assertTrue(snapshot.get(counter) > 0, counter.name());
+        }
+        ParserStatistics.reset();
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * @(#)ParserStatisticsTest.java
+ * Copyright © 2023 Werner Randelshofer, Switzerland. MIT License.
+ */
+package ch.randelshofer.fastdoubleparser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ParserStatisticsTest {
+    @Test
+    public void testCountSnapshotAndReset() {
+        ParserStatistics.reset();
+        ParserStatistics.count(ParserStatistics.Counter.HEX_FLOAT);
+        ParserStatistics.count(ParserStatistics.Counter.HEX_FLOAT);
+        ParserStatistics.count(ParserStatistics.Counter.FFT_MULTIPLY);
+        Map<ParserStatistics.Counter, Long> snapshot = ParserStatistics.snapshot();
+        assertEquals(ParserStatistics.Counter.values().length, snapshot.size());
+        assertEquals(2L, snapshot.get(ParserStatistics.Counter.HEX_FLOAT));
+        assertEquals(1L, snapshot.get(ParserStatistics.Counter.FFT_MULTIPLY));
+        assertEquals(0L, snapshot.get(ParserStatistics.Counter.FLOAT_FALLBACK));
+
+        ParserStatistics.reset();
+        assertEquals(0L, ParserStatistics.snapshot().get(ParserStatistics.Counter.HEX_FLOAT));
+    }
+
+    @Test
+    public void testParsersCountOnlyWhenEnabled() {
+        ParserStatistics.reset();
+        JavaDoubleParser.parseDouble("0x1.8p1");
+        JavaDoubleParser.parseDouble("NaN");
+        JavaDoubleParser.parseDouble("1.23456789012345678901234567890");
+        JavaDoubleParser.parseDouble("1.23");
+        long expected = ParserStatistics.isEnabled() ? 1L : 0L;
+        Map<ParserStatistics.Counter, Long> snapshot = ParserStatistics.snapshot();
+        assertEquals(expected, snapshot.get(ParserStatistics.Counter.HEX_FLOAT));
+        assertEquals(expected, snapshot.get(ParserStatistics.Counter.NAN_OR_INFINITY));
+        assertEquals(expected, snapshot.get(ParserStatistics.Counter.SIGNIFICAND_REPARSE));
+        ParserStatistics.reset();
+    }
+}
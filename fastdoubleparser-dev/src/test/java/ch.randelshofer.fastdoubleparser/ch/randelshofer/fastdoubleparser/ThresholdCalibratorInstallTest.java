@@ -0,0 +1,56 @@
+/*
+ * @(#)ThresholdCalibratorInstallTest.java
+ * Copyright © 2023 Werner Randelshofer, Switzerland. MIT License.
+ */
+package ch.randelshofer.fastdoubleparser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks that calibrated thresholds can be installed as system properties
+ * in the same JVM, if this is done before the thresholds are used.
+ * <p>
+ * This test needs a JVM, in which the thresholds have not been initialized
+ * yet. Therefore, it is excluded from the default test execution, and runs
+ * in a separate test execution that sets the system property
+ * {@value #ENABLED_PROPERTY} to {@code true}. The test is skipped if it is
+ * run in a JVM without this property, for example when it is selected with
+ * {@code -Dtest=...}.
+ */
+public class ThresholdCalibratorInstallTest {
+    private static final String ENABLED_PROPERTY = "thresholdCalibratorInstallTest";
+
+    @Test
+    public void testCalibratedThresholdsCanBeInstalledInSameJvm() {
+        assumeTrue(Boolean.getBoolean(ENABLED_PROPERTY), ENABLED_PROPERTY + " is not set");
+        Properties calibrated = ThresholdCalibrator.calibrate(100_000L);
+
+        // Use values that differ from the default values, so that the test
+        // does not depend on the results of the calibration.
+        Properties installed = new Properties();
+        installed.setProperty(ThresholdCalibrator.RECURSION_THRESHOLD_PROPERTY,
+                Integer.toString(Integer.parseInt(calibrated.getProperty(ThresholdCalibrator.RECURSION_THRESHOLD_PROPERTY)) + 1));
+        installed.setProperty(ThresholdCalibrator.FFT_THRESHOLD_PROPERTY,
+                Integer.toString(Integer.parseInt(calibrated.getProperty(ThresholdCalibrator.FFT_THRESHOLD_PROPERTY)) + 1));
+        installed.setProperty(ThresholdCalibrator.TOOM_COOK_THRESHOLD_PROPERTY,
+                Integer.toString(Integer.parseInt(calibrated.getProperty(ThresholdCalibrator.TOOM_COOK_THRESHOLD_PROPERTY)) + 1));
+        for (String name : installed.stringPropertyNames()) {
+            System.setProperty(name, installed.getProperty(name));
+        }
+        try {
+            Properties actual = ThresholdCalibrator.getThresholds();
+            for (String name : installed.stringPropertyNames()) {
+                assertEquals(installed.getProperty(name), actual.getProperty(name), name);
+            }
+        } finally {
+            for (String name : installed.stringPropertyNames()) {
+                System.clearProperty(name);
+            }
+        }
+    }
+}
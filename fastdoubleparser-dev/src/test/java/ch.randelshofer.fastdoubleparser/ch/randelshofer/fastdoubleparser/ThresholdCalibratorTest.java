@@ -0,0 +1,117 @@
+/*
+ * @(#)ThresholdCalibratorTest.java
+ * Copyright © 2023 Werner Randelshofer, Switzerland. MIT License.
+ */
+package ch.randelshofer.fastdoubleparser;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ThresholdCalibratorTest {
+    @Test
+    public void testGetThresholdFromFileAndSystemProperty() {
+        String name = ThresholdCalibratorTest.class.getName() + ".threshold";
+        Properties file = new Properties();
+        assertEquals(400, AlgorithmThresholds.getThreshold(file, name, 400, 18));
+        file.setProperty(name, " 128 ");
+        assertEquals(128, AlgorithmThresholds.getThreshold(file, name, 400, 18));
+        file.setProperty(name, "17");
+        assertEquals(400, AlgorithmThresholds.getThreshold(file, name, 400, 18));
+        file.setProperty(name, "x");
+        assertEquals(400, AlgorithmThresholds.getThreshold(file, name, 400, 18));
+
+        System.setProperty(name, "256");
+        try {
+            assertEquals(256, AlgorithmThresholds.getThreshold(file, name, 400, 18));
+        } finally {
+            System.clearProperty(name);
+        }
+    }
+
+    /**
+     * An operation with a fixed cost, instead of a measured one.
+     */
+    private static final class FixedCost implements ThresholdCalibrator.Operation {
+        private final double nanos;
+
+        FixedCost(double nanos) {
+            this.nanos = nanos;
+        }
+
+        @Override
+        public BigInteger run() {
+            return BigInteger.ONE;
+        }
+    }
+
+    private static final ThresholdCalibrator.Timer FIXED_COST_TIMER = op -> ((FixedCost) op).nanos;
+    private static final int[] CANDIDATES = {100, 200, 300, 400, 500, 600};
+
+    /**
+     * Returns a contest in which the algorithm below the threshold costs
+     * one nanosecond per candidate unit, and the algorithm above the
+     * threshold has the specified costs.
+     */
+    private static ThresholdCalibrator.Contest contest(double... aboveCosts) {
+        return candidate -> {
+            int i = Arrays.binarySearch(CANDIDATES, candidate);
+            return new ThresholdCalibrator.Operation[][]{
+                    {new FixedCost(candidate)},
+                    {new FixedCost(aboveCosts[i])}};
+        };
+    }
+
+    @Test
+    public void testFindThresholdAtCrossover() {
+        assertEquals(300, ThresholdCalibrator.findThreshold(50, CANDIDATES,
+                contest(200, 300, 400, 300, 400, 500), FIXED_COST_TIMER));
+    }
+
+    @Test
+    public void testFindThresholdIgnoresSingleFasterCandidate() {
+        assertEquals(400, ThresholdCalibrator.findThreshold(50, CANDIDATES,
+                contest(200, 100, 400, 500, 400, 500), FIXED_COST_TIMER));
+    }
+
+    @Test
+    public void testFindThresholdWhenAboveIsAlwaysFaster() {
+        assertEquals(50, ThresholdCalibrator.findThreshold(50, CANDIDATES,
+                contest(1, 1, 1, 1, 1, 1), FIXED_COST_TIMER));
+    }
+
+    @Test
+    public void testFindThresholdWhenAboveIsNeverFaster() {
+        assertEquals(600, ThresholdCalibrator.findThreshold(50, CANDIDATES,
+                contest(1000, 1000, 1000, 1000, 1000, 1000), FIXED_COST_TIMER));
+    }
+
+    @Test
+    public void testFindThresholdAddsCostsOfOperations() {
+        // Above the threshold, each operation is faster, but their sum is not
+        ThresholdCalibrator.Contest contest = candidate -> new ThresholdCalibrator.Operation[][]{
+                {new FixedCost(candidate), new FixedCost(candidate)},
+                {new FixedCost(candidate - 1), new FixedCost(candidate + 2)}};
+        assertEquals(600, ThresholdCalibrator.findThreshold(50, CANDIDATES, contest, FIXED_COST_TIMER));
+    }
+
+    @Test
+    public void testCandidates() {
+        assertArrayEquals(new int[]{256, 384, 576, 832, 1216}, ThresholdCalibrator.candidates(256, 1216));
+        assertArrayEquals(new int[]{4096}, ThresholdCalibrator.candidates(4096, 4096));
+        assertArrayEquals(new int[0], ThresholdCalibrator.candidates(4096, 4000));
+    }
+
+    @Test
+    public void testGetThresholds() {
+        Properties installed = ThresholdCalibrator.getThresholds();
+        assertEquals(Integer.toString(AlgorithmThresholds.RECURSION_THRESHOLD), installed.getProperty(ThresholdCalibrator.RECURSION_THRESHOLD_PROPERTY));
+        assertEquals(Integer.toString(AlgorithmThresholds.FFT_THRESHOLD), installed.getProperty(ThresholdCalibrator.FFT_THRESHOLD_PROPERTY));
+        assertEquals(Integer.toString(AlgorithmThresholds.TOOM_COOK_THRESHOLD), installed.getProperty(ThresholdCalibrator.TOOM_COOK_THRESHOLD_PROPERTY));
+    }
+}
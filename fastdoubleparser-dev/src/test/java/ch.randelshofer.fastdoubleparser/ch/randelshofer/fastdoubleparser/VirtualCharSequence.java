@@ -4,6 +4,7 @@
  */
 package ch.randelshofer.fastdoubleparser;
 
+import java.nio.CharBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 
@@ -136,6 +137,25 @@ public class VirtualCharSequence implements CharSequence {
                 : u.toString().toCharArray();
     }
 
+    /**
+     * Returns a {@link CharBuffer} with the characters of the specified
+     * sequence. The buffer is a slice of a larger array, so that its array
+     * offset is not 0.
+     */
+    public static CharBuffer toSlicedCharBuffer(CharSequence u) {
+        char[] chars = ("#" + u).toCharArray();
+        return CharBuffer.wrap(chars, 1, chars.length - 1).slice();
+    }
+
+    /**
+     * Returns a {@link CharSequence} with the characters of the specified
+     * sequence, that the parsers do not copy into a {@code char} array.
+     */
+    public static CharSequence toUncopiedCharSequence(CharSequence u) {
+        String str = u.toString();
+        return new VirtualCharSequence(str, ' ', str.length());
+    }
+
     public static byte[] toByteArray(CharSequence u) {
         return u instanceof VirtualCharSequence
                 ? ((VirtualCharSequence) u).getBytes()
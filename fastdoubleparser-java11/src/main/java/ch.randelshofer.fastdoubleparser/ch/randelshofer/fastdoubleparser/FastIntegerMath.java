@@ -11,27 +11,43 @@ import java.util.NavigableMap;
 import java.util.TreeMap;
 
 class FastIntegerMath {
-    public static final BigInteger FIVE = BigInteger.valueOf(5);
-    final static BigInteger TEN_POW_16 = BigInteger.valueOf(10_000_000_000_000_000L);
-    final static BigInteger FIVE_POW_16 = BigInteger.valueOf(152_587_890_625L);
-    private final static BigInteger[] SMALL_POWERS_OF_TEN = new BigInteger[]{
-            BigInteger.ONE,
-            BigInteger.TEN,
-            BigInteger.valueOf(100L),
-            BigInteger.valueOf(1_000L),
-            BigInteger.valueOf(10_000L),
-            BigInteger.valueOf(100_000L),
-            BigInteger.valueOf(1_000_000L),
-            BigInteger.valueOf(10_000_000L),
-            BigInteger.valueOf(100_000_000L),
-            BigInteger.valueOf(1_000_000_000L),
-            BigInteger.valueOf(10_000_000_000L),
-            BigInteger.valueOf(100_000_000_000L),
-            BigInteger.valueOf(1_000_000_000_000L),
-            BigInteger.valueOf(10_000_000_000_000L),
-            BigInteger.valueOf(100_000_000_000_000L),
-            BigInteger.valueOf(1_000_000_000_000_000L)
-    };
+    /**
+     * Holds the {@code BigInteger} constants.
+     * <p>
+     * The constants are in a separate class, so that the {@code double}
+     * parsers, which only use {@link #fullMultiplication(long, long)},
+     * do not initialize {@link BigInteger}.
+     */
+    private static final class BigIntegerConstants {
+        static final BigInteger FIVE = BigInteger.valueOf(5);
+        final static BigInteger TEN_POW_16 = BigInteger.valueOf(10_000_000_000_000_000L);
+        final static BigInteger FIVE_POW_16 = BigInteger.valueOf(152_587_890_625L);
+        final static BigInteger[] SMALL_POWERS_OF_TEN = new BigInteger[]{
+                BigInteger.ONE,
+                BigInteger.TEN,
+                BigInteger.valueOf(100L),
+                BigInteger.valueOf(1_000L),
+                BigInteger.valueOf(10_000L),
+                BigInteger.valueOf(100_000L),
+                BigInteger.valueOf(1_000_000L),
+                BigInteger.valueOf(10_000_000L),
+                BigInteger.valueOf(100_000_000L),
+                BigInteger.valueOf(1_000_000_000L),
+                BigInteger.valueOf(10_000_000_000L),
+                BigInteger.valueOf(100_000_000_000L),
+                BigInteger.valueOf(1_000_000_000_000L),
+                BigInteger.valueOf(10_000_000_000_000L),
+                BigInteger.valueOf(100_000_000_000_000L),
+                BigInteger.valueOf(1_000_000_000_000_000L)
+        };
+
+        /**
+         * Don't let anyone instantiate this class.
+         */
+        private BigIntegerConstants() {
+
+        }
+    }
 
     /**
      * Don't let anyone instantiate this class.
@@ -48,8 +64,8 @@ class FastIntegerMath {
      * @return the computed power of ten
      */
     static BigInteger computePowerOfTen(NavigableMap<Integer, BigInteger> powersOfTen, int n) {
-        if (n < SMALL_POWERS_OF_TEN.length) {
-            return SMALL_POWERS_OF_TEN[n];
+        if (n < BigIntegerConstants.SMALL_POWERS_OF_TEN.length) {
+            return BigIntegerConstants.SMALL_POWERS_OF_TEN[n];
         }
         if (powersOfTen != null) {
             Map.Entry<Integer, BigInteger> floorEntry = powersOfTen.floorEntry(n);
@@ -60,7 +76,7 @@ class FastIntegerMath {
                 return FftMultiplier.multiply(floorEntry.getValue(), computePowerOfTen(powersOfTen, n - floorN));
             }
         }
-        return FIVE.pow(n).shiftLeft(n);
+        return BigIntegerConstants.FIVE.pow(n).shiftLeft(n);
     }
 
     /**
@@ -87,7 +103,7 @@ class FastIntegerMath {
         NavigableMap<Integer, BigInteger> powersOfTen;
         powersOfTen = new TreeMap<>();
         powersOfTen.put(0, BigInteger.ONE);
-        powersOfTen.put(16, TEN_POW_16);
+        powersOfTen.put(16, BigIntegerConstants.TEN_POW_16);
         return powersOfTen;
     }
 
@@ -99,6 +115,29 @@ class FastIntegerMath {
         return (((numDecimalDigits * 3402L) >>> 10) + 1);
     }
 
+    /**
+     * Estimates the peak number of bytes in the Java heap that are needed
+     * for parsing the specified number of decimal digits with the recursive
+     * algorithm. The digits themselves are not included.
+     * <p>
+     * The peak is reached in the last multiplication, which multiplies the
+     * high half of the digits with a power of ten, while the map with the
+     * powers of ten, and the cached transforms of the powers of ten of the
+     * lower recursion levels, are still needed for parsing the low half.
+     *
+     * @param numDigits the number of digits
+     * @return the estimated number of bytes
+     */
+    static long estimateParseMemory(long numDigits) {
+        long bits = estimateNumBits(numDigits);
+        // The map holds about twice as many bits as the result, and the high half
+        // holds half of the bits of the result
+        long powersOfTenBytes = bits >>> 2;
+        long highBytes = bits >>> 4;
+        return powersOfTenBytes + highBytes + FftMultiplier.estimateMultiplyMemory(bits >>> 1)
+                + FftMultiplier.estimateTransformCacheMemory(bits >>> 2);
+    }
+
     /**
      * Fills a map with powers of 10 floor 16.
      *
@@ -110,7 +149,7 @@ class FastIntegerMath {
         // Fill the map with powers of 5
         NavigableMap<Integer, BigInteger> powers = new TreeMap<>();
         powers.put(0, BigInteger.valueOf(5));
-        powers.put(16, FIVE_POW_16);
+        powers.put(16, BigIntegerConstants.FIVE_POW_16);
         fillPowersOfNFloor16Recursive(powers, from, to);
 
         // Shift map entries to the left to obtain powers of ten
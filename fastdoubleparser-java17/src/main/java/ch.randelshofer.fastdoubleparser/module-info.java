@@ -2,5 +2,6 @@
  * Provides fast parsers for double and float values.
  */
 module ch.randelshofer.fastdoubleparser {
+    requires static jdk.jfr;
     exports ch.randelshofer.fastdoubleparser;
 }
\ No newline at end of file
@@ -34,14 +34,31 @@ import java.nio.ByteOrder;
  */
 class FastDoubleSwar {
 
-    private final static VarHandle readLongLE =
-            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN).withInvokeExactBehavior();
-    private final static VarHandle readIntLE =
-            MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN).withInvokeExactBehavior();
-    private final static VarHandle readIntBE =
-            MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN).withInvokeExactBehavior();
-    private final static VarHandle readLongBE =
-            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN).withInvokeExactBehavior();
+    /**
+     * Holds the byte-array views.
+     * <p>
+     * The views are in a separate class, so that parsers that do not
+     * read {@code byte} arrays do not have to initialize them. Creating
+     * the first byte-array view in a JVM bootstraps the method handle
+     * infrastructure, which takes several milliseconds.
+     */
+    private static final class ByteArrayViews {
+        static final VarHandle readLongLE =
+                MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN).withInvokeExactBehavior();
+        static final VarHandle readIntLE =
+                MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN).withInvokeExactBehavior();
+        static final VarHandle readIntBE =
+                MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN).withInvokeExactBehavior();
+        static final VarHandle readLongBE =
+                MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN).withInvokeExactBehavior();
+
+        /**
+         * Don't let anyone instantiate this class.
+         */
+        private ByteArrayViews() {
+
+        }
+    }
 
     /**
      * Checks if '0' <= c && c <= '9'.
@@ -69,7 +86,7 @@ class FastDoubleSwar {
     }
 
     public static boolean isEightDigits(byte[] a, int offset) {
-        return isEightDigitsUtf8((long) readLongLE.get(a, offset));
+        return isEightDigitsUtf8((long) ByteArrayViews.readLongLE.get(a, offset));
     }
 
     /**
@@ -122,7 +139,7 @@ class FastDoubleSwar {
     }
 
     public static boolean isEightZeroes(byte[] a, int offset) {
-        return isEightZeroesUtf8((long) readLongLE.get(a, offset));
+        return isEightZeroesUtf8((long) ByteArrayViews.readLongLE.get(a, offset));
     }
 
     public static boolean isEightZeroes(CharSequence a, int offset) {
@@ -164,15 +181,15 @@ class FastDoubleSwar {
     }
 
     public static int readIntBE(byte[] a, int offset) {
-        return (int) readIntBE.get(a, offset);
+        return (int) ByteArrayViews.readIntBE.get(a, offset);
     }
 
     public static long readLongBE(byte[] a, int offset) {
-        return (long) readLongBE.get(a, offset);
+        return (long) ByteArrayViews.readLongBE.get(a, offset);
     }
 
     public static long readLongLE(byte[] a, int offset) {
-        return (long) readLongLE.get(a, offset);
+        return (long) ByteArrayViews.readLongLE.get(a, offset);
     }
 
     /**
@@ -199,7 +216,7 @@ class FastDoubleSwar {
     }
 
     public static int tryToParseEightDigits(byte[] a, int offset) {
-        return FastDoubleSwar.tryToParseEightDigitsUtf8((long) readLongLE.get(a, offset));
+        return FastDoubleSwar.tryToParseEightDigitsUtf8((long) ByteArrayViews.readLongLE.get(a, offset));
     }
 
     /**
@@ -264,7 +281,7 @@ class FastDoubleSwar {
      * returns a negative value if {@code value} does not contain 8 digits
      */
     public static int tryToParseEightDigitsUtf8(byte[] a, int offset) {
-        return tryToParseEightDigitsUtf8((long) readLongLE.get(a, offset));
+        return tryToParseEightDigitsUtf8((long) ByteArrayViews.readLongLE.get(a, offset));
     }
 
     /**
@@ -357,7 +374,7 @@ class FastDoubleSwar {
      *               returns a negative value if {@code value} does not contain 8 digits
      */
     public static long tryToParseEightHexDigits(byte[] a, int offset) {
-        return tryToParseEightHexDigitsUtf8((long) readLongBE.get(a, offset));
+        return tryToParseEightHexDigitsUtf8((long) ByteArrayViews.readLongBE.get(a, offset));
     }
 
     /**
@@ -459,7 +476,7 @@ class FastDoubleSwar {
     }
 
     public static int tryToParseFourDigits(byte[] a, int offset) {
-        return tryToParseFourDigitsUtf8((int) readIntLE.get(a, offset));
+        return tryToParseFourDigitsUtf8((int) ByteArrayViews.readIntLE.get(a, offset));
     }
 
     public static int tryToParseFourDigitsUtf16(long first) {
@@ -526,11 +543,11 @@ class FastDoubleSwar {
     }
 
     public static void writeIntBE(byte[] a, int offset, int value) {
-        readIntBE.set(a, offset, value);
+        ByteArrayViews.readIntBE.set(a, offset, value);
     }
 
     public static void writeLongBE(byte[] a, int offset, long value) {
-        readLongBE.set(a, offset, value);
+        ByteArrayViews.readLongBE.set(a, offset, value);
     }
 
     public static double fma(double a, double b, double c) {
@@ -0,0 +1,51 @@
+/*
+ * @(#)BigNumberParseRecorder.java
+ * Copyright © 2023 Werner Randelshofer, Switzerland. MIT License.
+ */
+package ch.randelshofer.fastdoubleparser;
+
+/**
+ * Java 8 does not have a JDK Flight Recorder API, therefore this
+ * implementation does not record anything.
+ * <p>
+ * On Java 11 and later, this class is replaced by a class that records JFR
+ * events.
+ */
+final class BigNumberParseRecorder {
+    /**
+     * This flag is not a compile-time constant, so that the recording code
+     * in the shared classes is not removed by the compiler.
+     */
+    static final boolean ENABLED = isJfrAvailable();
+
+    private BigNumberParseRecorder() {
+    }
+
+    private static boolean isJfrAvailable() {
+        return false;
+    }
+
+    static BigNumberParseRecorder begin(int digitCount, int radix, boolean recursive) {
+        return null;
+    }
+
+    static void end(BigNumberParseRecorder recorder) {
+    }
+
+    static BigNumberParseRecorder current() {
+        return null;
+    }
+
+    static long startTime(BigNumberParseRecorder recorder) {
+        return 0;
+    }
+
+    static void addPowersOfTenTime(BigNumberParseRecorder recorder, long startTime) {
+    }
+
+    void addMultiplyTime(long nanos) {
+    }
+
+    static void countFftMultiply() {
+    }
+}
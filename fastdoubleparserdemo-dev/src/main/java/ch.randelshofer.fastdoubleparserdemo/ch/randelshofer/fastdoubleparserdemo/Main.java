@@ -15,6 +15,8 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -22,6 +24,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -39,6 +46,22 @@ import java.util.stream.Collectors;
  * <p>
  * It then prints the the average times, standard deviations and confidence intervals.
  * <p>
+ * Options:
+ * <dl>
+ *     <dt>{@code --markdown}</dt><dd>prints the results as a markdown table</dd>
+ *     <dt>{@code --sleep}</dt><dd>sleeps for 10 seconds between warmup and measurement</dd>
+ *     <dt>{@code --print-confidence}</dt><dd>prints the confidence interval of each result</dd>
+ *     <dt>{@code --threads n}</dt><dd>after the single-threaded measurement, runs each benchmark
+ *     function concurrently on {@code n} threads, each thread with its own copy of the input,
+ *     and prints the aggregate throughput and the scaling efficiency</dd>
+ *     <dt>{@code --json file}</dt><dd>writes the results to the specified file in JSON format</dd>
+ *     <dt>{@code --csv file}</dt><dd>writes the results to the specified file in CSV format</dd>
+ *     <dt>{@code --baseline file}</dt><dd>compares the results with the results in the specified
+ *     JSON or CSV file, and exits with status 1 if the time per value of a benchmark function
+ *     has regressed beyond the confidence intervals of both results, or if the input differs
+ *     from the input of the baseline</dd>
+ * </dl>
+ * <p>
  * References:
  * <dl>
  *     <dt>Daniel Lemire. fast_double_parser, 4x faster than strtod.
@@ -95,6 +118,11 @@ public class Main {
     private boolean sleep = false;
 
     private boolean printConfidence = false;
+    private Path jsonFile = null;
+    private Path csvFile = null;
+    private Path baselineFile = null;
+    private boolean regression = false;
+    private int threads = 1;
 
     public static void main(String... args) throws Exception {
         System.out.println(SystemInfo.getSystemSummary());
@@ -111,6 +139,18 @@ public class Main {
             case "--print-confidence":
                 benchmark.printConfidence = true;
                 break;
+            case "--threads":
+                benchmark.threads = Integer.parseInt(args[++i]);
+                break;
+            case "--json":
+                benchmark.jsonFile = Paths.get(args[++i]);
+                break;
+            case "--csv":
+                benchmark.csvFile = Paths.get(args[++i]);
+                break;
+            case "--baseline":
+                benchmark.baselineFile = Paths.get(args[++i]);
+                break;
             default:
                 benchmark.filename = args[i];
                 break;
@@ -124,6 +164,9 @@ public class Main {
         } else {
             benchmark.loadFile(benchmark.filename);
         }
+        if (benchmark.regression) {
+            System.exit(1);
+        }
     }
 
     private Map<String, BenchmarkFunction> createBenchmarkFunctions(List<String> lines) {
@@ -161,7 +204,7 @@ public class Main {
         return functions;
     }
 
-    public void demo(int howMany) {
+    public void demo(int howMany) throws IOException {
         System.out.println("Parsing random doubles in the range [0,1).");
         List<String> lines = new Random().doubles(howMany).mapToObj(Double::toString)
                 .collect(Collectors.toList());
@@ -259,7 +302,7 @@ public class Main {
         );
     }
 
-    private void process(List<String> lines, Map<String, BenchmarkFunction> functions) {
+    private void process(List<String> lines, Map<String, BenchmarkFunction> functions) throws IOException {
         double volumeMB = lines.stream().mapToInt(String::length).sum() / (1024. * 1024.);
 
         // Warm up
@@ -297,6 +340,135 @@ public class Main {
         printResults("Measurement results:", lines, volumeMB, results, MEASUREMENT_CONFIDENCE_LEVEL, functions);
         System.out.println();
 
+        List<ResultFile.Result> resultList = new ArrayList<>();
+        for (Map.Entry<String, VarianceStatistics> entry : results.entrySet()) {
+            String name = entry.getKey();
+            resultList.add(ResultFile.Result.of(name, functions.get(name).reference, 1, lines.size(), volumeMB,
+                    entry.getValue(), MEASUREMENT_CONFIDENCE_LEVEL, computeSpeedup(name, entry.getValue(), functions, results)));
+        }
+        if (threads > 1) {
+            resultList.addAll(processConcurrently(lines, volumeMB, functions, results));
+        }
+        writeResults(resultList);
+        compareWithBaseline(resultList);
+    }
+
+    /**
+     * Runs each benchmark function concurrently on {@link #threads} threads.
+     * Each thread parses its own copy of the input lines.
+     * <p>
+     * The duration of a trial is the wall-clock time until all threads have
+     * parsed their input once.
+     */
+    private List<ResultFile.Result> processConcurrently(List<String> lines, double volumeMB, Map<String, BenchmarkFunction> functions,
+                                                        Map<String, VarianceStatistics> singleThreadedResults) {
+        List<Map<String, BenchmarkFunction>> functionsPerThread = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            List<String> copy = new ArrayList<>(lines.size());
+            for (String line : lines) {
+                copy.add(new String(line.toCharArray()));
+            }
+            functionsPerThread.add(createBenchmarkFunctions(copy));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            System.out.printf("Measuring with %d threads: Trying to reach a confidence level of %,.1f %% which only deviates by %,.0f %% from the average measured duration.\n",
+                    threads, 100 * MEASUREMENT_CONFIDENCE_LEVEL, 100 * MEASUREMENT_CONFIDENCE_INTERVAL_WIDTH);
+            Map<String, VarianceStatistics> results = new LinkedHashMap<>();
+            for (String name : functions.keySet()) {
+                System.out.print(".");
+                System.out.flush();
+                List<Callable<Number>> tasks = new ArrayList<>();
+                for (Map<String, BenchmarkFunction> f : functionsPerThread) {
+                    Supplier<? extends Number> supplier = f.get(name).supplier;
+                    tasks.add(supplier::get);
+                }
+                Supplier<Number> concurrent = () -> invokeAll(executor, tasks);
+                measure(concurrent, WARMUP_NUMBER_OF_TRIALS, WARMUP_CONFIDENCE_LEVEL, WARMUP_CONFIDENCE_INTERVAL_WIDTH, WARMUP_MIN_TRIALS);
+                results.put(name, measure(concurrent, MEASUREMENT_NUMBER_OF_TRIALS, MEASUREMENT_CONFIDENCE_LEVEL, MEASUREMENT_CONFIDENCE_INTERVAL_WIDTH, 1));
+            }
+            System.out.println();
+
+            System.out.println();
+            System.out.printf("Measurement results with %d threads:\n", threads);
+            List<ResultFile.Result> resultList = new ArrayList<>();
+            for (Map.Entry<String, VarianceStatistics> entry : results.entrySet()) {
+                String name = entry.getKey();
+                VarianceStatistics stats = entry.getValue();
+                VarianceStatistics single = singleThreadedResults.get(name);
+                double aggregateMBs = threads * volumeMB * 1e9 / stats.getAverage();
+                double singleMBs = volumeMB * 1e9 / single.getAverage();
+                System.out.printf("%-27s :  %7.2f MB/s aggregate (+/-%4.1f %%)  %7.2f MB/s per thread  %5.1f %% scaling efficiency\n",
+                        name,
+                        aggregateMBs,
+                        stats.getSampleStandardDeviation() * 100 / stats.getAverage(),
+                        aggregateMBs / threads,
+                        100 * aggregateMBs / (threads * singleMBs));
+                resultList.add(ResultFile.Result.of(name, functions.get(name).reference, threads, lines.size(), volumeMB,
+                        stats, MEASUREMENT_CONFIDENCE_LEVEL, computeSpeedup(name, stats, functions, results)));
+            }
+            System.out.println();
+            return resultList;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static Number invokeAll(ExecutorService executor, List<Callable<Number>> tasks) {
+        try {
+            double sum = 0;
+            for (Future<Number> f : executor.invokeAll(tasks)) {
+                sum += f.get().doubleValue();
+            }
+            return sum;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void writeResults(List<ResultFile.Result> results) throws IOException {
+        if (jsonFile != null) {
+            ResultFile.write(jsonFile, results);
+            System.out.println("Wrote results to " + jsonFile.toAbsolutePath());
+        }
+        if (csvFile != null) {
+            ResultFile.write(csvFile, results);
+            System.out.println("Wrote results to " + csvFile.toAbsolutePath());
+        }
+    }
+
+    private void compareWithBaseline(List<ResultFile.Result> results) throws IOException {
+        if (baselineFile == null) {
+            return;
+        }
+        Map<String, ResultFile.Result> baseline = ResultFile.read(baselineFile);
+        System.out.println("Comparison with baseline " + baselineFile.toAbsolutePath() + ":");
+        for (ResultFile.Result current : results) {
+            ResultFile.Result base = baseline.get(current.key());
+            if (base == null) {
+                System.out.printf("%-27s :  not in baseline\n", current.key());
+                continue;
+            }
+            if (!current.hasSameInputAs(base)) {
+                System.out.printf("%-27s :  input differs from baseline: %d values %.3f MB, baseline %d values %.3f MB\n",
+                        current.key(), current.values(), current.volumeMB(), base.values(), base.volumeMB());
+                regression = true;
+                continue;
+            }
+            boolean isRegression = current.isRegressionOf(base);
+            System.out.printf("%-27s :  %7.2f ns/f  baseline %7.2f ns/f  %+6.1f %%  %s\n",
+                    current.key(),
+                    current.nsPerValue(),
+                    base.nsPerValue(),
+                    100 * (current.nsPerValue() - base.nsPerValue()) / base.nsPerValue(),
+                    isRegression ? "REGRESSION" : "ok");
+            regression |= isRegression;
+        }
+        System.out.println();
     }
 
     private void printResults(String title, List<String> lines, double volumeMB, Map<String, VarianceStatistics> results, double confidenceLevel, Map<String, BenchmarkFunction> functions) {
@@ -0,0 +1,339 @@
+/*
+ * @(#)ResultFile.java
+ * Copyright © 2023 Werner Randelshofer, Switzerland. MIT License.
+ */
+package ch.randelshofer.fastdoubleparserdemo;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads and writes benchmark results in machine-readable formats.
+ * <p>
+ * Supported formats are JSON and CSV. The format is determined by the
+ * file name extension: files ending with {@code .json} are JSON files,
+ * all other files are CSV files.
+ * <p>
+ * Both formats contain the same fields. All durations are given in
+ * nanoseconds per trial. A trial parses all values of the input once.
+ * <dl>
+ *     <dt>name</dt><dd>the name of the benchmark function</dd>
+ *     <dt>reference</dt><dd>the name of the reference function for the speedup</dd>
+ *     <dt>javaVersion</dt><dd>the value of the system property {@code java.version}</dd>
+ *     <dt>threads</dt><dd>the number of threads that ran the benchmark function concurrently</dd>
+ *     <dt>values</dt><dd>the number of values parsed per trial and thread</dd>
+ *     <dt>volumeMB</dt><dd>the number of megabytes parsed per trial and thread</dd>
+ *     <dt>count</dt><dd>the number of trials</dd>
+ *     <dt>sum, sumOfSquare, min, max, average</dt><dd>the sample statistics of the trial durations</dd>
+ *     <dt>sampleVariance, sampleStandardDeviation</dt><dd>the (unbiased) variance and standard
+ *     deviation of the trial durations</dd>
+ *     <dt>confidenceLevel</dt><dd>the confidence level, for example 0.99</dd>
+ *     <dt>confidence</dt><dd>the half width {@code c} of the confidence interval
+ *     {@code [average - c, average + c]}</dd>
+ *     <dt>relativeConfidence</dt><dd>{@code confidence / average}</dd>
+ *     <dt>mbPerSecond</dt><dd>the aggregate throughput of all threads in MB/s</dd>
+ *     <dt>nsPerValue</dt><dd>the average duration per value in nanoseconds</dd>
+ *     <dt>speedup</dt><dd>the speedup over the reference function</dd>
+ * </dl>
+ */
+public class ResultFile {
+    private static final String[] FIELDS = {
+            "name", "reference", "javaVersion", "threads", "values", "volumeMB", "count",
+            "sum", "sumOfSquare", "min", "max", "average",
+            "sampleVariance", "sampleStandardDeviation",
+            "confidenceLevel", "confidence", "relativeConfidence",
+            "mbPerSecond", "nsPerValue", "speedup"
+    };
+
+    /**
+     * Matches a key-value pair of a flat JSON object. The value is either a
+     * string without escape sequences or a number.
+     */
+    private static final Pattern JSON_KEY_VALUE = Pattern.compile("\"(\\w+)\"\\s*:\\s*(?:\"([^\"]*)\"|([^,}\\s]+))");
+    private static final Pattern JSON_OBJECT = Pattern.compile("\\{[^{}]*}");
+
+    private ResultFile() {
+        // prevent instantiation
+    }
+
+    /**
+     * Holds the result of one benchmark function.
+     */
+    public static final class Result {
+        private final Map<String, String> fields;
+
+        Result(Map<String, String> fields) {
+            this.fields = fields;
+        }
+
+        public static Result of(String name, String reference, int threads, long values, double volumeMB,
+                                VarianceStatistics stats, double confidenceLevel, double speedup) {
+            double confidence = Stats.confidence(1 - confidenceLevel, stats.getSampleStandardDeviation(), stats.getCount());
+            Map<String, String> f = new LinkedHashMap<>();
+            f.put("name", name);
+            f.put("reference", reference);
+            f.put("javaVersion", System.getProperty("java.version"));
+            f.put("threads", Integer.toString(threads));
+            f.put("values", Long.toString(values));
+            f.put("volumeMB", Double.toString(volumeMB));
+            f.put("count", Long.toString(stats.getCount()));
+            f.put("sum", Double.toString(stats.getSum()));
+            f.put("sumOfSquare", Double.toString(stats.getSumOfSquare()));
+            f.put("min", Double.toString(stats.getMin()));
+            f.put("max", Double.toString(stats.getMax()));
+            f.put("average", Double.toString(stats.getAverage()));
+            f.put("sampleVariance", Double.toString(stats.getSampleVariance()));
+            f.put("sampleStandardDeviation", Double.toString(stats.getSampleStandardDeviation()));
+            f.put("confidenceLevel", Double.toString(confidenceLevel));
+            f.put("confidence", Double.toString(confidence));
+            f.put("relativeConfidence", Double.toString(confidence / stats.getAverage()));
+            f.put("mbPerSecond", Double.toString(threads * volumeMB * 1e9 / stats.getAverage()));
+            f.put("nsPerValue", Double.toString(stats.getAverage() / values));
+            f.put("speedup", Double.toString(speedup));
+            return new Result(f);
+        }
+
+        public String name() {
+            return fields.get("name");
+        }
+
+        public int threads() {
+            String threads = fields.get("threads");
+            return threads == null ? 1 : Integer.parseInt(threads);
+        }
+
+        /**
+         * Returns the key of this result. Results with the same key can be
+         * compared with each other.
+         *
+         * @return the name, and the number of threads if it is not 1
+         */
+        public String key() {
+            return threads() == 1 ? name() : name() + " x" + threads();
+        }
+
+        public double average() {
+            return getDouble("average");
+        }
+
+        public double confidence() {
+            return getDouble("confidence");
+        }
+
+        public double mbPerSecond() {
+            return getDouble("mbPerSecond");
+        }
+
+        public double nsPerValue() {
+            return getDouble("nsPerValue");
+        }
+
+        public long values() {
+            return (long) getDouble("values");
+        }
+
+        public double volumeMB() {
+            return getDouble("volumeMB");
+        }
+
+        private double getDouble(String key) {
+            String value = fields.get(key);
+            if (value == null) {
+                throw new IllegalArgumentException("result \"" + name() + "\" has no field \"" + key + "\"");
+            }
+            return Double.parseDouble(value);
+        }
+
+        /**
+         * Returns true if this result was measured on the same input as the
+         * baseline result: the same number of values, and the same volume.
+         *
+         * @param baseline the baseline result
+         * @return true if the results can be compared with each other
+         */
+        public boolean hasSameInputAs(Result baseline) {
+            return values() == baseline.values() && volumeMB() == baseline.volumeMB();
+        }
+
+        /**
+         * Returns true if this result needs more time per value than the
+         * baseline result, beyond the confidence intervals of both results.
+         * <p>
+         * The confidence intervals are scaled from trials to values. The
+         * result is only meaningful if {@link #hasSameInputAs(Result)}
+         * returns true.
+         *
+         * @param baseline the baseline result
+         * @return true if this result is a regression
+         */
+        public boolean isRegressionOf(Result baseline) {
+            return nsPerValue() - confidence() / values()
+                    > baseline.nsPerValue() + baseline.confidence() / baseline.values();
+        }
+    }
+
+    /**
+     * Writes the results to the specified file.
+     *
+     * @param path    the file
+     * @param results the results
+     * @throws IOException on failure
+     */
+    public static void write(Path path, List<Result> results) throws IOException {
+        try (PrintWriter w = new PrintWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+            if (isJson(path)) {
+                writeJson(w, results);
+            } else {
+                writeCsv(w, results);
+            }
+            if (w.checkError()) {
+                throw new IOException("could not write file " + path);
+            }
+        }
+    }
+
+    /**
+     * Reads results from the specified file.
+     *
+     * @param path the file
+     * @return the results by key
+     * @throws IOException on failure
+     */
+    public static Map<String, Result> read(Path path) throws IOException {
+        String text = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+        List<Result> results = isJson(path) ? readJson(text) : readCsv(text);
+        Map<String, Result> map = new LinkedHashMap<>();
+        for (Result r : results) {
+            map.put(r.key(), r);
+        }
+        return map;
+    }
+
+    private static boolean isJson(Path path) {
+        return path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".json");
+    }
+
+    private static void writeJson(PrintWriter w, List<Result> results) {
+        w.println("[");
+        for (int i = 0; i < results.size(); i++) {
+            Map<String, String> fields = results.get(i).fields;
+            w.print("  {");
+            boolean first = true;
+            for (Map.Entry<String, String> e : fields.entrySet()) {
+                if (!first) {
+                    w.print(", ");
+                }
+                first = false;
+                w.print('"');
+                w.print(e.getKey());
+                w.print("\": ");
+                if (isJsonNumber(e.getValue())) {
+                    w.print(e.getValue());
+                } else {
+                    w.print('"');
+                    w.print(e.getValue().replace("\\", "\\\\").replace("\"", "\\\""));
+                    w.print('"');
+                }
+            }
+            w.print(i < results.size() - 1 ? "},\n" : "}\n");
+        }
+        w.println("]");
+    }
+
+    private static boolean isJsonNumber(String value) {
+        return value.matches("-?(0|[1-9]\\d*)(\\.\\d+)?([eE][+-]?\\d+)?");
+    }
+
+    private static List<Result> readJson(String text) {
+        List<Result> results = new ArrayList<>();
+        Matcher objects = JSON_OBJECT.matcher(text);
+        while (objects.find()) {
+            Map<String, String> fields = new LinkedHashMap<>();
+            Matcher kv = JSON_KEY_VALUE.matcher(objects.group());
+            while (kv.find()) {
+                fields.put(kv.group(1), kv.group(2) != null ? kv.group(2) : kv.group(3));
+            }
+            results.add(new Result(fields));
+        }
+        return results;
+    }
+
+    private static void writeCsv(PrintWriter w, List<Result> results) {
+        w.println(String.join(",", FIELDS));
+        for (Result r : results) {
+            StringBuilder buf = new StringBuilder();
+            for (String field : FIELDS) {
+                if (buf.length() > 0) {
+                    buf.append(',');
+                }
+                String value = r.fields.get(field);
+                if (value != null) {
+                    buf.append(value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                            ? '"' + value.replace("\"", "\"\"") + '"' : value);
+                }
+            }
+            w.println(buf);
+        }
+    }
+
+    private static List<Result> readCsv(String text) {
+        List<Result> results = new ArrayList<>();
+        String[] lines = text.split("\r?\n");
+        if (lines.length == 0) {
+            return results;
+        }
+        List<String> header = splitCsvLine(lines[0]);
+        for (int i = 1; i < lines.length; i++) {
+            if (lines[i].isEmpty()) {
+                continue;
+            }
+            List<String> values = splitCsvLine(lines[i]);
+            Map<String, String> fields = new LinkedHashMap<>();
+            for (int j = 0; j < header.size() && j < values.size(); j++) {
+                fields.put(header.get(j), values.get(j));
+            }
+            results.add(new Result(fields));
+        }
+        return results;
+    }
+
+    private static List<String> splitCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder buf = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (quoted) {
+                if (ch == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        buf.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    buf.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == ',') {
+                values.add(buf.toString());
+                buf.setLength(0);
+            } else {
+                buf.append(ch);
+            }
+        }
+        values.add(buf.toString());
+        return values;
+    }
+}